@@ -0,0 +1,423 @@
+package ch.viascom.groundwork.foxhttp.processor;
+
+import ch.viascom.groundwork.foxhttp.annotation.types.DELETE;
+import ch.viascom.groundwork.foxhttp.annotation.types.FollowRedirect;
+import ch.viascom.groundwork.foxhttp.annotation.types.FormUrlEncodedBody;
+import ch.viascom.groundwork.foxhttp.annotation.types.GET;
+import ch.viascom.groundwork.foxhttp.annotation.types.HEAD;
+import ch.viascom.groundwork.foxhttp.annotation.types.Header;
+import ch.viascom.groundwork.foxhttp.annotation.types.HeaderField;
+import ch.viascom.groundwork.foxhttp.annotation.types.OPTIONS;
+import ch.viascom.groundwork.foxhttp.annotation.types.POST;
+import ch.viascom.groundwork.foxhttp.annotation.types.PUT;
+import ch.viascom.groundwork.foxhttp.annotation.types.Path;
+import ch.viascom.groundwork.foxhttp.annotation.types.Query;
+import ch.viascom.groundwork.foxhttp.annotation.types.QueryObject;
+import ch.viascom.groundwork.foxhttp.annotation.types.SerializeContentType;
+import ch.viascom.groundwork.foxhttp.annotation.types.SkipResponseBody;
+import ch.viascom.groundwork.foxhttp.annotation.types.TRACE;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import lombok.Getter;
+
+/**
+ * Resolved annotations of a FoxHttp interface as needed to generate its implementation
+ *
+ * @author patrick.boesch@viascom.ch
+ */
+@Getter
+class FoxHttpInterfaceModel {
+
+    private static final String TYPES_PACKAGE = "ch.viascom.groundwork.foxhttp.annotation.types.";
+
+    private static final Set<String> TYPE_ANNOTATIONS = new HashSet<>(Arrays.asList(
+        TYPES_PACKAGE + "Path", TYPES_PACKAGE + "Header", TYPES_PACKAGE + "SkipResponseBody", TYPES_PACKAGE + "FollowRedirect",
+        TYPES_PACKAGE + "SerializeContentType", "java.lang.FunctionalInterface", "java.lang.Deprecated"));
+
+    private static final Set<String> METHOD_ANNOTATIONS = new HashSet<>(Arrays.asList(
+        TYPES_PACKAGE + "GET", TYPES_PACKAGE + "POST", TYPES_PACKAGE + "PUT", TYPES_PACKAGE + "DELETE", TYPES_PACKAGE + "HEAD", TYPES_PACKAGE + "OPTIONS",
+        TYPES_PACKAGE + "TRACE", TYPES_PACKAGE + "Header", TYPES_PACKAGE + "SkipResponseBody", TYPES_PACKAGE + "FollowRedirect",
+        TYPES_PACKAGE + "FormUrlEncodedBody", TYPES_PACKAGE + "SerializeContentType", "java.lang.Deprecated"));
+
+    private static final Set<String> PARAMETER_ANNOTATIONS = new HashSet<>(Arrays.asList(
+        TYPES_PACKAGE + "Path", TYPES_PACKAGE + "Query", TYPES_PACKAGE + "QueryMap", TYPES_PACKAGE + "QueryObject", TYPES_PACKAGE + "HeaderField",
+        TYPES_PACKAGE + "HeaderFieldMap", TYPES_PACKAGE + "Body", TYPES_PACKAGE + "Field", TYPES_PACKAGE + "FieldMap"));
+
+    private static final Set<String> PRIMITIVE_TYPES = new HashSet<>(Arrays.asList("boolean", "byte", "short", "char", "int", "long", "float", "double"));
+
+    private final String interfaceName;
+    private final List<MethodModel> methods = new ArrayList<>();
+    private final List<String> problems = new ArrayList<>();
+
+    private final Elements elements;
+    private final Types types;
+
+    FoxHttpInterfaceModel(TypeElement serviceInterface, Elements elements, Types types) {
+        this.elements = elements;
+        this.types = types;
+        this.interfaceName = serviceInterface.getQualifiedName().toString();
+
+        if (!serviceInterface.getTypeParameters().isEmpty()) {
+            problems.add("generic interfaces are not supported");
+        }
+        if (serviceInterface.getModifiers().contains(Modifier.PRIVATE)) {
+            problems.add("private interfaces are not supported");
+        }
+        checkAnnotations(serviceInterface, TYPE_ANNOTATIONS, "interface");
+
+        for (ExecutableElement method : ElementFilter.methodsIn(elements.getAllMembers(serviceInterface))) {
+            if (!FoxHttpInterfaceProcessor.isAbstractMethod(method)) {
+                continue;
+            }
+            if (method.getEnclosingElement() != serviceInterface) {
+                problems.add("inherited method " + method.getSimpleName() + " is not supported");
+                continue;
+            }
+            methods.add(new MethodModel(serviceInterface, method));
+        }
+    }
+
+    private void checkAnnotations(Element element, Set<String> supportedAnnotations, String location) {
+        for (AnnotationMirror annotationMirror : element.getAnnotationMirrors()) {
+            String annotationName = ((TypeElement) annotationMirror.getAnnotationType().asElement()).getQualifiedName().toString();
+            if (!supportedAnnotations.contains(annotationName)) {
+                problems.add("@" + annotationMirror.getAnnotationType().asElement().getSimpleName() + " on " + location);
+            }
+        }
+    }
+
+    private boolean isAssignable(String className, TypeMirror target) {
+        TypeElement typeElement = elements.getTypeElement(className);
+        return typeElement != null && types.isAssignable(typeElement.asType(), types.erasure(target));
+    }
+
+    private boolean isSubtype(TypeMirror type, String className) {
+        TypeElement typeElement = elements.getTypeElement(className);
+        return typeElement != null && types.isAssignable(types.erasure(type), typeElement.asType());
+    }
+
+    enum ReturnKind {
+        VOID, RESPONSE, REQUEST, STRING, BYTE_ARRAY_OUTPUT_STREAM, INPUT_STREAM, PARSED
+    }
+
+    enum ParameterKind {
+        PATH, QUERY, QUERY_MAP, QUERY_OBJECT, HEADER_FIELD, HEADER_FIELD_MAP, BODY, FIELD, FIELD_MAP
+    }
+
+    enum BodyKind {
+        NONE, FORM, REQUEST_BODY, STRING, OBJECT
+    }
+
+    /**
+     * Resolved method of the interface
+     */
+    @Getter
+    class MethodModel {
+
+        private final String name;
+        private final String returnType;
+        private final String returnErasure;
+        private final ReturnKind returnKind;
+        private final String requestType;
+        private final String url;
+        private final boolean skipResponseBody;
+        private final boolean followRedirect;
+        private final List<String[]> headers = new ArrayList<>();
+        private final List<ParameterModel> parameters = new ArrayList<>();
+        private final List<String> thrownTypes = new ArrayList<>();
+        private final boolean declaresFoxHttpException;
+        private BodyKind bodyKind = BodyKind.NONE;
+        private String bodyParameter;
+        //Content type of a serialized body declared on the method or interface
+        private String[] serializeContentType;
+        private boolean hasBodyAnnotation = false;
+        private boolean hasFieldAnnotation = false;
+
+        MethodModel(TypeElement serviceInterface, ExecutableElement method) {
+            this.name = method.getSimpleName().toString();
+            String location = "method " + name;
+
+            if (!method.getTypeParameters().isEmpty()) {
+                problems.add("generic method " + name + " is not supported");
+            }
+            checkAnnotations(method, METHOD_ANNOTATIONS, location);
+
+            //Request type and url
+            String type = null;
+            String value = null;
+            boolean completePath = false;
+            if (method.getAnnotation(GET.class) != null) {
+                type = "GET";
+                value = method.getAnnotation(GET.class).value();
+                completePath = method.getAnnotation(GET.class).completePath();
+            } else if (method.getAnnotation(POST.class) != null) {
+                type = "POST";
+                value = method.getAnnotation(POST.class).value();
+                completePath = method.getAnnotation(POST.class).completePath();
+            } else if (method.getAnnotation(PUT.class) != null) {
+                type = "PUT";
+                value = method.getAnnotation(PUT.class).value();
+                completePath = method.getAnnotation(PUT.class).completePath();
+            } else if (method.getAnnotation(DELETE.class) != null) {
+                type = "DELETE";
+                value = method.getAnnotation(DELETE.class).value();
+                completePath = method.getAnnotation(DELETE.class).completePath();
+            } else if (method.getAnnotation(HEAD.class) != null) {
+                type = "HEAD";
+                value = method.getAnnotation(HEAD.class).value();
+                completePath = method.getAnnotation(HEAD.class).completePath();
+            } else if (method.getAnnotation(OPTIONS.class) != null) {
+                type = "OPTIONS";
+                value = method.getAnnotation(OPTIONS.class).value();
+                completePath = method.getAnnotation(OPTIONS.class).completePath();
+            } else if (method.getAnnotation(TRACE.class) != null) {
+                type = "TRACE";
+                value = method.getAnnotation(TRACE.class).value();
+                completePath = method.getAnnotation(TRACE.class).completePath();
+            } else {
+                problems.add(location + " has no request type");
+            }
+            Path basePath = serviceInterface.getAnnotation(Path.class);
+            this.requestType = type;
+            this.url = (!completePath && basePath != null ? basePath.value() : "") + (value == null ? "" : value);
+
+            //Method overrides interface
+            boolean skip = false;
+            if (serviceInterface.getAnnotation(SkipResponseBody.class) != null) {
+                skip = serviceInterface.getAnnotation(SkipResponseBody.class).value();
+            }
+            if (method.getAnnotation(SkipResponseBody.class) != null) {
+                skip = method.getAnnotation(SkipResponseBody.class).value();
+            }
+            this.skipResponseBody = skip;
+
+            boolean follow = true;
+            if (serviceInterface.getAnnotation(FollowRedirect.class) != null) {
+                follow = serviceInterface.getAnnotation(FollowRedirect.class).value();
+            }
+            if (method.getAnnotation(FollowRedirect.class) != null) {
+                follow = method.getAnnotation(FollowRedirect.class).value();
+            }
+            this.followRedirect = follow;
+
+            //Interface headers first
+            addHeader(serviceInterface.getAnnotation(Header.class), location);
+            addHeader(method.getAnnotation(Header.class), location);
+
+            SerializeContentType serializeContentTypeAnnotation = method.getAnnotation(SerializeContentType.class);
+            if (serializeContentTypeAnnotation == null) {
+                serializeContentTypeAnnotation = serviceInterface.getAnnotation(SerializeContentType.class);
+            }
+            if (serializeContentTypeAnnotation != null) {
+                serializeContentType = new String[]{serializeContentTypeAnnotation.mimeType(), serializeContentTypeAnnotation.charset()};
+            }
+
+            boolean formBody = method.getAnnotation(FormUrlEncodedBody.class) != null;
+            if (formBody) {
+                bodyKind = BodyKind.FORM;
+            }
+
+            int index = 0;
+            for (VariableElement parameter : method.getParameters()) {
+                parseParameter(parameter, "p" + index, formBody, location);
+                index++;
+            }
+
+            //Invalid combinations are reported by the proxy when the interface is parsed
+            if (hasBodyAnnotation && !"POST".equals(type) && !"PUT".equals(type)) {
+                problems.add(location + " has a body but uses " + type);
+            }
+            if (formBody && !hasFieldAnnotation) {
+                problems.add(location + " is form-encoded without a @Field or @FieldMap");
+            }
+
+            //Return type
+            TypeMirror returnTypeMirror = method.getReturnType();
+            this.returnType = returnTypeMirror.toString();
+            this.returnErasure = types.erasure(returnTypeMirror).toString();
+            if (returnTypeMirror.getKind() == TypeKind.VOID) {
+                returnKind = ReturnKind.VOID;
+            } else if (returnTypeMirror.getKind().isPrimitive()) {
+                returnKind = ReturnKind.PARSED;
+                problems.add("primitive return type of " + location + " is not supported");
+            } else if (isAssignable("ch.viascom.groundwork.foxhttp.FoxHttpResponse", returnTypeMirror)) {
+                returnKind = ReturnKind.RESPONSE;
+            } else if (isAssignable("ch.viascom.groundwork.foxhttp.FoxHttpRequest", returnTypeMirror)) {
+                returnKind = ReturnKind.REQUEST;
+            } else if (isAssignable("java.lang.String", returnTypeMirror)) {
+                returnKind = ReturnKind.STRING;
+            } else if (isAssignable("java.io.ByteArrayOutputStream", returnTypeMirror)) {
+                returnKind = ReturnKind.BYTE_ARRAY_OUTPUT_STREAM;
+            } else if (isAssignable("java.io.InputStream", returnTypeMirror)) {
+                returnKind = ReturnKind.INPUT_STREAM;
+            } else {
+                returnKind = ReturnKind.PARSED;
+                if (returnErasure.equals("java.util.stream.Stream") || returnErasure.equals("java.util.Iterator")) {
+                    problems.add("streamed return type of " + location + " is not supported");
+                }
+                if (returnErasure.equals("java.util.concurrent.CompletableFuture") || returnErasure.equals("java.util.concurrent.CompletionStage")
+                    || returnErasure.equals("java.util.concurrent.Future")) {
+                    problems.add("asynchronous return type of " + location + " is not supported");
+                }
+            }
+
+            boolean foxHttpException = false;
+            for (TypeMirror thrownType : method.getThrownTypes()) {
+                thrownTypes.add(thrownType.toString());
+                TypeElement exception = elements.getTypeElement("ch.viascom.groundwork.foxhttp.exception.FoxHttpException");
+                if (exception != null && types.isAssignable(exception.asType(), thrownType)) {
+                    foxHttpException = true;
+                }
+            }
+            this.declaresFoxHttpException = foxHttpException;
+        }
+
+        private void addHeader(Header header, String location) {
+            if (header == null) {
+                return;
+            }
+            if (header.name().isEmpty() || header.value().isEmpty()) {
+                problems.add("empty @Header on " + location);
+            }
+            headers.add(new String[]{header.name(), header.value()});
+        }
+
+        private void parseParameter(VariableElement parameter, String parameterName, boolean formBody, String location) {
+            TypeMirror parameterType = parameter.asType();
+            boolean bound = false;
+            if (types.erasure(parameterType).toString().equals("ch.viascom.groundwork.foxhttp.async.FoxHttpCallback")) {
+                problems.add("callback parameter of " + location + " is not supported");
+            }
+
+            for (AnnotationMirror annotationMirror : parameter.getAnnotationMirrors()) {
+                String annotationName = ((TypeElement) annotationMirror.getAnnotationType().asElement()).getQualifiedName().toString();
+                if (!annotationName.startsWith(TYPES_PACKAGE)) {
+                    //Annotations of other libraries like @Nullable do not affect the request
+                    continue;
+                }
+                if (!PARAMETER_ANNOTATIONS.contains(annotationName)) {
+                    problems.add("@" + annotationMirror.getAnnotationType().asElement().getSimpleName() + " on a parameter of " + location);
+                    continue;
+                }
+                if (bound) {
+                    problems.add("parameter " + parameter.getSimpleName() + " of " + location + " has more than one FoxHttp annotation");
+                    continue;
+                }
+                bound = true;
+
+                switch (annotationName.substring(TYPES_PACKAGE.length())) {
+                    case "Path":
+                        parameters.add(new ParameterModel(parameterName, parameterType.toString(), ParameterKind.PATH, parameter.getAnnotation(Path.class).value(), false));
+                        break;
+                    case "Query":
+                        Query query = parameter.getAnnotation(Query.class);
+                        parameters.add(new ParameterModel(parameterName, parameterType.toString(), ParameterKind.QUERY, query.value(), query.allowOptional()));
+                        break;
+                    case "QueryMap":
+                        parameters.add(new ParameterModel(parameterName, parameterType.toString(), ParameterKind.QUERY_MAP, null, false));
+                        break;
+                    case "QueryObject":
+                        QueryObject queryObject = parameter.getAnnotation(QueryObject.class);
+                        ParameterModel queryObjectModel = new ParameterModel(parameterName, parameterType.toString(), ParameterKind.QUERY_OBJECT, null,
+                            queryObject.allowOptional());
+                        queryObjectModel.queryObjectParams = queryObject.value();
+                        queryObjectModel.parseSerializedName = queryObject.parseSerializedName();
+                        queryObjectModel.recursiveOptional = queryObject.recursiveOptional();
+                        parameters.add(queryObjectModel);
+                        break;
+                    case "HeaderField":
+                        HeaderField headerField = parameter.getAnnotation(HeaderField.class);
+                        parameters.add(new ParameterModel(parameterName, parameterType.toString(), ParameterKind.HEADER_FIELD, headerField.value(),
+                            headerField.allowOptional()));
+                        break;
+                    case "HeaderFieldMap":
+                        parameters.add(new ParameterModel(parameterName, parameterType.toString(), ParameterKind.HEADER_FIELD_MAP, null, false));
+                        break;
+                    case "Field":
+                        hasBodyAnnotation = true;
+                        hasFieldAnnotation = true;
+                        if (formBody) {
+                            ch.viascom.groundwork.foxhttp.annotation.types.Field field = parameter.getAnnotation(ch.viascom.groundwork.foxhttp.annotation.types.Field.class);
+                            parameters.add(new ParameterModel(parameterName, parameterType.toString(), ParameterKind.FIELD, field.value(), field.allowOptional()));
+                        } else {
+                            parameters.add(new ParameterModel(parameterName, parameterType.toString(), null, null, false));
+                        }
+                        break;
+                    case "FieldMap":
+                        hasBodyAnnotation = true;
+                        hasFieldAnnotation = true;
+                        parameters.add(new ParameterModel(parameterName, parameterType.toString(), formBody ? ParameterKind.FIELD_MAP : null, null, false));
+                        break;
+                    case "Body":
+                        hasBodyAnnotation = true;
+                        if (formBody) {
+                            problems.add(location + " is form-encoded and has a @Body");
+                        } else if (bodyKind == BodyKind.NONE) {
+                            bodyParameter = parameterName;
+                            if (isSubtype(parameterType, "ch.viascom.groundwork.foxhttp.body.request.FoxHttpRequestBody")) {
+                                bodyKind = BodyKind.REQUEST_BODY;
+                            } else if (isSubtype(parameterType, "java.lang.String")) {
+                                bodyKind = BodyKind.STRING;
+                            } else if (isSubtype(parameterType, "java.io.Serializable")) {
+                                bodyKind = BodyKind.OBJECT;
+                            } else {
+                                problems.add("@Body of " + location + " is not a FoxHttpRequestBody, String or Serializable");
+                            }
+                        } else {
+                            problems.add(location + " has more than one @Body");
+                        }
+                        parameters.add(new ParameterModel(parameterName, parameterType.toString(), null, null, false));
+                        break;
+                    default:
+                        break;
+                }
+            }
+
+            if (!bound) {
+                parameters.add(new ParameterModel(parameterName, parameterType.toString(), null, null, false));
+            }
+        }
+    }
+
+    /**
+     * Resolved parameter of a method, the kind is null if the parameter does not bind to the request directly
+     */
+    @Getter
+    static class ParameterModel {
+
+        private final String name;
+        private final String type;
+        private final ParameterKind kind;
+        private final String value;
+        private final boolean allowOptional;
+        private String[] queryObjectParams;
+        private boolean parseSerializedName;
+        private boolean recursiveOptional;
+
+        ParameterModel(String name, String type, ParameterKind kind, String value, boolean allowOptional) {
+            this.name = name;
+            this.type = type;
+            this.kind = kind;
+            this.value = value;
+            this.allowOptional = allowOptional;
+        }
+    }
+
+    static boolean isPrimitive(String type) {
+        return PRIMITIVE_TYPES.contains(type);
+    }
+}
@@ -0,0 +1,97 @@
+package ch.viascom.groundwork.foxhttp.processor;
+
+import ch.viascom.groundwork.foxhttp.annotation.processor.FoxHttpAnnotationParser;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.tools.Diagnostic;
+import javax.tools.JavaFileObject;
+
+/**
+ * Generates an implementation for every interface with FoxHttp request annotations. <p> The generated class is named {@code <Interface>_FoxHttpImpl} and
+ * builds the FoxHttpRequest directly without reflection. {@link FoxHttpAnnotationParser} uses it instead of a proxy if it is present. Interfaces which use an
+ * annotation or return type the processor does not support are skipped and keep using the proxy.
+ *
+ * @author patrick.boesch@viascom.ch
+ */
+@SupportedAnnotationTypes({
+    "ch.viascom.groundwork.foxhttp.annotation.types.GET",
+    "ch.viascom.groundwork.foxhttp.annotation.types.POST",
+    "ch.viascom.groundwork.foxhttp.annotation.types.PUT",
+    "ch.viascom.groundwork.foxhttp.annotation.types.DELETE",
+    "ch.viascom.groundwork.foxhttp.annotation.types.HEAD",
+    "ch.viascom.groundwork.foxhttp.annotation.types.OPTIONS",
+    "ch.viascom.groundwork.foxhttp.annotation.types.TRACE"
+})
+public class FoxHttpInterfaceProcessor extends AbstractProcessor {
+
+    private final Set<String> generatedInterfaces = new HashSet<>();
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        Set<TypeElement> interfaces = new LinkedHashSet<>();
+        for (TypeElement annotation : annotations) {
+            for (Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+                Element enclosingElement = element.getEnclosingElement();
+                if (element.getKind() == ElementKind.METHOD && enclosingElement.getKind() == ElementKind.INTERFACE) {
+                    interfaces.add((TypeElement) enclosingElement);
+                }
+            }
+        }
+
+        for (TypeElement serviceInterface : interfaces) {
+            String interfaceName = serviceInterface.getQualifiedName().toString();
+            if (generatedInterfaces.add(interfaceName)) {
+                generate(serviceInterface);
+            }
+        }
+        return false;
+    }
+
+    private void generate(TypeElement serviceInterface) {
+        try {
+            FoxHttpInterfaceModel model = new FoxHttpInterfaceModel(serviceInterface, processingEnv.getElementUtils(), processingEnv.getTypeUtils());
+            List<String> problems = model.getProblems();
+            if (!problems.isEmpty()) {
+                processingEnv.getMessager().printMessage(Diagnostic.Kind.NOTE,
+                    "FoxHttp falls back to a proxy for " + serviceInterface.getQualifiedName() + ": " + String.join(", ", problems), serviceInterface);
+                return;
+            }
+
+            PackageElement packageElement = processingEnv.getElementUtils().getPackageOf(serviceInterface);
+            String packageName = packageElement.isUnnamed() ? "" : packageElement.getQualifiedName().toString();
+            String binaryName = processingEnv.getElementUtils().getBinaryName(serviceInterface).toString();
+            String simpleName = (packageName.isEmpty() ? binaryName : binaryName.substring(packageName.length() + 1))
+                                + FoxHttpAnnotationParser.GENERATED_IMPLEMENTATION_SUFFIX;
+            String qualifiedName = packageName.isEmpty() ? simpleName : packageName + "." + simpleName;
+
+            JavaFileObject sourceFile = processingEnv.getFiler().createSourceFile(qualifiedName, serviceInterface);
+            try (Writer writer = sourceFile.openWriter()) {
+                writer.write(new FoxHttpSourceWriter(model, packageName, simpleName).write());
+            }
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "Could not generate FoxHttp implementation: " + e.getMessage(), serviceInterface);
+        }
+    }
+
+    static boolean isAbstractMethod(Element element) {
+        return element.getKind() == ElementKind.METHOD && element.getModifiers().contains(Modifier.ABSTRACT);
+    }
+}
@@ -0,0 +1,260 @@
+package ch.viascom.groundwork.foxhttp.processor;
+
+import ch.viascom.groundwork.foxhttp.processor.FoxHttpInterfaceModel.MethodModel;
+import ch.viascom.groundwork.foxhttp.processor.FoxHttpInterfaceModel.ParameterModel;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Writes the source of the implementation of a FoxHttp interface. <p> The generated code does the same as the proxy of FoxHttpAnnotationParser: it builds a
+ * FoxHttpRequest with the client, binds the parameters and converts the response into the return type. All types are written fully qualified.
+ *
+ * @author patrick.boesch@viascom.ch
+ */
+class FoxHttpSourceWriter {
+
+    private static final String FOXHTTP = "ch.viascom.groundwork.foxhttp.";
+
+    private final FoxHttpInterfaceModel model;
+    private final String packageName;
+    private final String simpleName;
+    private final StringBuilder source = new StringBuilder();
+
+    FoxHttpSourceWriter(FoxHttpInterfaceModel model, String packageName, String simpleName) {
+        this.model = model;
+        this.packageName = packageName;
+        this.simpleName = simpleName;
+    }
+
+    /**
+     * Get the source of the implementation
+     *
+     * @return java source
+     */
+    String write() {
+        if (!packageName.isEmpty()) {
+            line(0, "package " + packageName + ";");
+            line(0, "");
+        }
+        //javax.annotation.Generated is not available on every platform (Android, Java 9+)
+        line(0, "/**");
+        line(0, " * Generated by " + FoxHttpInterfaceProcessor.class.getName() + " from {@link " + model.getInterfaceName() + "}, do not edit");
+        line(0, " */");
+        line(0, "@SuppressWarnings(\"unchecked\")");
+        line(0, "public final class " + simpleName + " implements " + model.getInterfaceName() + " {");
+        line(0, "");
+        line(1, "private final " + FOXHTTP + "FoxHttpClient foxHttpClient;");
+        line(0, "");
+        line(1, "public " + simpleName + "(" + FOXHTTP + "FoxHttpClient foxHttpClient) {");
+        line(2, "this.foxHttpClient = foxHttpClient;");
+        line(1, "}");
+
+        for (MethodModel method : model.getMethods()) {
+            line(0, "");
+            writeMethod(method);
+        }
+        line(0, "}");
+        return source.toString();
+    }
+
+    private void writeMethod(MethodModel method) {
+        List<String> parameters = new ArrayList<>();
+        for (ParameterModel parameter : method.getParameters()) {
+            parameters.add(parameter.getType() + " " + parameter.getName());
+        }
+        String throwsClause = method.getThrownTypes().isEmpty() ? "" : " throws " + String.join(", ", method.getThrownTypes());
+
+        line(1, "@Override");
+        line(1, "public " + method.getReturnType() + " " + method.getName() + "(" + String.join(", ", parameters) + ")" + throwsClause + " {");
+        line(2, "try {");
+        line(3, FOXHTTP + "FoxHttpRequest request = new " + FOXHTTP + "builder.FoxHttpRequestBuilder(" + literal(method.getUrl()) + ", " + FOXHTTP
+                + "type.RequestType." + method.getRequestType() + ", foxHttpClient)");
+        line(5, ".setSkipResponseBody(" + method.isSkipResponseBody() + ")");
+        line(5, ".setFollowRedirect(" + method.isFollowRedirect() + ")");
+        line(5, ".build();");
+        for (String[] header : method.getHeaders()) {
+            line(3, "request.getRequestHeader().addHeader(" + literal(header[0]) + ", " + literal(header[1]) + ");");
+        }
+        if (method.getBodyKind() == FoxHttpInterfaceModel.BodyKind.FORM) {
+            line(3, FOXHTTP + "body.request.RequestUrlEncodedFormBody formBody = new " + FOXHTTP + "body.request.RequestUrlEncodedFormBody();");
+        }
+
+        for (ParameterModel parameter : method.getParameters()) {
+            if (parameter.getKind() != null) {
+                writeParameter(parameter);
+            }
+        }
+
+        writeBody(method);
+        writeReturn(method);
+
+        line(2, "} catch (" + FOXHTTP + "exception.FoxHttpException e) {");
+        line(3, method.isDeclaresFoxHttpException() ? "throw e;" : "throw new java.lang.reflect.UndeclaredThrowableException(e);");
+        line(2, "} catch (Exception e) {");
+        line(3, method.isDeclaresFoxHttpException() ? "throw new " + FOXHTTP + "exception.FoxHttpRequestException(e);"
+            : "throw new java.lang.reflect.UndeclaredThrowableException(new " + FOXHTTP + "exception.FoxHttpRequestException(e));");
+        line(2, "}");
+        line(1, "}");
+    }
+
+    private void writeParameter(ParameterModel parameter) {
+        String name = parameter.getName();
+        String value = FoxHttpInterfaceModel.isPrimitive(parameter.getType()) ? "String.valueOf(" + name + ")" : name + ".toString()";
+
+        switch (parameter.getKind()) {
+            case PATH:
+                line(3, "request.getFoxHttpPlaceholderStrategy().getPlaceholderMap().put(" + literal(parameter.getValue()) + ", java.util.Objects.toString("
+                        + name + ", null));");
+                break;
+            case QUERY:
+                writeOptional(parameter, "The query parameter ", "request.getRequestQuery().addQueryEntry(" + literal(parameter.getValue()) + ", " + value + ");");
+                break;
+            case QUERY_MAP:
+                line(3, "request.getRequestQuery().addQueryMap((java.util.HashMap<String, String>) (Object) " + name + ");");
+                break;
+            case QUERY_OBJECT:
+                List<String> names = new ArrayList<>();
+                for (String queryObjectParam : parameter.getQueryObjectParams()) {
+                    names.add(literal(queryObjectParam));
+                }
+                line(3, "request.getRequestQuery().parseObjectAsQueryMap(java.util.Arrays.<String>asList(" + String.join(", ", names) + "), " + name + ", "
+                        + parameter.isParseSerializedName() + ", " + parameter.isAllowOptional() + ", " + parameter.isRecursiveOptional() + ");");
+                break;
+            case HEADER_FIELD:
+                writeOptional(parameter, "The header field ", "request.getRequestHeader().addHeader(" + literal(parameter.getValue()) + ", " + value + ");");
+                break;
+            case HEADER_FIELD_MAP:
+                line(3, "if ((Object) " + name + " instanceof java.util.Map) {");
+                line(4, "request.getRequestHeader().addHeader((java.util.Map<String, String>) (Object) " + name + ");");
+                line(3, "} else if ((Object) " + name + " instanceof java.util.List) {");
+                line(4, "request.getRequestHeader().addHeader((java.util.List<" + FOXHTTP + "header.HeaderEntry>) (Object) " + name + ");");
+                line(3, "} else {");
+                line(4, "throw new " + FOXHTTP + "exception.FoxHttpRequestException(\"@HeaderFieldMap annotation does not support \" + (" + name
+                        + " == null ? null : ((Object) " + name + ").getClass()));");
+                line(3, "}");
+                break;
+            case FIELD:
+                writeOptional(parameter, "The query parameter ", "formBody.addFormEntry(" + literal(parameter.getValue()) + ", " + value + ");");
+                break;
+            case FIELD_MAP:
+                line(3, "formBody.addFormMap((java.util.HashMap<String, String>) (Object) " + name + ");");
+                break;
+            default:
+                break;
+        }
+    }
+
+    private void writeOptional(ParameterModel parameter, String description, String statement) {
+        if (FoxHttpInterfaceModel.isPrimitive(parameter.getType())) {
+            line(3, statement);
+            return;
+        }
+        line(3, "if (" + parameter.getName() + " != null) {");
+        line(4, statement);
+        if (!parameter.isAllowOptional()) {
+            line(3, "} else {");
+            line(4, "throw new " + FOXHTTP + "exception.FoxHttpRequestException(" + literal(
+                description + parameter.getValue() + " is not optional and can't be null because of this.") + ");");
+        }
+        line(3, "}");
+    }
+
+    private void writeBody(MethodModel method) {
+        String body = method.getBodyParameter();
+        switch (method.getBodyKind()) {
+            case FORM:
+                line(3, "request.setRequestBody(formBody);");
+                break;
+            case REQUEST_BODY:
+                line(3, "request.setRequestBody(" + body + ");");
+                break;
+            case STRING:
+                line(3, "request.setRequestBody(new " + FOXHTTP + "body.request.RequestStringBody(" + body + "));");
+                break;
+            case OBJECT:
+                //Method overrides interface, the model overrides both on every call
+                String[] serializeContentType = method.getSerializeContentType();
+                if (serializeContentType != null) {
+                    line(3, FOXHTTP + "type.ContentType contentType = " + FOXHTTP + "type.ContentType.create(" + literal(serializeContentType[0])
+                            + ", java.nio.charset.Charset.forName(" + literal(serializeContentType[1]) + "));");
+                } else {
+                    line(3, FOXHTTP + "type.ContentType contentType = request.getFoxHttpClient().getFoxHttpRequestParser().getParserOutputContentType();");
+                }
+                line(3, FOXHTTP + "annotation.types.SerializeContentType modelContentType = " + body + " == null ? null : ((Object) " + body
+                        + ").getClass().getAnnotation(" + FOXHTTP + "annotation.types.SerializeContentType.class);");
+                line(3, "if (modelContentType != null) {");
+                line(4, "contentType = " + FOXHTTP + "type.ContentType.create(modelContentType.mimeType(), java.nio.charset.Charset.forName(modelContentType.charset()));");
+                line(3, "}");
+                line(3, "request.setRequestBody(new " + FOXHTTP + "body.request.RequestObjectBody((java.io.Serializable) " + body + ", " + FOXHTTP
+                        + "type.ContentType.create(contentType.getMimeType(), contentType.getCharset())));");
+                break;
+            default:
+                break;
+        }
+    }
+
+    private void writeReturn(MethodModel method) {
+        switch (method.getReturnKind()) {
+            case VOID:
+                line(3, "request.execute();");
+                break;
+            case RESPONSE:
+                line(3, "return request.execute();");
+                break;
+            case REQUEST:
+                line(3, "return request;");
+                break;
+            case STRING:
+                line(3, "return request.execute().getStringBody();");
+                break;
+            case BYTE_ARRAY_OUTPUT_STREAM:
+                line(3, "return request.execute().getByteArrayOutputStreamBody();");
+                break;
+            case INPUT_STREAM:
+                line(3, "return request.execute().getInputStreamBody();");
+                break;
+            default:
+                line(3, "return (" + method.getReturnType() + ") (Object) request.execute().getParsedBody((Class<java.io.Serializable>) (Class<?>) "
+                        + method.getReturnErasure() + ".class);");
+                break;
+        }
+    }
+
+    private void line(int indent, String text) {
+        for (int i = 0; i < indent; i++) {
+            source.append("    ");
+        }
+        source.append(text).append('\n');
+    }
+
+    static String literal(String value) {
+        StringBuilder literal = new StringBuilder("\"");
+        for (char c : value.toCharArray()) {
+            switch (c) {
+                case '"':
+                    literal.append("\\\"");
+                    break;
+                case '\\':
+                    literal.append("\\\\");
+                    break;
+                case '\n':
+                    literal.append("\\n");
+                    break;
+                case '\r':
+                    literal.append("\\r");
+                    break;
+                case '\t':
+                    literal.append("\\t");
+                    break;
+                default:
+                    if (c < 0x20 || c > 0x7e) {
+                        literal.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        literal.append(c);
+                    }
+                    break;
+            }
+        }
+        return literal.append('"').toString();
+    }
+}
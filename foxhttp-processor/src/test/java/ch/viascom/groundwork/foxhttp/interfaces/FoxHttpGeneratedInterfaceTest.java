@@ -0,0 +1,15 @@
+package ch.viascom.groundwork.foxhttp.interfaces;
+
+import ch.viascom.groundwork.foxhttp.annotation.types.GET;
+import ch.viascom.groundwork.foxhttp.annotation.types.Path;
+import ch.viascom.groundwork.foxhttp.exception.FoxHttpException;
+
+/**
+ * @author patrick.boesch@viascom.ch
+ */
+@Path("{host}")
+public interface FoxHttpGeneratedInterfaceTest {
+
+    @GET("/name")
+    String getName() throws FoxHttpException;
+}
@@ -0,0 +1,67 @@
+package ch.viascom.groundwork.foxhttp.processor;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+
+import ch.viascom.groundwork.foxhttp.FoxHttpClient;
+import ch.viascom.groundwork.foxhttp.annotation.processor.FoxHttpAnnotationParser;
+import ch.viascom.groundwork.foxhttp.builder.FoxHttpClientBuilder;
+import ch.viascom.groundwork.foxhttp.interfaces.FoxHttpGeneratedInterfaceTest;
+import com.sun.net.httpserver.HttpServer;
+import java.io.OutputStream;
+import java.lang.reflect.Proxy;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Uses the implementation which the processor generated while the tests were compiled
+ *
+ * @author patrick.boesch@viascom.ch
+ */
+public class FoxHttpGeneratedImplementationTest {
+
+    private HttpServer server;
+    private FoxHttpClient foxHttpClient;
+
+    @Before
+    public void startServer() throws Exception {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/name", exchange -> {
+            byte[] body = "generated".getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream os = exchange.getResponseBody()) {
+                os.write(body);
+            }
+        });
+        server.start();
+        foxHttpClient = new FoxHttpClientBuilder().addFoxHttpPlaceholderEntry("host", "http://127.0.0.1:" + server.getAddress().getPort()).build();
+    }
+
+    @After
+    public void stopServer() {
+        server.stop(0);
+    }
+
+    @Test
+    public void useGeneratedImplementation() throws Exception {
+        FoxHttpGeneratedInterfaceTest generatedInterface = new FoxHttpAnnotationParser().parseInterface(FoxHttpGeneratedInterfaceTest.class, foxHttpClient);
+
+        assertThat(generatedInterface.getClass().getName()).isEqualTo(
+            FoxHttpGeneratedInterfaceTest.class.getName() + FoxHttpAnnotationParser.GENERATED_IMPLEMENTATION_SUFFIX);
+        assertThat(generatedInterface.getName()).isEqualTo("generated");
+    }
+
+    @Test
+    public void disableGeneratedImplementation() throws Exception {
+        FoxHttpAnnotationParser foxHttpAnnotationParser = new FoxHttpAnnotationParser();
+        foxHttpAnnotationParser.setUseGeneratedImplementation(false);
+
+        FoxHttpGeneratedInterfaceTest proxyInterface = foxHttpAnnotationParser.parseInterface(FoxHttpGeneratedInterfaceTest.class, foxHttpClient);
+
+        assertThat(Proxy.isProxyClass(proxyInterface.getClass())).isTrue();
+        assertThat(proxyInterface.getName()).isEqualTo("generated");
+    }
+}
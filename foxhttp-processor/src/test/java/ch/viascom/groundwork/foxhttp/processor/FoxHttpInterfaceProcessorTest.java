@@ -0,0 +1,97 @@
+package ch.viascom.groundwork.foxhttp.processor;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+
+import ch.viascom.groundwork.foxhttp.FoxHttpClient;
+import com.google.testing.compile.Compilation;
+import com.google.testing.compile.CompilationSubject;
+import com.google.testing.compile.Compiler;
+import com.google.testing.compile.JavaFileObjects;
+import java.io.File;
+import java.net.URISyntaxException;
+import java.util.Collections;
+import javax.tools.StandardLocation;
+import org.junit.Test;
+
+/**
+ * @author patrick.boesch@viascom.ch
+ */
+public class FoxHttpInterfaceProcessorTest {
+
+    private static final String SUPPORTED_INTERFACE = String.join("\n",
+        "package test;",
+        "import ch.viascom.groundwork.foxhttp.FoxHttpResponse;",
+        "import ch.viascom.groundwork.foxhttp.annotation.types.*;",
+        "import ch.viascom.groundwork.foxhttp.exception.FoxHttpException;",
+        "import java.util.HashMap;",
+        "@Path(\"{host}\")",
+        "@Header(name = \"Product\", value = \"fox \\\"http\\\"\")",
+        "public interface EchoInterface {",
+        "    @GET(\"/{path}\")",
+        "    String get(@Path(\"path\") String path, @Query(\"id\") int id, @HeaderField(value = \"foo\", allowOptional = true) String foo) throws FoxHttpException;",
+        "    @POST(\"/form\")",
+        "    @FormUrlEncodedBody",
+        "    FoxHttpResponse form(@Field(\"name\") String name, @FieldMap HashMap<String, String> fields) throws FoxHttpException;",
+        "    @PUT(\"/object\")",
+        "    Model put(@Body Model model) throws FoxHttpException;",
+        "    @DELETE(\"/\")",
+        "    void delete();",
+        "    default String name() { return \"echo\"; }",
+        "    interface Nested {",
+        "        @GET(\"{host}/nested\")",
+        "        String get() throws FoxHttpException;",
+        "    }",
+        "    class Model implements java.io.Serializable {",
+        "    }",
+        "}");
+
+    private static final String MULTIPART_INTERFACE = String.join("\n",
+        "package test;",
+        "import ch.viascom.groundwork.foxhttp.annotation.types.*;",
+        "import ch.viascom.groundwork.foxhttp.exception.FoxHttpException;",
+        "public interface MultipartInterface {",
+        "    @POST(\"{host}/upload\")",
+        "    @MultipartBody",
+        "    String upload(@Part(\"file\") java.io.File file) throws FoxHttpException;",
+        "}");
+
+    @Test
+    public void generateImplementation() throws Exception {
+        Compilation compilation = compile("test.EchoInterface", SUPPORTED_INTERFACE);
+
+        CompilationSubject.assertThat(compilation).succeeded();
+        CompilationSubject.assertThat(compilation).generatedFile(StandardLocation.CLASS_OUTPUT, "test", "EchoInterface_FoxHttpImpl.class");
+        CompilationSubject.assertThat(compilation).generatedFile(StandardLocation.CLASS_OUTPUT, "test", "EchoInterface$Nested_FoxHttpImpl.class");
+
+        String source = compilation.generatedSourceFile("test.EchoInterface_FoxHttpImpl").get().getCharContent(false).toString();
+        assertThat(source).contains("public final class EchoInterface_FoxHttpImpl implements test.EchoInterface");
+        assertThat(source).contains("\"{host}/{path}\"");
+        assertThat(source).contains("addHeader(\"Product\", \"fox \\\"http\\\"\")");
+        assertThat(source).doesNotContain("name()");
+        assertThat(compilation.generatedSourceFile("test.EchoInterface$Nested_FoxHttpImpl").isPresent()).isTrue();
+    }
+
+    @Test
+    public void skipUnsupportedInterface() throws Exception {
+        Compilation compilation = compile("test.MultipartInterface", MULTIPART_INTERFACE);
+
+        CompilationSubject.assertThat(compilation).succeeded();
+        assertThat(compilation.generatedSourceFiles()).isEmpty();
+        assertThat(compilation.notes()).hasSize(1);
+        assertThat(compilation.notes().get(0).getMessage(null)).contains("test.MultipartInterface").contains("@MultipartBody");
+    }
+
+    @Test
+    public void escapeLiteral() {
+        assertThat(FoxHttpSourceWriter.literal("a\"b\\c\n\u00e4")).isEqualTo("\"a\\\"b\\\\c\\n\\u00e4\"");
+    }
+
+    private Compilation compile(String className, String source) throws URISyntaxException {
+        //The tests run inside of Maven, the class path of the JVM does not contain FoxHttp
+        File foxHttpClasses = new File(FoxHttpClient.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+        return Compiler.javac()
+                       .withProcessors(new FoxHttpInterfaceProcessor())
+                       .withClasspath(Collections.singletonList(foxHttpClasses))
+                       .compile(JavaFileObjects.forSourceString(className, source));
+    }
+}
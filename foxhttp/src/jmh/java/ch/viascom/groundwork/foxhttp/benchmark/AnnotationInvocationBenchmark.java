@@ -0,0 +1,78 @@
+package ch.viascom.groundwork.foxhttp.benchmark;
+
+import ch.viascom.groundwork.foxhttp.FoxHttpRequest;
+import ch.viascom.groundwork.foxhttp.annotation.processor.FoxHttpAnnotationParser;
+import ch.viascom.groundwork.foxhttp.annotation.types.Body;
+import ch.viascom.groundwork.foxhttp.annotation.types.GET;
+import ch.viascom.groundwork.foxhttp.annotation.types.Header;
+import ch.viascom.groundwork.foxhttp.annotation.types.HeaderField;
+import ch.viascom.groundwork.foxhttp.annotation.types.POST;
+import ch.viascom.groundwork.foxhttp.annotation.types.Path;
+import ch.viascom.groundwork.foxhttp.annotation.types.Query;
+import ch.viascom.groundwork.foxhttp.builder.FoxHttpClientBuilder;
+import ch.viascom.groundwork.foxhttp.exception.FoxHttpException;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Per-call overhead of an annotated interface without network. The methods return the prepared FoxHttpRequest, so only the binding of the arguments is
+ * measured. Run it on two commits to compare implementations:
+ * <pre>
+ * mvn -Pbenchmark test-compile exec:exec -Dexec.classpathScope=test -Dexec.executable=java -Dexec.args="-cp %classpath org.openjdk.jmh.Main AnnotationInvocationBenchmark"
+ * </pre>
+ *
+ * @author patrick.boesch@viascom.ch
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AnnotationInvocationBenchmark {
+
+    private BenchmarkInterface benchmarkInterface;
+
+    @Setup
+    public void setup() throws FoxHttpException {
+        benchmarkInterface = new FoxHttpAnnotationParser().parseInterface(BenchmarkInterface.class,
+            new FoxHttpClientBuilder().addFoxHttpPlaceholderEntry("host", "http://localhost").build());
+    }
+
+    @Benchmark
+    public FoxHttpRequest get() throws FoxHttpException {
+        return benchmarkInterface.get("users", "42", "fox");
+    }
+
+    @Benchmark
+    public FoxHttpRequest post() throws FoxHttpException {
+        return benchmarkInterface.post("users", "{\"name\":\"fox\"}");
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(AnnotationInvocationBenchmark.class.getSimpleName()).build()).run();
+    }
+
+    @Path("{host}")
+    @Header(name = "Accept", value = "application/json")
+    public interface BenchmarkInterface {
+
+        @GET("/{path}")
+        FoxHttpRequest get(@Path("path") String path, @Query("id") String id, @HeaderField("Product") String product) throws FoxHttpException;
+
+        @POST("/{path}")
+        FoxHttpRequest post(@Path("path") String path, @Body String body) throws FoxHttpException;
+    }
+}
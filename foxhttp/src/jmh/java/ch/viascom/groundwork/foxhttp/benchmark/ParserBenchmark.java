@@ -0,0 +1,86 @@
+package ch.viascom.groundwork.foxhttp.benchmark;
+
+import ch.viascom.groundwork.foxhttp.exception.FoxHttpException;
+import ch.viascom.groundwork.foxhttp.parser.GenericParser;
+import ch.viascom.groundwork.foxhttp.type.ContentType;
+import java.io.Serializable;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Per-call cost of serializing and deserializing a small object with a parser shared by several threads. Run it on two commits to compare
+ * implementations:
+ * <pre>
+ * mvn -Pbenchmark test-compile exec:exec -Dexec.classpathScope=test -Dexec.executable=java -Dexec.args="-cp %classpath org.openjdk.jmh.Main ParserBenchmark"
+ * </pre>
+ *
+ * @author patrick.boesch@viascom.ch
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+public class ParserBenchmark {
+
+    private final GenericParser parser = new GenericParser();
+    private final Item item = new Item();
+    private String json;
+    private String xml;
+
+    @Setup
+    public void setup() throws FoxHttpException {
+        json = parser.objectToSerialized(item, ContentType.APPLICATION_JSON);
+        xml = parser.objectToSerialized(item, ContentType.APPLICATION_XML);
+    }
+
+    @Benchmark
+    public String toJson() throws FoxHttpException {
+        return parser.objectToSerialized(item, ContentType.APPLICATION_JSON);
+    }
+
+    @Benchmark
+    public Serializable fromJson() throws FoxHttpException {
+        return parser.serializedToObject(json, Item.TYPE, ContentType.APPLICATION_JSON);
+    }
+
+    @Benchmark
+    public String toXml() throws FoxHttpException {
+        return parser.objectToSerialized(item, ContentType.APPLICATION_XML);
+    }
+
+    @Benchmark
+    public Serializable fromXml() throws FoxHttpException {
+        return parser.serializedToObject(xml, Item.TYPE, ContentType.APPLICATION_XML);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(ParserBenchmark.class.getSimpleName()).build()).run();
+    }
+
+    public static class Item implements Serializable {
+
+        @SuppressWarnings("unchecked")
+        static final Class<Serializable> TYPE = (Class<Serializable>) (Class<?>) Item.class;
+
+        private String name = "FoxHttp";
+        private int count = 42;
+        private boolean active = true;
+        private String[] tags = {"http", "client", "java"};
+    }
+}
@@ -0,0 +1,78 @@
+package ch.viascom.groundwork.foxhttp.benchmark;
+
+import ch.viascom.groundwork.foxhttp.annotation.types.QueryName;
+import ch.viascom.groundwork.foxhttp.exception.FoxHttpRequestException;
+import ch.viascom.groundwork.foxhttp.query.FoxHttpRequestQuery;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Binding of a query object with 20 fields to a query string. Run it on two commits to compare implementations:
+ * <pre>
+ * mvn -Pbenchmark test-compile exec:exec -Dexec.classpathScope=test -Dexec.executable=java -Dexec.args="-cp %classpath org.openjdk.jmh.Main QueryObjectBenchmark"
+ * </pre>
+ *
+ * @author patrick.boesch@viascom.ch
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class QueryObjectBenchmark {
+
+    private static final List<String> ALL_FIELDS = Collections.singletonList("");
+
+    private final SearchQuery searchQuery = new SearchQuery();
+
+    @Benchmark
+    public String parseObjectAsQueryMap() throws FoxHttpRequestException {
+        FoxHttpRequestQuery requestQuery = new FoxHttpRequestQuery();
+        requestQuery.parseObjectAsQueryMap(ALL_FIELDS, searchQuery, false, false, true);
+        return requestQuery.getQueryString();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(QueryObjectBenchmark.class.getSimpleName()).build()).run();
+    }
+
+    public static class SearchQuery {
+
+        @QueryName("q")
+        private String query = "fox";
+        @QueryName("page-size")
+        private int pageSize = 50;
+        private int page = 3;
+        private String sort = "name";
+        private String order = "asc";
+        private String language = "de";
+        private String country = "CH";
+        private String category = "animals";
+        private String tag = "red";
+        private String author = "patrick";
+        private long from = 1500000000000L;
+        private long to = 1600000000000L;
+        private boolean exact = true;
+        private boolean archived = false;
+        private double minScore = 0.5;
+        private String format = "json";
+        private String fields = "id,name";
+        private String include = "owner";
+        private String exclude = "history";
+        private String cursor = null;
+    }
+}
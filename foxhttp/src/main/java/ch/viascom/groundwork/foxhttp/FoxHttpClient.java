@@ -1,11 +1,18 @@
 package ch.viascom.groundwork.foxhttp;
 
+import ch.viascom.groundwork.foxhttp.async.FoxHttpAsync;
 import ch.viascom.groundwork.foxhttp.authorization.DefaultAuthorizationStrategy;
 import ch.viascom.groundwork.foxhttp.authorization.FoxHttpAuthorizationStrategy;
+import ch.viascom.groundwork.foxhttp.circuitbreaker.FoxHttpCircuitBreaker;
+import ch.viascom.groundwork.foxhttp.coalescing.FoxHttpRequestCoalescer;
 import ch.viascom.groundwork.foxhttp.component.FoxHttpComponent;
+import ch.viascom.groundwork.foxhttp.compression.DefaultRequestCompressionStrategy;
+import ch.viascom.groundwork.foxhttp.compression.FoxHttpRequestCompressionStrategy;
+import ch.viascom.groundwork.foxhttp.concurrency.FoxHttpConcurrencyLimiter;
 import ch.viascom.groundwork.foxhttp.cookie.DefaultCookieStore;
 import ch.viascom.groundwork.foxhttp.cookie.FoxHttpCookieStore;
 import ch.viascom.groundwork.foxhttp.exception.FoxHttpException;
+import ch.viascom.groundwork.foxhttp.hedging.FoxHttpHedgingPolicy;
 import ch.viascom.groundwork.foxhttp.interceptor.DefaultInterceptorStrategy;
 import ch.viascom.groundwork.foxhttp.interceptor.FoxHttpInterceptor;
 import ch.viascom.groundwork.foxhttp.interceptor.FoxHttpInterceptorComparator;
@@ -18,16 +25,24 @@ import ch.viascom.groundwork.foxhttp.parser.GenericParser;
 import ch.viascom.groundwork.foxhttp.placeholder.DefaultPlaceholderStrategy;
 import ch.viascom.groundwork.foxhttp.placeholder.FoxHttpPlaceholderStrategy;
 import ch.viascom.groundwork.foxhttp.proxy.FoxHttpProxyStrategy;
+import ch.viascom.groundwork.foxhttp.ratelimit.FoxHttpRateLimiter;
+import ch.viascom.groundwork.foxhttp.retry.DefaultRetryStrategy;
+import ch.viascom.groundwork.foxhttp.retry.FoxHttpRetryStrategy;
 import ch.viascom.groundwork.foxhttp.ssl.DefaultSSLTrustStrategy;
 import ch.viascom.groundwork.foxhttp.ssl.FoxHttpHostTrustStrategy;
 import ch.viascom.groundwork.foxhttp.ssl.FoxHttpSSLTrustStrategy;
 import ch.viascom.groundwork.foxhttp.timeout.DefaultTimeoutStrategy;
 import ch.viascom.groundwork.foxhttp.timeout.FoxHttpTimeoutStrategy;
+import ch.viascom.groundwork.foxhttp.util.ConcurrentLruCache;
+import java.net.URL;
 import java.util.ArrayList;
 import java.util.EnumMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.Executor;
 import lombok.Getter;
 import lombok.Setter;
 
@@ -70,6 +85,11 @@ public class FoxHttpClient {
     //Timeouts
     private FoxHttpTimeoutStrategy foxHttpTimeoutStrategy = new DefaultTimeoutStrategy();
 
+    @Getter
+    @Setter
+    //Request compression
+    private FoxHttpRequestCompressionStrategy foxHttpRequestCompressionStrategy = new DefaultRequestCompressionStrategy();
+
     @Getter
     @Setter
     //HostnameVerifier
@@ -102,6 +122,66 @@ public class FoxHttpClient {
     //Logger
     private FoxHttpLogger foxHttpLogger = new DefaultFoxHttpLogger(false);
 
+    @Getter
+    @Setter
+    //Executor of asynchronous requests
+    private Executor foxHttpExecutor = FoxHttpAsync.getDefaultExecutor();
+
+    @Getter
+    @Setter
+    //Check the Digest, Content-Digest and Content-MD5 headers of responses while the body is read
+    private boolean verifyResponseDigest = false;
+
+    @Getter
+    @Setter
+    //MessageDigest algorithms computed of every response body
+    private Set<String> responseDigestAlgorithms = new LinkedHashSet<>();
+
+    @Getter
+    @Setter
+    //Maximal number of redirects followed by a request
+    private int maxRedirects = 20;
+
+    @Getter
+    @Setter
+    //Targets of 301 and 308 redirects per request method and url, null disables the cache
+    private ConcurrentLruCache<String, URL> permanentRedirectCache = new ConcurrentLruCache<>(256);
+
+    @Getter
+    @Setter
+    //Collapses identical concurrent GET and HEAD requests, null disables the coalescing
+    private FoxHttpRequestCoalescer foxHttpRequestCoalescer;
+
+    @Getter
+    @Setter
+    //Sends a copy of slow idempotent requests, null disables the hedging
+    private FoxHttpHedgingPolicy foxHttpHedgingPolicy;
+
+    @Getter
+    @Setter
+    //Sends failed requests again, the default strategy never retries
+    private FoxHttpRetryStrategy foxHttpRetryStrategy = new DefaultRetryStrategy();
+
+    @Getter
+    @Setter
+    //Rejects requests to failing hosts without opening a connection, null disables the circuit breaker
+    private FoxHttpCircuitBreaker foxHttpCircuitBreaker;
+
+    @Getter
+    @Setter
+    //Limits the requests per second to a host or scope, null disables the rate limit
+    private FoxHttpRateLimiter foxHttpRateLimiter;
+
+    @Getter
+    @Setter
+    //Adapts the number of concurrent requests per host to its load, null disables the limit
+    private FoxHttpConcurrencyLimiter foxHttpConcurrencyLimiter;
+
+    @Getter
+    @Setter
+    //Time budget in milliseconds of a request including retries, redirects and the body, 0 disables the deadline
+    private long deadline = 0;
+
     @Getter
     @Setter
     //UserAgent
@@ -0,0 +1,987 @@
+package ch.viascom.groundwork.foxhttp;
+
+import ch.viascom.groundwork.foxhttp.async.FoxHttpAsync;
+import ch.viascom.groundwork.foxhttp.async.FoxHttpCallback;
+import ch.viascom.groundwork.foxhttp.authorization.FoxHttpAuthorization;
+import ch.viascom.groundwork.foxhttp.authorization.FoxHttpAuthorizationContext;
+import ch.viascom.groundwork.foxhttp.authorization.FoxHttpAuthorizationScope;
+import ch.viascom.groundwork.foxhttp.body.request.FoxHttpRequestBody;
+import ch.viascom.groundwork.foxhttp.body.request.FoxHttpRequestBodyContext;
+import ch.viascom.groundwork.foxhttp.body.response.ConnectionInputStream;
+import ch.viascom.groundwork.foxhttp.body.response.FoxHttpResponseBody;
+import ch.viascom.groundwork.foxhttp.body.response.ResponseDigest;
+import ch.viascom.groundwork.foxhttp.body.response.ResponseDigestException;
+import ch.viascom.groundwork.foxhttp.circuitbreaker.FoxHttpCircuitBreaker;
+import ch.viascom.groundwork.foxhttp.coalescing.CoalescedResponse;
+import ch.viascom.groundwork.foxhttp.coalescing.FoxHttpRequestCoalescer;
+import ch.viascom.groundwork.foxhttp.compression.FoxHttpRequestCompressionStrategy;
+import ch.viascom.groundwork.foxhttp.concurrency.FoxHttpConcurrencyLimiter;
+import ch.viascom.groundwork.foxhttp.deadline.DeadlineExceededException;
+import ch.viascom.groundwork.foxhttp.deadline.FoxHttpDeadline;
+import ch.viascom.groundwork.foxhttp.exception.FoxHttpException;
+import ch.viascom.groundwork.foxhttp.exception.FoxHttpRequestException;
+import ch.viascom.groundwork.foxhttp.exception.FoxHttpResponseException;
+import ch.viascom.groundwork.foxhttp.header.FoxHttpHeader;
+import ch.viascom.groundwork.foxhttp.header.HeaderEntry;
+import ch.viascom.groundwork.foxhttp.hedging.FoxHttpHedgingPolicy;
+import ch.viascom.groundwork.foxhttp.interceptor.FoxHttpInterceptorExecutor;
+import ch.viascom.groundwork.foxhttp.interceptor.request.context.FoxHttpRequestConnectionInterceptorContext;
+import ch.viascom.groundwork.foxhttp.interceptor.request.context.FoxHttpRequestHeaderInterceptorContext;
+import ch.viascom.groundwork.foxhttp.interceptor.request.context.FoxHttpRequestInterceptorContext;
+import ch.viascom.groundwork.foxhttp.interceptor.response.context.FoxHttpResponseCodeInterceptorContext;
+import ch.viascom.groundwork.foxhttp.interceptor.response.context.FoxHttpResponseInterceptorContext;
+import ch.viascom.groundwork.foxhttp.log.FoxHttpLoggerLevel;
+import ch.viascom.groundwork.foxhttp.placeholder.FoxHttpPlaceholderStrategy;
+import ch.viascom.groundwork.foxhttp.query.FoxHttpRequestQuery;
+import ch.viascom.groundwork.foxhttp.ratelimit.FoxHttpRateLimiter;
+import ch.viascom.groundwork.foxhttp.response.stream.FoxHttpEventListener;
+import ch.viascom.groundwork.foxhttp.response.stream.FoxHttpEventSource;
+import ch.viascom.groundwork.foxhttp.response.stream.FoxHttpEventStream;
+import ch.viascom.groundwork.foxhttp.response.stream.ServerSentEvent;
+import ch.viascom.groundwork.foxhttp.retry.FoxHttpRetryContext;
+import ch.viascom.groundwork.foxhttp.retry.FoxHttpRetryStrategy;
+import ch.viascom.groundwork.foxhttp.timeout.FoxHttpTimeoutStrategy;
+import ch.viascom.groundwork.foxhttp.type.HeaderTypes;
+import ch.viascom.groundwork.foxhttp.type.RequestType;
+import ch.viascom.groundwork.foxhttp.util.FoxHttpScheduler;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Type;
+import java.net.CookieHandler;
+import java.net.CookieManager;
+import java.net.HttpURLConnection;
+import java.net.MalformedURLException;
+import java.net.SocketTimeoutException;
+import java.net.URL;
+import java.net.URLConnection;
+import java.security.NoSuchAlgorithmException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import javax.net.ssl.HttpsURLConnection;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * @author patrick.boesch@viascom.ch
+ */
+public class FoxHttpRequest {
+
+    private static final int HTTP_TEMPORARY_REDIRECT = 307;
+    private static final int HTTP_PERMANENT_REDIRECT = 308;
+    //Larger redirect bodies are not read to keep the connection alive
+    private static final int MAX_DISCARDED_REDIRECT_BODY = 64 * 1024;
+    //Socket timeouts are limited to the remaining milliseconds of the deadline, so they can end shortly before it
+    private static final long DEADLINE_TOLERANCE = TimeUnit.MILLISECONDS.toNanos(5);
+
+    @Getter
+    private URL url;
+
+    //Url as defined before query and placeholders got applied, allows to execute the request again
+    private URL originalUrl;
+
+    @Getter
+    @Setter
+    private FoxHttpAuthorizationScope authScope;
+
+    @Getter
+    @Setter
+    private FoxHttpRequestQuery requestQuery = new FoxHttpRequestQuery();
+
+    @Getter
+    @Setter
+    private FoxHttpRequestBody requestBody;
+
+    @Getter
+    @Setter
+    private FoxHttpHeader requestHeader = new FoxHttpHeader();
+
+    @Getter
+    @Setter
+    private RequestType requestType = RequestType.GET;
+
+    @Getter
+    @Setter
+    private boolean skipResponseBody = false;
+
+    @Getter
+    @Setter
+    private boolean followRedirect = true;
+
+    @Getter
+    @Setter
+    //Keeps the connection open and returns the live body, the response has to be closed by the caller
+    private boolean streamResponseBody = false;
+
+    @Getter
+    private FoxHttpResponse foxHttpResponse;
+
+    @Getter
+    private FoxHttpClient foxHttpClient;
+
+    @Getter(AccessLevel.PROTECTED)
+    private volatile URLConnection connection;
+
+    @Getter
+    @Setter
+    private FoxHttpPlaceholderStrategy foxHttpPlaceholderStrategy;
+
+    @Getter
+    @Setter
+    private boolean overrideLoggerEnabled;
+
+    @Getter
+    @Setter
+    //Overrides the request compression strategy of the client if set
+    private FoxHttpRequestCompressionStrategy foxHttpRequestCompressionStrategy;
+
+    @Getter
+    @Setter
+    //Overrides the hedging policy of the client if set
+    private FoxHttpHedgingPolicy foxHttpHedgingPolicy;
+
+    //Copy of a slow request sent by the hedging policy, it is neither hedged nor coalesced again
+    private boolean hedge = false;
+
+    @Getter
+    //Set by abort, an aborted request is not retried
+    private volatile boolean aborted = false;
+
+    @Getter
+    @Setter
+    //Time budget in milliseconds of the whole execution including retries, 0 uses the deadline of the client
+    private long deadline = 0;
+
+    //Deadline of the request which started this one on another thread, e.g. of a hedged request
+    private volatile long inheritedDeadline = 0;
+    //Deadline of the running execution in System.nanoTime
+    private volatile long activeDeadline = 0;
+    @Getter
+    //Set if the deadline aborted the running execution, unlike an abort of the caller the request took too long
+    private volatile boolean deadlineExceeded = false;
+    //Timer of the deadline, kept after execute returned as long as a streamed body is open
+    private volatile ScheduledFuture<?> deadlineTimer;
+
+    //Wait for the call of an identical request, cancelled by abort
+    private volatile Future<?> coalescedWait;
+
+
+    public FoxHttpRequest() throws FoxHttpRequestException {
+        this(new FoxHttpClient());
+    }
+
+    public FoxHttpRequest(FoxHttpClient foxHttpClient) throws FoxHttpRequestException {
+        setFoxHttpClient(foxHttpClient);
+    }
+
+    public void setFoxHttpClient(FoxHttpClient foxHttpClient) throws FoxHttpRequestException {
+        if (foxHttpClient == null) {
+            throw new FoxHttpRequestException("FoxHttpClient can not be null");
+        }
+        this.foxHttpClient = foxHttpClient;
+        // Copy configuration from client to request
+        try {
+            this.setFoxHttpPlaceholderStrategy(this.foxHttpClient.getFoxHttpPlaceholderStrategy().getClass().newInstance());
+            this.getFoxHttpPlaceholderStrategy().getPlaceholderMap().putAll(this.foxHttpClient.getFoxHttpPlaceholderStrategy().getPlaceholderMap());
+        } catch (InstantiationException | IllegalAccessException e) {
+            throw new FoxHttpRequestException("Could not copy foxHttpPlaceholderStrategy from client to request: " + e.getMessage());
+        }
+
+        this.overrideLoggerEnabled = this.foxHttpClient.getFoxHttpLogger().isLoggingEnabled();
+    }
+
+    public void setUrl(String url) throws MalformedURLException, FoxHttpRequestException {
+        String parsedURL = foxHttpPlaceholderStrategy.processPlaceholders(url, foxHttpClient);
+        this.url = new URL(parsedURL);
+        this.originalUrl = null;
+    }
+
+    /**
+     * Activate defined Logger
+     *
+     * @param activate activate logger
+     */
+    public void activateFoxHttpLogger(boolean activate) {
+        this.overrideLoggerEnabled = activate;
+    }
+
+    public void setUrl(URL url) {
+        this.url = url;
+        this.originalUrl = null;
+    }
+
+    /**
+     * Execute a this request
+     *
+     * @return Response if this request
+     */
+    public FoxHttpResponse execute() throws FoxHttpException {
+        return execute(foxHttpClient);
+    }
+
+    /**
+     * Execute a this request
+     *
+     * @param foxHttpClient a specific client which will be used for this request
+     * @return Response if this request
+     */
+    public FoxHttpResponse execute(FoxHttpClient foxHttpClient) throws FoxHttpException {
+        verifyRequest();
+        foxHttpClient.getFoxHttpLogger().log(FoxHttpLoggerLevel.INFO, "========= Request =========");
+        foxHttpClient.getFoxHttpLogger().log(FoxHttpLoggerLevel.DEBUG, "setFoxHttpClient(" + foxHttpClient + ")");
+        this.foxHttpClient = foxHttpClient;
+        //The timer of a previous execution must not abort this one
+        cancelDeadlineTimer();
+        this.aborted = false;
+        this.deadlineExceeded = false;
+
+        //A copy of a hedged request is not retried on its own
+        FoxHttpRetryStrategy retryStrategy = hedge ? null : foxHttpClient.getFoxHttpRetryStrategy();
+        boolean retryable = retryStrategy != null && retryStrategy.isRetryable(this);
+        if (requestBody != null && !hedge) {
+            //Keep the serialized body for retries instead of serializing it again
+            requestBody.prepareExecution(retryable);
+        }
+
+        long executionDeadline = getExecutionDeadline();
+        inheritedDeadline = 0;
+        if (executionDeadline == 0) {
+            return executeAttempts(retryStrategy, retryable);
+        }
+
+        long remaining = executionDeadline - System.nanoTime();
+        if (remaining <= 0) {
+            throw new DeadlineExceededException("The deadline of the request was exceeded before it was sent");
+        }
+        foxHttpClient.getFoxHttpLogger().log(FoxHttpLoggerLevel.DEBUG, "setDeadline(" + TimeUnit.NANOSECONDS.toMillis(remaining) + "ms)");
+        activeDeadline = executionDeadline;
+        long outerDeadline = FoxHttpDeadline.enter(executionDeadline);
+        //Closes the connection in whatever phase the request is when the time is up
+        deadlineTimer = FoxHttpScheduler.schedule(this::exceedDeadline, remaining, TimeUnit.NANOSECONDS);
+        boolean keepTimer = false;
+        try {
+            FoxHttpResponse response = executeAttempts(retryStrategy, retryable);
+            //A streamed body is read after this method returned, the deadline applies to it until it gets closed
+            keepTimer = response.getResponseBody().isStreamed();
+            return response;
+        } catch (FoxHttpException e) {
+            if (isDeadlineReached()) {
+                throw new DeadlineExceededException("The deadline of the request was exceeded", e);
+            }
+            throw e;
+        } finally {
+            FoxHttpDeadline.restore(outerDeadline);
+            activeDeadline = 0;
+            if (!keepTimer) {
+                cancelDeadlineTimer();
+            }
+        }
+    }
+
+    private FoxHttpResponse executeAttempts(FoxHttpRetryStrategy retryStrategy, boolean retryable) throws FoxHttpException {
+        for (int attempt = 1; ; attempt++) {
+            if (!retryable) {
+                return executeAttempt();
+            }
+
+            FoxHttpResponse response = null;
+            FoxHttpException exception = null;
+            try {
+                response = executeAttempt();
+            } catch (FoxHttpException e) {
+                exception = e;
+            }
+
+            long delay = aborted ? -1 : retryStrategy.getRetryDelay(new FoxHttpRetryContext(this, attempt, response, exception));
+            long remaining = FoxHttpDeadline.getRemainingMillis();
+            if (delay < 0 || (remaining >= 0 && delay >= remaining)) {
+                if (exception != null) {
+                    throw exception;
+                }
+                return response;
+            }
+            foxHttpClient.getFoxHttpLogger().log(FoxHttpLoggerLevel.INFO, "retryRequest(" + attempt + ", " + delay + "ms)");
+            discardResponse(response);
+            try {
+                Thread.sleep(delay);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new FoxHttpRequestException(e);
+            }
+        }
+    }
+
+    private long getExecutionDeadline() {
+        long timeBudget = deadline > 0 ? deadline : foxHttpClient.getDeadline();
+        long executionDeadline = timeBudget > 0 ? System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeBudget) : 0;
+        //A nested request can not outlive the request which started it
+        return FoxHttpDeadline.earliest(executionDeadline, FoxHttpDeadline.earliest(inheritedDeadline, FoxHttpDeadline.getDeadline()));
+    }
+
+    private void cancelDeadlineTimer() {
+        cancelDeadlineTimer(deadlineTimer);
+    }
+
+    private void cancelDeadlineTimer(ScheduledFuture<?> timer) {
+        if (timer != null) {
+            timer.cancel(false);
+            if (deadlineTimer == timer) {
+                deadlineTimer = null;
+            }
+        }
+    }
+
+    /**
+     * Checks if the running execution used up its time budget <i>a socket timeout shortened to the deadline can end the request just before its timer</i>
+     *
+     * @return true if the deadline is exceeded or about to be
+     */
+    private boolean isDeadlineReached() {
+        return deadlineExceeded || (activeDeadline != 0 && activeDeadline - System.nanoTime() < DEADLINE_TOLERANCE);
+    }
+
+    private void exceedDeadline() {
+        foxHttpClient.getFoxHttpLogger().log(FoxHttpLoggerLevel.INFO, "deadlineExceeded()");
+        deadlineExceeded = true;
+        abort();
+    }
+
+    /**
+     * Execute this request on the executor of the client <i>cancelling the future aborts the request</i>
+     *
+     * @return future of the response, completes exceptionally with a FoxHttpException
+     */
+    public CompletableFuture<FoxHttpResponse> executeAsync() {
+        return FoxHttpAsync.execute(this, this::execute);
+    }
+
+    /**
+     * Execute this request on the executor of the client and pass the response to the callback
+     *
+     * @param callback callback of the response
+     */
+    public void executeAsync(FoxHttpCallback<FoxHttpResponse> callback) {
+        FoxHttpAsync.notify(executeAsync(), callback);
+    }
+
+    /**
+     * Execute this request as text/event-stream and pass every event to the listener <i>blocks until the server ends the stream with 204 or the listener
+     * fails, lost connections are resumed with Last-Event-ID</i>
+     *
+     * @param listener listener of the events
+     * @throws FoxHttpException if the server responds with an error or the listener fails
+     */
+    public void executeEventStream(FoxHttpEventListener<ServerSentEvent> listener) throws FoxHttpException {
+        FoxHttpEventSource.serverSentEvents(this).consume(listener);
+    }
+
+    /**
+     * Execute this request as text/event-stream in the background
+     *
+     * @param bufferSize maximal number of events buffered before reading from the connection pauses
+     * @return iterator over the events, has to be closed by the caller
+     */
+    public FoxHttpEventStream<ServerSentEvent> openEventStream(int bufferSize) {
+        return new FoxHttpEventStream<>(FoxHttpEventSource.serverSentEvents(this), bufferSize);
+    }
+
+    /**
+     * Execute this request as application/x-ndjson and pass every parsed line to the listener <i>blocks until the stream ends</i>
+     *
+     * @param type type of the json values
+     * @param listener listener of the parsed lines
+     * @param <T> type of the json values
+     * @throws FoxHttpException if the request failed, the server responds with an error or the listener fails
+     */
+    public <T> void executeNdJsonStream(Type type, FoxHttpEventListener<T> listener) throws FoxHttpException {
+        FoxHttpEventSource.<T>ndJson(this, type).consume(listener);
+    }
+
+    /**
+     * Execute this request as application/x-ndjson in the background
+     *
+     * @param type type of the json values
+     * @param bufferSize maximal number of parsed lines buffered before reading from the connection pauses
+     * @param <T> type of the json values
+     * @return iterator over the parsed lines, has to be closed by the caller
+     */
+    public <T> FoxHttpEventStream<T> openNdJsonStream(Type type, int bufferSize) {
+        return new FoxHttpEventStream<>(FoxHttpEventSource.<T>ndJson(this, type), bufferSize);
+    }
+
+    /**
+     * Abort the running execution of this request by closing its connection
+     */
+    public void abort() {
+        aborted = true;
+        Future<?> activeWait = coalescedWait;
+        if (activeWait != null) {
+            activeWait.cancel(false);
+        }
+        URLConnection activeConnection = connection;
+        if (activeConnection != null) {
+            ((HttpURLConnection) activeConnection).disconnect();
+        }
+    }
+
+    private FoxHttpResponse executeAttempt() throws FoxHttpException {
+        //Start from the defined url if the request gets executed again
+        if (originalUrl == null) {
+            originalUrl = url;
+        } else {
+            url = originalUrl;
+        }
+
+        FoxHttpHedgingPolicy hedgingPolicy = foxHttpHedgingPolicy != null ? foxHttpHedgingPolicy : foxHttpClient.getFoxHttpHedgingPolicy();
+        if (!hedge && hedgingPolicy != null && hedgingPolicy.isHedgeable(this)) {
+            foxHttpClient.getFoxHttpLogger().log(FoxHttpLoggerLevel.DEBUG, "hedgeRequest(" + hedgingPolicy + ")");
+            return hedgingPolicy.execute(this, this::executeProtected, this::createHedge);
+        }
+        return executeProtected();
+    }
+
+    private FoxHttpResponse executeProtected() throws FoxHttpException {
+        FoxHttpCircuitBreaker circuitBreaker = foxHttpClient.getFoxHttpCircuitBreaker();
+        if (circuitBreaker != null) {
+            return circuitBreaker.execute(this, this::executeHttp);
+        }
+        return executeHttp();
+    }
+
+    private void discardResponse(FoxHttpResponse response) {
+        //A streamed response holds the connection until it is closed
+        if (response != null && streamResponseBody) {
+            try {
+                response.close();
+            } catch (IOException e) {
+                foxHttpClient.getFoxHttpLogger().log(FoxHttpLoggerLevel.DEBUG, "discardResponse(" + e.getMessage() + ")");
+            }
+        }
+    }
+
+    private FoxHttpRequest createHedge() {
+        try {
+            FoxHttpRequest hedgeRequest = new FoxHttpRequest(foxHttpClient);
+            hedgeRequest.url = originalUrl;
+            hedgeRequest.authScope = authScope;
+            hedgeRequest.requestQuery = requestQuery;
+            hedgeRequest.requestBody = requestBody;
+            //Interceptors can change the headers while both requests are running
+            for (HeaderEntry headerEntry : requestHeader) {
+                hedgeRequest.requestHeader.addHeader(headerEntry.getName(), headerEntry.getValue());
+            }
+            hedgeRequest.requestType = requestType;
+            hedgeRequest.skipResponseBody = skipResponseBody;
+            hedgeRequest.followRedirect = followRedirect;
+            hedgeRequest.foxHttpPlaceholderStrategy = foxHttpPlaceholderStrategy;
+            hedgeRequest.overrideLoggerEnabled = overrideLoggerEnabled;
+            hedgeRequest.foxHttpRequestCompressionStrategy = foxHttpRequestCompressionStrategy;
+            hedgeRequest.hedge = true;
+            hedgeRequest.inheritedDeadline = activeDeadline;
+            return hedgeRequest;
+        } catch (FoxHttpRequestException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private FoxHttpResponse executeHttp() throws FoxHttpException {
+        boolean keepConnection = false;
+        try {
+            //Execute interceptor
+            foxHttpClient.getFoxHttpLogger().log(FoxHttpLoggerLevel.DEBUG, "executeRequestInterceptor()");
+            FoxHttpInterceptorExecutor.executeRequestInterceptor(new FoxHttpRequestInterceptorContext(getUrl(), this, foxHttpClient));
+
+            foxHttpClient.getFoxHttpLogger().log(FoxHttpLoggerLevel.DEBUG, "setCookieStore(" + foxHttpClient.getFoxHttpCookieStore() + ")");
+            CookieHandler.setDefault((CookieManager) foxHttpClient.getFoxHttpCookieStore());
+
+            // Create Scope
+            setAuthScope(FoxHttpAuthorizationScope.create(getUrl().toString(), requestType));
+
+            foxHttpClient.getFoxHttpLogger().log(FoxHttpLoggerLevel.DEBUG, "prepareQuery(" + getRequestQuery() + ")");
+            prepareQuery();
+
+            foxHttpClient.getFoxHttpLogger().log(FoxHttpLoggerLevel.DEBUG, "processPlaceholders()");
+            String parsedURL = foxHttpPlaceholderStrategy.processPlaceholders(getUrl().toString(), foxHttpClient);
+            url = new URL(parsedURL);
+
+            checkPlaceholders();
+
+            FoxHttpRequestCoalescer coalescer = foxHttpClient.getFoxHttpRequestCoalescer();
+            if (!hedge && coalescer != null && coalescer.isCoalescable(this)) {
+                //Identical requests which are running at the same time share one call
+                foxHttpClient.getFoxHttpLogger().log(FoxHttpLoggerLevel.DEBUG, "coalesceRequest()");
+                //An abort or the deadline of this request must not fail the identical requests
+                return createCoalescedResponse(
+                    coalescer.execute(coalescer.createKey(this), this::executeCoalescedCall, this::setCoalescedWait, failure -> !aborted && !isDeadlineReached()));
+            }
+
+            int responseCode = executeLimitedHops();
+
+            //Execute interceptor
+            foxHttpClient.getFoxHttpLogger().log(FoxHttpLoggerLevel.DEBUG, "executeResponseCodeInterceptor()");
+            FoxHttpInterceptorExecutor.executeResponseCodeInterceptor(new FoxHttpResponseCodeInterceptorContext(responseCode, this, foxHttpClient));
+
+            if (!skipResponseBody) {
+                InputStream is = getResponseStream(responseCode);
+
+                ResponseDigest responseDigest = createResponseDigest(is);
+                if (responseDigest != null) {
+                    is = responseDigest.wrap(is);
+                }
+
+                if (streamResponseBody && is != null) {
+                    //Closing an older response must not cancel the deadline of a later execution
+                    ScheduledFuture<?> timer = deadlineTimer;
+                    is = new ConnectionInputStream(is, (HttpURLConnection) connection, () -> cancelDeadlineTimer(timer));
+                }
+
+                foxHttpClient.getFoxHttpLogger().log(FoxHttpLoggerLevel.INFO, "createFoxHttpResponse()");
+                foxHttpResponse = new FoxHttpResponse(is, this, responseCode, foxHttpClient, responseDigest);
+            } else {
+                foxHttpClient.getFoxHttpLogger().log(FoxHttpLoggerLevel.INFO, "createFoxHttpResponse()");
+                foxHttpResponse = new FoxHttpResponse(null, this, responseCode, foxHttpClient);
+                foxHttpClient.getFoxHttpLogger().log(FoxHttpLoggerLevel.INFO, "No body return because skipResponseBody is active!");
+            }
+
+            //Process response headers
+            foxHttpClient.getFoxHttpLogger().log(FoxHttpLoggerLevel.DEBUG, "processResponseHeader()");
+            foxHttpResponse.setResponseHeaders(readResponseHeader());
+
+            //Execute interceptor
+            foxHttpClient.getFoxHttpLogger().log(FoxHttpLoggerLevel.DEBUG, "executeResponseInterceptor()");
+            FoxHttpInterceptorExecutor.executeResponseInterceptor(new FoxHttpResponseInterceptorContext(responseCode, foxHttpResponse, this, foxHttpClient));
+
+            //A streamed body closes the connection itself
+            keepConnection = foxHttpResponse.getResponseBody().isStreamed();
+            return foxHttpResponse;
+        } catch (FoxHttpException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new FoxHttpRequestException(e);
+        } finally {
+
+            if (connection != null && !keepConnection) {
+                ((HttpURLConnection) connection).disconnect();
+            }
+        }
+    }
+
+    private int executeLimitedHops() throws FoxHttpException, IOException {
+        FoxHttpConcurrencyLimiter concurrencyLimiter = foxHttpClient.getFoxHttpConcurrencyLimiter();
+        if (concurrencyLimiter == null) {
+            return executeHops();
+        }
+
+        foxHttpClient.getFoxHttpLogger().log(FoxHttpLoggerLevel.DEBUG, "acquireConcurrencyLimit(" + concurrencyLimiter.getKey(getUrl()) + ")");
+        FoxHttpConcurrencyLimiter.Permit permit = concurrencyLimiter.acquire(getUrl());
+        try {
+            int responseCode = executeHops();
+            permit.onResponse(responseCode);
+            return responseCode;
+        } catch (SocketTimeoutException e) {
+            permit.onDropped();
+            throw e;
+        } finally {
+            //A request stopped by its deadline took too long just like a timed out one
+            if (deadlineExceeded) {
+                permit.onDropped();
+            }
+            //Any other failure says nothing about the load of the host
+            permit.onIgnore();
+        }
+    }
+
+    private int executeHops() throws FoxHttpException, IOException {
+        //Redirects are followed hop by hop, the method and body of a hop can differ from the defined ones
+        URL firstUrl = getUrl();
+        RequestType hopRequestType = requestType;
+        boolean sendBody = doOutput();
+        int redirects = 0;
+        int responseCode;
+        while (true) {
+            //An abort closes only the connection of the running hop, no further hop is started
+            if (aborted) {
+                throw new FoxHttpRequestException("The request was aborted before " + getUrl() + " was requested");
+            }
+            URL permanentRedirect;
+            while ((permanentRedirect = getPermanentRedirect(hopRequestType)) != null) {
+                redirects = countRedirect(redirects);
+                foxHttpClient.getFoxHttpLogger().log(FoxHttpLoggerLevel.DEBUG, "usePermanentRedirect(" + permanentRedirect + ")");
+                url = permanentRedirect;
+            }
+            if (redirects > 0) {
+                setAuthScope(FoxHttpAuthorizationScope.create(getUrl().toString(), hopRequestType));
+            }
+
+            responseCode = sendRequest(hopRequestType, sendBody, isSameOrigin(firstUrl, getUrl()));
+
+            URL location = getRedirectLocation(responseCode);
+            if (location == null) {
+                break;
+            }
+            RequestType redirectRequestType = getRedirectRequestType(responseCode, hopRequestType);
+            if (redirectRequestType == hopRequestType && sendBody && !requestBody.isRepeatable()) {
+                //The body can not be sent again, the caller gets the redirect response
+                foxHttpClient.getFoxHttpLogger().log(FoxHttpLoggerLevel.DEBUG, "skipRedirect(body is not repeatable)");
+                break;
+            }
+            redirects = countRedirect(redirects);
+            foxHttpClient.getFoxHttpLogger().log(FoxHttpLoggerLevel.INFO, "followRedirect(" + responseCode + ", " + redirectRequestType + " " + location + ")");
+
+            //Permanent redirects which keep the method are sent directly to the new location next time
+            if ((responseCode == HttpURLConnection.HTTP_MOVED_PERM || responseCode == HTTP_PERMANENT_REDIRECT) && redirectRequestType == hopRequestType
+                && foxHttpClient.getPermanentRedirectCache() != null) {
+                foxHttpClient.getPermanentRedirectCache().put(hopRequestType + " " + getUrl(), location);
+            }
+
+            if (redirectRequestType != hopRequestType) {
+                sendBody = false;
+            }
+            hopRequestType = redirectRequestType;
+            discardRedirectBody();
+            url = location;
+        }
+        return responseCode;
+    }
+
+    private void setCoalescedWait(Future<?> wait) {
+        coalescedWait = wait;
+        //The request could have been aborted before the wait was known
+        if (aborted) {
+            wait.cancel(false);
+        }
+    }
+
+    private CoalescedResponse executeCoalescedCall() throws FoxHttpException {
+        try {
+            int responseCode = executeLimitedHops();
+
+            byte[] body = null;
+            ResponseDigest responseDigest = null;
+            if (!skipResponseBody) {
+                InputStream is = getResponseStream(responseCode);
+                responseDigest = createResponseDigest(is);
+                if (responseDigest != null) {
+                    is = responseDigest.wrap(is);
+                }
+                //The raw body is shared, every response runs the body interceptors itself
+                FoxHttpResponseBody responseBody = new FoxHttpResponseBody();
+                responseBody.setBody(is);
+                body = responseBody.getBody().toByteArray();
+            }
+            return new CoalescedResponse(getUrl(), responseCode, readResponseHeader(), body, responseDigest);
+        } catch (ResponseDigestException e) {
+            throw new FoxHttpResponseException(e);
+        } catch (IOException | NoSuchAlgorithmException e) {
+            throw new FoxHttpRequestException(e);
+        }
+    }
+
+    private FoxHttpResponse createCoalescedResponse(CoalescedResponse coalescedResponse) throws FoxHttpException, IOException {
+        url = coalescedResponse.getUrl();
+        int responseCode = coalescedResponse.getResponseCode();
+
+        //Execute interceptor
+        foxHttpClient.getFoxHttpLogger().log(FoxHttpLoggerLevel.DEBUG, "executeResponseCodeInterceptor()");
+        FoxHttpInterceptorExecutor.executeResponseCodeInterceptor(new FoxHttpResponseCodeInterceptorContext(responseCode, this, foxHttpClient));
+
+        foxHttpClient.getFoxHttpLogger().log(FoxHttpLoggerLevel.INFO, "createFoxHttpResponse(coalesced)");
+        InputStream is = coalescedResponse.getBody() == null ? null : new ByteArrayInputStream(coalescedResponse.getBody());
+        foxHttpResponse = new FoxHttpResponse(is, this, responseCode, foxHttpClient, coalescedResponse.getDigest());
+
+        FoxHttpHeader responseHeaders = new FoxHttpHeader();
+        for (HeaderEntry headerEntry : coalescedResponse.getResponseHeaders()) {
+            responseHeaders.addHeader(headerEntry.getName(), headerEntry.getValue());
+        }
+        foxHttpResponse.setResponseHeaders(responseHeaders);
+
+        //Execute interceptor
+        foxHttpClient.getFoxHttpLogger().log(FoxHttpLoggerLevel.DEBUG, "executeResponseInterceptor()");
+        FoxHttpInterceptorExecutor.executeResponseInterceptor(new FoxHttpResponseInterceptorContext(responseCode, foxHttpResponse, this, foxHttpClient));
+        return foxHttpResponse;
+    }
+
+    private InputStream getResponseStream(int responseCode) throws IOException {
+        if (responseCode >= HttpURLConnection.HTTP_OK && responseCode < HttpURLConnection.HTTP_MULT_CHOICE) {
+            //On success response code
+            foxHttpClient.getFoxHttpLogger().log(FoxHttpLoggerLevel.DEBUG, "getResponseBody(success)");
+            return connection.getInputStream();
+        }
+        //On error response code
+        foxHttpClient.getFoxHttpLogger().log(FoxHttpLoggerLevel.DEBUG, "getResponseBody(error)");
+        return ((HttpURLConnection) connection).getErrorStream();
+    }
+
+    private ResponseDigest createResponseDigest(InputStream is) throws NoSuchAlgorithmException {
+        if (is == null || (!foxHttpClient.isVerifyResponseDigest() && foxHttpClient.getResponseDigestAlgorithms().isEmpty())) {
+            return null;
+        }
+        ResponseDigest responseDigest = ResponseDigest.create(connection, foxHttpClient.isVerifyResponseDigest(), foxHttpClient.getResponseDigestAlgorithms());
+        if (responseDigest != null) {
+            foxHttpClient.getFoxHttpLogger().log(FoxHttpLoggerLevel.DEBUG, "digestResponseBody()");
+        }
+        return responseDigest;
+    }
+
+    private int sendRequest(RequestType hopRequestType, boolean sendBody, boolean sameOrigin) throws FoxHttpException, IOException {
+        //Execute interceptor
+        foxHttpClient.getFoxHttpLogger().log(FoxHttpLoggerLevel.DEBUG, "executeRequestConnectionInterceptor()");
+        FoxHttpInterceptorExecutor.executeRequestConnectionInterceptor(new FoxHttpRequestConnectionInterceptorContext(getUrl(), this, foxHttpClient));
+
+        //Wait for a permit before the connection is opened
+        FoxHttpRateLimiter rateLimiter = foxHttpClient.getFoxHttpRateLimiter();
+        if (rateLimiter != null) {
+            foxHttpClient.getFoxHttpLogger().log(FoxHttpLoggerLevel.DEBUG, "acquireRateLimit(" + rateLimiter.getKey(getUrl()) + ")");
+            rateLimiter.acquire(getUrl());
+        }
+
+        //Create connection
+        foxHttpClient.getFoxHttpLogger().log(FoxHttpLoggerLevel.INFO, "createConnection(" + getUrl() + ")");
+        if (foxHttpClient.getFoxHttpProxyStrategy() == null) {
+            connection = getUrl().openConnection();
+        } else {
+            foxHttpClient.getFoxHttpLogger().log(FoxHttpLoggerLevel.INFO, "useProxy(" + foxHttpClient.getFoxHttpProxyStrategy() + ")");
+            connection = getUrl().openConnection(foxHttpClient.getFoxHttpProxyStrategy().getProxy(getUrl()));
+            if (foxHttpClient.getFoxHttpProxyStrategy().hasProxyAuthorization(getUrl())) {
+                setHeaderIfNotExist(HeaderTypes.PROXY_AUTHORIZATION, foxHttpClient.getFoxHttpProxyStrategy().getProxyAuthorization(getUrl()), connection);
+            }
+        }
+
+        foxHttpClient.getFoxHttpLogger().log(FoxHttpLoggerLevel.DEBUG, "setRequestMethod(" + hopRequestType.toString() + ")");
+        ((HttpURLConnection) connection).setRequestMethod(hopRequestType.toString());
+
+        //Set headers
+        foxHttpClient.getFoxHttpLogger().log(FoxHttpLoggerLevel.DEBUG, "prepareHeader(" + getRequestHeader() + ")");
+        prepareHeader(sameOrigin);
+
+        //Set User-Agent if not exist
+        foxHttpClient.getFoxHttpLogger().log(FoxHttpLoggerLevel.DEBUG, "setUserAgentIfNotExist(" + foxHttpClient.getFoxHttpUserAgent() + ")");
+        setHeaderIfNotExist(HeaderTypes.USER_AGENT, foxHttpClient.getFoxHttpUserAgent(), connection);
+
+        connection.setUseCaches(false);
+        connection.setDoInput(true);
+        foxHttpClient.getFoxHttpLogger().log(FoxHttpLoggerLevel.DEBUG, "setDoOutput(" + sendBody + ")");
+        connection.setDoOutput(sendBody);
+        //Redirects are followed by the request itself and not by the connection
+        ((HttpURLConnection) connection).setInstanceFollowRedirects(false);
+        foxHttpClient.getFoxHttpLogger().log(FoxHttpLoggerLevel.DEBUG, "setFoxHttpTimeoutStrategy(" + foxHttpClient.getFoxHttpTimeoutStrategy() + ")");
+        //Blocking socket operations end at the deadline at the latest
+        FoxHttpTimeoutStrategy timeoutStrategy = foxHttpClient.getFoxHttpTimeoutStrategy();
+        connection.setConnectTimeout(FoxHttpDeadline.limitTimeout(timeoutStrategy.getConnectionTimeout(this), FoxHttpDeadline.getDeadline()));
+        connection.setReadTimeout(FoxHttpDeadline.limitTimeout(timeoutStrategy.getReadTimeout(this), FoxHttpDeadline.getDeadline()));
+
+        if ("https".equals(getUrl().getProtocol())) {
+            if (foxHttpClient.getFoxHttpSSLTrustStrategy() != null) {
+                foxHttpClient.getFoxHttpLogger().log(FoxHttpLoggerLevel.DEBUG, "setSSLSocketFactory(" + foxHttpClient.getFoxHttpSSLTrustStrategy() + ")");
+                ((HttpsURLConnection) connection).setSSLSocketFactory(
+                    foxHttpClient.getFoxHttpSSLTrustStrategy().getSSLSocketFactory((HttpsURLConnection) connection, foxHttpClient.getFoxHttpLogger()));
+            }
+            //TODO: re-enable getFoxHttpHostTrustStrategy()
+            /*if (foxHttpClient.getFoxHttpHostTrustStrategy() != null) {
+                foxHttpClient.getFoxHttpLogger().log("setHostnameVerifier(" + foxHttpClient.getFoxHttpHostTrustStrategy() + ")");
+                ((HttpsURLConnection) connection).setHostnameVerifier(foxHttpClient.getFoxHttpHostTrustStrategy());
+            }*/
+        }
+
+        //Process authorization strategy
+        foxHttpClient.getFoxHttpLogger().log(FoxHttpLoggerLevel.DEBUG, "processAuthorizationStrategy(" + foxHttpClient.getFoxHttpAuthorizationStrategy() + ")");
+        processAuthorizationStrategy();
+
+        //Execute interceptor
+        foxHttpClient.getFoxHttpLogger().log(FoxHttpLoggerLevel.DEBUG, "executeRequestHeaderInterceptor()");
+        FoxHttpInterceptorExecutor.executeRequestHeaderInterceptor(new FoxHttpRequestHeaderInterceptorContext(connection, this, foxHttpClient));
+
+        //Send request
+        if (sendBody) {
+            //Add Content-Type header if not exist
+            foxHttpClient.getFoxHttpLogger().log(FoxHttpLoggerLevel.DEBUG, "setContentTypeIfNotExist(" + requestBody.getOutputContentType().toString() + ")");
+            setHeaderIfNotExist(HeaderTypes.CONTENT_TYPE, requestBody.getOutputContentType().toString(), connection);
+            //Set request body
+            foxHttpClient.getFoxHttpLogger().log(FoxHttpLoggerLevel.DEBUG, "setRequestBodyStream(" + getRequestBody() + ")");
+            setRequestBodyStream();
+        }
+
+        foxHttpClient.getFoxHttpLogger().log(FoxHttpLoggerLevel.INFO, "sendRequest()");
+        long start = System.nanoTime();
+        connection.connect();
+
+        foxHttpClient.getFoxHttpLogger().log(FoxHttpLoggerLevel.INFO, "========= Response =========");
+
+        int responseCode;
+        try {
+            responseCode = ((HttpURLConnection) connection).getResponseCode();
+        } catch (IOException e) {
+            //A timed out request or one stopped by its deadline took at least this long, the timeout has to grow if this happens too often
+            if (e instanceof SocketTimeoutException || deadlineExceeded) {
+                timeoutStrategy.recordLatency(this, System.nanoTime() - start);
+            }
+            throw e;
+        }
+        timeoutStrategy.recordLatency(this, System.nanoTime() - start);
+        if (rateLimiter != null) {
+            rateLimiter.update(getUrl(), responseCode, connection);
+        }
+        foxHttpClient.getFoxHttpLogger().log(FoxHttpLoggerLevel.INFO, "responseCode(" + responseCode + ")");
+        return responseCode;
+    }
+
+    private URL getPermanentRedirect(RequestType hopRequestType) {
+        if (!followRedirect || foxHttpClient.getPermanentRedirectCache() == null) {
+            return null;
+        }
+        return foxHttpClient.getPermanentRedirectCache().get(hopRequestType + " " + getUrl());
+    }
+
+    private int countRedirect(int redirects) throws FoxHttpRequestException {
+        if (redirects >= foxHttpClient.getMaxRedirects()) {
+            throw new FoxHttpRequestException("Too many redirects, the limit of " + foxHttpClient.getMaxRedirects() + " redirects was reached at " + getUrl());
+        }
+        return redirects + 1;
+    }
+
+    private URL getRedirectLocation(int responseCode) throws MalformedURLException {
+        if (!followRedirect) {
+            return null;
+        }
+        if (responseCode != HttpURLConnection.HTTP_MOVED_PERM && responseCode != HttpURLConnection.HTTP_MOVED_TEMP && responseCode != HttpURLConnection.HTTP_SEE_OTHER
+            && responseCode != HTTP_TEMPORARY_REDIRECT && responseCode != HTTP_PERMANENT_REDIRECT) {
+            return null;
+        }
+        String location = connection.getHeaderField(HeaderTypes.LOCATION.toString());
+        if (location == null || location.isEmpty()) {
+            return null;
+        }
+        URL locationUrl = new URL(getUrl(), location);
+        //Only http and https are followed and https is never downgraded
+        if (!"https".equals(locationUrl.getProtocol()) && !("http".equals(locationUrl.getProtocol()) && "http".equals(getUrl().getProtocol()))) {
+            foxHttpClient.getFoxHttpLogger().log(FoxHttpLoggerLevel.DEBUG, "skipRedirect(" + locationUrl + ")");
+            return null;
+        }
+        return locationUrl;
+    }
+
+    private static RequestType getRedirectRequestType(int responseCode, RequestType hopRequestType) {
+        //303 changes every method except HEAD to GET, 301 and 302 only change POST like all browsers do
+        if (responseCode == HttpURLConnection.HTTP_SEE_OTHER && hopRequestType != RequestType.HEAD) {
+            return RequestType.GET;
+        }
+        if ((responseCode == HttpURLConnection.HTTP_MOVED_PERM || responseCode == HttpURLConnection.HTTP_MOVED_TEMP) && hopRequestType == RequestType.POST) {
+            return RequestType.GET;
+        }
+        return hopRequestType;
+    }
+
+    private static boolean isSameOrigin(URL first, URL second) {
+        return first.getProtocol().equals(second.getProtocol()) && first.getHost().equalsIgnoreCase(second.getHost())
+            && (first.getPort() == -1 ? first.getDefaultPort() : first.getPort()) == (second.getPort() == -1 ? second.getDefaultPort() : second.getPort());
+    }
+
+    private void discardRedirectBody() {
+        //A completely read body returns the connection to the keep-alive cache for the next hop
+        HttpURLConnection redirectConnection = (HttpURLConnection) connection;
+        int contentLength = redirectConnection.getContentLength();
+        if (contentLength > MAX_DISCARDED_REDIRECT_BODY) {
+            redirectConnection.disconnect();
+            return;
+        }
+        try (InputStream inputStream = redirectConnection.getInputStream()) {
+            byte[] buffer = new byte[4096];
+            long read = 0;
+            int count;
+            while ((count = inputStream.read(buffer)) != -1) {
+                read += count;
+                if (read > MAX_DISCARDED_REDIRECT_BODY) {
+                    redirectConnection.disconnect();
+                    return;
+                }
+            }
+        } catch (IOException e) {
+            redirectConnection.disconnect();
+        }
+    }
+
+    private void checkPlaceholders() throws FoxHttpRequestException {
+        Pattern pattern = Pattern.compile(foxHttpPlaceholderStrategy.getPlaceholderMatchRegex());
+        Matcher matcher = pattern.matcher(getUrl().toString());
+        if (matcher.find()) {
+            throw new FoxHttpRequestException("The url dose still contain placeholders after finishing processing all defined placeholders.\n-> " + getUrl().toString());
+        }
+    }
+
+    private void prepareHeader(boolean sameOrigin) {
+        for (HeaderEntry headerField : getRequestHeader()) {
+            //Credentials of the request are not sent to the host of a redirect, the authorization strategy decides per hop
+            if (!sameOrigin && HeaderTypes.AUTHORIZATION.toString().equalsIgnoreCase(headerField.getName())) {
+                continue;
+            }
+            connection.addRequestProperty(headerField.getName(), headerField.getValue());
+        }
+    }
+
+    private void setRequestBodyStream() throws FoxHttpException {
+        requestBody.setBody(new FoxHttpRequestBodyContext(connection, this, foxHttpClient));
+    }
+
+    private void prepareQuery() throws FoxHttpRequestException, MalformedURLException {
+        if (getRequestQuery() != null && getRequestQuery().hasQueryEntries()) {
+            String query = getRequestQuery().getQueryString();
+            url = new URL(getUrl().toString() + query);
+        }
+    }
+
+    private void setHeaderIfNotExist(HeaderTypes type, String value, URLConnection connection) {
+        if (connection.getRequestProperty(type.toString()) == null) {
+            connection.setRequestProperty(type.toString(), value);
+        }
+    }
+
+    private void processAuthorizationStrategy() throws FoxHttpRequestException {
+        List<FoxHttpAuthorization> foxHttpAuthorizations = foxHttpClient.getFoxHttpAuthorizationStrategy()
+                                                                        .getAuthorization(connection, authScope, foxHttpClient, foxHttpPlaceholderStrategy);
+        FoxHttpAuthorizationContext authorizationContext = new FoxHttpAuthorizationContext(connection, this, foxHttpClient);
+        for (FoxHttpAuthorization foxHttpAuthorization : foxHttpAuthorizations) {
+            foxHttpClient.getFoxHttpLogger().log(FoxHttpLoggerLevel.DEBUG, "-> doAuthorization(" + foxHttpAuthorization + ")");
+            foxHttpAuthorization.doAuthorization(authorizationContext, authScope);
+        }
+    }
+
+    private FoxHttpHeader readResponseHeader() {
+        FoxHttpHeader responseHeaders = new FoxHttpHeader();
+        Map<String, List<String>> map = connection.getHeaderFields();
+
+        map.entrySet().stream().filter(entry -> entry.getKey() != null).forEach(entry -> {
+            responseHeaders.addHeader(entry.getKey(), entry.getValue().get(0));
+            foxHttpClient.getFoxHttpLogger().log(FoxHttpLoggerLevel.DEBUG, "-> ResponseHeader(" + entry.getKey() + ":" + entry.getValue().get(0) + ")");
+        });
+        return responseHeaders;
+    }
+
+    private boolean doOutput() {
+        return requestBody != null && requestBody.hasBody();
+    }
+
+    private void verifyRequest() throws FoxHttpException {
+        //Check for body in GET and DELETE
+        if ((requestType == RequestType.GET || requestType == RequestType.DELETE) && (requestBody != null && requestBody.hasBody())) {
+            throw new FoxHttpRequestException("Request type '" + requestType + "' does not allow a request body!");
+        }
+
+        //Check for empty URL
+        if (getUrl() == null) {
+            throw new FoxHttpRequestException("URL of the request ist not defined");
+        }
+
+        //Check for FoxHttpClient
+        if (foxHttpClient == null) {
+            throw new FoxHttpRequestException("FoxHttpClient of the request ist not defined");
+        }
+        foxHttpClient.getFoxHttpLogger().log(FoxHttpLoggerLevel.DEBUG, "verifyRequest()");
+    }
+}
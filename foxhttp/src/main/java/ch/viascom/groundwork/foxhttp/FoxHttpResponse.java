@@ -0,0 +1,321 @@
+package ch.viascom.groundwork.foxhttp;
+
+import ch.viascom.groundwork.foxhttp.body.response.FoxHttpResponseBody;
+import ch.viascom.groundwork.foxhttp.body.response.ResponseDigest;
+import ch.viascom.groundwork.foxhttp.body.response.ResponseDigestException;
+import ch.viascom.groundwork.foxhttp.exception.FoxHttpException;
+import ch.viascom.groundwork.foxhttp.exception.FoxHttpResponseException;
+import ch.viascom.groundwork.foxhttp.header.FoxHttpHeader;
+import ch.viascom.groundwork.foxhttp.header.HeaderEntry;
+import ch.viascom.groundwork.foxhttp.interceptor.FoxHttpInterceptorExecutor;
+import ch.viascom.groundwork.foxhttp.interceptor.response.context.FoxHttpResponseBodyInterceptorContext;
+import ch.viascom.groundwork.foxhttp.log.FoxHttpLoggerLevel;
+import ch.viascom.groundwork.foxhttp.parser.FoxHttpStreamParser;
+import ch.viascom.groundwork.foxhttp.parser.GsonParser;
+import ch.viascom.groundwork.foxhttp.response.stream.JsonArrayIterator;
+import ch.viascom.groundwork.foxhttp.type.ContentType;
+import ch.viascom.groundwork.foxhttp.type.RequestType;
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.Serializable;
+import java.io.UncheckedIOException;
+import java.net.HttpURLConnection;
+import java.lang.reflect.Type;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.stream.Stream;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+/**
+ * @author patrick.boesch@viascom.ch
+ */
+@Getter
+@Setter
+@ToString(exclude = "responseBody")
+@NoArgsConstructor
+public class FoxHttpResponse implements Closeable {
+
+    private FoxHttpResponseBody responseBody = new FoxHttpResponseBody();
+
+    private int responseCode = -1;
+
+    private FoxHttpHeader responseHeaders;
+
+    private FoxHttpClient foxHttpClient;
+
+    private FoxHttpRequest foxHttpRequest;
+
+    public FoxHttpResponse(InputStream body, FoxHttpRequest foxHttpRequest, int responseCode, FoxHttpClient foxHttpClient) throws IOException, FoxHttpException {
+        this(body, foxHttpRequest, responseCode, foxHttpClient, null);
+    }
+
+    public FoxHttpResponse(InputStream body, FoxHttpRequest foxHttpRequest, int responseCode, FoxHttpClient foxHttpClient, ResponseDigest responseDigest)
+        throws IOException, FoxHttpException {
+        this.foxHttpClient = foxHttpClient;
+        this.responseCode = responseCode;
+        this.foxHttpRequest = foxHttpRequest;
+        this.responseBody.setDigest(responseDigest);
+
+        if (!foxHttpRequest.isSkipResponseBody() && foxHttpRequest.isStreamResponseBody()) {
+            this.responseBody.setStream(body);
+            foxHttpClient.getFoxHttpLogger().log(FoxHttpLoggerLevel.DEBUG, "setResponseStream()");
+
+            //Execute interceptor
+            foxHttpClient.getFoxHttpLogger().log(FoxHttpLoggerLevel.DEBUG, "executeResponseBodyInterceptor()");
+            FoxHttpInterceptorExecutor.executeResponseBodyInterceptor(new FoxHttpResponseBodyInterceptorContext(responseCode, this, foxHttpRequest, foxHttpClient));
+        } else if (!foxHttpRequest.isSkipResponseBody()) {
+            try {
+                this.responseBody.setBody(body);
+            } catch (ResponseDigestException e) {
+                throw new FoxHttpResponseException(e);
+            }
+            //Only decode the body if it really gets logged
+            if (foxHttpClient.getFoxHttpLogger().isLoggingEnabled() && foxHttpClient.getFoxHttpLogger().getLogLevel() == FoxHttpLoggerLevel.DEBUG) {
+                foxHttpClient.getFoxHttpLogger().log(FoxHttpLoggerLevel.DEBUG, "setResponseBody(" + getStringBody() + ")");
+            }
+
+            //Execute interceptor
+            foxHttpClient.getFoxHttpLogger().log(FoxHttpLoggerLevel.DEBUG, "executeResponseBodyInterceptor()");
+            FoxHttpInterceptorExecutor.executeResponseBodyInterceptor(new FoxHttpResponseBodyInterceptorContext(responseCode, this, foxHttpRequest, foxHttpClient));
+        }
+    }
+
+    /**
+     * Get the body as input stream <i>returns the live body if the response is streamed</i>
+     *
+     * @return body as input stream
+     */
+    public InputStream getInputStreamBody() {
+        return responseBody.getInputStream();
+    }
+
+    /**
+     * Get the body as output stream
+     *
+     * @return body as output stream
+     */
+    public ByteArrayOutputStream getByteArrayOutputStreamBody() {
+        return responseBody.getBody();
+    }
+
+    /**
+     * Get the digest of the body as it was received <i>needs a digest algorithm of the client or a verified digest header</i>
+     *
+     * @param algorithm MessageDigest algorithm like SHA-256
+     * @return digest or null if it was not computed or a streamed body is not read completely
+     */
+    public byte[] getBodyDigest(String algorithm) {
+        return responseBody.getDigest() == null ? null : responseBody.getDigest().getDigest(algorithm);
+    }
+
+    /**
+     * Close the body and connection of a streamed response <i>does nothing if the body is buffered</i>
+     *
+     * @throws IOException if the stream could not be closed
+     */
+    @Override
+    public void close() throws IOException {
+        responseBody.close();
+    }
+
+    /**
+     * Get a lazily parsed iterator over a json array body <i>closes the body after the last element</i>
+     *
+     * @param type class of the array elements
+     * @param <T> type of the array elements
+     * @return iterator over the array elements
+     * @throws FoxHttpResponseException if the body does not contain an array
+     */
+    public <T> JsonArrayIterator<T> getJsonArrayIterator(Class<T> type) throws FoxHttpException {
+        return getJsonArrayIterator(type, "");
+    }
+
+    /**
+     * Get a lazily parsed iterator over a json array <i>closes the body after the last element</i>
+     *
+     * @param type type of the array elements
+     * @param jsonPointer JSON pointer (RFC 6901) to the array, empty for a top-level array
+     * @param <T> type of the array elements
+     * @return iterator over the array elements
+     * @throws FoxHttpResponseException if the json pointer does not point to an array
+     */
+    public <T> JsonArrayIterator<T> getJsonArrayIterator(Type type, String jsonPointer) throws FoxHttpException {
+        ContentType contentType = getContentType();
+        Charset charset = contentType.getCharset() != null ? contentType.getCharset() : StandardCharsets.UTF_8;
+        Reader reader = new InputStreamReader(getInputStreamBody(), charset);
+        try {
+            return new JsonArrayIterator<>(reader, GsonParser.getGson(foxHttpClient.getFoxHttpResponseParser()), type, jsonPointer);
+        } catch (IOException | RuntimeException e) {
+            try {
+                reader.close();
+            } catch (IOException closeException) {
+                e.addSuppressed(closeException);
+            }
+            throw new FoxHttpResponseException(e);
+        }
+    }
+
+    /**
+     * Get a lazily parsed stream over a json array body <i>closing the stream closes the body</i>
+     *
+     * @param type class of the array elements
+     * @param <T> type of the array elements
+     * @return stream of the array elements
+     * @throws FoxHttpResponseException if the body does not contain an array
+     */
+    public <T> Stream<T> getJsonArrayStream(Class<T> type) throws FoxHttpException {
+        return getJsonArrayStream(type, "");
+    }
+
+    /**
+     * Get a lazily parsed stream over a json array <i>closing the stream closes the body</i>
+     *
+     * @param type type of the array elements
+     * @param jsonPointer JSON pointer (RFC 6901) to the array, empty for a top-level array
+     * @param <T> type of the array elements
+     * @return stream of the array elements
+     * @throws FoxHttpResponseException if the json pointer does not point to an array
+     */
+    public <T> Stream<T> getJsonArrayStream(Type type, String jsonPointer) throws FoxHttpException {
+        return this.<T>getJsonArrayIterator(type, jsonPointer).stream();
+    }
+
+
+    protected void setBody(InputStream body) throws IOException {
+        this.responseBody.setBody(body);
+    }
+
+    /**
+     * Get the response body as string
+     *
+     * @return body as string
+     * @throws IOException if the stream is not accessible
+     */
+    public String getStringBody() throws IOException {
+        return getStringBody(Charset.defaultCharset());
+    }
+
+    /**
+     * Get the response body as string
+     *
+     * @param charset charset for the byte to String conversion
+     * @return body as string
+     * @throws IOException if the stream is not accessible
+     */
+    public String getStringBody(Charset charset) throws IOException {
+        BufferedReader rd = new BufferedReader(new InputStreamReader(getBufferedInputStreamBody(), charset));
+        String line;
+        StringBuilder response = new StringBuilder();
+        while ((line = rd.readLine()) != null) {
+            if (response.length() != 0) {
+                response.append('\n');
+            }
+            response.append(line);
+        }
+        rd.close();
+        return response.toString();
+    }
+
+    /**
+     * Get the parsed result <i>uses the response parser of the FoxHttpClient</i>
+     *
+     * @param parseClass class of the return object
+     * @return deserialized result
+     * @throws FoxHttpResponseException Exception during the deserialization
+     */
+    @SuppressWarnings("unchecked")
+    public <T extends Serializable> T getParsedBody(Class<T> parseClass) throws FoxHttpException {
+        return getParsedBody(parseClass, getContentType());
+    }
+
+    /**
+     * Get the parsed result <i>uses the response parser of the FoxHttpClient</i>
+     *
+     * @param parseClass class of the return object
+     * @param contentType content type used to parse body
+     * @return deserialized result
+     * @throws FoxHttpResponseException Exception during the deserialization
+     */
+    @SuppressWarnings("unchecked")
+    public <T extends Serializable> T getParsedBody(Class<T> parseClass, ContentType contentType) throws FoxHttpException {
+        if (foxHttpClient.getFoxHttpResponseParser() == null) {
+            throw new FoxHttpResponseException("getParsedBody needs a FoxHttpResponseParser to deserialize the body");
+        }
+        try {
+            if (foxHttpClient.getFoxHttpResponseParser() instanceof FoxHttpStreamParser) {
+                //Parse directly from the body without creating a String
+                Charset charset = contentType.getCharset() != null ? contentType.getCharset() : Charset.defaultCharset();
+                try (Reader reader = new InputStreamReader(getBufferedInputStreamBody(), charset)) {
+                    return (T) ((FoxHttpStreamParser) foxHttpClient.getFoxHttpResponseParser()).serializedToObject(reader, (Class<Serializable>) parseClass, contentType);
+                }
+            }
+            return (T) foxHttpClient.getFoxHttpResponseParser().serializedToObject(getStringBody(), (Class<Serializable>) parseClass, contentType);
+        } catch (IOException e) {
+            throw new FoxHttpResponseException(e);
+        }
+    }
+
+    private InputStream getBufferedInputStreamBody() throws IOException {
+        try {
+            responseBody.getBody();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        return responseBody.getInputStream();
+    }
+
+    /**
+     * Get the content type of the response <i>the Content-Type header is parsed once per distinct value</i>
+     *
+     * @return content type of the response or WILDCARD if the response has no Content-Type header
+     */
+    public ContentType getContentType() {
+        HeaderEntry contentTypeHeader = responseHeaders == null ? null : responseHeaders.getHeader("Content-Type");
+        return ContentType.parse(contentTypeHeader == null ? null : contentTypeHeader.getValue());
+    }
+
+    /**
+     * Returns a readable summary uf the response
+     *
+     * @param showBody should the response body be included
+     * @return summary uf the response
+     */
+    public String toString(boolean showBody) {
+        StringBuilder stringBuilder = new StringBuilder();
+
+        stringBuilder.append("======= Request =======\n");
+        stringBuilder.append("Request-URL: ").append(foxHttpRequest.getUrl().toString()).append("\n");
+        stringBuilder.append("Request-Method: ").append(foxHttpRequest.getRequestType()).append("\n");
+        stringBuilder.append("Request-Header: ").append(foxHttpRequest.getRequestHeader()).append("\n");
+        if (foxHttpRequest.getRequestType() == RequestType.POST || foxHttpRequest.getRequestType() == RequestType.PUT) {
+            stringBuilder.append("Request-Body: ").append(foxHttpRequest.getRequestBody()).append("\n");
+        }
+        stringBuilder.append("\n");
+        stringBuilder.append("======= Response =======\n");
+        stringBuilder.append("Response-Code: ").append(responseCode);
+        try {
+            stringBuilder.append(" ").append(((HttpURLConnection) foxHttpRequest.getConnection()).getResponseMessage());
+        } catch (IOException e) {
+            stringBuilder.append(" [couldn't load ResponseMessage]");
+        }
+        stringBuilder.append("\n");
+        stringBuilder.append("Response-Headers: ").append(responseHeaders).append("\n");
+        if (showBody) {
+            stringBuilder.append("Response-Body: \n");
+            try {
+                stringBuilder.append(getStringBody()).append("\n");
+            } catch (IOException e) {
+                stringBuilder.append("null (").append(e.getMessage()).append(")").append("\n");
+            }
+        }
+        return stringBuilder.toString();
+    }
+}
@@ -0,0 +1,35 @@
+package ch.viascom.groundwork.foxhttp.annotation.processor;
+
+import ch.viascom.groundwork.foxhttp.exception.FoxHttpException;
+import ch.viascom.groundwork.foxhttp.exception.FoxHttpRequestException;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.util.Map;
+
+/**
+ * @author patrick.boesch@viascom.ch
+ */
+public class FoxHttpAnnotationInvocationHandler implements InvocationHandler {
+
+    private final Map<Method, FoxHttpMethodInvoker> methodInvokers;
+
+    FoxHttpAnnotationInvocationHandler(Map<Method, FoxHttpMethodInvoker> methodInvokers) {
+        this.methodInvokers = methodInvokers;
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws FoxHttpException {
+        try {
+            //pass through class methods
+            if (method.getDeclaringClass() == Object.class) {
+                return method.invoke(this, args);
+            }
+
+            return methodInvokers.get(method).invoke(args);
+        } catch (FoxHttpException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new FoxHttpRequestException(e);
+        }
+    }
+}
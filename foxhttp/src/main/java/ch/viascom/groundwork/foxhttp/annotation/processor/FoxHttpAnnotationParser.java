@@ -13,13 +13,21 @@ import java.lang.reflect.Method;
 import java.lang.reflect.Proxy;
 import java.util.HashMap;
 import lombok.Getter;
+import lombok.Setter;
 
 /**
  * @author patrick.boesch@viascom.ch
  */
 public class FoxHttpAnnotationParser {
 
-    private HashMap<Method, FoxHttpRequestBuilder> requestCache = new HashMap<>();
+    //Suffix of the implementations generated by the foxhttp-processor artifact
+    public static final String GENERATED_IMPLEMENTATION_SUFFIX = "_FoxHttpImpl";
+
+    @Getter
+    @Setter
+    //Use an implementation generated at compile time if present instead of a proxy
+    private boolean useGeneratedImplementation = true;
+
     @Getter
     private HashMap<Class<? extends Annotation>, FoxHttpResponseParser> responseParsers = new HashMap<>();
 
@@ -29,7 +37,7 @@ public class FoxHttpAnnotationParser {
     }
 
     /**
-     * Add a new response parser to the annotation parser
+     * Add a new response parser to the annotation parser <i>only applies to interfaces parsed afterwards</i>
      *
      * @param annotation a annotation
      * @param responseParser a response parser
@@ -44,13 +52,21 @@ public class FoxHttpAnnotationParser {
      * @param serviceInterface interface to parse
      * @param foxHttpClient FoxHttpClient to use
      * @param <T> interface class to parse
-     * @return Proxy of the interface
+     * @return generated implementation or proxy of the interface
      */
     @SuppressWarnings("unchecked")
     public <T> T parseInterface(final Class<T> serviceInterface, FoxHttpClient foxHttpClient) throws FoxHttpException {
 
         try {
+            if (useGeneratedImplementation) {
+                T generatedImplementation = createGeneratedImplementation(serviceInterface, foxHttpClient);
+                if (generatedImplementation != null) {
+                    return generatedImplementation;
+                }
+            }
+
             Method[] methods = serviceInterface.getDeclaredMethods();
+            HashMap<Method, FoxHttpMethodInvoker> methodInvokers = new HashMap<>();
 
             for (Method method : methods) {
                 FoxHttpMethodParser foxHttpMethodParser = new FoxHttpMethodParser();
@@ -59,13 +75,18 @@ public class FoxHttpAnnotationParser {
                 FoxHttpRequestBuilder foxHttpRequestBuilder = new FoxHttpRequestBuilder(foxHttpMethodParser.getUrl(), foxHttpMethodParser.getRequestType(),
                     foxHttpClient).setRequestHeader(foxHttpMethodParser.getHeaderFields())
                                   .setSkipResponseBody(foxHttpMethodParser.isSkipResponseBody())
-                                  .setFollowRedirect(foxHttpMethodParser.isFollowRedirect());
+                                  .setFollowRedirect(foxHttpMethodParser.isFollowRedirect())
+                                  .setStreamResponseBody(foxHttpMethodParser.isStreamResponseBody())
+                                  .setFoxHttpRequestCompressionStrategy(foxHttpMethodParser.getRequestCompressionStrategy())
+                                  .setFoxHttpHedgingPolicy(foxHttpMethodParser.getHedgingPolicy())
+                                  .setDeadline(foxHttpMethodParser.getDeadline());
 
-                requestCache.put(method, foxHttpRequestBuilder);
+                //Resolve the parameters and the return type once instead of on every call
+                methodInvokers.put(method, new FoxHttpMethodInvoker(method, foxHttpRequestBuilder, foxHttpMethodParser.getHeaderFields(), responseParsers));
             }
 
             return (T) Proxy.newProxyInstance(serviceInterface.getClassLoader(), new Class[]{serviceInterface},
-                new FoxHttpAnnotationInvocationHandler(requestCache, responseParsers));
+                new FoxHttpAnnotationInvocationHandler(methodInvokers));
         } catch (FoxHttpException e) {
             throw e;
         } catch (Exception e) {
@@ -73,4 +94,17 @@ public class FoxHttpAnnotationParser {
         }
     }
 
+    private <T> T createGeneratedImplementation(Class<T> serviceInterface, FoxHttpClient foxHttpClient) throws ReflectiveOperationException {
+        Class<?> implementationClass;
+        try {
+            implementationClass = Class.forName(serviceInterface.getName() + GENERATED_IMPLEMENTATION_SUFFIX, true, serviceInterface.getClassLoader());
+        } catch (ClassNotFoundException e) {
+            return null;
+        }
+        if (!serviceInterface.isAssignableFrom(implementationClass)) {
+            return null;
+        }
+        return serviceInterface.cast(implementationClass.getConstructor(FoxHttpClient.class).newInstance(foxHttpClient));
+    }
+
 }
@@ -0,0 +1,450 @@
+package ch.viascom.groundwork.foxhttp.annotation.processor;
+
+import ch.viascom.groundwork.foxhttp.FoxHttpRequest;
+import ch.viascom.groundwork.foxhttp.FoxHttpResponse;
+import ch.viascom.groundwork.foxhttp.annotation.types.Body;
+import ch.viascom.groundwork.foxhttp.annotation.types.Cacheable;
+import ch.viascom.groundwork.foxhttp.annotation.types.Field;
+import ch.viascom.groundwork.foxhttp.annotation.types.FieldMap;
+import ch.viascom.groundwork.foxhttp.annotation.types.FormUrlEncodedBody;
+import ch.viascom.groundwork.foxhttp.annotation.types.HeaderField;
+import ch.viascom.groundwork.foxhttp.annotation.types.HeaderFieldMap;
+import ch.viascom.groundwork.foxhttp.annotation.types.JsonPointer;
+import ch.viascom.groundwork.foxhttp.annotation.types.MultipartBody;
+import ch.viascom.groundwork.foxhttp.annotation.types.Part;
+import ch.viascom.groundwork.foxhttp.annotation.types.PartMap;
+import ch.viascom.groundwork.foxhttp.annotation.types.Path;
+import ch.viascom.groundwork.foxhttp.annotation.types.Query;
+import ch.viascom.groundwork.foxhttp.annotation.types.QueryMap;
+import ch.viascom.groundwork.foxhttp.annotation.types.QueryObject;
+import ch.viascom.groundwork.foxhttp.annotation.types.SerializeContentType;
+import ch.viascom.groundwork.foxhttp.async.FoxHttpAsync;
+import ch.viascom.groundwork.foxhttp.async.FoxHttpCallback;
+import ch.viascom.groundwork.foxhttp.body.request.FoxHttpRequestBody;
+import ch.viascom.groundwork.foxhttp.body.request.RequestMultipartBody;
+import ch.viascom.groundwork.foxhttp.body.request.RequestObjectBody;
+import ch.viascom.groundwork.foxhttp.body.request.RequestStringBody;
+import ch.viascom.groundwork.foxhttp.body.request.RequestUrlEncodedFormBody;
+import ch.viascom.groundwork.foxhttp.builder.FoxHttpRequestBuilder;
+import ch.viascom.groundwork.foxhttp.exception.FoxHttpRequestException;
+import ch.viascom.groundwork.foxhttp.header.FoxHttpHeader;
+import ch.viascom.groundwork.foxhttp.header.HeaderEntry;
+import ch.viascom.groundwork.foxhttp.parser.FoxHttpParser;
+import ch.viascom.groundwork.foxhttp.query.FoxHttpRequestQuery;
+import ch.viascom.groundwork.foxhttp.response.FoxHttpResponseParser;
+import ch.viascom.groundwork.foxhttp.type.ContentType;
+import ch.viascom.groundwork.foxhttp.util.NamedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.InputStream;
+import java.io.Serializable;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Array;
+import java.lang.reflect.GenericArrayType;
+import java.lang.reflect.Method;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.WildcardType;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+
+/**
+ * Invoker of one interface method. <p> All annotations of the method are resolved once into an array of parameter binders, a body factory and a return
+ * handler. An invocation only loops over these arrays and does not use reflection.
+ *
+ * @author patrick.boesch@viascom.ch
+ */
+class FoxHttpMethodInvoker {
+
+    private final FoxHttpRequestBuilder requestBuilder;
+    private final List<HeaderEntry> headerEntries;
+    private final BodyType bodyType;
+    private final Charset multipartCharset;
+    private final String multipartLinefeed;
+    private final BodyConverter bodyConverter;
+    private final int[] parameterIndexes;
+    private final ParameterBinder[] parameterBinders;
+    private final ReturnHandler returnHandler;
+    //Index of the FoxHttpCallback parameter or -1 if the method is not called with a callback
+    private final int callbackIndex;
+
+    /**
+     * Compile a method into an invoker
+     *
+     * @param method method of the interface
+     * @param requestBuilder request builder with the static configuration of the method
+     * @param headerFields static headers of the method
+     * @param responseParsers registered response parsers
+     */
+    FoxHttpMethodInvoker(Method method, FoxHttpRequestBuilder requestBuilder, FoxHttpHeader headerFields,
+        Map<Class<? extends Annotation>, FoxHttpResponseParser> responseParsers) throws FoxHttpRequestException {
+        this.requestBuilder = requestBuilder;
+        this.headerEntries = new ArrayList<>(headerFields.getHeaderEntries());
+
+        MultipartBody multipartBody = method.getAnnotation(MultipartBody.class);
+        if (multipartBody != null) {
+            bodyType = BodyType.MULTIPART;
+            multipartCharset = Charset.forName(multipartBody.charset());
+            multipartLinefeed = multipartBody.linefeed();
+        } else {
+            bodyType = method.getAnnotation(FormUrlEncodedBody.class) != null ? BodyType.FORM : BodyType.BODY;
+            multipartCharset = null;
+            multipartLinefeed = null;
+        }
+
+        List<Integer> indexes = new ArrayList<>();
+        List<ParameterBinder> binders = new ArrayList<>();
+        BodyConverter converter = null;
+
+        Annotation[][] parameterAnnotations = method.getParameterAnnotations();
+        Class<?>[] parameterTypes = method.getParameterTypes();
+        this.callbackIndex = getCallbackIndex(method);
+        for (int i = 0; i < parameterAnnotations.length; i++) {
+            for (Annotation annotation : parameterAnnotations[i]) {
+                ParameterBinder binder = compileParameter(annotation);
+                if (binder == null && annotation instanceof Body && bodyType == BodyType.BODY && converter == null) {
+                    converter = compileBody(method, parameterTypes[i]);
+                    binder = (invocation, value) -> invocation.body = value;
+                }
+                if (binder != null) {
+                    indexes.add(i);
+                    binders.add(binder);
+                }
+            }
+        }
+
+        this.bodyConverter = converter;
+        this.parameterIndexes = indexes.stream().mapToInt(Integer::intValue).toArray();
+        this.parameterBinders = binders.toArray(new ParameterBinder[0]);
+        Type resultType = getResultType(method);
+        ReturnHandler resultHandler = compileCache(method, compileReturnType(method, getRawType(resultType), resultType, responseParsers));
+        if (isAsyncType(method.getReturnType())) {
+            this.returnHandler = request -> FoxHttpAsync.execute(request, () -> resultHandler.handle(request));
+        } else {
+            this.returnHandler = resultHandler;
+        }
+    }
+
+    /**
+     * Build and execute the request for the given arguments
+     *
+     * @param args arguments of the call
+     * @return return value of the method
+     */
+    @SuppressWarnings("unchecked")
+    Object invoke(Object[] args) throws Exception {
+        Invocation invocation = new Invocation(requestBuilder.build());
+        //Every call gets its own headers, so parameters of one call do not leak into the next
+        FoxHttpHeader requestHeader = new FoxHttpHeader();
+        requestHeader.setHeaderEntries(new ArrayList<>(headerEntries));
+        invocation.request.setRequestHeader(requestHeader);
+        invocation.request.setRequestQuery(invocation.query);
+        if (bodyType == BodyType.MULTIPART) {
+            invocation.multipartBody = new RequestMultipartBody(multipartCharset, multipartLinefeed);
+        } else if (bodyType == BodyType.FORM) {
+            invocation.formBody = new RequestUrlEncodedFormBody();
+        }
+
+        for (int i = 0; i < parameterBinders.length; i++) {
+            parameterBinders[i].bind(invocation, args[parameterIndexes[i]]);
+        }
+
+        if (invocation.multipartBody != null) {
+            invocation.request.setRequestBody(invocation.multipartBody);
+        } else if (invocation.formBody != null) {
+            invocation.request.setRequestBody(invocation.formBody);
+        } else if (bodyConverter != null) {
+            FoxHttpRequestBody requestBody = bodyConverter.convert(invocation.body, invocation.request.getFoxHttpClient().getFoxHttpRequestParser());
+            if (requestBody != null) {
+                invocation.request.setRequestBody(requestBody);
+            }
+        }
+
+        if (callbackIndex >= 0) {
+            FoxHttpRequest request = invocation.request;
+            FoxHttpAsync.notify(FoxHttpAsync.execute(request, () -> returnHandler.handle(request)), (FoxHttpCallback<Object>) args[callbackIndex]);
+            return null;
+        }
+        return returnHandler.handle(invocation.request);
+    }
+
+    @SuppressWarnings("unchecked")
+    private ParameterBinder compileParameter(Annotation annotation) {
+        if (annotation instanceof Path) {
+            String name = ((Path) annotation).value();
+            return (invocation, value) -> invocation.request.getFoxHttpPlaceholderStrategy().getPlaceholderMap().put(name, value != null ? value.toString() : null);
+        } else if (annotation instanceof Query) {
+            Query query = (Query) annotation;
+            String name = query.value();
+            boolean allowOptional = query.allowOptional();
+            return (invocation, value) -> {
+                if (value == null) {
+                    if (!allowOptional) {
+                        throw new FoxHttpRequestException("The query parameter " + name + " is not optional and can't be null because of this.");
+                    }
+                    return;
+                }
+                invocation.query.addQueryEntry(name, value.toString());
+            };
+        } else if (annotation instanceof QueryMap) {
+            return (invocation, value) -> invocation.query.addQueryMap((HashMap<String, String>) value);
+        } else if (annotation instanceof QueryObject) {
+            QueryObject queryObject = (QueryObject) annotation;
+            List<String> names = Arrays.asList(queryObject.value());
+            return (invocation, value) -> invocation.query.parseObjectAsQueryMap(names, value, queryObject.parseSerializedName(), queryObject.allowOptional(),
+                queryObject.recursiveOptional());
+        } else if (annotation instanceof HeaderField) {
+            HeaderField headerField = (HeaderField) annotation;
+            String name = headerField.value();
+            boolean allowOptional = headerField.allowOptional();
+            return (invocation, value) -> {
+                if (value == null) {
+                    if (!allowOptional) {
+                        throw new FoxHttpRequestException("The header field " + name + " is not optional and can't be null because of this.");
+                    }
+                    return;
+                }
+                invocation.request.getRequestHeader().addHeader(name, value.toString());
+            };
+        } else if (annotation instanceof HeaderFieldMap) {
+            return (invocation, value) -> {
+                if (value instanceof Map) {
+                    invocation.request.getRequestHeader().addHeader((Map<String, String>) value);
+                } else if (value instanceof List) {
+                    invocation.request.getRequestHeader().addHeader((List<HeaderEntry>) value);
+                } else {
+                    throw new FoxHttpRequestException("@HeaderFieldMap annotation does not support " + (value == null ? null : value.getClass()));
+                }
+            };
+        } else if (annotation instanceof Part && bodyType == BodyType.MULTIPART) {
+            String name = ((Part) annotation).value();
+            return (invocation, value) -> {
+                if (value instanceof File) {
+                    invocation.multipartBody.addFilePart(name, (File) value);
+                } else if (value instanceof String) {
+                    invocation.multipartBody.addFormField(name, (String) value);
+                } else if (value instanceof NamedInputStream) {
+                    NamedInputStream namedInputStream = (NamedInputStream) value;
+                    invocation.multipartBody.addInputStreamPart(name, namedInputStream.getName(), namedInputStream.getInputStream(),
+                        namedInputStream.getContentTransferEncoding(), namedInputStream.getType());
+                } else {
+                    throw new FoxHttpRequestException("@Part annotation does not support " + (value == null ? null : value.getClass()));
+                }
+            };
+        } else if (annotation instanceof PartMap && bodyType == BodyType.MULTIPART) {
+            if (((PartMap) annotation).isStreamMap()) {
+                return (invocation, value) -> invocation.multipartBody.getStream().putAll((HashMap<String, NamedInputStream>) value);
+            }
+            return (invocation, value) -> invocation.multipartBody.getForms().putAll((HashMap<String, String>) value);
+        } else if (annotation instanceof Field && bodyType == BodyType.FORM) {
+            Field field = (Field) annotation;
+            String name = field.value();
+            boolean allowOptional = field.allowOptional();
+            return (invocation, value) -> {
+                if (value == null) {
+                    if (!allowOptional) {
+                        throw new FoxHttpRequestException("The query parameter " + name + " is not optional and can't be null because of this.");
+                    }
+                    return;
+                }
+                invocation.formBody.addFormEntry(name, value.toString());
+            };
+        } else if (annotation instanceof FieldMap && bodyType == BodyType.FORM) {
+            return (invocation, value) -> invocation.formBody.addFormMap((HashMap<String, String>) value);
+        }
+        return null;
+    }
+
+    private BodyConverter compileBody(Method method, Class<?> bodyClass) {
+        if (FoxHttpRequestBody.class.isAssignableFrom(bodyClass)) {
+            return (body, parser) -> (FoxHttpRequestBody) body;
+        } else if (String.class.isAssignableFrom(bodyClass)) {
+            return (body, parser) -> new RequestStringBody((String) body);
+        } else if (Serializable.class.isAssignableFrom(bodyClass)) {
+            //Method overrides interface, the model overrides both on every call
+            SerializeContentType serializeContentType = method.getAnnotation(SerializeContentType.class);
+            if (serializeContentType == null) {
+                serializeContentType = method.getDeclaringClass().getAnnotation(SerializeContentType.class);
+            }
+            ContentType declaredContentType = serializeContentType == null ? null : ContentType.create(serializeContentType.mimeType(),
+                Charset.forName(serializeContentType.charset()));
+
+            return (body, parser) -> {
+                ContentType contentType = declaredContentType != null ? declaredContentType : parser.getParserOutputContentType();
+                SerializeContentType modelContentType = body == null ? null : body.getClass().getAnnotation(SerializeContentType.class);
+                if (modelContentType != null) {
+                    contentType = ContentType.create(modelContentType.mimeType(), Charset.forName(modelContentType.charset()));
+                }
+                return new RequestObjectBody((Serializable) body, ContentType.create(contentType.getMimeType(), contentType.getCharset()));
+            };
+        }
+        return (body, parser) -> null;
+    }
+
+    @SuppressWarnings("unchecked")
+    private ReturnHandler compileReturnType(Method method, Class<?> returnType, Type genericReturnType,
+        Map<Class<? extends Annotation>, FoxHttpResponseParser> responseParsers) throws FoxHttpRequestException {
+
+        if (returnType == void.class || returnType == Void.class) {
+            return request -> {
+                request.execute();
+                return null;
+            };
+        } else if (returnType.isAssignableFrom(FoxHttpResponse.class)) {
+            return FoxHttpRequest::execute;
+        } else if (returnType.isAssignableFrom(FoxHttpRequest.class)) {
+            return request -> request;
+        } else if (returnType.isAssignableFrom(String.class)) {
+            return request -> request.execute().getStringBody();
+        } else if (returnType.isAssignableFrom(ByteArrayOutputStream.class)) {
+            return request -> request.execute().getByteArrayOutputStreamBody();
+        } else if (returnType.isAssignableFrom(InputStream.class)) {
+            return request -> request.execute().getInputStreamBody();
+        } else if (returnType == Stream.class || returnType == Iterator.class) {
+            JsonPointer jsonPointerAnnotation = method.getAnnotation(JsonPointer.class);
+            String jsonPointer = jsonPointerAnnotation == null ? "" : jsonPointerAnnotation.value();
+            Type elementType = getElementType(genericReturnType);
+            if (returnType == Stream.class) {
+                return request -> request.execute().getJsonArrayStream(elementType, jsonPointer);
+            }
+            return request -> request.execute().getJsonArrayIterator(elementType, jsonPointer);
+        }
+
+        //Search for registered response parser
+        for (Map.Entry<Class<? extends Annotation>, FoxHttpResponseParser> entry : responseParsers.entrySet()) {
+            Annotation annotation = method.getAnnotation(entry.getKey());
+            if (annotation != null) {
+                FoxHttpResponseParser responseParser = entry.getValue();
+                if (returnType.isAssignableFrom(responseParser.getClass())) {
+                    return request -> responseParser.parseResult(request.execute());
+                }
+                boolean checkHash;
+                try {
+                    checkHash = (boolean) annotation.annotationType().getMethod("value").invoke(annotation);
+                } catch (ReflectiveOperationException e) {
+                    throw new FoxHttpRequestException(e);
+                }
+                Class<Serializable> serializableClass = (Class<Serializable>) returnType;
+                return request -> responseParser.parseResult(request.execute()).getContent(serializableClass, checkHash);
+            }
+        }
+
+        //Return as parsed object if nothing else matches
+        Class<Serializable> serializableClass = (Class<Serializable>) returnType;
+        return request -> request.execute().getParsedBody(serializableClass);
+    }
+
+    private static ReturnHandler compileCache(Method method, ReturnHandler loader) {
+        Cacheable cacheable = method.getAnnotation(Cacheable.class);
+        if (cacheable == null) {
+            return loader;
+        }
+        FoxHttpResultCache resultCache = new FoxHttpResultCache(cacheable);
+        return request -> resultCache.get(request, () -> loader.handle(request));
+    }
+
+    private static Type getElementType(Type type) {
+        if (type instanceof ParameterizedType) {
+            Type elementType = ((ParameterizedType) type).getActualTypeArguments()[0];
+            if (elementType instanceof WildcardType) {
+                return ((WildcardType) elementType).getUpperBounds()[0];
+            }
+            return elementType;
+        }
+        return Object.class;
+    }
+
+    /**
+     * Get the type of the result of a method, which is the return type or the type argument of a future or callback
+     *
+     * @param method method of the interface
+     * @return type of the result
+     */
+    static Type getResultType(Method method) {
+        if (isAsyncType(method.getReturnType())) {
+            return getElementType(method.getGenericReturnType());
+        }
+        int index = getCallbackIndex(method);
+        if (index >= 0) {
+            return getElementType(method.getGenericParameterTypes()[index]);
+        }
+        return method.getGenericReturnType();
+    }
+
+    static Class<?> getRawType(Type type) {
+        if (type instanceof Class) {
+            return (Class<?>) type;
+        } else if (type instanceof ParameterizedType) {
+            return (Class<?>) ((ParameterizedType) type).getRawType();
+        } else if (type instanceof GenericArrayType) {
+            return Array.newInstance(getRawType(((GenericArrayType) type).getGenericComponentType()), 0).getClass();
+        } else if (type instanceof WildcardType) {
+            return getRawType(((WildcardType) type).getUpperBounds()[0]);
+        }
+        return Object.class;
+    }
+
+    private static boolean isAsyncType(Class<?> returnType) {
+        return returnType == CompletableFuture.class || returnType == CompletionStage.class || returnType == Future.class;
+    }
+
+    private static int getCallbackIndex(Method method) {
+        if (method.getReturnType() != void.class) {
+            return -1;
+        }
+        Class<?>[] parameterTypes = method.getParameterTypes();
+        for (int i = 0; i < parameterTypes.length; i++) {
+            if (parameterTypes[i] == FoxHttpCallback.class) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private enum BodyType {
+        BODY, FORM, MULTIPART
+    }
+
+    /**
+     * State of one call
+     */
+    private static class Invocation {
+
+        private final FoxHttpRequest request;
+        private final FoxHttpRequestQuery query = new FoxHttpRequestQuery();
+        private RequestMultipartBody multipartBody;
+        private RequestUrlEncodedFormBody formBody;
+        private Object body;
+
+        private Invocation(FoxHttpRequest request) {
+            this.request = request;
+        }
+    }
+
+    @FunctionalInterface
+    private interface ParameterBinder {
+
+        void bind(Invocation invocation, Object value) throws Exception;
+    }
+
+    @FunctionalInterface
+    private interface BodyConverter {
+
+        FoxHttpRequestBody convert(Object body, FoxHttpParser parser);
+    }
+
+    @FunctionalInterface
+    private interface ReturnHandler {
+
+        Object handle(FoxHttpRequest request) throws Exception;
+    }
+}
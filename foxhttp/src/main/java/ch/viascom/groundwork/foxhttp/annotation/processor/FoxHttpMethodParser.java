@@ -9,15 +9,20 @@ import ch.viascom.groundwork.foxhttp.FoxHttpClient;
 import ch.viascom.groundwork.foxhttp.FoxHttpRequest;
 import ch.viascom.groundwork.foxhttp.FoxHttpResponse;
 import ch.viascom.groundwork.foxhttp.annotation.types.Body;
+import ch.viascom.groundwork.foxhttp.annotation.types.Cacheable;
+import ch.viascom.groundwork.foxhttp.annotation.types.CompressRequest;
 import ch.viascom.groundwork.foxhttp.annotation.types.DELETE;
+import ch.viascom.groundwork.foxhttp.annotation.types.Deadline;
 import ch.viascom.groundwork.foxhttp.annotation.types.Field;
 import ch.viascom.groundwork.foxhttp.annotation.types.FieldMap;
 import ch.viascom.groundwork.foxhttp.annotation.types.FollowRedirect;
 import ch.viascom.groundwork.foxhttp.annotation.types.FormUrlEncodedBody;
 import ch.viascom.groundwork.foxhttp.annotation.types.GET;
 import ch.viascom.groundwork.foxhttp.annotation.types.HEAD;
+import ch.viascom.groundwork.foxhttp.annotation.types.Hedge;
 import ch.viascom.groundwork.foxhttp.annotation.types.Header;
 import ch.viascom.groundwork.foxhttp.annotation.types.HeaderField;
+import ch.viascom.groundwork.foxhttp.annotation.types.JsonPointer;
 import ch.viascom.groundwork.foxhttp.annotation.types.MultipartBody;
 import ch.viascom.groundwork.foxhttp.annotation.types.OPTIONS;
 import ch.viascom.groundwork.foxhttp.annotation.types.POST;
@@ -30,15 +35,23 @@ import ch.viascom.groundwork.foxhttp.annotation.types.QueryMap;
 import ch.viascom.groundwork.foxhttp.annotation.types.QueryObject;
 import ch.viascom.groundwork.foxhttp.annotation.types.SkipResponseBody;
 import ch.viascom.groundwork.foxhttp.body.request.FoxHttpRequestBody;
+import ch.viascom.groundwork.foxhttp.compression.FoxHttpRequestCompressionStrategy;
+import ch.viascom.groundwork.foxhttp.compression.UserDefinedRequestCompressionStrategy;
 import ch.viascom.groundwork.foxhttp.exception.FoxHttpRequestException;
 import ch.viascom.groundwork.foxhttp.header.FoxHttpHeader;
+import ch.viascom.groundwork.foxhttp.hedging.FoxHttpHedgingPolicy;
 import ch.viascom.groundwork.foxhttp.type.RequestType;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.io.Serializable;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Method;
 import java.net.MalformedURLException;
 import java.net.URL;
+import java.util.Arrays;
+import java.util.Iterator;
 import java.util.Map;
+import java.util.stream.Stream;
 import lombok.Getter;
 
 /**
@@ -58,6 +71,11 @@ class FoxHttpMethodParser {
     private FoxHttpHeader headerFields = new FoxHttpHeader();
     private boolean skipResponseBody = false;
     private boolean followRedirect = true;
+    private boolean streamResponseBody = false;
+    private String jsonPointer = "";
+    private FoxHttpRequestCompressionStrategy requestCompressionStrategy;
+    private FoxHttpHedgingPolicy hedgingPolicy;
+    private long deadline = 0;
 
 
     void parseMethod(Method method, FoxHttpClient foxHttpClient) throws FoxHttpRequestException {
@@ -67,10 +85,21 @@ class FoxHttpMethodParser {
 
         parseClassHeaders();
 
-        parseReturnType(method.getReturnType());
+        //Futures and callbacks are checked with the type of their result
+        parseReturnType(FoxHttpMethodInvoker.getRawType(FoxHttpMethodInvoker.getResultType(method)));
+
+        parseStreamResponseBody();
 
         parseSkipResponseBodyAndFollowRedirect();
 
+        parseCompressRequest();
+
+        parseHedge();
+
+        parseDeadline();
+
+        parseCacheable();
+
         for (Annotation annotation : method.getAnnotations()) {
             parsetMethodAnnotation(annotation);
         }
@@ -112,6 +141,85 @@ class FoxHttpMethodParser {
         }
     }
 
+    private void parseStreamResponseBody() {
+        //Stream and Iterator are parsed lazily from the live body
+        if (responseType == Stream.class || responseType == Iterator.class) {
+            streamResponseBody = true;
+            JsonPointer jsonPointerAnnotation = method.getAnnotation(JsonPointer.class);
+            if (jsonPointerAnnotation != null) {
+                jsonPointer = jsonPointerAnnotation.value();
+            }
+        }
+    }
+
+    private void parseCacheable() throws FoxHttpRequestException {
+        Cacheable cacheable = method.getAnnotation(Cacheable.class);
+        if (cacheable == null) {
+            return;
+        }
+        if (cacheable.ttl() <= 0 || cacheable.maxEntries() <= 0 || cacheable.staleWhileRevalidate() < 0) {
+            throwFoxHttpRequestException("@Cacheable needs a positive ttl and maxEntries.");
+        }
+        //Only values which can be shared between calls are cached
+        if (responseType == void.class
+            || responseType == Void.class
+            || responseType.isAssignableFrom(FoxHttpResponse.class)
+            || responseType.isAssignableFrom(FoxHttpRequest.class)
+            || InputStream.class.isAssignableFrom(responseType)
+            || OutputStream.class.isAssignableFrom(responseType)
+            || streamResponseBody) {
+            throwFoxHttpRequestException("@Cacheable can only be used on methods which return a String or a parsed object.");
+        }
+        //The cache key does not contain the request body
+        if (hasBodyAnnotation()) {
+            throwFoxHttpRequestException("@Cacheable can not be used on methods with a request body.");
+        }
+    }
+
+    private void parseCompressRequest() {
+        //Method overrides class
+        CompressRequest compressRequestAnnotation = method.getAnnotation(CompressRequest.class);
+        if (compressRequestAnnotation == null) {
+            compressRequestAnnotation = method.getDeclaringClass().getAnnotation(CompressRequest.class);
+        }
+
+        if (compressRequestAnnotation != null) {
+            requestCompressionStrategy = new UserDefinedRequestCompressionStrategy(compressRequestAnnotation.value(), compressRequestAnnotation.minimumSize(),
+                Arrays.asList(compressRequestAnnotation.contentTypes()));
+        }
+    }
+
+    private void parseHedge() throws FoxHttpRequestException {
+        //Method overrides class
+        Hedge hedgeAnnotation = method.getAnnotation(Hedge.class);
+        if (hedgeAnnotation == null) {
+            hedgeAnnotation = method.getDeclaringClass().getAnnotation(Hedge.class);
+        }
+
+        if (hedgeAnnotation != null) {
+            if (hedgeAnnotation.delay() < 0 || hedgeAnnotation.percentile() < 0 || hedgeAnnotation.percentile() >= 1) {
+                throwFoxHttpRequestException("@Hedge needs a positive delay and a percentile between 0 and 1.");
+            }
+            //The latencies of the method are recorded by its own policy
+            hedgingPolicy = new FoxHttpHedgingPolicy(hedgeAnnotation.delay(), hedgeAnnotation.percentile());
+        }
+    }
+
+    private void parseDeadline() throws FoxHttpRequestException {
+        //Method overrides class
+        Deadline deadlineAnnotation = method.getAnnotation(Deadline.class);
+        if (deadlineAnnotation == null) {
+            deadlineAnnotation = method.getDeclaringClass().getAnnotation(Deadline.class);
+        }
+
+        if (deadlineAnnotation != null) {
+            if (deadlineAnnotation.value() <= 0) {
+                throwFoxHttpRequestException("@Deadline needs a positive time budget.");
+            }
+            deadline = deadlineAnnotation.value();
+        }
+    }
+
     private void parseURL() throws FoxHttpRequestException {
         Path basePath = method.getDeclaringClass().getAnnotation(Path.class);
 
@@ -139,7 +247,9 @@ class FoxHttpMethodParser {
         if ((!responseType.isAssignableFrom(FoxHttpResponse.class)
              && !responseType.isAssignableFrom(String.class)
              && !responseType.isAssignableFrom(void.class)
-             && !responseType.isAssignableFrom(FoxHttpRequest.class)) && foxHttpClient.getFoxHttpResponseParser() == null) {
+             && !responseType.isAssignableFrom(FoxHttpRequest.class)
+             && responseType != Stream.class
+             && responseType != Iterator.class) && foxHttpClient.getFoxHttpResponseParser() == null) {
             throwFoxHttpRequestException("The used return type needs a FoxHttpResponseParser to deserialize the body");
         } else {
             this.responseType = responseType;
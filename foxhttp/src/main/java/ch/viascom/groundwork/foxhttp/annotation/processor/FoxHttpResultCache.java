@@ -0,0 +1,119 @@
+package ch.viascom.groundwork.foxhttp.annotation.processor;
+
+import ch.viascom.groundwork.foxhttp.FoxHttpRequest;
+import ch.viascom.groundwork.foxhttp.annotation.types.Cacheable;
+import ch.viascom.groundwork.foxhttp.async.FoxHttpAsync;
+import ch.viascom.groundwork.foxhttp.async.FoxHttpAsyncTask;
+import ch.viascom.groundwork.foxhttp.exception.FoxHttpException;
+import ch.viascom.groundwork.foxhttp.header.HeaderEntry;
+import ch.viascom.groundwork.foxhttp.log.FoxHttpLoggerLevel;
+import ch.viascom.groundwork.foxhttp.util.ConcurrentLruCache;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Memory cache of the parsed results of a method annotated with @Cacheable
+ *
+ * @author patrick.boesch@viascom.ch
+ */
+class FoxHttpResultCache {
+
+    private final long ttl;
+    private final long staleWhileRevalidate;
+    private final String[] headers;
+    private final ConcurrentLruCache<String, Entry> entries;
+
+    FoxHttpResultCache(Cacheable cacheable) {
+        this.ttl = cacheable.ttl();
+        this.staleWhileRevalidate = cacheable.staleWhileRevalidate();
+        this.headers = cacheable.headers();
+        this.entries = new ConcurrentLruCache<>(cacheable.maxEntries());
+    }
+
+    /**
+     * Get the cached result of a request or load it
+     *
+     * @param request request of the call
+     * @param loader executes the request and parses the result
+     * @return cached or loaded result
+     */
+    Object get(FoxHttpRequest request, FoxHttpAsyncTask<Object> loader) throws Exception {
+        String key = getKey(request);
+        long now = System.currentTimeMillis();
+
+        Entry entry = entries.get(key);
+        if (entry != null) {
+            if (now < entry.expiresAt) {
+                return entry.value;
+            }
+            if (now < entry.expiresAt + staleWhileRevalidate) {
+                if (entry.refreshing.compareAndSet(false, true)) {
+                    refresh(request, key, entry, loader);
+                }
+                return entry.value;
+            }
+        }
+
+        Object value = loader.call();
+        store(key, value);
+        return value;
+    }
+
+    void clear() {
+        entries.clear();
+    }
+
+    private void refresh(FoxHttpRequest request, String key, Entry entry, FoxHttpAsyncTask<Object> loader) {
+        request.getFoxHttpClient().getFoxHttpLogger().log(FoxHttpLoggerLevel.DEBUG, "refreshCacheEntry(" + key + ")");
+        FoxHttpAsync.execute(request, loader).whenComplete((value, throwable) -> {
+            if (throwable == null) {
+                store(key, value);
+            } else {
+                //Keep the stale result, the next call after the window loads it again
+                request.getFoxHttpClient().getFoxHttpLogger().log(FoxHttpLoggerLevel.INFO, "refreshCacheEntry(" + key + ") failed: " + throwable.getMessage());
+                entry.refreshing.set(false);
+            }
+        });
+    }
+
+    private void store(String key, Object value) {
+        if (value != null) {
+            entries.put(key, new Entry(value, System.currentTimeMillis() + ttl));
+        }
+    }
+
+    private String getKey(FoxHttpRequest request) throws FoxHttpException {
+        StringBuilder key = new StringBuilder(request.getUrl().toString());
+        if (request.getRequestQuery() != null && request.getRequestQuery().hasQueryEntries()) {
+            key.append(request.getRequestQuery().getQueryString());
+        }
+        String resolvedKey = request.getFoxHttpPlaceholderStrategy().processPlaceholders(key.toString(), request.getFoxHttpClient());
+
+        if (headers.length == 0) {
+            return resolvedKey;
+        }
+        key.setLength(0);
+        key.append(resolvedKey);
+        for (String header : headers) {
+            key.append('\n').append(header).append(':');
+            for (HeaderEntry headerEntry : request.getRequestHeader().getHeaders(header)) {
+                key.append(headerEntry.getValue()).append(',');
+            }
+        }
+        return key.toString();
+    }
+
+    /**
+     * Cached result and the time it expires
+     */
+    private static class Entry {
+
+        private final Object value;
+        private final long expiresAt;
+        private final AtomicBoolean refreshing = new AtomicBoolean(false);
+
+        private Entry(Object value, long expiresAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package ch.viascom.groundwork.foxhttp.annotation.types;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * The annotation @Cacheable keeps the parsed results of a method in memory for ttl milliseconds. Results are keyed by the resolved url, the query and the
+ * values of the listed headers. At most maxEntries results are kept, the least recently used ones are dropped first. If staleWhileRevalidate is set, an
+ * expired result is still returned for this many milliseconds while it gets refreshed in the background.
+ *
+ * @author patrick.boesch@viascom.ch
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Cacheable {
+
+    long ttl();
+
+    int maxEntries() default 1000;
+
+    long staleWhileRevalidate() default 0;
+
+    String[] headers() default {};
+}
@@ -0,0 +1,26 @@
+package ch.viascom.groundwork.foxhttp.annotation.types;
+
+import ch.viascom.groundwork.foxhttp.compression.CompressionType;
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * The annotation @CompressRequest compresses the request body with the given encoding. Bodies smaller than minimumSize are sent uncompressed. If contentTypes is
+ * set, only bodies with one of these mime types get compressed. A method annotation overrides the annotation of the interface.
+ *
+ * @author patrick.boesch@viascom.ch
+ */
+@Documented
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface CompressRequest {
+
+    CompressionType value() default CompressionType.GZIP;
+
+    int minimumSize() default 0;
+
+    String[] contentTypes() default {};
+}
@@ -0,0 +1,21 @@
+package ch.viascom.groundwork.foxhttp.annotation.types;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * The annotation @Deadline limits the time in milliseconds a call may take, including retries, redirects and reading the body. A call which takes longer
+ * is aborted with a DeadlineExceededException. A method annotation overrides the annotation of the interface.
+ *
+ * @author patrick.boesch@viascom.ch
+ */
+@Documented
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Deadline {
+
+    long value();
+}
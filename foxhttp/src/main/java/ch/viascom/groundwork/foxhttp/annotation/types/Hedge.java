@@ -0,0 +1,24 @@
+package ch.viascom.groundwork.foxhttp.annotation.types;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * The annotation @Hedge sends a copy of a slow GET, HEAD or OPTIONS request and uses the first successful response. The copy is sent after delay
+ * milliseconds or, if percentile is set, after this percentile of the observed latencies of the method. A method annotation overrides the annotation of the
+ * interface.
+ *
+ * @author patrick.boesch@viascom.ch
+ */
+@Documented
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Hedge {
+
+    long delay() default 100;
+
+    double percentile() default 0;
+}
@@ -0,0 +1,21 @@
+package ch.viascom.groundwork.foxhttp.annotation.types;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * The annotation @JsonPointer defines the location (RFC 6901, e.g. /data/items) of the json array which is returned by a method with a Stream or Iterator return
+ * type. Without this annotation the body has to be a top-level array.
+ *
+ * @author patrick.boesch@viascom.ch
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface JsonPointer {
+
+    String value();
+}
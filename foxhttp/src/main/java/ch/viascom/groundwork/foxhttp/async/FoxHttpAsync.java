@@ -0,0 +1,118 @@
+package ch.viascom.groundwork.foxhttp.async;
+
+import ch.viascom.groundwork.foxhttp.FoxHttpRequest;
+import ch.viascom.groundwork.foxhttp.deadline.FoxHttpDeadline;
+import ch.viascom.groundwork.foxhttp.exception.FoxHttpException;
+import ch.viascom.groundwork.foxhttp.exception.FoxHttpRequestException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs requests on the executor of their client. <p> HttpURLConnection blocks while it waits for the server, so the default executor is a cached pool of
+ * daemon threads instead of the common ForkJoinPool, which is sized for computations.
+ *
+ * @author patrick.boesch@viascom.ch
+ */
+public final class FoxHttpAsync {
+
+    private FoxHttpAsync() {
+    }
+
+    /**
+     * Get the executor which is used by clients without an own executor
+     *
+     * @return shared executor
+     */
+    public static Executor getDefaultExecutor() {
+        return DefaultExecutorHolder.EXECUTOR;
+    }
+
+    /**
+     * Run a task of a request on the executor of its client <i>the task inherits the deadline of the calling thread, cancelling the returned future aborts
+     * the request</i>
+     *
+     * @param request request which is executed by the task
+     * @param task blocking work
+     * @param <T> type of the result
+     * @return future which completes with the result or a FoxHttpException
+     */
+    public static <T> CompletableFuture<T> execute(FoxHttpRequest request, FoxHttpAsyncTask<T> task) {
+        Executor executor = request.getFoxHttpClient().getFoxHttpExecutor();
+        if (executor == null) {
+            executor = getDefaultExecutor();
+        }
+
+        //The executor thread does not know the deadline of the calling request
+        long deadline = FoxHttpDeadline.getDeadline();
+        CompletableFuture<T> future = new CompletableFuture<>();
+        try {
+            executor.execute(() -> {
+                if (future.isDone()) {
+                    return;
+                }
+                long outerDeadline = FoxHttpDeadline.enter(deadline);
+                try {
+                    future.complete(task.call());
+                } catch (Exception e) {
+                    future.completeExceptionally(toFoxHttpException(e));
+                } finally {
+                    FoxHttpDeadline.restore(outerDeadline);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            future.completeExceptionally(new FoxHttpRequestException(e));
+        }
+        future.whenComplete((result, throwable) -> {
+            if (future.isCancelled()) {
+                request.abort();
+            }
+        });
+        return future;
+    }
+
+    /**
+     * Pass the outcome of a future to a callback
+     *
+     * @param future future of a request
+     * @param callback callback to notify
+     * @param <T> type of the result
+     */
+    public static <T> void notify(CompletableFuture<T> future, FoxHttpCallback<? super T> callback) {
+        future.whenComplete((result, throwable) -> {
+            if (throwable == null) {
+                callback.onSuccess(result);
+            } else {
+                callback.onFailure(toFoxHttpException(throwable));
+            }
+        });
+    }
+
+    private static FoxHttpException toFoxHttpException(Throwable throwable) {
+        if (throwable instanceof CompletionException && throwable.getCause() != null) {
+            throwable = throwable.getCause();
+        }
+        if (throwable instanceof FoxHttpException) {
+            return (FoxHttpException) throwable;
+        }
+        return new FoxHttpRequestException(throwable);
+    }
+
+    /**
+     * Creates the default executor on first use
+     */
+    private static class DefaultExecutorHolder {
+
+        private static final AtomicInteger THREAD_COUNT = new AtomicInteger();
+
+        private static final ExecutorService EXECUTOR = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "FoxHttp-async-" + THREAD_COUNT.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+}
@@ -0,0 +1,12 @@
+package ch.viascom.groundwork.foxhttp.async;
+
+/**
+ * Blocking work of an asynchronous request
+ *
+ * @author patrick.boesch@viascom.ch
+ */
+@FunctionalInterface
+public interface FoxHttpAsyncTask<T> {
+
+    T call() throws Exception;
+}
@@ -0,0 +1,15 @@
+package ch.viascom.groundwork.foxhttp.async;
+
+import ch.viascom.groundwork.foxhttp.exception.FoxHttpException;
+
+/**
+ * Receives the result of an asynchronous request <i>called on a thread of the executor of the client</i>
+ *
+ * @author patrick.boesch@viascom.ch
+ */
+public interface FoxHttpCallback<T> {
+
+    void onSuccess(T result);
+
+    void onFailure(FoxHttpException exception);
+}
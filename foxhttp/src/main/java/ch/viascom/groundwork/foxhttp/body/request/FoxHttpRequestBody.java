@@ -0,0 +1,237 @@
+package ch.viascom.groundwork.foxhttp.body.request;
+
+import ch.viascom.groundwork.foxhttp.body.FoxHttpBody;
+import ch.viascom.groundwork.foxhttp.compression.FoxHttpRequestCompressionStrategy;
+import ch.viascom.groundwork.foxhttp.compression.RequestCompressionOutputStream;
+import ch.viascom.groundwork.foxhttp.exception.FoxHttpException;
+import ch.viascom.groundwork.foxhttp.exception.FoxHttpRequestException;
+import ch.viascom.groundwork.foxhttp.interceptor.FoxHttpInterceptorExecutor;
+import ch.viascom.groundwork.foxhttp.interceptor.FoxHttpInterceptorType;
+import ch.viascom.groundwork.foxhttp.interceptor.request.context.FoxHttpRequestBodyInterceptorContext;
+import ch.viascom.groundwork.foxhttp.log.FoxHttpLoggerLevel;
+import ch.viascom.groundwork.foxhttp.type.ContentType;
+import ch.viascom.groundwork.foxhttp.type.HeaderTypes;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.HttpURLConnection;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Abstract FoxHttpRequestBody <p> !! Do not use this class directly as body for a request. !! <p> Extend this class or use a default implementation: - RequestMultipartBody -
+ * RequestObjectBody - RequestStringBody - RequestUrlEncodedFormBody <p> The default implementations write the body directly to the connection. It is buffered in
+ * the outputStream if a request body interceptor is registered, which may change it, or if the request may be retried. RequestByteArrayBody always sends its
+ * buffer.
+ *
+ * @author patrick.boesch@viascom.ch
+ */
+public abstract class FoxHttpRequestBody implements FoxHttpBody {
+
+    @Getter
+    protected ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+    @Setter
+    ContentType outputContentType = ContentType.WILDCARD;
+
+    //Serialized body of the running execution, kept for retries of the request
+    private String serializedBody;
+    //Set if the request may be sent again during this execution
+    private boolean keepSerializedBody = false;
+
+    public abstract void setBody(FoxHttpRequestBodyContext context) throws FoxHttpException;
+
+    public abstract boolean hasBody();
+
+    public abstract ContentType getOutputContentType();
+
+    /**
+     * Checks if the body can be sent again, e.g. to the location of a redirect
+     *
+     * @return true if setBody can be called several times
+     */
+    public boolean isRepeatable() {
+        return false;
+    }
+
+    /**
+     * Prepare the body for a new execution of its request <i>changes of the content are serialized again</i>
+     *
+     * @param keepSerializedBody keep the serialized body instead of streaming it, the request may be retried
+     */
+    public void prepareExecution(boolean keepSerializedBody) {
+        this.serializedBody = null;
+        this.keepSerializedBody = keepSerializedBody;
+    }
+
+    /**
+     * Get the body serialized by an earlier attempt of this execution
+     *
+     * @return serialized body or null if it has to be serialized
+     */
+    protected String getSerializedBody() {
+        return serializedBody;
+    }
+
+    /**
+     * Checks if the serialized body is kept for retries, it can not be streamed directly to the connection then
+     *
+     * @return true if the request may be sent again
+     */
+    protected boolean isKeepSerializedBody() {
+        return keepSerializedBody;
+    }
+
+    protected void executeInterceptor(FoxHttpRequestBodyContext context) throws FoxHttpException {
+        context.getRequest().getFoxHttpClient().getFoxHttpLogger().log(FoxHttpLoggerLevel.DEBUG, "executeRequestBodyInterceptor()");
+        FoxHttpInterceptorExecutor.executeRequestBodyInterceptor(
+            new FoxHttpRequestBodyInterceptorContext(context.getUrlConnection(), this, context.getRequest(), context.getClient()));
+    }
+
+    public void writeBody(FoxHttpRequestBodyContext context, String json) throws FoxHttpRequestException {
+        if (keepSerializedBody) {
+            serializedBody = json;
+        }
+        try {
+            //A body which may be sent again stays buffered by the connection
+            OutputStream bodyStream = keepSerializedBody ? null : openBodyStream(context, getEncodedLength(json));
+            if (bodyStream != null) {
+                //Nothing can change the body anymore, write it directly to the connection
+                writeString(context, bodyStream, json);
+                return;
+            }
+
+            outputStream.reset();
+            writeString(context, outputStream, json);
+
+            //Execute interceptor
+            executeInterceptor(context);
+
+            writeOutputStream(context, outputStream);
+        } catch (Exception e) {
+            throw new FoxHttpRequestException(e);
+        }
+    }
+
+    /**
+     * Open a stream which writes a body of unknown length in chunks directly to the connection. The body gets compressed if a compression strategy applies to
+     * this request.
+     *
+     * @param context context of the request
+     * @return stream to the connection or null if the body has to be buffered for the request body interceptors
+     * @throws IOException if the stream could not be opened
+     */
+    protected OutputStream openBodyStream(FoxHttpRequestBodyContext context) throws IOException {
+        return openBodyStream(context, -1);
+    }
+
+    /**
+     * Open a stream which writes the body directly to the connection. The body gets compressed if a compression strategy applies to this request.
+     *
+     * @param context context of the request
+     * @param length length of the body in bytes or -1 if it is not known yet, the body is sent in chunks then
+     * @return stream to the connection or null if the body has to be buffered for the request body interceptors
+     * @throws IOException if the stream could not be opened
+     */
+    protected OutputStream openBodyStream(FoxHttpRequestBodyContext context, long length) throws IOException {
+        if (hasRequestBodyInterceptor(context)) {
+            return null;
+        }
+
+        FoxHttpRequestCompressionStrategy compressionStrategy = getCompressionStrategy(context);
+        if (compressionStrategy != null) {
+            return new RequestCompressionOutputStream((HttpURLConnection) context.getUrlConnection(), compressionStrategy.getCompressionType(getOutputContentType()),
+                compressionStrategy.getMinimumSize());
+        }
+
+        //Without a streaming mode the connection buffers the whole body before it is sent
+        HttpURLConnection connection = (HttpURLConnection) context.getUrlConnection();
+        if (length >= 0) {
+            connection.setFixedLengthStreamingMode(length);
+        } else {
+            connection.setChunkedStreamingMode(0);
+        }
+        return connection.getOutputStream();
+    }
+
+    /**
+     * Write a buffered body to the connection. The body gets compressed if a compression strategy applies to this request.
+     *
+     * @param context context of the request
+     * @param body buffered body
+     * @throws IOException if the body could not be written
+     */
+    protected void writeOutputStream(FoxHttpRequestBodyContext context, ByteArrayOutputStream body) throws IOException {
+        FoxHttpRequestCompressionStrategy compressionStrategy = getCompressionStrategy(context);
+        if (compressionStrategy != null) {
+            try (OutputStream compressionOutputStream = new RequestCompressionOutputStream((HttpURLConnection) context.getUrlConnection(),
+                compressionStrategy.getCompressionType(getOutputContentType()), compressionStrategy.getMinimumSize())) {
+                body.writeTo(compressionOutputStream);
+            }
+            return;
+        }
+
+        //Add Content-Length header if not exist
+        if (context.getUrlConnection().getRequestProperty(HeaderTypes.CONTENT_LENGTH.toString()) == null) {
+            context.getUrlConnection().setRequestProperty(HeaderTypes.CONTENT_LENGTH.toString(), Integer.toString(body.size()));
+        }
+
+        body.writeTo(context.getUrlConnection().getOutputStream());
+    }
+
+    /**
+     * Get the compression strategy which applies to the body of this request
+     *
+     * @param context context of the request
+     * @return compression strategy or null if the body should not be compressed
+     */
+    protected FoxHttpRequestCompressionStrategy getCompressionStrategy(FoxHttpRequestBodyContext context) {
+        FoxHttpRequestCompressionStrategy compressionStrategy = context.getRequest().getFoxHttpRequestCompressionStrategy();
+        if (compressionStrategy == null) {
+            compressionStrategy = context.getClient().getFoxHttpRequestCompressionStrategy();
+        }
+
+        //Do not compress twice if the body is already encoded
+        if (compressionStrategy == null
+            || compressionStrategy.getCompressionType(getOutputContentType()) == null
+            || context.getUrlConnection().getRequestProperty(HeaderTypes.CONTENT_ENCODING.toString()) != null) {
+            return null;
+        }
+        context.getClient().getFoxHttpLogger().log(FoxHttpLoggerLevel.DEBUG, "compressRequestBody(" + compressionStrategy + ")");
+        return compressionStrategy;
+    }
+
+    /**
+     * Get the length of the written body if it is known without encoding it
+     *
+     * @param body body to write
+     * @return length in bytes or -1 if the body is encoded with a charset
+     */
+    private long getEncodedLength(String body) {
+        //Without a charset every char is written as one byte
+        return outputContentType.getCharset() == null ? body.length() : -1;
+    }
+
+    private boolean hasRequestBodyInterceptor(FoxHttpRequestBodyContext context) {
+        return !context.getClient().getFoxHttpInterceptorStrategy().getAllInterceptorsFromTypeAsArray(FoxHttpInterceptorType.REQUEST_BODY, false).isEmpty();
+    }
+
+    private void writeString(FoxHttpRequestBodyContext context, OutputStream target, String body) throws IOException {
+        //Check for Charset and use OutputStreamWriter with the correct Charset if needed
+        if (outputContentType.getCharset() == null) {
+            context.getRequest().getFoxHttpClient().getFoxHttpLogger().log(FoxHttpLoggerLevel.DEBUG, "writeBody()");
+            DataOutputStream wr = new DataOutputStream(target);
+            wr.writeBytes(body);
+            wr.flush();
+            wr.close();
+        } else {
+            context.getRequest().getFoxHttpClient().getFoxHttpLogger().log(FoxHttpLoggerLevel.DEBUG, "writeBody(" + outputContentType.getCharset().displayName() + ")");
+            Writer osw = new OutputStreamWriter(target, outputContentType.getCharset());
+            osw.write(body);
+            osw.flush();
+            osw.close();
+        }
+    }
+}
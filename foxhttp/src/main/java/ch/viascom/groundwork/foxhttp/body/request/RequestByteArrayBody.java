@@ -57,7 +57,7 @@ public class RequestByteArrayBody extends FoxHttpRequestBody {
     @Override
     public void setBody(FoxHttpRequestBodyContext context) throws FoxHttpRequestException {
         try {
-            context.getUrlConnection().getOutputStream().write(outputStream.toByteArray());
+            writeOutputStream(context, outputStream);
         } catch (IOException e) {
             throw new FoxHttpRequestException(e.getMessage());
         }
@@ -72,4 +72,9 @@ public class RequestByteArrayBody extends FoxHttpRequestBody {
     public ContentType getOutputContentType() {
         return outputContentType;
     }
+
+    @Override
+    public boolean isRepeatable() {
+        return true;
+    }
 }
@@ -2,13 +2,13 @@ package ch.viascom.groundwork.foxhttp.body.request;
 
 import ch.viascom.groundwork.foxhttp.exception.FoxHttpRequestException;
 import ch.viascom.groundwork.foxhttp.type.ContentType;
-import ch.viascom.groundwork.foxhttp.type.HeaderTypes;
 import ch.viascom.groundwork.foxhttp.util.NamedInputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.io.OutputStreamWriter;
 import java.io.PrintWriter;
 import java.net.URLConnection;
@@ -19,7 +19,8 @@ import lombok.Getter;
 import lombok.ToString;
 
 /**
- * RequestMultipartBody for FoxHttp <p> Stores multiple data for a request body
+ * RequestMultipartBody for FoxHttp <p> Stores multiple data for a request body. The parts are written directly to the connection, the body is only buffered
+ * if a request body interceptor is registered or the request may be retried.
  *
  * @author patrick.boesch@viascom.ch
  */
@@ -67,24 +68,21 @@ public class RequestMultipartBody extends FoxHttpRequestBody {
     @Override
     public void setBody(FoxHttpRequestBodyContext context) throws FoxHttpRequestException {
         try {
-            writer = new PrintWriter(new OutputStreamWriter(outputStream, charset), true);
-
-            processFormFields();
-            processStream();
+            //A body which may be sent again stays buffered by the connection
+            OutputStream bodyStream = isKeepSerializedBody() ? null : openBodyStream(context);
+            if (bodyStream != null) {
+                //Nothing can change the body anymore, write the parts directly to the connection
+                writeParts(bodyStream);
+                return;
+            }
 
-            writer.flush();
-            writer.append("--").append(boundary).append("--").append(lineFeed);
-            writer.close();
+            outputStream.reset();
+            writeParts(outputStream);
 
             //Execute interceptor
             executeInterceptor(context);
 
-            //Add Content-Length header if not exist
-            if (context.getUrlConnection().getRequestProperty(HeaderTypes.CONTENT_LENGTH.toString()) == null) {
-                context.getUrlConnection().setRequestProperty(HeaderTypes.CONTENT_LENGTH.toString(), Integer.toString(outputStream.size()));
-            }
-
-            context.getUrlConnection().getOutputStream().write(outputStream.toByteArray());
+            writeOutputStream(context, outputStream);
 
         } catch (Exception e) {
             throw new FoxHttpRequestException(e);
@@ -102,6 +100,16 @@ public class RequestMultipartBody extends FoxHttpRequestBody {
         return stream.size() > 0 || forms.size() > 0;
     }
 
+    /**
+     * Checks if the body can be sent again <i>streams and files can only be read once</i>
+     *
+     * @return true if the body has no stream parts
+     */
+    @Override
+    public boolean isRepeatable() {
+        return stream.isEmpty();
+    }
+
     /**
      * Get the ContentType of this body
      *
@@ -122,6 +130,21 @@ public class RequestMultipartBody extends FoxHttpRequestBody {
         forms.put(name, value);
     }
 
+    private void writeParts(OutputStream target) throws IOException {
+        writer = new PrintWriter(new OutputStreamWriter(target, charset), true);
+
+        processFormFields();
+        processStream(target);
+
+        writer.flush();
+        writer.append("--").append(boundary).append("--").append(lineFeed);
+        writer.close();
+        //PrintWriter hides the errors of the connection
+        if (writer.checkError()) {
+            throw new IOException("Multipart body could not be written");
+        }
+    }
+
     private void processFormFields() {
         for (Map.Entry<String, String> entry : forms.entrySet()) {
             writer.append("--").append(boundary).append(lineFeed);
@@ -152,7 +175,7 @@ public class RequestMultipartBody extends FoxHttpRequestBody {
         stream.put(name, new NamedInputStream(inputStreamName, inputStream, contentTransferEncoding, contentType));
     }
 
-    private void processStream() throws IOException {
+    private void processStream(OutputStream target) throws IOException {
         for (Map.Entry<String, NamedInputStream> entry : stream.entrySet()) {
             writer.append("--").append(boundary).append(lineFeed);
             writer.append("Content-Disposition: form-data; name=\"")
@@ -170,9 +193,9 @@ public class RequestMultipartBody extends FoxHttpRequestBody {
             byte[] buffer = new byte[4096];
             int bytesRead;
             while ((bytesRead = inputStream.read(buffer)) != -1) {
-                outputStream.write(buffer, 0, bytesRead);
+                target.write(buffer, 0, bytesRead);
             }
-            outputStream.flush();
+            target.flush();
             inputStream.close();
             writer.append(lineFeed);
             writer.flush();
@@ -3,13 +3,23 @@ package ch.viascom.groundwork.foxhttp.body.request;
 import ch.viascom.groundwork.foxhttp.annotation.types.SerializeContentType;
 import ch.viascom.groundwork.foxhttp.exception.FoxHttpException;
 import ch.viascom.groundwork.foxhttp.exception.FoxHttpRequestException;
+import ch.viascom.groundwork.foxhttp.log.FoxHttpLoggerLevel;
+import ch.viascom.groundwork.foxhttp.parser.FoxHttpParser;
+import ch.viascom.groundwork.foxhttp.parser.FoxHttpStreamParser;
 import ch.viascom.groundwork.foxhttp.type.ContentType;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
 import java.io.Serializable;
+import java.io.Writer;
 import java.nio.charset.Charset;
 import lombok.ToString;
 
 /**
- * RequestObjectBody for FoxHttp <p> Stores an object for a request body. To use this you have to set a RequestParser.
+ * RequestObjectBody for FoxHttp <p> Stores an object for a request body. To use this you have to set a RequestParser. <p> A FoxHttpStreamParser serializes
+ * the object directly to the connection if the content type has a charset. The serialized body is buffered if a request body interceptor is registered or
+ * the request may be retried.
  *
  * @author patrick.boesch@viascom.ch
  */
@@ -57,7 +67,31 @@ public class RequestObjectBody extends FoxHttpRequestBody {
             this.outputContentType = ContentType.create(mimeType, charset);
         }
 
-        String json = context.getClient().getFoxHttpRequestParser().objectToSerialized(content, this.outputContentType);
+        //Retries write the body serialized by the first attempt
+        String serializedBody = getSerializedBody();
+        if (serializedBody != null) {
+            writeBody(context, serializedBody);
+            return;
+        }
+
+        FoxHttpParser foxHttpRequestParser = context.getClient().getFoxHttpRequestParser();
+        if (foxHttpRequestParser instanceof FoxHttpStreamParser && this.outputContentType.getCharset() != null && !isKeepSerializedBody()) {
+            try {
+                OutputStream bodyStream = openBodyStream(context);
+                if (bodyStream != null) {
+                    //Serialize directly to the connection
+                    context.getClient().getFoxHttpLogger().log(FoxHttpLoggerLevel.DEBUG, "writeBody(" + this.outputContentType.getCharset().displayName() + ", stream)");
+                    try (Writer writer = new BufferedWriter(new OutputStreamWriter(bodyStream, this.outputContentType.getCharset()))) {
+                        ((FoxHttpStreamParser) foxHttpRequestParser).objectToSerialized(content, this.outputContentType, writer);
+                    }
+                    return;
+                }
+            } catch (IOException e) {
+                throw new FoxHttpRequestException(e);
+            }
+        }
+
+        String json = foxHttpRequestParser.objectToSerialized(content, this.outputContentType);
 
         writeBody(context, json);
     }
@@ -81,4 +115,9 @@ public class RequestObjectBody extends FoxHttpRequestBody {
     public ContentType getOutputContentType() {
         return outputContentType;
     }
+
+    @Override
+    public boolean isRepeatable() {
+        return true;
+    }
 }
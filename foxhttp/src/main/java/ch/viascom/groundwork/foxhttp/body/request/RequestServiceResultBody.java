@@ -42,7 +42,11 @@ public class RequestServiceResultBody extends FoxHttpRequestBody {
             throw new FoxHttpRequestException("RequestServiceResultBody needs a FoxHttpRequestParser to serialize the body");
         }
 
-        String json = context.getClient().getFoxHttpRequestParser().objectToSerialized(serviceResult, this.outputContentType);
+        //Retries write the body serialized by the first attempt
+        String json = getSerializedBody();
+        if (json == null) {
+            json = context.getClient().getFoxHttpRequestParser().objectToSerialized(serviceResult, this.outputContentType);
+        }
 
         writeBody(context, json);
     }
@@ -80,4 +84,9 @@ public class RequestServiceResultBody extends FoxHttpRequestBody {
     public void addMetadata(String key, Metadata<? extends Serializable> metadata) {
         this.serviceResult.getMetadata().put(key, metadata);
     }
+
+    @Override
+    public boolean isRepeatable() {
+        return true;
+    }
 }
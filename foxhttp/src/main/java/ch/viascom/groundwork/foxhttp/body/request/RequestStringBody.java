@@ -65,4 +65,9 @@ public class RequestStringBody extends FoxHttpRequestBody {
     public ContentType getOutputContentType() {
         return outputContentType;
     }
+
+    @Override
+    public boolean isRepeatable() {
+        return true;
+    }
 }
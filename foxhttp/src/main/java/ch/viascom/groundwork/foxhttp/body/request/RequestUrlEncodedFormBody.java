@@ -65,7 +65,11 @@ public class RequestUrlEncodedFormBody extends FoxHttpRequestBody {
      */
     @Override
     public void setBody(FoxHttpRequestBodyContext context) throws FoxHttpRequestException {
-        String formOutputData = QueryBuilder.buildQuery(formData);
+        //Retries write the form encoded by the first attempt
+        String formOutputData = getSerializedBody();
+        if (formOutputData == null) {
+            formOutputData = QueryBuilder.buildQuery(formData);
+        }
 
         writeBody(context, formOutputData);
     }
@@ -90,4 +94,8 @@ public class RequestUrlEncodedFormBody extends FoxHttpRequestBody {
         return outputContentType;
     }
 
+    @Override
+    public boolean isRepeatable() {
+        return true;
+    }
 }
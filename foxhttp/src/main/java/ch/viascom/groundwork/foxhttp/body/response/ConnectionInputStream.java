@@ -0,0 +1,45 @@
+package ch.viascom.groundwork.foxhttp.body.response;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+
+/**
+ * Live response body which disconnects its connection when it gets closed
+ *
+ * @author patrick.boesch@viascom.ch
+ */
+public class ConnectionInputStream extends FilterInputStream {
+
+    private final HttpURLConnection connection;
+    //Runs after the connection got disconnected, e.g. to cancel the deadline of the request
+    private final Runnable closeAction;
+    private boolean closed = false;
+
+    public ConnectionInputStream(InputStream inputStream, HttpURLConnection connection) {
+        this(inputStream, connection, null);
+    }
+
+    public ConnectionInputStream(InputStream inputStream, HttpURLConnection connection, Runnable closeAction) {
+        super(inputStream);
+        this.connection = connection;
+        this.closeAction = closeAction;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            super.close();
+        } finally {
+            connection.disconnect();
+            if (closeAction != null) {
+                closeAction.run();
+            }
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package ch.viascom.groundwork.foxhttp.body.response;
+
+import ch.viascom.groundwork.foxhttp.body.FoxHttpBody;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+
+/**
+ * Body of a response <p> A streamed body can be read only once, so it is not part of toString.
+ *
+ * @author patrick.boesch@viascom.ch
+ */
+@Getter
+@Setter
+@ToString(exclude = {"body", "stream"})
+public class FoxHttpResponseBody implements FoxHttpBody {
+
+    private ByteArrayOutputStream body = new ResponseByteArrayOutputStream();
+
+    //Live body of a streamed response which is not buffered yet
+    private InputStream stream;
+
+    //Digests computed while the body is read from the connection
+    private ResponseDigest digest;
+
+    /**
+     * Get the buffered body <i>reads the rest of a streamed body into the buffer</i>
+     *
+     * @return buffered body
+     * @throws UncheckedIOException if a streamed body could not be read
+     */
+    public ByteArrayOutputStream getBody() {
+        if (stream != null) {
+            InputStream liveStream = stream;
+            stream = null;
+            try (InputStream closeable = liveStream) {
+                setBody(closeable, true);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        return body;
+    }
+
+    public void setBody(ByteArrayOutputStream body) {
+        this.body = body;
+    }
+
+    public void setBody(InputStream inputStream) throws IOException {
+        setBody(inputStream, false);
+    }
+
+    public void setBody(InputStream inputStream, boolean overwrite) throws IOException {
+        if (overwrite) {
+            body = new ResponseByteArrayOutputStream();
+        }
+        if (inputStream != null) {
+            byte[] buffer = new byte[1024];
+            int len;
+            while ((len = inputStream.read(buffer)) > -1) {
+                body.write(buffer, 0, len);
+            }
+            body.flush();
+        }
+    }
+
+    /**
+     * Checks if the body is a live stream which has not been buffered
+     *
+     * @return true if the body is a live stream
+     */
+    public boolean isStreamed() {
+        return stream != null;
+    }
+
+    /**
+     * Close a streamed body and its connection
+     *
+     * @throws IOException if the stream could not be closed
+     */
+    public void close() throws IOException {
+        if (stream != null) {
+            stream.close();
+        }
+    }
+
+    /**
+     * Get the body as InputStream <i>avoids a copy of the body if possible</i>
+     *
+     * @return body as InputStream
+     */
+    public InputStream getInputStream() {
+        if (stream != null) {
+            return stream;
+        }
+        if (body instanceof ResponseByteArrayOutputStream) {
+            return ((ResponseByteArrayOutputStream) body).toInputStream();
+        }
+        return new ByteArrayInputStream(body.toByteArray());
+    }
+}
@@ -0,0 +1,22 @@
+package ch.viascom.groundwork.foxhttp.body.response;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+
+/**
+ * ByteArrayOutputStream which can be read without copying its buffer
+ *
+ * @author patrick.boesch@viascom.ch
+ */
+public class ResponseByteArrayOutputStream extends ByteArrayOutputStream {
+
+    /**
+     * Get an InputStream over the current content <i>later writes to this stream are not visible to the returned InputStream</i>
+     *
+     * @return InputStream over the current content
+     */
+    public synchronized InputStream toInputStream() {
+        return new ByteArrayInputStream(buf, 0, count);
+    }
+}
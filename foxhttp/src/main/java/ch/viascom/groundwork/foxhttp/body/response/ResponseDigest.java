@@ -0,0 +1,207 @@
+package ch.viascom.groundwork.foxhttp.body.response;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URLConnection;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Digests of a response body which are computed while the body is read from the connection. <p> The expected digests are taken from the <code>Digest</code>
+ * (RFC 3230), <code>Content-Digest</code> (RFC 9530) and <code>Content-MD5</code> headers and are checked when the end of the body is reached. The digests
+ * cover the bytes as they were received, before a content encoding like gzip is decoded.
+ *
+ * @author patrick.boesch@viascom.ch
+ */
+public class ResponseDigest {
+
+    //Expected base64 digest per MessageDigest algorithm
+    private final Map<String, String> expectedDigests = new LinkedHashMap<>();
+    private final Map<String, MessageDigest> messageDigests = new LinkedHashMap<>();
+    private final Map<String, byte[]> digests = new LinkedHashMap<>();
+    private boolean verified = false;
+
+    /**
+     * Create the digests of a response
+     *
+     * @param connection connection with the response headers
+     * @param verify check the digests of the response headers
+     * @param algorithms additional algorithms which are computed without a check
+     * @return digests or null if nothing has to be computed
+     */
+    public static ResponseDigest create(URLConnection connection, boolean verify, Collection<String> algorithms) throws NoSuchAlgorithmException {
+        ResponseDigest responseDigest = new ResponseDigest();
+        if (verify) {
+            responseDigest.parseDigestHeader(connection.getHeaderField("Digest"), false);
+            responseDigest.parseDigestHeader(connection.getHeaderField("Content-Digest"), true);
+            String contentMd5 = connection.getHeaderField("Content-MD5");
+            if (contentMd5 != null && !contentMd5.trim().isEmpty()) {
+                responseDigest.expectedDigests.put("MD5", contentMd5.trim());
+            }
+        }
+        for (String algorithm : responseDigest.expectedDigests.keySet()) {
+            responseDigest.messageDigests.put(algorithm, MessageDigest.getInstance(algorithm));
+        }
+        if (algorithms != null) {
+            for (String algorithm : algorithms) {
+                if (!responseDigest.messageDigests.containsKey(algorithm)) {
+                    responseDigest.messageDigests.put(algorithm, MessageDigest.getInstance(algorithm));
+                }
+            }
+        }
+        return responseDigest.messageDigests.isEmpty() ? null : responseDigest;
+    }
+
+    /**
+     * Wrap the body of the response <i>the stream throws a ResponseDigestException at the end of the body if a digest does not match</i>
+     *
+     * @param inputStream body of the response
+     * @return body which updates the digests while it is read
+     */
+    public InputStream wrap(InputStream inputStream) {
+        return new DigestInputStream(inputStream);
+    }
+
+    /**
+     * Checks if the body was read completely and matched at least one digest header
+     *
+     * @return true if the body has a matching digest header
+     */
+    public boolean isVerified() {
+        return verified;
+    }
+
+    /**
+     * Get the digest of the received body
+     *
+     * @param algorithm MessageDigest algorithm like SHA-256
+     * @return digest or null if the algorithm was not computed or the body is not read completely
+     */
+    public byte[] getDigest(String algorithm) {
+        byte[] digest = digests.get(algorithm);
+        return digest == null ? null : digest.clone();
+    }
+
+    private void parseDigestHeader(String header, boolean structured) {
+        if (header == null) {
+            return;
+        }
+        for (String element : header.split(",")) {
+            int separator = element.indexOf('=');
+            if (separator <= 0) {
+                continue;
+            }
+            String algorithm = getAlgorithm(element.substring(0, separator).trim());
+            String value = element.substring(separator + 1).trim();
+            if (structured && value.length() >= 2 && value.startsWith(":") && value.endsWith(":")) {
+                value = value.substring(1, value.length() - 1);
+            }
+            //Unknown algorithms like UNIXsum are ignored
+            if (algorithm != null && !value.isEmpty()) {
+                expectedDigests.put(algorithm, value);
+            }
+        }
+    }
+
+    private static String getAlgorithm(String name) {
+        switch (name.toLowerCase(Locale.US)) {
+            case "md5":
+                return "MD5";
+            case "sha":
+                return "SHA-1";
+            case "sha-256":
+                return "SHA-256";
+            case "sha-512":
+                return "SHA-512";
+            default:
+                return null;
+        }
+    }
+
+    private void finish() throws ResponseDigestException {
+        //The end of the body can be read several times, a wrong digest fails every time
+        if (digests.isEmpty()) {
+            for (Map.Entry<String, MessageDigest> messageDigest : messageDigests.entrySet()) {
+                digests.put(messageDigest.getKey(), messageDigest.getValue().digest());
+            }
+        }
+        for (Map.Entry<String, String> expectedDigest : expectedDigests.entrySet()) {
+            String actualDigest = Base64.getEncoder().encodeToString(digests.get(expectedDigest.getKey()));
+            if (!stripPadding(actualDigest).equals(stripPadding(expectedDigest.getValue()))) {
+                throw new ResponseDigestException(
+                    "The " + expectedDigest.getKey() + " digest of the response body is " + actualDigest + " but " + expectedDigest.getValue() + " was expected");
+            }
+        }
+        verified = !expectedDigests.isEmpty();
+    }
+
+    private static String stripPadding(String value) {
+        int end = value.length();
+        while (end > 0 && value.charAt(end - 1) == '=') {
+            end--;
+        }
+        return value.substring(0, end);
+    }
+
+    /**
+     * Body which feeds every read byte into the digests
+     */
+    private class DigestInputStream extends FilterInputStream {
+
+        private DigestInputStream(InputStream inputStream) {
+            super(inputStream);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int read = super.read();
+            if (read == -1) {
+                finish();
+            } else {
+                for (MessageDigest messageDigest : messageDigests.values()) {
+                    messageDigest.update((byte) read);
+                }
+            }
+            return read;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int read = super.read(buffer, offset, length);
+            if (read == -1) {
+                finish();
+            } else {
+                for (MessageDigest messageDigest : messageDigests.values()) {
+                    messageDigest.update(buffer, offset, read);
+                }
+            }
+            return read;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            //Skipped bytes have to be digested as well
+            byte[] buffer = new byte[(int) Math.min(n, 4096)];
+            long skipped = 0;
+            while (skipped < n) {
+                int read = read(buffer, 0, (int) Math.min(buffer.length, n - skipped));
+                if (read == -1) {
+                    break;
+                }
+                skipped += read;
+            }
+            return skipped;
+        }
+
+        @Override
+        public boolean markSupported() {
+            return false;
+        }
+    }
+}
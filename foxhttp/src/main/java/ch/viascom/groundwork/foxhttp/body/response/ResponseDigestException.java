@@ -0,0 +1,15 @@
+package ch.viascom.groundwork.foxhttp.body.response;
+
+import java.io.IOException;
+
+/**
+ * Thrown by a response body if its digest does not match the digest of the response headers
+ *
+ * @author patrick.boesch@viascom.ch
+ */
+public class ResponseDigestException extends IOException {
+
+    public ResponseDigestException(String message) {
+        super(message);
+    }
+}
@@ -4,8 +4,15 @@ import ch.viascom.groundwork.foxhttp.FoxHttpClient;
 import ch.viascom.groundwork.foxhttp.authorization.FoxHttpAuthorization;
 import ch.viascom.groundwork.foxhttp.authorization.FoxHttpAuthorizationScope;
 import ch.viascom.groundwork.foxhttp.authorization.FoxHttpAuthorizationStrategy;
+import ch.viascom.groundwork.foxhttp.circuitbreaker.FoxHttpCircuitBreaker;
+import ch.viascom.groundwork.foxhttp.coalescing.FoxHttpRequestCoalescer;
+import ch.viascom.groundwork.foxhttp.compression.CompressionType;
+import ch.viascom.groundwork.foxhttp.compression.FoxHttpRequestCompressionStrategy;
+import ch.viascom.groundwork.foxhttp.compression.UserDefinedRequestCompressionStrategy;
+import ch.viascom.groundwork.foxhttp.concurrency.FoxHttpConcurrencyLimiter;
 import ch.viascom.groundwork.foxhttp.cookie.FoxHttpCookieStore;
 import ch.viascom.groundwork.foxhttp.exception.FoxHttpException;
+import ch.viascom.groundwork.foxhttp.hedging.FoxHttpHedgingPolicy;
 import ch.viascom.groundwork.foxhttp.interceptor.FoxHttpInterceptor;
 import ch.viascom.groundwork.foxhttp.interceptor.FoxHttpInterceptorType;
 import ch.viascom.groundwork.foxhttp.interceptor.response.DeflateResponseInterceptor;
@@ -16,13 +23,18 @@ import ch.viascom.groundwork.foxhttp.parser.GsonParser;
 import ch.viascom.groundwork.foxhttp.parser.XStreamParser;
 import ch.viascom.groundwork.foxhttp.placeholder.FoxHttpPlaceholderStrategy;
 import ch.viascom.groundwork.foxhttp.proxy.FoxHttpProxyStrategy;
+import ch.viascom.groundwork.foxhttp.ratelimit.FoxHttpRateLimiter;
+import ch.viascom.groundwork.foxhttp.retry.FoxHttpRetryStrategy;
 import ch.viascom.groundwork.foxhttp.ssl.FoxHttpHostTrustStrategy;
 import ch.viascom.groundwork.foxhttp.ssl.FoxHttpSSLTrustStrategy;
 import ch.viascom.groundwork.foxhttp.timeout.FoxHttpTimeoutStrategy;
 import ch.viascom.groundwork.foxhttp.timeout.UserDefinedTimeoutStrategy;
+import ch.viascom.groundwork.foxhttp.util.ConcurrentLruCache;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Executor;
 
 /**
  * FoxHttpClient builder to create a new FoxHttpClient
@@ -296,6 +308,41 @@ public class FoxHttpClientBuilder {
         return this;
     }
 
+    /**
+     * Set the executor of asynchronous requests
+     *
+     * @param foxHttpExecutor an executor
+     * @return FoxHttpClientBuilder (this)
+     */
+    public FoxHttpClientBuilder setFoxHttpExecutor(Executor foxHttpExecutor) {
+        foxHttpClient.setFoxHttpExecutor(foxHttpExecutor);
+        return this;
+    }
+
+    /**
+     * Set a request compression strategy
+     *
+     * @param foxHttpRequestCompressionStrategy a request compression strategy
+     * @return FoxHttpClientBuilder (this)
+     */
+    public FoxHttpClientBuilder setFoxHttpRequestCompressionStrategy(FoxHttpRequestCompressionStrategy foxHttpRequestCompressionStrategy) {
+        foxHttpClient.setFoxHttpRequestCompressionStrategy(foxHttpRequestCompressionStrategy);
+        return this;
+    }
+
+    /**
+     * Activate the compression of request bodies
+     *
+     * @param compressionType used encoding
+     * @param minimumSize bodies smaller than this number of bytes are sent uncompressed
+     * @param allowedContentTypes mime types which should be compressed (all if empty)
+     * @return FoxHttpClientBuilder (this)
+     */
+    public FoxHttpClientBuilder activateRequestCompression(CompressionType compressionType, int minimumSize, String... allowedContentTypes) {
+        foxHttpClient.setFoxHttpRequestCompressionStrategy(new UserDefinedRequestCompressionStrategy(compressionType, minimumSize, Arrays.asList(allowedContentTypes)));
+        return this;
+    }
+
     /**
      * Set a host trust strategy
      *
@@ -398,6 +445,127 @@ public class FoxHttpClientBuilder {
         return this;
     }
 
+    /**
+     * Check the Digest, Content-Digest and Content-MD5 headers of responses <i>a response with a wrong digest fails when its body is read</i>
+     *
+     * @param verifyResponseDigest check the digests
+     * @return FoxHttpClientBuilder (this)
+     */
+    public FoxHttpClientBuilder setVerifyResponseDigest(boolean verifyResponseDigest) {
+        foxHttpClient.setVerifyResponseDigest(verifyResponseDigest);
+        return this;
+    }
+
+    /**
+     * Compute a digest of every response body while it is read <i>available with FoxHttpResponse.getBodyDigest</i>
+     *
+     * @param algorithm MessageDigest algorithm like SHA-256
+     * @return FoxHttpClientBuilder (this)
+     */
+    public FoxHttpClientBuilder addResponseDigestAlgorithm(String algorithm) {
+        foxHttpClient.getResponseDigestAlgorithms().add(algorithm);
+        return this;
+    }
+
+    /**
+     * Set the maximal number of redirects followed by a request
+     *
+     * @param maxRedirects maximal number of redirects
+     * @return FoxHttpClientBuilder (this)
+     */
+    public FoxHttpClientBuilder setMaxRedirects(int maxRedirects) {
+        foxHttpClient.setMaxRedirects(maxRedirects);
+        return this;
+    }
+
+    /**
+     * Set the number of remembered 301 and 308 redirects <i>requests to a remembered url are sent directly to the new location</i>
+     *
+     * @param cacheSize number of remembered redirects, 0 disables the cache
+     * @return FoxHttpClientBuilder (this)
+     */
+    public FoxHttpClientBuilder setPermanentRedirectCacheSize(int cacheSize) {
+        foxHttpClient.setPermanentRedirectCache(cacheSize > 0 ? new ConcurrentLruCache<>(cacheSize) : null);
+        return this;
+    }
+
+    /**
+     * Collapse identical concurrent GET and HEAD requests into one call <i>the requests share the response body</i>
+     *
+     * @param foxHttpRequestCoalescer coalescer of the client
+     * @return FoxHttpClientBuilder (this)
+     */
+    public FoxHttpClientBuilder setFoxHttpRequestCoalescer(FoxHttpRequestCoalescer foxHttpRequestCoalescer) {
+        foxHttpClient.setFoxHttpRequestCoalescer(foxHttpRequestCoalescer);
+        return this;
+    }
+
+    /**
+     * Send a copy of slow GET, HEAD and OPTIONS requests <i>the first successful response is used</i>
+     *
+     * @param foxHttpHedgingPolicy hedging policy of the client
+     * @return FoxHttpClientBuilder (this)
+     */
+    public FoxHttpClientBuilder setFoxHttpHedgingPolicy(FoxHttpHedgingPolicy foxHttpHedgingPolicy) {
+        foxHttpClient.setFoxHttpHedgingPolicy(foxHttpHedgingPolicy);
+        return this;
+    }
+
+    /**
+     * Send failed requests again <i>only idempotent requests with a repeatable body are retried by UserDefinedRetryStrategy</i>
+     *
+     * @param foxHttpRetryStrategy retry strategy of the client
+     * @return FoxHttpClientBuilder (this)
+     */
+    public FoxHttpClientBuilder setFoxHttpRetryStrategy(FoxHttpRetryStrategy foxHttpRetryStrategy) {
+        foxHttpClient.setFoxHttpRetryStrategy(foxHttpRetryStrategy);
+        return this;
+    }
+
+    /**
+     * Reject requests to failing hosts until they recover <i>rejected requests throw a CircuitBreakerOpenException</i>
+     *
+     * @param foxHttpCircuitBreaker circuit breaker of the client
+     * @return FoxHttpClientBuilder (this)
+     */
+    public FoxHttpClientBuilder setFoxHttpCircuitBreaker(FoxHttpCircuitBreaker foxHttpCircuitBreaker) {
+        foxHttpClient.setFoxHttpCircuitBreaker(foxHttpCircuitBreaker);
+        return this;
+    }
+
+    /**
+     * Limit the requests per second to a host or scope <i>requests without permit throw a RateLimitExceededException</i>
+     *
+     * @param foxHttpRateLimiter rate limiter of the client
+     * @return FoxHttpClientBuilder (this)
+     */
+    public FoxHttpClientBuilder setFoxHttpRateLimiter(FoxHttpRateLimiter foxHttpRateLimiter) {
+        foxHttpClient.setFoxHttpRateLimiter(foxHttpRateLimiter);
+        return this;
+    }
+
+    /**
+     * Adapt the number of concurrent requests per host to its round trip times <i>shed requests throw a ConcurrencyLimitExceededException</i>
+     *
+     * @param foxHttpConcurrencyLimiter concurrency limiter of the client
+     * @return FoxHttpClientBuilder (this)
+     */
+    public FoxHttpClientBuilder setFoxHttpConcurrencyLimiter(FoxHttpConcurrencyLimiter foxHttpConcurrencyLimiter) {
+        foxHttpClient.setFoxHttpConcurrencyLimiter(foxHttpConcurrencyLimiter);
+        return this;
+    }
+
+    /**
+     * Define the time budget of every request <i>a request which takes longer is aborted with a DeadlineExceededException</i>
+     *
+     * @param deadline time budget in milliseconds including retries, redirects and the body, 0 disables the deadline
+     * @return FoxHttpClientBuilder (this)
+     */
+    public FoxHttpClientBuilder setDeadline(long deadline) {
+        foxHttpClient.setDeadline(deadline);
+        return this;
+    }
+
     /**
      * Get the FoxHttpClient of this builder
      *
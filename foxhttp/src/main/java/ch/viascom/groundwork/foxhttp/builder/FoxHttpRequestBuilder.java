@@ -6,10 +6,12 @@ import ch.viascom.groundwork.foxhttp.FoxHttpResponse;
 import ch.viascom.groundwork.foxhttp.authorization.FoxHttpAuthorization;
 import ch.viascom.groundwork.foxhttp.authorization.FoxHttpAuthorizationScope;
 import ch.viascom.groundwork.foxhttp.body.request.FoxHttpRequestBody;
+import ch.viascom.groundwork.foxhttp.compression.FoxHttpRequestCompressionStrategy;
 import ch.viascom.groundwork.foxhttp.exception.FoxHttpException;
 import ch.viascom.groundwork.foxhttp.exception.FoxHttpRequestException;
 import ch.viascom.groundwork.foxhttp.header.FoxHttpHeader;
 import ch.viascom.groundwork.foxhttp.header.HeaderEntry;
+import ch.viascom.groundwork.foxhttp.hedging.FoxHttpHedgingPolicy;
 import ch.viascom.groundwork.foxhttp.interceptor.FoxHttpInterceptor;
 import ch.viascom.groundwork.foxhttp.interceptor.FoxHttpInterceptorType;
 import ch.viascom.groundwork.foxhttp.log.FoxHttpLogger;
@@ -37,7 +39,11 @@ public class FoxHttpRequestBuilder {
     private RequestType requestType = RequestType.GET;
     private boolean skipResponseBody = false;
     private boolean followRedirect = true;
+    private boolean streamResponseBody = false;
     private FoxHttpClient foxHttpClient;
+    private FoxHttpRequestCompressionStrategy foxHttpRequestCompressionStrategy;
+    private FoxHttpHedgingPolicy foxHttpHedgingPolicy;
+    private long deadline = 0;
 
     private FoxHttpPlaceholderStrategy foxHttpPlaceholderStrategy;
 
@@ -250,6 +256,50 @@ public class FoxHttpRequestBuilder {
         return this;
     }
 
+    /**
+     * Sets if the response body should be returned as live stream <i>the response has to be closed after reading the body</i>
+     *
+     * @param streamResponseBody should stream response body?
+     * @return FoxHttpRequestBuilder (this)
+     */
+    public FoxHttpRequestBuilder setStreamResponseBody(boolean streamResponseBody) {
+        this.streamResponseBody = streamResponseBody;
+        return this;
+    }
+
+    /**
+     * Set a request compression strategy for this request <i>Overrides the strategy of the FoxHttpClient</i>
+     *
+     * @param foxHttpRequestCompressionStrategy a request compression strategy
+     * @return FoxHttpRequestBuilder (this)
+     */
+    public FoxHttpRequestBuilder setFoxHttpRequestCompressionStrategy(FoxHttpRequestCompressionStrategy foxHttpRequestCompressionStrategy) {
+        this.foxHttpRequestCompressionStrategy = foxHttpRequestCompressionStrategy;
+        return this;
+    }
+
+    /**
+     * Set a hedging policy for this request <i>Overrides the policy of the FoxHttpClient</i>
+     *
+     * @param foxHttpHedgingPolicy a hedging policy
+     * @return FoxHttpRequestBuilder (this)
+     */
+    public FoxHttpRequestBuilder setFoxHttpHedgingPolicy(FoxHttpHedgingPolicy foxHttpHedgingPolicy) {
+        this.foxHttpHedgingPolicy = foxHttpHedgingPolicy;
+        return this;
+    }
+
+    /**
+     * Set the time budget of this request <i>Overrides the deadline of the FoxHttpClient</i>
+     *
+     * @param deadline time budget in milliseconds including retries, redirects and the body
+     * @return FoxHttpRequestBuilder (this)
+     */
+    public FoxHttpRequestBuilder setDeadline(long deadline) {
+        this.deadline = deadline;
+        return this;
+    }
+
     /**
      * Register an interceptor
      *
@@ -361,6 +411,10 @@ public class FoxHttpRequestBuilder {
         request.setRequestBody(this.requestBody);
         request.setFollowRedirect(this.followRedirect);
         request.setSkipResponseBody(this.skipResponseBody);
+        request.setStreamResponseBody(this.streamResponseBody);
+        request.setFoxHttpRequestCompressionStrategy(this.foxHttpRequestCompressionStrategy);
+        request.setFoxHttpHedgingPolicy(this.foxHttpHedgingPolicy);
+        request.setDeadline(this.deadline);
 
         return request;
     }
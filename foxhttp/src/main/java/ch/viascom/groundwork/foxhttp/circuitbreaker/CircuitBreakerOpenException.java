@@ -0,0 +1,20 @@
+package ch.viascom.groundwork.foxhttp.circuitbreaker;
+
+import ch.viascom.groundwork.foxhttp.exception.FoxHttpRequestException;
+import lombok.Getter;
+
+/**
+ * Thrown instead of sending a request while its circuit is open
+ *
+ * @author patrick.boesch@viascom.ch
+ */
+public class CircuitBreakerOpenException extends FoxHttpRequestException {
+
+    @Getter
+    private final String key;
+
+    public CircuitBreakerOpenException(String key) {
+        super("The circuit of " + key + " is open, the request was not sent");
+        this.key = key;
+    }
+}
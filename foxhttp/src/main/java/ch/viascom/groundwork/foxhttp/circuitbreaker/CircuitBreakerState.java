@@ -0,0 +1,13 @@
+package ch.viascom.groundwork.foxhttp.circuitbreaker;
+
+/**
+ * @author patrick.boesch@viascom.ch
+ */
+public enum CircuitBreakerState {
+    //Requests are sent and their results recorded
+    CLOSED,
+    //Requests are rejected without opening a connection
+    OPEN,
+    //A limited number of probe requests decides if the circuit closes again
+    HALF_OPEN
+}
@@ -0,0 +1,249 @@
+package ch.viascom.groundwork.foxhttp.circuitbreaker;
+
+import ch.viascom.groundwork.foxhttp.FoxHttpRequest;
+import ch.viascom.groundwork.foxhttp.FoxHttpResponse;
+import ch.viascom.groundwork.foxhttp.exception.FoxHttpException;
+import java.io.IOException;
+import java.net.URL;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.regex.Pattern;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Rejects requests to a host which keeps failing instead of waiting for its timeouts. <p> Every host, or every scope pattern added with addScope, has its
+ * own circuit. A circuit opens when the failure rate or the slow call rate of its last calls reaches the threshold. While it is open, requests fail with a
+ * CircuitBreakerOpenException without opening a connection. After the open duration a few probe requests are let through, their results close or open the
+ * circuit again. A call fails if it throws an IOException or responds with a 5xx status.
+ *
+ * @author patrick.boesch@viascom.ch
+ */
+public class FoxHttpCircuitBreaker {
+
+    @Getter
+    @Setter
+    //Share of failed calls which opens the circuit
+    private double failureRateThreshold = 0.5;
+
+    @Getter
+    @Setter
+    //Share of slow calls which opens the circuit
+    private double slowCallRateThreshold = 1.0;
+
+    @Getter
+    @Setter
+    //Calls taking at least this many milliseconds are slow
+    private long slowCallDuration = 60_000;
+
+    @Getter
+    @Setter
+    //Number of recorded calls per circuit, applies to circuits created afterwards
+    private int windowSize = 100;
+
+    @Getter
+    @Setter
+    //Number of recorded calls before the rates are checked
+    private int minimumCalls = 20;
+
+    @Getter
+    @Setter
+    //Milliseconds a circuit stays open before probe requests are sent
+    private long openDuration = 30_000;
+
+    @Getter
+    @Setter
+    //Number of probe requests of a half open circuit
+    private int halfOpenCalls = 5;
+
+    private final List<Pattern> scopes = new CopyOnWriteArrayList<>();
+    private final List<FoxHttpCircuitBreakerListener> listeners = new CopyOnWriteArrayList<>();
+    private final ConcurrentMap<String, Circuit> circuits = new ConcurrentHashMap<>();
+
+    /**
+     * Share one circuit between all urls matching a pattern instead of using one per host
+     *
+     * @param pattern regular expression matched against the url of a request
+     */
+    public void addScope(String pattern) {
+        scopes.add(Pattern.compile(pattern));
+    }
+
+    /**
+     * Add a listener of the state changes of all circuits
+     *
+     * @param listener listener of the state changes
+     */
+    public void addListener(FoxHttpCircuitBreakerListener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Execute a request if its circuit allows it
+     *
+     * @param request request which is executed
+     * @param call execution of the request
+     * @return response of the request
+     * @throws CircuitBreakerOpenException if the circuit of the request is open
+     * @throws FoxHttpException if the request failed
+     */
+    public FoxHttpResponse execute(FoxHttpRequest request, CircuitCall call) throws FoxHttpException {
+        Circuit circuit = circuits.computeIfAbsent(getKey(request), Circuit::new);
+        Phase phase = circuit.acquirePermission();
+
+        long start = System.nanoTime();
+        FoxHttpResponse response;
+        try {
+            response = call.execute();
+        } catch (FoxHttpException | RuntimeException e) {
+            if (request.isAborted() && !request.isDeadlineExceeded()) {
+                //The caller closed the connection, this says nothing about the server
+                circuit.release(phase);
+            } else {
+                //A request stopped by its deadline failed and was slow
+                circuit.record(phase, System.nanoTime() - start, request.isDeadlineExceeded() || isFailure(e));
+            }
+            throw e;
+        }
+        circuit.record(phase, System.nanoTime() - start, response.getResponseCode() >= 500);
+        return response;
+    }
+
+    /**
+     * Get the circuit key of a request
+     *
+     * @param request request
+     * @return first matching scope pattern or protocol and authority of the url
+     */
+    public String getKey(FoxHttpRequest request) {
+        URL url = request.getUrl();
+        if (!scopes.isEmpty()) {
+            String requestUrl = url.toString();
+            for (Pattern scope : scopes) {
+                if (scope.matcher(requestUrl).matches()) {
+                    return scope.pattern();
+                }
+            }
+        }
+        return url.getProtocol() + "://" + url.getAuthority();
+    }
+
+    /**
+     * Get the state of a circuit
+     *
+     * @param key host or scope pattern, see getKey
+     * @return state of the circuit, CLOSED if no request was sent yet
+     */
+    public CircuitBreakerState getState(String key) {
+        Circuit circuit = circuits.get(key);
+        return circuit == null ? CircuitBreakerState.CLOSED : circuit.phase.get().state;
+    }
+
+    private static boolean isFailure(Throwable exception) {
+        for (Throwable cause = exception; cause != null; cause = cause.getCause()) {
+            if (cause instanceof IOException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Execution of a request without circuit breaker
+     */
+    @FunctionalInterface
+    public interface CircuitCall {
+
+        FoxHttpResponse execute() throws FoxHttpException;
+    }
+
+    /**
+     * State of a circuit, replaced as a whole on every state change
+     */
+    private static class Phase {
+
+        private final CircuitBreakerState state;
+        private final long openedAt;
+        //Granted probe requests of a half open circuit
+        private final AtomicInteger permits = new AtomicInteger();
+        private final OutcomeWindow probes;
+
+        private Phase(CircuitBreakerState state, long openedAt, int halfOpenCalls) {
+            this.state = state;
+            this.openedAt = openedAt;
+            this.probes = state == CircuitBreakerState.HALF_OPEN ? new OutcomeWindow(halfOpenCalls) : null;
+        }
+    }
+
+    private class Circuit {
+
+        private final String key;
+        private final OutcomeWindow window = new OutcomeWindow(windowSize);
+        private final AtomicReference<Phase> phase = new AtomicReference<>(new Phase(CircuitBreakerState.CLOSED, 0, 0));
+
+        private Circuit(String key) {
+            this.key = key;
+        }
+
+        private Phase acquirePermission() throws CircuitBreakerOpenException {
+            Phase current = phase.get();
+            if (current.state == CircuitBreakerState.OPEN) {
+                if (System.nanoTime() - current.openedAt < TimeUnit.MILLISECONDS.toNanos(openDuration)) {
+                    throw new CircuitBreakerOpenException(key);
+                }
+                //Only one of the racing requests changes the state, all of them use the new phase
+                transition(current, new Phase(CircuitBreakerState.HALF_OPEN, 0, halfOpenCalls));
+                current = phase.get();
+            }
+            if (current.state == CircuitBreakerState.HALF_OPEN && current.permits.getAndIncrement() >= halfOpenCalls) {
+                throw new CircuitBreakerOpenException(key);
+            }
+            return current;
+        }
+
+        private void release(Phase granted) {
+            if (granted.state == CircuitBreakerState.HALF_OPEN) {
+                granted.permits.decrementAndGet();
+            }
+        }
+
+        private void record(Phase granted, long duration, boolean failed) {
+            boolean slow = duration >= TimeUnit.MILLISECONDS.toNanos(slowCallDuration);
+            if (granted.state == CircuitBreakerState.HALF_OPEN) {
+                granted.probes.record(failed, slow);
+                if (granted.probes.getCalls() >= halfOpenCalls) {
+                    if (isTripped(granted.probes)) {
+                        transition(granted, new Phase(CircuitBreakerState.OPEN, System.nanoTime(), 0));
+                    } else if (transition(granted, new Phase(CircuitBreakerState.CLOSED, 0, 0))) {
+                        window.reset();
+                    }
+                }
+                return;
+            }
+
+            window.record(failed, slow);
+            if (window.getCalls() >= minimumCalls && isTripped(window)) {
+                transition(granted, new Phase(CircuitBreakerState.OPEN, System.nanoTime(), 0));
+            }
+        }
+
+        private boolean isTripped(OutcomeWindow outcomes) {
+            return outcomes.getFailureRate() >= failureRateThreshold || outcomes.getSlowCallRate() >= slowCallRateThreshold;
+        }
+
+        private boolean transition(Phase from, Phase to) {
+            if (!phase.compareAndSet(from, to)) {
+                return false;
+            }
+            for (FoxHttpCircuitBreakerListener listener : listeners) {
+                listener.onStateChange(key, from.state, to.state);
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package ch.viascom.groundwork.foxhttp.circuitbreaker;
+
+/**
+ * @author patrick.boesch@viascom.ch
+ */
+@FunctionalInterface
+public interface FoxHttpCircuitBreakerListener {
+
+    /**
+     * Called when a circuit changes its state <i>runs on the thread of the request which caused the change and must not block</i>
+     *
+     * @param key host or scope pattern of the circuit
+     * @param from previous state
+     * @param to new state
+     */
+    void onStateChange(String key, CircuitBreakerState from, CircuitBreakerState to);
+}
@@ -0,0 +1,71 @@
+package ch.viascom.groundwork.foxhttp.circuitbreaker;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free ring buffer of the last call outcomes of a circuit. <p> Recording replaces the oldest outcome and adjusts the counters by the difference, the
+ * rates can be read at any time without iterating over the buffer.
+ *
+ * @author patrick.boesch@viascom.ch
+ */
+class OutcomeWindow {
+
+    private static final int RECORDED = 1;
+    private static final int FAILED = 2;
+    private static final int SLOW = 4;
+
+    private final AtomicIntegerArray outcomes;
+    private final AtomicLong cursor = new AtomicLong();
+    private final AtomicInteger calls = new AtomicInteger();
+    private final AtomicInteger failedCalls = new AtomicInteger();
+    private final AtomicInteger slowCalls = new AtomicInteger();
+
+    OutcomeWindow(int size) {
+        this.outcomes = new AtomicIntegerArray(Math.max(1, size));
+    }
+
+    void record(boolean failed, boolean slow) {
+        int outcome = RECORDED | (failed ? FAILED : 0) | (slow ? SLOW : 0);
+        int index = (int) (cursor.getAndIncrement() % outcomes.length());
+        count(outcomes.getAndSet(index, outcome), -1);
+        count(outcome, 1);
+    }
+
+    void reset() {
+        for (int index = 0; index < outcomes.length(); index++) {
+            count(outcomes.getAndSet(index, 0), -1);
+        }
+    }
+
+    int getCalls() {
+        return calls.get();
+    }
+
+    double getFailureRate() {
+        return rate(failedCalls.get());
+    }
+
+    double getSlowCallRate() {
+        return rate(slowCalls.get());
+    }
+
+    private double rate(int count) {
+        int total = calls.get();
+        return total == 0 ? 0 : (double) count / total;
+    }
+
+    private void count(int outcome, int delta) {
+        if ((outcome & RECORDED) == 0) {
+            return;
+        }
+        calls.addAndGet(delta);
+        if ((outcome & FAILED) != 0) {
+            failedCalls.addAndGet(delta);
+        }
+        if ((outcome & SLOW) != 0) {
+            slowCalls.addAndGet(delta);
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package ch.viascom.groundwork.foxhttp.coalescing;
+
+import ch.viascom.groundwork.foxhttp.body.response.ResponseDigest;
+import ch.viascom.groundwork.foxhttp.header.FoxHttpHeader;
+import java.net.URL;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Response of a coalesced request as it was received by the leader. <p> Every request which joined the call creates its own FoxHttpResponse of it, the
+ * body bytes are shared and must not be modified.
+ *
+ * @author patrick.boesch@viascom.ch
+ */
+@Getter
+@AllArgsConstructor
+public class CoalescedResponse {
+
+    //Url of the last redirect hop
+    private final URL url;
+
+    private final int responseCode;
+
+    private final FoxHttpHeader responseHeaders;
+
+    //Raw body before any response body interceptor, null if the body was skipped
+    private final byte[] body;
+
+    private final ResponseDigest digest;
+}
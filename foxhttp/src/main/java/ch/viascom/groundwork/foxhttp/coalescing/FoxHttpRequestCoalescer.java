@@ -0,0 +1,236 @@
+package ch.viascom.groundwork.foxhttp.coalescing;
+
+import ch.viascom.groundwork.foxhttp.FoxHttpRequest;
+import ch.viascom.groundwork.foxhttp.deadline.DeadlineExceededException;
+import ch.viascom.groundwork.foxhttp.deadline.FoxHttpDeadline;
+import ch.viascom.groundwork.foxhttp.exception.FoxHttpException;
+import ch.viascom.groundwork.foxhttp.exception.FoxHttpRequestException;
+import ch.viascom.groundwork.foxhttp.header.HeaderEntry;
+import ch.viascom.groundwork.foxhttp.type.HeaderTypes;
+import ch.viascom.groundwork.foxhttp.type.RequestType;
+import java.util.Locale;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Collapses identical concurrent GET and HEAD requests into one call. <p> The first request of a key executes the call, all requests which arrive while it
+ * is running wait for its response and get their own FoxHttpResponse of the shared body. Requests are identical if they have the same method, final url
+ * and the same values of the key headers. <p> Only failures of the server or the connection are shared. If the executing request was aborted or exceeded its
+ * own deadline, the waiting requests execute the call again.
+ *
+ * @author patrick.boesch@viascom.ch
+ */
+public class FoxHttpRequestCoalescer {
+
+    private final ConcurrentMap<String, CompletableFuture<CoalescedResponse>> inFlight = new ConcurrentHashMap<>();
+
+    //Lower case names of the headers which are part of the key
+    private final Set<String> keyHeaders = new TreeSet<>();
+
+    private final AtomicLong executedRequests = new AtomicLong();
+    private final AtomicLong coalescedRequests = new AtomicLong();
+
+    /**
+     * Create a new coalescer which distinguishes requests by Authorization, Accept, Accept-Encoding and Accept-Language
+     */
+    public FoxHttpRequestCoalescer() {
+        this(HeaderTypes.AUTHORIZATION.toString(), HeaderTypes.ACCEPT.toString(), HeaderTypes.ACCEPT_ENCODING.toString(),
+            HeaderTypes.ACCEPT_LANGUAGE.toString());
+    }
+
+    /**
+     * Create a new coalescer
+     *
+     * @param keyHeaders names of the request headers which distinguish otherwise identical requests
+     */
+    public FoxHttpRequestCoalescer(String... keyHeaders) {
+        for (String keyHeader : keyHeaders) {
+            this.keyHeaders.add(keyHeader.toLowerCase(Locale.ENGLISH));
+        }
+    }
+
+    /**
+     * Checks if a request can share its response with identical requests
+     *
+     * @param request request after its url got processed
+     * @return true for GET and HEAD requests without body and streamed response
+     */
+    public boolean isCoalescable(FoxHttpRequest request) {
+        return (request.getRequestType() == RequestType.GET || request.getRequestType() == RequestType.HEAD) && !request.isStreamResponseBody() && (
+            request.getRequestBody() == null || !request.getRequestBody().hasBody());
+    }
+
+    /**
+     * Create the key of a request
+     *
+     * @param request request after its url got processed
+     * @return key of identical requests
+     */
+    public String createKey(FoxHttpRequest request) {
+        StringBuilder key = new StringBuilder().append(request.getRequestType()).append(' ').append(request.getUrl());
+        if (request.isSkipResponseBody()) {
+            key.append(" skipBody");
+        }
+        if (!request.isFollowRedirect()) {
+            key.append(" noRedirect");
+        }
+        for (String keyHeader : keyHeaders) {
+            for (HeaderEntry headerEntry : request.getRequestHeader().getHeaders(keyHeader)) {
+                key.append('\n').append(keyHeader).append(':').append(headerEntry.getValue());
+            }
+        }
+        return key.toString();
+    }
+
+    /**
+     * Execute the call or wait for the running call with the same key
+     *
+     * @param key key of identical requests
+     * @param call call which executes the request and buffers its response
+     * @return response of the call
+     * @throws FoxHttpException if the call failed
+     */
+    public CoalescedResponse execute(String key, CoalescedCall call) throws FoxHttpException {
+        return execute(key, call, wait -> {
+        });
+    }
+
+    /**
+     * Execute the call or wait for the running call with the same key <i>the wait ends at the deadline of the current thread</i>
+     *
+     * @param key key of identical requests
+     * @param call call which executes the request and buffers its response
+     * @param waitListener receives the wait for the running call, cancelling it stops the wait without affecting the running call
+     * @return response of the call
+     * @throws FoxHttpException if the call failed, the wait got cancelled or the deadline was exceeded
+     */
+    public CoalescedResponse execute(String key, CoalescedCall call, Consumer<Future<?>> waitListener) throws FoxHttpException {
+        return execute(key, call, waitListener, failure -> true);
+    }
+
+    /**
+     * Execute the call or wait for the running call with the same key <i>the wait ends at the deadline of the current thread</i>
+     *
+     * @param key key of identical requests
+     * @param call call which executes the request and buffers its response
+     * @param waitListener receives the wait for the running call, cancelling it stops the wait without affecting the running call
+     * @param sharedFailure checks if a failure of this call is passed to the waiting requests, they execute the call themselves otherwise <i>e.g. if the
+     * request was aborted or exceeded its own deadline</i>
+     * @return response of the call
+     * @throws FoxHttpException if the call failed, the wait got cancelled or the deadline was exceeded
+     */
+    public CoalescedResponse execute(String key, CoalescedCall call, Consumer<Future<?>> waitListener, Predicate<Throwable> sharedFailure)
+        throws FoxHttpException {
+        while (true) {
+            CompletableFuture<CoalescedResponse> future = new CompletableFuture<>();
+            CompletableFuture<CoalescedResponse> runningCall = inFlight.putIfAbsent(key, future);
+            if (runningCall == null) {
+                return executeCall(key, future, call, sharedFailure);
+            }
+
+            coalescedRequests.incrementAndGet();
+            CoalescedResponse response = await(runningCall, waitListener);
+            if (response != null) {
+                return response;
+            }
+            //The running call failed for a reason of its own request, this request takes over
+            coalescedRequests.decrementAndGet();
+        }
+    }
+
+    private CoalescedResponse executeCall(String key, CompletableFuture<CoalescedResponse> future, CoalescedCall call, Predicate<Throwable> sharedFailure)
+        throws FoxHttpException {
+        executedRequests.incrementAndGet();
+        try {
+            CoalescedResponse response = call.execute();
+            future.complete(response);
+            return response;
+        } catch (FoxHttpException | RuntimeException e) {
+            if (sharedFailure.test(e)) {
+                future.completeExceptionally(e);
+            } else {
+                //Later requests must not join the failed call
+                inFlight.remove(key, future);
+                future.complete(null);
+            }
+            throw e;
+        } finally {
+            inFlight.remove(key, future);
+        }
+    }
+
+    /**
+     * Wait for the running call of another request
+     *
+     * @return response of the call or null if the call failed for a reason which is not shared
+     */
+    private CoalescedResponse await(CompletableFuture<CoalescedResponse> runningCall, Consumer<Future<?>> waitListener) throws FoxHttpException {
+        //Every waiting request gets its own future, so cancelling it does not cancel the call of the other requests
+        CompletableFuture<CoalescedResponse> wait = runningCall.thenApply(Function.identity());
+        waitListener.accept(wait);
+        long deadline = FoxHttpDeadline.getDeadline();
+        try {
+            if (deadline == 0) {
+                return wait.get();
+            }
+            return wait.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            throw new DeadlineExceededException("The deadline of the request was exceeded while it waited for a coalesced request");
+        } catch (CancellationException e) {
+            throw new FoxHttpRequestException("The wait for a coalesced request was cancelled");
+        } catch (ExecutionException e) {
+            throw new FoxHttpRequestException("Coalesced request failed: " + e.getCause().getMessage(), e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new FoxHttpRequestException(e);
+        }
+    }
+
+    /**
+     * Get the number of requests which were sent to the server
+     *
+     * @return number of executed calls
+     */
+    public long getExecutedRequests() {
+        return executedRequests.get();
+    }
+
+    /**
+     * Get the number of requests which got the response of another request
+     *
+     * @return number of collapsed requests
+     */
+    public long getCoalescedRequests() {
+        return coalescedRequests.get();
+    }
+
+    /**
+     * Get the number of calls which are running at the moment
+     *
+     * @return number of running calls
+     */
+    public int getInFlightRequests() {
+        return inFlight.size();
+    }
+
+    /**
+     * Call which executes a request and buffers its response
+     */
+    @FunctionalInterface
+    public interface CoalescedCall {
+
+        CoalescedResponse execute() throws FoxHttpException;
+    }
+}
@@ -0,0 +1,45 @@
+package ch.viascom.groundwork.foxhttp.compression;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+import lombok.Getter;
+
+/**
+ * Supported encodings for compressed request bodies
+ *
+ * @author patrick.boesch@viascom.ch
+ */
+public enum CompressionType {
+    GZIP("gzip") {
+        @Override
+        public OutputStream wrap(OutputStream outputStream) throws IOException {
+            return new GZIPOutputStream(outputStream, BUFFER_SIZE);
+        }
+    },
+    DEFLATE("deflate") {
+        @Override
+        public OutputStream wrap(OutputStream outputStream) throws IOException {
+            return new DeflaterOutputStream(outputStream);
+        }
+    };
+
+    private static final int BUFFER_SIZE = 8192;
+
+    @Getter
+    private final String contentEncoding;
+
+    CompressionType(String contentEncoding) {
+        this.contentEncoding = contentEncoding;
+    }
+
+    /**
+     * Wrap the given stream with an encoder of this type
+     *
+     * @param outputStream stream which receives the compressed data
+     * @return compressing stream
+     * @throws IOException if the encoder could not be created
+     */
+    public abstract OutputStream wrap(OutputStream outputStream) throws IOException;
+}
@@ -0,0 +1,23 @@
+package ch.viascom.groundwork.foxhttp.compression;
+
+import ch.viascom.groundwork.foxhttp.type.ContentType;
+import lombok.ToString;
+
+/**
+ * Default strategy which never compresses request bodies
+ *
+ * @author patrick.boesch@viascom.ch
+ */
+@ToString
+public class DefaultRequestCompressionStrategy implements FoxHttpRequestCompressionStrategy {
+
+    @Override
+    public CompressionType getCompressionType(ContentType contentType) {
+        return null;
+    }
+
+    @Override
+    public int getMinimumSize() {
+        return 0;
+    }
+}
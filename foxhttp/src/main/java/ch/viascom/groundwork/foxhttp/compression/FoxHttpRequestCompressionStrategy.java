@@ -0,0 +1,26 @@
+package ch.viascom.groundwork.foxhttp.compression;
+
+import ch.viascom.groundwork.foxhttp.type.ContentType;
+
+/**
+ * Defines if and how a request body gets compressed before it is sent.
+ *
+ * @author patrick.boesch@viascom.ch
+ */
+public interface FoxHttpRequestCompressionStrategy {
+
+    /**
+     * Get the compression type for a body of the given content type
+     *
+     * @param contentType content type of the request body
+     * @return compression type or null if the body should be sent uncompressed
+     */
+    CompressionType getCompressionType(ContentType contentType);
+
+    /**
+     * Bodies smaller than this number of bytes are sent uncompressed
+     *
+     * @return minimum body size in bytes
+     */
+    int getMinimumSize();
+}
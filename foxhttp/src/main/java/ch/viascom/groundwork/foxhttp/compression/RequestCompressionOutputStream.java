@@ -0,0 +1,99 @@
+package ch.viascom.groundwork.foxhttp.compression;
+
+import ch.viascom.groundwork.foxhttp.type.HeaderTypes;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+
+/**
+ * OutputStream which writes a request body directly to the connection. <p> The first bytes are buffered until the minimum size of the compression strategy is
+ * reached. From then on the body gets compressed and streamed in chunks to the connection, so the complete compressed body is never held in memory. Bodies which
+ * stay below the minimum size are sent uncompressed.
+ *
+ * @author patrick.boesch@viascom.ch
+ */
+public class RequestCompressionOutputStream extends OutputStream {
+
+    private static final int CHUNK_LENGTH = 8192;
+
+    private final HttpURLConnection connection;
+    private final CompressionType compressionType;
+    private final int minimumSize;
+
+    private ByteArrayOutputStream buffer;
+    private OutputStream compressedStream;
+    private boolean closed = false;
+
+    public RequestCompressionOutputStream(HttpURLConnection connection, CompressionType compressionType, int minimumSize) {
+        this.connection = connection;
+        this.compressionType = compressionType;
+        this.minimumSize = minimumSize;
+        this.buffer = new ByteArrayOutputStream(Math.max(32, Math.min(minimumSize, CHUNK_LENGTH)));
+    }
+
+    /**
+     * @return true if the body is sent compressed
+     */
+    public boolean isCompressed() {
+        return compressedStream != null;
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        write(new byte[]{(byte) b}, 0, 1);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        if (closed) {
+            throw new IOException("Stream already closed");
+        }
+        if (compressedStream != null) {
+            compressedStream.write(b, off, len);
+        } else {
+            buffer.write(b, off, len);
+            if (buffer.size() >= minimumSize) {
+                startCompression();
+            }
+        }
+    }
+
+    @Override
+    public void flush() throws IOException {
+        if (compressedStream != null) {
+            compressedStream.flush();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+
+        if (compressedStream != null) {
+            //Finishes the encoder and the chunked stream
+            compressedStream.close();
+        } else {
+            if (connection.getRequestProperty(HeaderTypes.CONTENT_LENGTH.toString()) == null) {
+                connection.setRequestProperty(HeaderTypes.CONTENT_LENGTH.toString(), Integer.toString(buffer.size()));
+            }
+            OutputStream outputStream = connection.getOutputStream();
+            buffer.writeTo(outputStream);
+            outputStream.close();
+        }
+        buffer = null;
+    }
+
+    private void startCompression() throws IOException {
+        //Headers and streaming mode have to be set before the output stream is opened
+        connection.setRequestProperty(HeaderTypes.CONTENT_ENCODING.toString(), compressionType.getContentEncoding());
+        connection.setChunkedStreamingMode(CHUNK_LENGTH);
+
+        compressedStream = compressionType.wrap(connection.getOutputStream());
+        buffer.writeTo(compressedStream);
+        buffer = null;
+    }
+}
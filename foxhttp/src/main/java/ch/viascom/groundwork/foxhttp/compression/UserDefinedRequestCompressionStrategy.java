@@ -0,0 +1,64 @@
+package ch.viascom.groundwork.foxhttp.compression;
+
+import ch.viascom.groundwork.foxhttp.type.ContentType;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+
+/**
+ * Compresses request bodies with a fixed compression type. <p> If no allowed content types are defined, bodies of every content type get compressed.
+ *
+ * @author patrick.boesch@viascom.ch
+ */
+@Getter
+@Setter
+@ToString
+public class UserDefinedRequestCompressionStrategy implements FoxHttpRequestCompressionStrategy {
+
+    private CompressionType compressionType = CompressionType.GZIP;
+    private int minimumSize = 0;
+    private List<String> allowedContentTypes = new ArrayList<>();
+
+    public UserDefinedRequestCompressionStrategy(CompressionType compressionType, int minimumSize) {
+        this.compressionType = compressionType;
+        this.minimumSize = minimumSize;
+    }
+
+    public UserDefinedRequestCompressionStrategy(CompressionType compressionType, int minimumSize, List<String> allowedContentTypes) {
+        this(compressionType, minimumSize);
+        for (String allowedContentType : allowedContentTypes) {
+            addAllowedContentType(allowedContentType);
+        }
+    }
+
+    /**
+     * Add a mime type (e.g. application/json) which should be compressed
+     *
+     * @param mimeType mime type without parameters
+     */
+    public void addAllowedContentType(String mimeType) {
+        allowedContentTypes.add(mimeType.trim().toLowerCase(Locale.US));
+    }
+
+    @Override
+    public CompressionType getCompressionType(ContentType contentType) {
+        if (allowedContentTypes.isEmpty()) {
+            return compressionType;
+        }
+        if (contentType == null) {
+            return null;
+        }
+
+        //Ignore parameters like the multipart boundary
+        String mimeType = contentType.getMimeType();
+        int parameterStart = mimeType.indexOf(';');
+        if (parameterStart != -1) {
+            mimeType = mimeType.substring(0, parameterStart).trim();
+        }
+
+        return allowedContentTypes.contains(mimeType) ? compressionType : null;
+    }
+}
@@ -0,0 +1,35 @@
+package ch.viascom.groundwork.foxhttp.concurrency;
+
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+
+/**
+ * Additive increase, multiplicative decrease <p> The limit grows by one after every successful request while at least half of it is used and shrinks by
+ * the backoff ratio after every dropped request.
+ *
+ * @author patrick.boesch@viascom.ch
+ */
+@Getter
+@Setter
+@ToString
+public class AimdLimitAlgorithm implements FoxHttpLimitAlgorithm {
+
+    private int initialLimit = 20;
+    private int minLimit = 1;
+    private int maxLimit = 200;
+    //Factor applied to the limit after a dropped request
+    private double backoffRatio = 0.9;
+
+    @Override
+    public int update(int limit, int inFlight, long rtt, boolean dropped) {
+        if (dropped) {
+            return Math.max(minLimit, (int) (limit * backoffRatio));
+        }
+        //An unused limit must not grow
+        if (inFlight * 2 >= limit) {
+            return Math.min(maxLimit, limit + 1);
+        }
+        return limit;
+    }
+}
@@ -0,0 +1,20 @@
+package ch.viascom.groundwork.foxhttp.concurrency;
+
+import ch.viascom.groundwork.foxhttp.exception.FoxHttpRequestException;
+import lombok.Getter;
+
+/**
+ * Thrown instead of sending a request if the concurrency limit of its host is reached and the queue is full or the waiting time is up
+ *
+ * @author patrick.boesch@viascom.ch
+ */
+public class ConcurrencyLimitExceededException extends FoxHttpRequestException {
+
+    @Getter
+    private final String key;
+
+    public ConcurrencyLimitExceededException(String key) {
+        super("The concurrency limit of " + key + " is reached, the request was not sent");
+        this.key = key;
+    }
+}
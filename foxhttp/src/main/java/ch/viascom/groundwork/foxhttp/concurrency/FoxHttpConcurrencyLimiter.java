@@ -0,0 +1,225 @@
+package ch.viascom.groundwork.foxhttp.concurrency;
+
+import ch.viascom.groundwork.foxhttp.deadline.FoxHttpDeadline;
+import ch.viascom.groundwork.foxhttp.exception.FoxHttpRequestException;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Limits the number of concurrent requests per host to a limit which adapts to the round trip times and overload signals of the host. <p> Requests over
+ * the limit wait in a queue of at most maxQueueSize requests for up to maxWait milliseconds, further requests are shed with a
+ * ConcurrencyLimitExceededException. Timeouts and 429 or 503 responses count as dropped requests. Taking a free slot is lock-free, only waiting requests and
+ * limit updates synchronize on the limit of their host.
+ *
+ * @author patrick.boesch@viascom.ch
+ */
+public class FoxHttpConcurrencyLimiter {
+
+    private static final int HTTP_TOO_MANY_REQUESTS = 429;
+
+    @Getter
+    @Setter
+    //Number of requests per host which wait for a slot, further requests are shed
+    private int maxQueueSize = 64;
+
+    @Getter
+    @Setter
+    //Milliseconds a queued request waits for a slot
+    private long maxWait = 5_000;
+
+    private final Supplier<FoxHttpLimitAlgorithm> algorithmFactory;
+    private final ConcurrentMap<String, HostLimit> limits = new ConcurrentHashMap<>();
+
+    /**
+     * Create a new limiter with an additive increase, multiplicative decrease limit per host
+     */
+    public FoxHttpConcurrencyLimiter() {
+        this(AimdLimitAlgorithm::new);
+    }
+
+    /**
+     * Create a new limiter
+     *
+     * @param algorithmFactory creates the algorithm of every host
+     */
+    public FoxHttpConcurrencyLimiter(Supplier<FoxHttpLimitAlgorithm> algorithmFactory) {
+        this.algorithmFactory = algorithmFactory;
+    }
+
+    /**
+     * Take a slot for a request to an url, waits in the queue if the limit is reached
+     *
+     * @param url url of the request
+     * @return permit which has to be completed once the response arrived
+     * @throws ConcurrencyLimitExceededException if the queue is full or no slot got free in time
+     * @throws FoxHttpRequestException if the thread got interrupted while waiting
+     */
+    public Permit acquire(URL url) throws FoxHttpRequestException {
+        HostLimit hostLimit = limits.computeIfAbsent(getKey(url), key -> new HostLimit(key, algorithmFactory.get()));
+        if (hostLimit.tryAcquire()) {
+            return new Permit(hostLimit);
+        }
+
+        if (hostLimit.queued.incrementAndGet() > maxQueueSize) {
+            hostLimit.queued.decrementAndGet();
+            throw new ConcurrencyLimitExceededException(hostLimit.key);
+        }
+        try {
+            long waitMillis = maxWait;
+            long remaining = FoxHttpDeadline.getRemainingMillis();
+            if (remaining >= 0) {
+                waitMillis = Math.min(waitMillis, remaining);
+            }
+            long waitUntil = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(waitMillis);
+            synchronized (hostLimit) {
+                while (!hostLimit.tryAcquire()) {
+                    long wait = TimeUnit.NANOSECONDS.toMillis(waitUntil - System.nanoTime());
+                    if (wait <= 0) {
+                        throw new ConcurrencyLimitExceededException(hostLimit.key);
+                    }
+                    hostLimit.wait(wait);
+                }
+            }
+            return new Permit(hostLimit);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new FoxHttpRequestException(e);
+        } finally {
+            hostLimit.queued.decrementAndGet();
+        }
+    }
+
+    /**
+     * Get the key of the limit of an url
+     *
+     * @param url url of a request
+     * @return protocol and authority of the url
+     */
+    public String getKey(URL url) {
+        return url.getProtocol() + "://" + url.getAuthority();
+    }
+
+    /**
+     * Get the current limit of a host
+     *
+     * @param key protocol and authority, see getKey
+     * @return number of concurrent requests, 0 if no request was sent yet
+     */
+    public int getLimit(String key) {
+        HostLimit hostLimit = limits.get(key);
+        return hostLimit == null ? 0 : hostLimit.limit;
+    }
+
+    /**
+     * Get the number of running requests of a host
+     *
+     * @param key protocol and authority, see getKey
+     * @return number of requests in flight
+     */
+    public int getInFlight(String key) {
+        HostLimit hostLimit = limits.get(key);
+        return hostLimit == null ? 0 : hostLimit.inFlight.get();
+    }
+
+    /**
+     * Get the number of requests waiting for a slot of a host
+     *
+     * @param key protocol and authority, see getKey
+     * @return number of queued requests
+     */
+    public int getQueueDepth(String key) {
+        HostLimit hostLimit = limits.get(key);
+        return hostLimit == null ? 0 : hostLimit.queued.get();
+    }
+
+    /**
+     * Slot of a running request
+     */
+    public static class Permit {
+
+        private final HostLimit hostLimit;
+        private final long start = System.nanoTime();
+        private final AtomicBoolean completed = new AtomicBoolean();
+
+        private Permit(HostLimit hostLimit) {
+            this.hostLimit = hostLimit;
+        }
+
+        /**
+         * Complete the request with its response code, 429 and 503 count as dropped
+         *
+         * @param responseCode response code of the request
+         */
+        public void onResponse(int responseCode) {
+            complete(true, responseCode == HTTP_TOO_MANY_REQUESTS || responseCode == HttpURLConnection.HTTP_UNAVAILABLE);
+        }
+
+        /**
+         * Complete a request which timed out
+         */
+        public void onDropped() {
+            complete(true, true);
+        }
+
+        /**
+         * Complete a request whose result says nothing about the load of the host, e.g. a refused connection
+         */
+        public void onIgnore() {
+            complete(false, false);
+        }
+
+        private void complete(boolean sample, boolean dropped) {
+            if (completed.compareAndSet(false, true)) {
+                hostLimit.release(sample, System.nanoTime() - start, dropped);
+            }
+        }
+    }
+
+    private static class HostLimit {
+
+        private final String key;
+        private final FoxHttpLimitAlgorithm algorithm;
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private final AtomicInteger queued = new AtomicInteger();
+        private volatile int limit;
+
+        private HostLimit(String key, FoxHttpLimitAlgorithm algorithm) {
+            this.key = key;
+            this.algorithm = algorithm;
+            this.limit = Math.max(1, algorithm.getInitialLimit());
+        }
+
+        private boolean tryAcquire() {
+            int current;
+            do {
+                current = inFlight.get();
+                if (current >= limit) {
+                    return false;
+                }
+            } while (!inFlight.compareAndSet(current, current + 1));
+            return true;
+        }
+
+        private void release(boolean sample, long rtt, boolean dropped) {
+            int running = inFlight.getAndDecrement();
+            if (sample) {
+                synchronized (this) {
+                    limit = Math.max(1, algorithm.update(limit, running, rtt, dropped));
+                }
+            }
+            if (queued.get() > 0) {
+                synchronized (this) {
+                    notifyAll();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package ch.viascom.groundwork.foxhttp.concurrency;
+
+/**
+ * Calculates the concurrency limit of a host from the results of its requests <i>every host gets its own instance, calls are not concurrent</i>
+ *
+ * @author patrick.boesch@viascom.ch
+ */
+public interface FoxHttpLimitAlgorithm {
+
+    /**
+     * Get the limit before any request completed
+     *
+     * @return number of concurrent requests
+     */
+    int getInitialLimit();
+
+    /**
+     * Calculate the new limit after a request completed
+     *
+     * @param limit current limit
+     * @param inFlight number of requests which were running when the request completed, including itself
+     * @param rtt round trip time of the request in nanoseconds
+     * @param dropped true if the request timed out or the host was overloaded
+     * @return new limit
+     */
+    int update(int limit, int inFlight, long rtt, boolean dropped);
+}
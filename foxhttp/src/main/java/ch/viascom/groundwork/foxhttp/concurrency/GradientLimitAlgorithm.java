@@ -0,0 +1,67 @@
+package ch.viascom.groundwork.foxhttp.concurrency;
+
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+
+/**
+ * Adjusts the limit by the ratio of the long term and the current round trip time <p> While the round trip time is stable the limit grows by its square
+ * root, once requests start to queue on the host the round trip time grows and the limit shrinks in proportion. A dropped request halves the gradient.
+ *
+ * @author patrick.boesch@viascom.ch
+ */
+@ToString(exclude = {"estimatedLimit", "longRtt"})
+public class GradientLimitAlgorithm implements FoxHttpLimitAlgorithm {
+
+    @Getter
+    @Setter
+    private int initialLimit = 20;
+
+    @Getter
+    @Setter
+    private int minLimit = 1;
+
+    @Getter
+    @Setter
+    private int maxLimit = 200;
+
+    @Getter
+    @Setter
+    //Share of the new limit in the smoothed limit
+    private double smoothing = 0.2;
+
+    @Getter
+    @Setter
+    //Current round trip times up to this multiple of the long term one do not reduce the limit
+    private double rttTolerance = 1.5;
+
+    @Getter
+    @Setter
+    //Number of requests the long term round trip time averages over
+    private int longWindow = 600;
+
+    private double estimatedLimit = -1;
+    //Exponential moving average of the round trip time in nanoseconds
+    private double longRtt = 0;
+
+    @Override
+    public int update(int limit, int inFlight, long rtt, boolean dropped) {
+        if (estimatedLimit < 0) {
+            estimatedLimit = limit;
+        }
+        longRtt = longRtt == 0 ? rtt : longRtt + (rtt - longRtt) * 2 / (longWindow + 1);
+
+        //An unused limit must not grow
+        if (!dropped && inFlight * 2 < estimatedLimit) {
+            return (int) estimatedLimit;
+        }
+
+        double gradient = Math.max(0.5, Math.min(1.0, rttTolerance * longRtt / Math.max(1, rtt)));
+        if (dropped) {
+            gradient = 0.5;
+        }
+        double newLimit = estimatedLimit * gradient + Math.sqrt(estimatedLimit);
+        estimatedLimit = Math.max(minLimit, Math.min(maxLimit, estimatedLimit * (1 - smoothing) + newLimit * smoothing));
+        return (int) estimatedLimit;
+    }
+}
@@ -0,0 +1,19 @@
+package ch.viascom.groundwork.foxhttp.deadline;
+
+import ch.viascom.groundwork.foxhttp.exception.FoxHttpRequestException;
+
+/**
+ * Thrown if a request did not complete before its deadline
+ *
+ * @author patrick.boesch@viascom.ch
+ */
+public class DeadlineExceededException extends FoxHttpRequestException {
+
+    public DeadlineExceededException(String message) {
+        super(message);
+    }
+
+    public DeadlineExceededException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
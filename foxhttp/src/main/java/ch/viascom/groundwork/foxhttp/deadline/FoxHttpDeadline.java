@@ -0,0 +1,105 @@
+package ch.viascom.groundwork.foxhttp.deadline;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Deadline of the request running on the current thread. <p> Requests executed while another request is running on the same thread, e.g. the token request
+ * of the OAuth2 interceptor, can not take longer than the remaining time of the outer request.
+ *
+ * @author patrick.boesch@viascom.ch
+ */
+public final class FoxHttpDeadline {
+
+    //Absolute deadline in System.nanoTime, 0 if no deadline is set
+    private static final ThreadLocal<long[]> CURRENT = ThreadLocal.withInitial(() -> new long[1]);
+
+    private FoxHttpDeadline() {
+    }
+
+    /**
+     * Get the deadline of the current thread
+     *
+     * @return deadline in System.nanoTime or 0 if no deadline is set
+     */
+    public static long getDeadline() {
+        return CURRENT.get()[0];
+    }
+
+    /**
+     * Get the remaining time of the current thread
+     *
+     * @return remaining milliseconds, 0 if the deadline is exceeded and -1 if no deadline is set
+     */
+    public static long getRemainingMillis() {
+        return getRemainingMillis(getDeadline());
+    }
+
+    /**
+     * Get the remaining time until a deadline
+     *
+     * @param deadline deadline in System.nanoTime or 0
+     * @return remaining milliseconds, 0 if the deadline is exceeded and -1 if no deadline is set
+     */
+    public static long getRemainingMillis(long deadline) {
+        if (deadline == 0) {
+            return -1;
+        }
+        return Math.max(0, TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime()));
+    }
+
+    /**
+     * Get the earlier of two deadlines
+     *
+     * @param deadline deadline in System.nanoTime or 0
+     * @param other deadline in System.nanoTime or 0
+     * @return earlier deadline or 0 if none is set
+     */
+    public static long earliest(long deadline, long other) {
+        if (deadline == 0) {
+            return other;
+        }
+        if (other == 0) {
+            return deadline;
+        }
+        return deadline - other < 0 ? deadline : other;
+    }
+
+    /**
+     * Set the deadline of the current thread
+     *
+     * @param deadline deadline in System.nanoTime or 0
+     * @return previous deadline which has to be restored afterwards
+     */
+    public static long enter(long deadline) {
+        long[] current = CURRENT.get();
+        long previous = current[0];
+        current[0] = deadline;
+        return previous;
+    }
+
+    /**
+     * Restore the deadline of the current thread
+     *
+     * @param previous deadline returned by enter
+     */
+    public static void restore(long previous) {
+        CURRENT.get()[0] = previous;
+    }
+
+    /**
+     * Limit a socket timeout to the remaining time of a deadline
+     *
+     * @param timeout timeout in milliseconds, 0 waits forever
+     * @param deadline deadline in System.nanoTime or 0
+     * @return timeout which ends at the deadline at the latest
+     */
+    public static int limitTimeout(int timeout, long deadline) {
+        long remaining = getRemainingMillis(deadline);
+        if (remaining < 0) {
+            return timeout;
+        }
+        //0 would wait forever
+        int limit = (int) Math.min(Integer.MAX_VALUE, Math.max(1, remaining));
+        return timeout == 0 ? limit : Math.min(timeout, limit);
+    }
+}
@@ -0,0 +1,46 @@
+package ch.viascom.groundwork.foxhttp.download;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Parsed Content-Range header of a partial response
+ *
+ * @author patrick.boesch@viascom.ch
+ */
+@Data
+@AllArgsConstructor
+public class ContentRange {
+
+    private long start;
+    private long end;
+    //Complete length of the resource or -1 if unknown
+    private long length;
+
+    /**
+     * Parse a Content-Range header of the form "bytes start-end/length"
+     *
+     * @param value value of the header
+     * @return parsed range or null if the value is not a satisfied byte range
+     */
+    public static ContentRange parse(String value) {
+        if (value == null || !value.trim().startsWith("bytes ")) {
+            return null;
+        }
+        String range = value.trim().substring(6).trim();
+        int dash = range.indexOf('-');
+        int slash = range.indexOf('/');
+        if (dash <= 0 || slash <= dash) {
+            return null;
+        }
+        try {
+            long start = Long.parseLong(range.substring(0, dash).trim());
+            long end = Long.parseLong(range.substring(dash + 1, slash).trim());
+            String lengthString = range.substring(slash + 1).trim();
+            long length = "*".equals(lengthString) ? -1 : Long.parseLong(lengthString);
+            return new ContentRange(start, end, length);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
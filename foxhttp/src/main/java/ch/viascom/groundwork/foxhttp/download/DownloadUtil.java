@@ -0,0 +1,49 @@
+package ch.viascom.groundwork.foxhttp.download;
+
+import ch.viascom.groundwork.foxhttp.FoxHttpResponse;
+import ch.viascom.groundwork.foxhttp.exception.FoxHttpRequestException;
+import ch.viascom.groundwork.foxhttp.header.HeaderEntry;
+import ch.viascom.groundwork.foxhttp.type.HeaderTypes;
+
+/**
+ * Helpers shared by the download implementations
+ *
+ * @author patrick.boesch@viascom.ch
+ */
+final class DownloadUtil {
+
+    private DownloadUtil() {
+    }
+
+    static String getHeaderValue(FoxHttpResponse response, HeaderTypes headerType) {
+        if (response.getResponseHeaders() == null) {
+            return null;
+        }
+        HeaderEntry headerEntry = response.getResponseHeaders().getHeader(headerType.toString());
+        return headerEntry == null ? null : headerEntry.getValue();
+    }
+
+    static long parseLength(String value) {
+        if (value == null) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    static boolean isStrongETag(String eTag) {
+        return eTag != null && !eTag.startsWith("W/");
+    }
+
+    static void sleep(long millis) throws FoxHttpRequestException {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new FoxHttpRequestException(e);
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package ch.viascom.groundwork.foxhttp.download;
+
+import java.nio.file.Path;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Result of a completed download
+ *
+ * @author patrick.boesch@viascom.ch
+ */
+@Data
+@AllArgsConstructor
+public class FoxHttpDownloadResult {
+
+    private Path file;
+    private long length;
+    //Validator of the downloaded version, null if the server did not send one
+    private String eTag;
+    private String lastModified;
+}
@@ -0,0 +1,263 @@
+package ch.viascom.groundwork.foxhttp.download;
+
+import static ch.viascom.groundwork.foxhttp.download.DownloadUtil.getHeaderValue;
+import static ch.viascom.groundwork.foxhttp.download.DownloadUtil.isStrongETag;
+import static ch.viascom.groundwork.foxhttp.download.DownloadUtil.parseLength;
+import static ch.viascom.groundwork.foxhttp.download.DownloadUtil.sleep;
+
+import ch.viascom.groundwork.foxhttp.FoxHttpClient;
+import ch.viascom.groundwork.foxhttp.FoxHttpRequest;
+import ch.viascom.groundwork.foxhttp.FoxHttpResponse;
+import ch.viascom.groundwork.foxhttp.builder.FoxHttpRequestBuilder;
+import ch.viascom.groundwork.foxhttp.exception.FoxHttpException;
+import ch.viascom.groundwork.foxhttp.exception.FoxHttpRequestException;
+import ch.viascom.groundwork.foxhttp.exception.FoxHttpResponseException;
+import ch.viascom.groundwork.foxhttp.header.FoxHttpHeader;
+import ch.viascom.groundwork.foxhttp.header.HeaderEntry;
+import ch.viascom.groundwork.foxhttp.log.FoxHttpLoggerLevel;
+import ch.viascom.groundwork.foxhttp.type.HeaderTypes;
+import ch.viascom.groundwork.foxhttp.type.RequestType;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Properties;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Downloads a resource into a partial file and continues from the last received byte after a failure. <p> The progress and the validator (ETag or
+ * Last-Modified) are persisted next to the partial file, so a download can also be resumed by a new process. A resumed request sends Range and If-Range; if
+ * the resource changed in the meantime the server answers with the full resource and the download starts again. The finished file is moved to the target.
+ *
+ * @author patrick.boesch@viascom.ch
+ */
+public class FoxHttpResumableDownload {
+
+    public static final String PART_SUFFIX = ".part";
+    public static final String PROGRESS_SUFFIX = ".part.properties";
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    @Getter
+    private final String url;
+
+    @Getter
+    private final FoxHttpClient foxHttpClient;
+
+    @Getter
+    @Setter
+    //Retries after a lost connection within one call of download
+    private int maxRetries = 3;
+
+    @Getter
+    @Setter
+    private long retryDelay = 500;
+
+    @Getter
+    @Setter
+    //Number of bytes received between two updates of the progress file
+    private long progressInterval = 1024 * 1024;
+
+    @Getter
+    @Setter
+    //Additional headers of every request
+    private FoxHttpHeader requestHeader = new FoxHttpHeader();
+
+    public FoxHttpResumableDownload(String url, FoxHttpClient foxHttpClient) {
+        this.url = url;
+        this.foxHttpClient = foxHttpClient;
+    }
+
+    /**
+     * Download the resource into a file <i>resumes a previous partial download of the same url into the same target</i>
+     *
+     * @param target file to write
+     * @return result of the download
+     * @throws FoxHttpException if the download failed, the progress is kept to resume later
+     */
+    public FoxHttpDownloadResult download(Path target) throws FoxHttpException {
+        Path partFile = target.resolveSibling(target.getFileName() + PART_SUFFIX);
+        Path progressFile = target.resolveSibling(target.getFileName() + PROGRESS_SUFFIX);
+
+        try {
+            Progress progress = loadProgress(partFile, progressFile);
+            int retries = 0;
+            while (true) {
+                try {
+                    if (fetch(progress, partFile, progressFile)) {
+                        break;
+                    }
+                } catch (IOException | FoxHttpRequestException e) {
+                    saveProgress(progress, progressFile);
+                    if (retries >= maxRetries) {
+                        throw e instanceof FoxHttpException ? (FoxHttpException) e : new FoxHttpRequestException(e);
+                    }
+                    retries++;
+                    foxHttpClient.getFoxHttpLogger().log(FoxHttpLoggerLevel.INFO, "resumeDownload(" + url + ", " + progress.received + ", " + retries + "/" + maxRetries + ")");
+                    sleep(retryDelay);
+                }
+            }
+
+            try {
+                Files.move(partFile, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(partFile, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+            Files.deleteIfExists(progressFile);
+            return new FoxHttpDownloadResult(target, progress.received, progress.eTag, progress.lastModified);
+        } catch (IOException e) {
+            throw new FoxHttpRequestException(e);
+        }
+    }
+
+    /**
+     * Execute one request and append the body to the partial file
+     *
+     * @return true if the resource is complete
+     */
+    private boolean fetch(Progress progress, Path partFile, Path progressFile) throws FoxHttpException, IOException {
+        String validator = isStrongETag(progress.eTag) ? progress.eTag : progress.lastModified;
+        boolean resume = progress.received > 0 && validator != null;
+
+        FoxHttpRequest request = new FoxHttpRequestBuilder(url, RequestType.GET, foxHttpClient).setStreamResponseBody(true).build();
+        for (HeaderEntry headerEntry : requestHeader) {
+            request.getRequestHeader().addHeader(headerEntry.getName(), headerEntry.getValue());
+        }
+        if (resume) {
+            request.getRequestHeader().addHeader(HeaderTypes.RANGE, "bytes=" + progress.received + "-");
+            request.getRequestHeader().addHeader(HeaderTypes.IF_RANGE, validator);
+        }
+
+        try (FoxHttpResponse response = request.execute()) {
+            int responseCode = response.getResponseCode();
+            if (resume && responseCode == 416) {
+                ContentRange contentRange = ContentRange.parse(getHeaderValue(response, HeaderTypes.CONTENT_RANGE));
+                if (contentRange != null && contentRange.getLength() == progress.received) {
+                    //Everything was received before the connection got lost
+                    return true;
+                }
+                progress.reset(null, null, -1);
+                saveProgress(progress, progressFile);
+                throw new FoxHttpRequestException("Range of " + url + " is not satisfiable, restarting the download");
+            }
+
+            long position;
+            if (responseCode == HttpURLConnection.HTTP_PARTIAL) {
+                ContentRange contentRange = ContentRange.parse(getHeaderValue(response, HeaderTypes.CONTENT_RANGE));
+                if (!resume || contentRange == null || contentRange.getStart() != progress.received) {
+                    throw new FoxHttpResponseException("Download of " + url + " responded with an unexpected Content-Range: " + contentRange);
+                }
+                position = progress.received;
+                progress.length = contentRange.getLength();
+            } else if (responseCode >= HttpURLConnection.HTTP_OK && responseCode < HttpURLConnection.HTTP_MULT_CHOICE) {
+                //New download or the validator changed
+                if (resume) {
+                    foxHttpClient.getFoxHttpLogger().log(FoxHttpLoggerLevel.INFO, "restartDownload(" + url + ", validator changed)");
+                }
+                progress.reset(getHeaderValue(response, HeaderTypes.ETAG), getHeaderValue(response, HeaderTypes.LAST_MODIFIED),
+                    parseLength(getHeaderValue(response, HeaderTypes.CONTENT_LENGTH)));
+                position = 0;
+            } else {
+                throw new FoxHttpResponseException("Download of " + url + " responded with " + responseCode);
+            }
+
+            try (FileChannel channel = FileChannel.open(partFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+                channel.truncate(position);
+                saveProgress(progress, progressFile);
+
+                InputStream inputStream = response.getInputStreamBody();
+                if (inputStream != null) {
+                    ReadableByteChannel source = Channels.newChannel(inputStream);
+                    ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+                    long saved = progress.received;
+                    while (source.read(buffer) != -1) {
+                        buffer.flip();
+                        while (buffer.hasRemaining()) {
+                            progress.received += channel.write(buffer, progress.received);
+                        }
+                        buffer.clear();
+                        if (progress.received - saved >= progressInterval) {
+                            channel.force(false);
+                            saveProgress(progress, progressFile);
+                            saved = progress.received;
+                        }
+                    }
+                }
+                channel.force(false);
+            }
+
+            if (progress.length >= 0 && progress.received != progress.length) {
+                throw new IOException("Connection closed after " + progress.received + " of " + progress.length + " bytes");
+            }
+            return true;
+        }
+    }
+
+    private Progress loadProgress(Path partFile, Path progressFile) throws IOException {
+        Progress progress = new Progress();
+        if (!Files.exists(partFile) || !Files.exists(progressFile)) {
+            return progress;
+        }
+
+        Properties properties = new Properties();
+        try (InputStream inputStream = Files.newInputStream(progressFile)) {
+            properties.load(inputStream);
+        }
+        if (!url.equals(properties.getProperty("url"))) {
+            return progress;
+        }
+        progress.eTag = properties.getProperty("eTag");
+        progress.lastModified = properties.getProperty("lastModified");
+        progress.length = parseLength(properties.getProperty("length"));
+        //Only trust bytes which are recorded and on disk
+        progress.received = Math.min(parseLength(properties.getProperty("received")), Files.size(partFile));
+        if (progress.received < 0) {
+            progress.received = 0;
+        }
+        return progress;
+    }
+
+    private void saveProgress(Progress progress, Path progressFile) throws IOException {
+        Properties properties = new Properties();
+        properties.setProperty("url", url);
+        properties.setProperty("received", String.valueOf(progress.received));
+        properties.setProperty("length", String.valueOf(progress.length));
+        if (progress.eTag != null) {
+            properties.setProperty("eTag", progress.eTag);
+        }
+        if (progress.lastModified != null) {
+            properties.setProperty("lastModified", progress.lastModified);
+        }
+        try (OutputStream outputStream = Files.newOutputStream(progressFile)) {
+            properties.store(outputStream, "FoxHttp download progress");
+        }
+    }
+
+    /**
+     * Persisted state of a partial download
+     */
+    private static class Progress {
+
+        private long received = 0;
+        private long length = -1;
+        private String eTag;
+        private String lastModified;
+
+        private void reset(String eTag, String lastModified, long length) {
+            this.received = 0;
+            this.eTag = eTag;
+            this.lastModified = lastModified;
+            this.length = length;
+        }
+    }
+}
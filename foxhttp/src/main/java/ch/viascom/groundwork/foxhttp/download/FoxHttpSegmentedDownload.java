@@ -0,0 +1,281 @@
+package ch.viascom.groundwork.foxhttp.download;
+
+import static ch.viascom.groundwork.foxhttp.download.DownloadUtil.getHeaderValue;
+import static ch.viascom.groundwork.foxhttp.download.DownloadUtil.isStrongETag;
+import static ch.viascom.groundwork.foxhttp.download.DownloadUtil.parseLength;
+import static ch.viascom.groundwork.foxhttp.download.DownloadUtil.sleep;
+
+import ch.viascom.groundwork.foxhttp.FoxHttpClient;
+import ch.viascom.groundwork.foxhttp.FoxHttpRequest;
+import ch.viascom.groundwork.foxhttp.FoxHttpResponse;
+import ch.viascom.groundwork.foxhttp.builder.FoxHttpRequestBuilder;
+import ch.viascom.groundwork.foxhttp.exception.FoxHttpException;
+import ch.viascom.groundwork.foxhttp.exception.FoxHttpRequestException;
+import ch.viascom.groundwork.foxhttp.exception.FoxHttpResponseException;
+import ch.viascom.groundwork.foxhttp.header.FoxHttpHeader;
+import ch.viascom.groundwork.foxhttp.header.HeaderEntry;
+import ch.viascom.groundwork.foxhttp.log.FoxHttpLoggerLevel;
+import ch.viascom.groundwork.foxhttp.type.HeaderTypes;
+import ch.viascom.groundwork.foxhttp.type.RequestType;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.net.HttpURLConnection;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Downloads a resource with several concurrent Range requests into a pre-allocated file. <p> The size and validator of the resource are fetched with a HEAD
+ * request first. Every segment is written at its offset with positional writes and retried from its last written byte if the connection fails. Servers
+ * without range support are downloaded with a single request. All requests use the configuration of the client (authorization, proxy, SSL, interceptors).
+ *
+ * @author patrick.boesch@viascom.ch
+ */
+public class FoxHttpSegmentedDownload {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    @Getter
+    private final String url;
+
+    @Getter
+    private final FoxHttpClient foxHttpClient;
+
+    @Getter
+    @Setter
+    private int segmentCount = 4;
+
+    @Getter
+    @Setter
+    //Resources smaller than two segments of this size are downloaded with a single request
+    private long minimumSegmentSize = 1024 * 1024;
+
+    @Getter
+    @Setter
+    //Retries per segment after a lost connection
+    private int maxRetries = 3;
+
+    @Getter
+    @Setter
+    private long retryDelay = 500;
+
+    @Getter
+    @Setter
+    //Executor of the segment requests, a temporary pool with one thread per segment is used if not set
+    private ExecutorService executorService;
+
+    @Getter
+    @Setter
+    //Additional headers of every request
+    private FoxHttpHeader requestHeader = new FoxHttpHeader();
+
+    private volatile boolean aborted = false;
+
+    public FoxHttpSegmentedDownload(String url, FoxHttpClient foxHttpClient) {
+        this.url = url;
+        this.foxHttpClient = foxHttpClient;
+    }
+
+    /**
+     * Download the resource into a file <i>an existing file gets overwritten</i>
+     *
+     * @param target file to write
+     * @return result of the download
+     * @throws FoxHttpException if the download failed or the resource changed during the download
+     */
+    public FoxHttpDownloadResult download(Path target) throws FoxHttpException {
+        aborted = false;
+        FoxHttpResponse head = execute(RequestType.HEAD, null, null, false);
+        if (head.getResponseCode() < HttpURLConnection.HTTP_OK || head.getResponseCode() >= HttpURLConnection.HTTP_MULT_CHOICE) {
+            throw new FoxHttpResponseException("Download of " + url + " failed, HEAD responded with " + head.getResponseCode());
+        }
+
+        long length = parseLength(getHeaderValue(head, HeaderTypes.CONTENT_LENGTH));
+        String eTag = getHeaderValue(head, HeaderTypes.ETAG);
+        String lastModified = getHeaderValue(head, HeaderTypes.LAST_MODIFIED);
+        boolean acceptRanges = "bytes".equalsIgnoreCase(getHeaderValue(head, HeaderTypes.ACCEPT_RANGES));
+
+        List<Segment> segments = new ArrayList<>();
+        if (acceptRanges && length >= 2 * minimumSegmentSize && segmentCount > 1) {
+            int count = (int) Math.min(segmentCount, length / minimumSegmentSize);
+            long segmentSize = length / count;
+            for (int i = 0; i < count; i++) {
+                long start = i * segmentSize;
+                long end = i == count - 1 ? length - 1 : start + segmentSize - 1;
+                segments.add(new Segment(start, end, true));
+            }
+        } else {
+            segments.add(new Segment(0, length - 1, false));
+        }
+        foxHttpClient.getFoxHttpLogger().log(FoxHttpLoggerLevel.INFO, "download(" + url + ", length=" + length + ", segments=" + segments.size() + ")");
+
+        try (RandomAccessFile file = new RandomAccessFile(target.toFile(), "rw")) {
+            file.setLength(Math.max(length, 0));
+            FileChannel channel = file.getChannel();
+
+            if (segments.size() == 1) {
+                downloadSegment(segments.get(0), channel, eTag);
+            } else {
+                downloadSegments(segments, channel, eTag);
+            }
+
+            long written = segments.stream().mapToLong(segment -> segment.getPosition() - segment.getStart()).sum();
+            if (length < 0) {
+                channel.truncate(written);
+            } else if (written != length || channel.size() != length) {
+                throw new FoxHttpResponseException("Download of " + url + " is incomplete, expected " + length + " bytes but received " + written);
+            }
+            channel.force(false);
+            return new FoxHttpDownloadResult(target, channel.size(), eTag, lastModified);
+        } catch (IOException e) {
+            throw new FoxHttpRequestException(e);
+        }
+    }
+
+    private void downloadSegments(List<Segment> segments, FileChannel channel, String eTag) throws FoxHttpException {
+        ExecutorService executor = executorService != null ? executorService : Executors.newFixedThreadPool(segments.size());
+        try {
+            List<Future<Void>> futures = new ArrayList<>();
+            for (Segment segment : segments) {
+                futures.add(executor.submit(() -> {
+                    downloadSegment(segment, channel, eTag);
+                    return null;
+                }));
+            }
+            for (Future<Void> future : futures) {
+                try {
+                    future.get();
+                } catch (ExecutionException e) {
+                    aborted = true;
+                    if (e.getCause() instanceof FoxHttpException) {
+                        throw (FoxHttpException) e.getCause();
+                    }
+                    throw new FoxHttpRequestException(e.getCause());
+                }
+            }
+        } catch (InterruptedException e) {
+            aborted = true;
+            Thread.currentThread().interrupt();
+            throw new FoxHttpRequestException(e);
+        } finally {
+            if (executorService == null) {
+                executor.shutdownNow();
+            }
+        }
+    }
+
+    private void downloadSegment(Segment segment, FileChannel channel, String eTag) throws FoxHttpException {
+        int retries = 0;
+        while (true) {
+            try {
+                fetchSegment(segment, channel, eTag);
+                return;
+            } catch (FoxHttpResponseException e) {
+                //The server answered but not as expected, a retry would not help
+                throw e;
+            } catch (FoxHttpException | IOException e) {
+                if (aborted || retries >= maxRetries) {
+                    throw e instanceof FoxHttpException ? (FoxHttpException) e : new FoxHttpRequestException(e);
+                }
+                retries++;
+                foxHttpClient.getFoxHttpLogger()
+                             .log(FoxHttpLoggerLevel.INFO, "retrySegment(" + segment.getPosition() + "-" + segment.getEnd() + ", " + retries + "/" + maxRetries + ")");
+                if (!segment.isRanged()) {
+                    //Without range support the download has to start again
+                    segment.setPosition(0);
+                }
+                sleep(retryDelay);
+            }
+        }
+    }
+
+    private void fetchSegment(Segment segment, FileChannel channel, String eTag) throws FoxHttpException, IOException {
+        try (FoxHttpResponse response = execute(RequestType.GET, segment.isRanged() ? segment : null, eTag, true)) {
+            if (segment.isRanged()) {
+                if (response.getResponseCode() != HttpURLConnection.HTTP_PARTIAL) {
+                    throw new FoxHttpResponseException(
+                        "Range request for " + url + " responded with " + response.getResponseCode() + ", the resource changed or does not support ranges");
+                }
+                ContentRange contentRange = ContentRange.parse(getHeaderValue(response, HeaderTypes.CONTENT_RANGE));
+                if (contentRange == null || contentRange.getStart() != segment.getPosition()) {
+                    throw new FoxHttpResponseException("Range request for " + url + " responded with an unexpected Content-Range: " + contentRange);
+                }
+                String segmentETag = getHeaderValue(response, HeaderTypes.ETAG);
+                if (eTag != null && segmentETag != null && !eTag.equals(segmentETag)) {
+                    throw new FoxHttpResponseException("Resource " + url + " changed during the download, ETag " + eTag + " became " + segmentETag);
+                }
+            } else if (response.getResponseCode() < HttpURLConnection.HTTP_OK || response.getResponseCode() >= HttpURLConnection.HTTP_MULT_CHOICE) {
+                throw new FoxHttpResponseException("Download of " + url + " responded with " + response.getResponseCode());
+            }
+
+            InputStream inputStream = response.getInputStreamBody();
+            if (inputStream == null) {
+                return;
+            }
+            ReadableByteChannel source = Channels.newChannel(inputStream);
+            ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+            while (!aborted && (!segment.isRanged() || segment.getPosition() <= segment.getEnd()) && source.read(buffer) != -1) {
+                buffer.flip();
+                if (segment.isRanged()) {
+                    //Never write into the next segment
+                    buffer.limit((int) Math.min(buffer.limit(), segment.getEnd() - segment.getPosition() + 1));
+                }
+                while (buffer.hasRemaining()) {
+                    segment.setPosition(segment.getPosition() + channel.write(buffer, segment.getPosition()));
+                }
+                buffer.clear();
+            }
+            if (segment.getEnd() >= 0 && segment.getPosition() <= segment.getEnd() && !aborted) {
+                throw new IOException("Connection closed after " + segment.getPosition() + " of segment " + segment.getStart() + "-" + segment.getEnd());
+            }
+        }
+    }
+
+    private FoxHttpResponse execute(RequestType requestType, Segment range, String eTag, boolean stream) throws FoxHttpException {
+        FoxHttpRequest request = new FoxHttpRequestBuilder(url, requestType, foxHttpClient).setStreamResponseBody(stream)
+                                                                                             .setSkipResponseBody(requestType == RequestType.HEAD)
+                                                                                             .build();
+        for (HeaderEntry headerEntry : requestHeader) {
+            request.getRequestHeader().addHeader(headerEntry.getName(), headerEntry.getValue());
+        }
+        if (range != null) {
+            request.getRequestHeader().addHeader(HeaderTypes.RANGE, "bytes=" + range.getPosition() + "-" + range.getEnd());
+            if (isStrongETag(eTag)) {
+                //Let the server answer with the full resource instead of a mixed file if it changed
+                request.getRequestHeader().addHeader(HeaderTypes.IF_RANGE, eTag);
+            }
+        }
+        return request.execute();
+    }
+
+    /**
+     * Byte range of the resource and the next position to write
+     */
+    @Getter
+    private static class Segment {
+
+        private final long start;
+        private final long end;
+        private final boolean ranged;
+        @Setter
+        private volatile long position;
+
+        private Segment(long start, long end, boolean ranged) {
+            this.start = start;
+            this.end = end;
+            this.ranged = ranged;
+            this.position = start;
+        }
+    }
+}
@@ -8,7 +8,7 @@ import java.util.Map;
 import lombok.Data;
 
 /**
- * FoxHttpHeader stores headers
+ * FoxHttpHeader stores headers <i>header names are compared case-insensitive</i>
  *
  * @author patrick.boesch@viascom.ch
  */
@@ -76,7 +76,7 @@ public class FoxHttpHeader implements Iterable<HeaderEntry> {
      */
     public HeaderEntry getHeader(String name) {
         for (HeaderEntry headerField : getHeaderEntries()) {
-            if (headerField.getName().equals(name)) {
+            if (headerField.getName().equalsIgnoreCase(name)) {
                 return headerField;
             }
         }
@@ -92,7 +92,7 @@ public class FoxHttpHeader implements Iterable<HeaderEntry> {
     public ArrayList<HeaderEntry> getHeaders(String name) {
         ArrayList<HeaderEntry> matchingList = new ArrayList<>();
         for (HeaderEntry headerEntry : getHeaderEntries()) {
-            if (headerEntry.getName().equals(name)) {
+            if (headerEntry.getName().equalsIgnoreCase(name)) {
                 matchingList.add(headerEntry);
             }
         }
@@ -105,7 +105,7 @@ public class FoxHttpHeader implements Iterable<HeaderEntry> {
      * @param name name of the headers
      */
     public void removeHeader(String name) {
-        headerEntries.removeIf(headerEntry -> headerEntry.getName().equals(name));
+        headerEntries.removeIf(headerEntry -> headerEntry.getName().equalsIgnoreCase(name));
     }
 
     /**
@@ -117,7 +117,7 @@ public class FoxHttpHeader implements Iterable<HeaderEntry> {
     public synchronized void replaceHeader(String name, String value) {
         ArrayList<HeaderEntry> replacedList = new ArrayList<>();
         headerEntries.forEach(headerEntry -> {
-            if (headerEntry.getName().equals(name)) {
+            if (headerEntry.getName().equalsIgnoreCase(name)) {
                 HeaderEntry replacedEntry = new HeaderEntry(headerEntry.getName(), value);
                 replacedList.add(replacedEntry);
             } else {
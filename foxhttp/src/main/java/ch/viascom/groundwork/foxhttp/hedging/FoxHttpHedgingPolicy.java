@@ -0,0 +1,345 @@
+package ch.viascom.groundwork.foxhttp.hedging;
+
+import ch.viascom.groundwork.foxhttp.FoxHttpRequest;
+import ch.viascom.groundwork.foxhttp.FoxHttpResponse;
+import ch.viascom.groundwork.foxhttp.async.FoxHttpAsync;
+import ch.viascom.groundwork.foxhttp.deadline.DeadlineExceededException;
+import ch.viascom.groundwork.foxhttp.deadline.FoxHttpDeadline;
+import ch.viascom.groundwork.foxhttp.exception.FoxHttpException;
+import ch.viascom.groundwork.foxhttp.exception.FoxHttpRequestException;
+import ch.viascom.groundwork.foxhttp.log.FoxHttpLoggerLevel;
+import ch.viascom.groundwork.foxhttp.metrics.LatencyHistogram;
+import ch.viascom.groundwork.foxhttp.type.RequestType;
+import ch.viascom.groundwork.foxhttp.util.FoxHttpScheduler;
+import java.io.IOException;
+import java.net.URL;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Sends a second copy of a slow GET, HEAD or OPTIONS request and uses the first successful response. <p> The copy is sent after a fixed delay or, once
+ * enough latencies of the endpoint are recorded, after the given percentile of them. The losing request is aborted, which closes its connection. Responses
+ * with a 5xx status do not win the race. <p> Both requests run on the shared executor of FoxHttpAsync, not on the executor of the client, so a request
+ * running on a bounded client executor can not wait for a copy queued behind itself.
+ *
+ * @author patrick.boesch@viascom.ch
+ */
+public class FoxHttpHedgingPolicy {
+
+    @Getter
+    @Setter
+    //Delay in milliseconds before the copy is sent, used until enough latencies are recorded
+    private long delay;
+
+    @Getter
+    @Setter
+    //Percentile of the recorded latencies used as delay, 0 always uses the fixed delay
+    private double percentile;
+
+    @Getter
+    @Setter
+    //Number of recorded latencies of an endpoint before the percentile is used
+    private int minSamples = 20;
+
+    private final ConcurrentMap<String, LatencyHistogram> latencies = new ConcurrentHashMap<>();
+
+    private final AtomicLong hedgesSent = new AtomicLong();
+    private final AtomicLong hedgesWon = new AtomicLong();
+
+    /**
+     * Create a new policy which always waits the same time
+     *
+     * @param delay delay in milliseconds before the copy is sent
+     */
+    public FoxHttpHedgingPolicy(long delay) {
+        this(delay, 0);
+    }
+
+    /**
+     * Create a new policy which waits for a percentile of the observed latencies
+     *
+     * @param delay delay in milliseconds until enough latencies are recorded
+     * @param percentile share between 0 and 1, e.g. 0.95
+     */
+    public FoxHttpHedgingPolicy(long delay, double percentile) {
+        this.delay = delay;
+        this.percentile = percentile;
+    }
+
+    /**
+     * Checks if a copy of the request can be sent without side effects
+     *
+     * @param request request to check
+     * @return true for GET, HEAD and OPTIONS requests without body and streamed response
+     */
+    public boolean isHedgeable(FoxHttpRequest request) {
+        RequestType requestType = request.getRequestType();
+        return (requestType == RequestType.GET || requestType == RequestType.HEAD || requestType == RequestType.OPTIONS) && !request.isStreamResponseBody() && (
+            request.getRequestBody() == null || !request.getRequestBody().hasBody());
+    }
+
+    /**
+     * Execute a request and send a copy of it if it is slow
+     *
+     * @param request request which is executed
+     * @param call execution of the request without hedging
+     * @param hedgeFactory creates the copy of the request
+     * @return first successful response
+     * @throws FoxHttpException if both requests failed, the exception of the first request is thrown
+     */
+    public FoxHttpResponse execute(FoxHttpRequest request, HedgedCall call, Supplier<FoxHttpRequest> hedgeFactory) throws FoxHttpException {
+        LatencyHistogram histogram = getLatencyHistogram(getEndpoint(request));
+        HedgedExecution execution = new HedgedExecution(request, histogram);
+        execution.startPrimary(call);
+        ScheduledFuture<?> timer = FoxHttpScheduler.schedule(() -> execution.startHedge(hedgeFactory), getHedgeDelay(histogram), TimeUnit.MILLISECONDS);
+        try {
+            return execution.await();
+        } finally {
+            timer.cancel(false);
+        }
+    }
+
+    /**
+     * Get the recorded latencies of an endpoint
+     *
+     * @param endpoint method and url without query, see getEndpoint
+     * @return latencies of the endpoint
+     */
+    public LatencyHistogram getLatencyHistogram(String endpoint) {
+        return latencies.computeIfAbsent(endpoint, key -> new LatencyHistogram());
+    }
+
+    /**
+     * Get the endpoint of a request which groups its latencies
+     *
+     * @param request request
+     * @return method and url without query
+     */
+    public String getEndpoint(FoxHttpRequest request) {
+        URL url = request.getUrl();
+        return request.getRequestType() + " " + url.getProtocol() + "://" + url.getAuthority() + url.getPath();
+    }
+
+    /**
+     * Get the number of copies which were sent
+     *
+     * @return number of hedges
+     */
+    public long getHedgesSent() {
+        return hedgesSent.get();
+    }
+
+    /**
+     * Get the number of copies which responded before the original request
+     *
+     * @return number of won hedges
+     */
+    public long getHedgesWon() {
+        return hedgesWon.get();
+    }
+
+    private long getHedgeDelay(LatencyHistogram histogram) {
+        if (percentile > 0 && histogram.getCount() >= minSamples) {
+            return Math.max(1, TimeUnit.NANOSECONDS.toMillis(histogram.getPercentile(percentile)));
+        }
+        return delay;
+    }
+
+    private static boolean isSuccessful(FoxHttpResponse response) {
+        return response.getResponseCode() < 500;
+    }
+
+    /**
+     * Execution of a request without hedging
+     */
+    @FunctionalInterface
+    public interface HedgedCall {
+
+        FoxHttpResponse execute() throws FoxHttpException;
+    }
+
+    /**
+     * Race between a request and its copy <p> Both requests run on the shared executor, the caller only waits for the first successful response. A losing
+     * request which is still blocked, e.g. in connect or a limiter, does not delay the caller.
+     */
+    private class HedgedExecution {
+
+        private final FoxHttpRequest request;
+        private final LatencyHistogram histogram;
+        private final long start = System.nanoTime();
+        //Deadline of the caller, both requests end with it
+        private final long deadline = FoxHttpDeadline.getDeadline();
+
+        //Set by the first successful response
+        private final AtomicBoolean decided = new AtomicBoolean();
+        //Set when the copy is started or can not be started anymore
+        private final AtomicBoolean hedgeStarted = new AtomicBoolean();
+        private final CompletableFuture<FoxHttpResponse> primaryResult = new CompletableFuture<>();
+        private final CompletableFuture<FoxHttpResponse> hedgeResult = new CompletableFuture<>();
+        //Completed with the first successful response
+        private final CompletableFuture<FoxHttpResponse> winner = new CompletableFuture<>();
+        //Completed after the result of both requests is handled
+        private final CompletableFuture<Void> finished;
+        private volatile FoxHttpRequest hedge;
+        private volatile long hedgeStart;
+
+        private HedgedExecution(FoxHttpRequest request, LatencyHistogram histogram) {
+            this.request = request;
+            this.histogram = histogram;
+            this.finished = CompletableFuture.allOf(primaryResult.whenComplete(this::primaryCompleted), hedgeResult.whenComplete(this::hedgeCompleted));
+        }
+
+        private void startPrimary(HedgedCall call) {
+            executeAsync(primaryResult, call);
+        }
+
+        private void startHedge(Supplier<FoxHttpRequest> hedgeFactory) {
+            if (decided.get() || !hedgeStarted.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                FoxHttpRequest hedgeRequest = hedgeFactory.get();
+                hedge = hedgeRequest;
+                if (decided.get()) {
+                    hedgeResult.complete(null);
+                    return;
+                }
+                hedgesSent.incrementAndGet();
+                hedgeStart = System.nanoTime();
+                executeAsync(hedgeResult, hedgeRequest::execute);
+            } catch (RuntimeException e) {
+                hedgeResult.completeExceptionally(e);
+            }
+        }
+
+        private void executeAsync(CompletableFuture<FoxHttpResponse> result, HedgedCall call) {
+            try {
+                FoxHttpAsync.getDefaultExecutor().execute(() -> {
+                    long outerDeadline = FoxHttpDeadline.enter(deadline);
+                    try {
+                        result.complete(call.execute());
+                    } catch (FoxHttpException | RuntimeException e) {
+                        result.completeExceptionally(e);
+                    } finally {
+                        FoxHttpDeadline.restore(outerDeadline);
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                result.completeExceptionally(new FoxHttpRequestException(e));
+            }
+        }
+
+        private void primaryCompleted(FoxHttpResponse response, Throwable exception) {
+            if (isWinner(response)) {
+                hedgeStarted.set(true);
+                histogram.record(System.nanoTime() - start);
+                abort(hedge);
+                discard(getResponse(hedgeResult));
+                winner.complete(response);
+            } else if (hedgeStarted.compareAndSet(false, true)) {
+                //The request failed before a copy was sent
+                hedgeResult.complete(null);
+            } else if (decided.get()) {
+                //The copy already won, nobody reads this response
+                discard(response);
+            } else if (exception != null && request.isAborted()) {
+                //The caller aborted the request, the copy is not needed anymore
+                abort(hedge);
+            }
+        }
+
+        private void hedgeCompleted(FoxHttpResponse response, Throwable exception) {
+            if (isWinner(response)) {
+                hedgesWon.incrementAndGet();
+                histogram.record(System.nanoTime() - hedgeStart);
+                //The original request took at least this long
+                histogram.record(System.nanoTime() - start);
+                request.abort();
+                discard(getResponse(primaryResult));
+                winner.complete(response);
+            } else if (decided.get()) {
+                discard(response);
+            }
+        }
+
+        private boolean isWinner(FoxHttpResponse response) {
+            return response != null && isSuccessful(response) && decided.compareAndSet(false, true);
+        }
+
+        private FoxHttpResponse await() throws FoxHttpException {
+            CompletableFuture<Object> done = CompletableFuture.anyOf(winner, finished);
+            try {
+                if (deadline == 0) {
+                    done.get();
+                } else {
+                    done.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+                }
+            } catch (ExecutionException e) {
+                //Both requests are done, the result of the original request is used
+            } catch (TimeoutException e) {
+                abortAll();
+                throw new DeadlineExceededException("The deadline of the request was exceeded while it waited for the hedged request");
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                abortAll();
+                throw new FoxHttpRequestException(e);
+            }
+
+            if (winner.isDone()) {
+                return winner.join();
+            }
+            //Both requests failed, the copy is only used if it won
+            discard(getResponse(hedgeResult));
+            try {
+                return primaryResult.join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof FoxHttpException) {
+                    throw (FoxHttpException) e.getCause();
+                }
+                throw (RuntimeException) e.getCause();
+            }
+        }
+
+        private void abortAll() {
+            //Responses which arrive later are discarded by their request
+            decided.set(true);
+            request.abort();
+            abort(hedge);
+            discard(getResponse(primaryResult));
+            discard(getResponse(hedgeResult));
+        }
+
+        private void abort(FoxHttpRequest hedgeRequest) {
+            if (hedgeRequest != null) {
+                hedgeRequest.abort();
+            }
+        }
+
+        private FoxHttpResponse getResponse(CompletableFuture<FoxHttpResponse> result) {
+            return result.isDone() && !result.isCompletedExceptionally() ? result.join() : null;
+        }
+
+        private void discard(FoxHttpResponse response) {
+            if (response == null) {
+                return;
+            }
+            try {
+                response.close();
+            } catch (IOException e) {
+                request.getFoxHttpClient().getFoxHttpLogger().log(FoxHttpLoggerLevel.DEBUG, "discardResponse(" + e.getMessage() + ")");
+            }
+        }
+    }
+}
@@ -46,7 +46,12 @@ public class DeflateResponseInterceptor implements FoxHttpResponseInterceptor {
             if (context.getFoxHttpResponse().getResponseHeaders().getHeader("Content-Encoding") != null && "deflate".equals(
                 context.getFoxHttpResponse().getResponseHeaders().getHeader("Content-Encoding").getValue())) {
                 InputStream is = new InflaterInputStream(context.getFoxHttpResponse().getInputStreamBody(), new Inflater(nowrap));
-                context.getFoxHttpResponse().getResponseBody().setBody(is, true);
+                if (context.getFoxHttpResponse().getResponseBody().isStreamed()) {
+                    //Decode the live body while it is read
+                    context.getFoxHttpResponse().getResponseBody().setStream(is);
+                } else {
+                    context.getFoxHttpResponse().getResponseBody().setBody(is, true);
+                }
             }
         } catch (Exception e) {
             throw new FoxHttpException(e);
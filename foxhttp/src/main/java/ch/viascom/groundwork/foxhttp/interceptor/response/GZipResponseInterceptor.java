@@ -31,7 +31,12 @@ public class GZipResponseInterceptor implements FoxHttpResponseInterceptor {
             if (context.getFoxHttpResponse().getResponseHeaders().getHeader("Content-Encoding") != null && "gzip".equals(
                 context.getFoxHttpResponse().getResponseHeaders().getHeader("Content-Encoding").getValue())) {
                 InputStream is = new GZIPInputStream(context.getFoxHttpResponse().getInputStreamBody());
-                context.getFoxHttpResponse().getResponseBody().setBody(is, true);
+                if (context.getFoxHttpResponse().getResponseBody().isStreamed()) {
+                    //Decode the live body while it is read
+                    context.getFoxHttpResponse().getResponseBody().setStream(is);
+                } else {
+                    context.getFoxHttpResponse().getResponseBody().setBody(is, true);
+                }
             }
         } catch (Exception e) {
             throw new FoxHttpException(e);
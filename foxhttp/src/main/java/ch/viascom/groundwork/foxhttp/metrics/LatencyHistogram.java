@@ -0,0 +1,93 @@
+package ch.viascom.groundwork.foxhttp.metrics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free histogram of request latencies. <p> Latencies are counted in logarithmic buckets with four buckets per power of two, so a percentile is
+ * accurate to about 19% of its value. Recording only increments two counters and can be done by any number of threads.
+ *
+ * @author patrick.boesch@viascom.ch
+ */
+public class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 2;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKETS = 64 * SUB_BUCKETS;
+
+    //Counts per bucket of latencies in microseconds
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+    private final AtomicLong count = new AtomicLong();
+
+    /**
+     * Record a latency
+     *
+     * @param latency latency in nanoseconds
+     */
+    public void record(long latency) {
+        buckets.incrementAndGet(getBucket(TimeUnit.NANOSECONDS.toMicros(latency)));
+        count.incrementAndGet();
+    }
+
+    /**
+     * Get the number of recorded latencies
+     *
+     * @return number of latencies
+     */
+    public long getCount() {
+        return count.get();
+    }
+
+    /**
+     * Get the latency below which the given share of the recorded latencies are
+     *
+     * @param percentile share between 0 and 1, e.g. 0.95
+     * @return upper bound of the latency in nanoseconds, 0 if nothing was recorded
+     */
+    public long getPercentile(double percentile) {
+        long total = count.get();
+        if (total == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(total * Math.min(1.0, Math.max(0.0, percentile))));
+        long seen = 0;
+        for (int bucket = 0; bucket < BUCKETS; bucket++) {
+            seen += buckets.get(bucket);
+            if (seen >= rank) {
+                return TimeUnit.MICROSECONDS.toNanos(getUpperBound(bucket));
+            }
+        }
+        //Latencies recorded while iterating
+        return TimeUnit.MICROSECONDS.toNanos(getUpperBound(BUCKETS - 1));
+    }
+
+    /**
+     * Drop all recorded latencies
+     */
+    public void reset() {
+        for (int bucket = 0; bucket < BUCKETS; bucket++) {
+            buckets.set(bucket, 0);
+        }
+        count.set(0);
+    }
+
+    private static int getBucket(long micros) {
+        if (micros < SUB_BUCKETS) {
+            return (int) Math.max(0, micros);
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(micros);
+        int subBucket = (int) (micros >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return Math.min(BUCKETS - 1, (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + subBucket);
+    }
+
+    private static long getUpperBound(int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+        int exponent = bucket / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+        int subBucket = bucket % SUB_BUCKETS;
+        long lowerBound = (1L << exponent) + ((long) subBucket << (exponent - SUB_BUCKET_BITS));
+        return lowerBound + (1L << (exponent - SUB_BUCKET_BITS)) - 1;
+    }
+}
@@ -0,0 +1,55 @@
+package ch.viascom.groundwork.foxhttp.parser;
+
+import ch.viascom.groundwork.foxhttp.exception.FoxHttpException;
+import ch.viascom.groundwork.foxhttp.exception.FoxHttpRequestException;
+import ch.viascom.groundwork.foxhttp.type.ContentType;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Serializable;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Stream based extension of the FoxHttpParser. <p> A stream parser reads and writes the serialized form directly from and to streams, so the body never has to be
+ * held as String.
+ *
+ * @author patrick.boesch@viascom.ch
+ */
+public interface FoxHttpStreamParser extends FoxHttpParser {
+
+    Serializable serializedToObject(Reader input, Class<Serializable> type, ContentType contentType) throws FoxHttpException;
+
+    void objectToSerialized(Serializable o, ContentType contentType, Writer output) throws FoxHttpException;
+
+    /**
+     * Deserialize an object from a byte stream <i>uses the charset of the content type or UTF-8</i>
+     */
+    default Serializable serializedToObject(InputStream input, Class<Serializable> type, ContentType contentType) throws FoxHttpException {
+        return serializedToObject(new InputStreamReader(input, getCharset(contentType)), type, contentType);
+    }
+
+    /**
+     * Serialize an object into a byte stream <i>uses the charset of the content type or UTF-8</i>
+     */
+    default void objectToSerialized(Serializable o, ContentType contentType, OutputStream output) throws FoxHttpException {
+        Writer writer = new OutputStreamWriter(output, getCharset(contentType));
+        objectToSerialized(o, contentType, writer);
+        try {
+            writer.flush();
+        } catch (IOException e) {
+            throw new FoxHttpRequestException(e);
+        }
+    }
+
+    static Charset getCharset(ContentType contentType) {
+        if (contentType == null || contentType.getCharset() == null) {
+            return StandardCharsets.UTF_8;
+        }
+        return contentType.getCharset();
+    }
+}
@@ -0,0 +1,161 @@
+package ch.viascom.groundwork.foxhttp.parser;
+
+import ch.viascom.groundwork.foxhttp.exception.FoxHttpException;
+import ch.viascom.groundwork.foxhttp.exception.FoxHttpRequestException;
+import ch.viascom.groundwork.foxhttp.exception.FoxHttpResponseException;
+import ch.viascom.groundwork.foxhttp.type.ContentType;
+import ch.viascom.groundwork.foxhttp.util.ConcurrentLruCache;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Serializable;
+import java.io.Writer;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import lombok.Getter;
+
+/**
+ * Parser which delegates to a parser per mime type. <p> A content type is resolved in this order: the exact mime type, the parser of the structured syntax
+ * suffix (<code>application/problem+json</code> uses the parser of <code>application/json</code>), the parser of the type wildcard (<code>text/*</code>) and the
+ * parser of <code>*&#47;*</code>. <p> The parser has no state which changes per call, so one instance can be shared by all requests of a client. Parsers have
+ * to be registered before the parser is used.
+ *
+ * @author patrick.boesch@viascom.ch
+ */
+public class GenericParser implements FoxHttpStreamParser {
+
+    private final HashMap<String, FoxHttpParser> foxHttpParsers = new HashMap<>();
+
+    @Getter
+    private final ContentType parserOutputContentType = ContentType.WILDCARD;
+    @Getter
+    private final ContentType parserInputContentType = ContentType.WILDCARD;
+
+    //Registered mime type used for a mime type without an own parser
+    private final ConcurrentLruCache<String, String> resolvedMimeTypes = new ConcurrentLruCache<>(256);
+
+    public GenericParser() {
+        XStreamParser xStreamParser = new XStreamParser();
+        foxHttpParsers.put(ContentType.APPLICATION_JSON.getMimeType(), new GsonParser());
+        foxHttpParsers.put(ContentType.APPLICATION_XML.getMimeType(), xStreamParser);
+        foxHttpParsers.put(ContentType.TEXT_XML.getMimeType(), xStreamParser);
+    }
+
+    /**
+     * Register a parser for a mime type
+     *
+     * @param mimeType mime type like <code>application/json</code> or a wildcard like <code>text/*</code>
+     * @param foxHttpParser parser of the mime type
+     */
+    public void addFoxHttpParser(String mimeType, FoxHttpParser foxHttpParser) {
+        foxHttpParsers.put(mimeType, foxHttpParser);
+        resolvedMimeTypes.clear();
+    }
+
+    /**
+     * Remove the parser of a mime type
+     *
+     * @param mimeType registered mime type or wildcard
+     */
+    public void removeFoxHttpParser(String mimeType) {
+        foxHttpParsers.remove(mimeType);
+        resolvedMimeTypes.clear();
+    }
+
+    /**
+     * Get the registered parsers <i>changes have to be made with addFoxHttpParser and removeFoxHttpParser, which reset the resolved mime types</i>
+     *
+     * @return read-only view of the parsers by mime type
+     */
+    public Map<String, FoxHttpParser> getFoxHttpParsers() {
+        return Collections.unmodifiableMap(foxHttpParsers);
+    }
+
+    /**
+     * Get the parser of a content type
+     *
+     * @param contentType content type of the body
+     * @return matching parser or null if none is registered
+     */
+    public FoxHttpParser getFoxHttpParser(ContentType contentType) {
+        String mimeType = contentType.getMimeType();
+        FoxHttpParser foxHttpParser = foxHttpParsers.get(mimeType);
+        if (foxHttpParser != null) {
+            return foxHttpParser;
+        }
+
+        String resolvedMimeType = resolvedMimeTypes.get(mimeType);
+        if (resolvedMimeType == null) {
+            resolvedMimeType = resolveMimeType(contentType);
+            resolvedMimeTypes.put(mimeType, resolvedMimeType);
+        }
+        return foxHttpParsers.get(resolvedMimeType);
+    }
+
+    @Override
+    public Serializable serializedToObject(String input, Class<Serializable> type, ContentType contentType) throws FoxHttpException {
+        return getParser(contentType, "response").serializedToObject(input, type, contentType);
+    }
+
+    @Override
+    public String objectToSerialized(Serializable o, ContentType contentType) throws FoxHttpException {
+        return getParser(contentType, "request").objectToSerialized(o, contentType);
+    }
+
+    @Override
+    public Serializable serializedToObject(Reader input, Class<Serializable> type, ContentType contentType) throws FoxHttpException {
+        FoxHttpParser foxHttpParser = getParser(contentType, "response");
+        if (foxHttpParser instanceof FoxHttpStreamParser) {
+            return ((FoxHttpStreamParser) foxHttpParser).serializedToObject(input, type, contentType);
+        }
+        return foxHttpParser.serializedToObject(readFully(input), type, contentType);
+    }
+
+    @Override
+    public void objectToSerialized(Serializable o, ContentType contentType, Writer output) throws FoxHttpException {
+        FoxHttpParser foxHttpParser = getParser(contentType, "request");
+        if (foxHttpParser instanceof FoxHttpStreamParser) {
+            ((FoxHttpStreamParser) foxHttpParser).objectToSerialized(o, contentType, output);
+        } else {
+            try {
+                output.write(foxHttpParser.objectToSerialized(o, contentType));
+            } catch (IOException e) {
+                throw new FoxHttpRequestException(e);
+            }
+        }
+    }
+
+    private String resolveMimeType(ContentType contentType) {
+        String suffix = contentType.getSuffix();
+        if (suffix != null && foxHttpParsers.containsKey("application/" + suffix)) {
+            return "application/" + suffix;
+        }
+        if (foxHttpParsers.containsKey(contentType.getType() + "/*")) {
+            return contentType.getType() + "/*";
+        }
+        //Empty if nothing matches, the cache does not hold null
+        return foxHttpParsers.containsKey(ContentType.WILDCARD.getMimeType()) ? ContentType.WILDCARD.getMimeType() : "";
+    }
+
+    private FoxHttpParser getParser(ContentType contentType, String direction) throws FoxHttpRequestException {
+        FoxHttpParser foxHttpParser = getFoxHttpParser(contentType);
+        if (foxHttpParser == null) {
+            throw new FoxHttpRequestException("No matching " + direction + " parser for content type '" + contentType.toString() + "' found");
+        }
+        return foxHttpParser;
+    }
+
+    private String readFully(Reader input) throws FoxHttpException {
+        try {
+            StringBuilder stringBuilder = new StringBuilder();
+            char[] buffer = new char[4096];
+            int read;
+            while ((read = input.read(buffer)) != -1) {
+                stringBuilder.append(buffer, 0, read);
+            }
+            return stringBuilder.toString();
+        } catch (IOException e) {
+            throw new FoxHttpResponseException(e);
+        }
+    }
+}
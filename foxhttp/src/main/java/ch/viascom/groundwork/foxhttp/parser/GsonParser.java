@@ -0,0 +1,82 @@
+package ch.viascom.groundwork.foxhttp.parser;
+
+import ch.viascom.groundwork.foxhttp.exception.FoxHttpException;
+import ch.viascom.groundwork.foxhttp.exception.FoxHttpRequestException;
+import ch.viascom.groundwork.foxhttp.exception.FoxHttpResponseException;
+import ch.viascom.groundwork.foxhttp.type.ContentType;
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import java.io.Reader;
+import java.io.Serializable;
+import java.io.Writer;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * Parser for json based on Gson. <p> Gson is thread-safe and caches the type adapter of every type it has seen, so one instance is shared by all calls.
+ *
+ * @author patrick.boesch@viascom.ch
+ */
+@AllArgsConstructor
+@NoArgsConstructor
+public class GsonParser implements FoxHttpStreamParser {
+
+    private static final Gson DEFAULT_GSON = new Gson();
+
+    @Getter
+    private ContentType parserOutputContentType = ContentType.APPLICATION_JSON;
+    @Getter
+    private ContentType parserInputContentType = ContentType.APPLICATION_JSON;
+
+    @Getter
+    private Gson gson = DEFAULT_GSON;
+
+    public GsonParser(Gson gson) {
+        this.gson = gson;
+    }
+
+    /**
+     * Get the Gson instance of a GsonParser or of the json parser of a GenericParser
+     *
+     * @param foxHttpParser a parser
+     * @return Gson instance of the parser or the shared default instance
+     */
+    public static Gson getGson(FoxHttpParser foxHttpParser) {
+        if (foxHttpParser instanceof GenericParser) {
+            foxHttpParser = ((GenericParser) foxHttpParser).getFoxHttpParsers().get(ContentType.APPLICATION_JSON.getMimeType());
+        }
+        if (foxHttpParser instanceof GsonParser) {
+            return ((GsonParser) foxHttpParser).getGson();
+        }
+        return DEFAULT_GSON;
+    }
+
+    @Override
+    public Serializable serializedToObject(String json, Class<Serializable> type, ContentType contentType) throws FoxHttpException {
+        return gson.fromJson(json, type);
+    }
+
+    @Override
+    public String objectToSerialized(Serializable o, ContentType contentType) throws FoxHttpException {
+        return gson.toJson(o);
+    }
+
+    @Override
+    public Serializable serializedToObject(Reader input, Class<Serializable> type, ContentType contentType) throws FoxHttpException {
+        try {
+            return gson.fromJson(input, type);
+        } catch (JsonParseException e) {
+            throw new FoxHttpResponseException(e);
+        }
+    }
+
+    @Override
+    public void objectToSerialized(Serializable o, ContentType contentType, Writer output) throws FoxHttpException {
+        try {
+            gson.toJson(o, output);
+        } catch (JsonParseException e) {
+            throw new FoxHttpRequestException(e);
+        }
+    }
+}
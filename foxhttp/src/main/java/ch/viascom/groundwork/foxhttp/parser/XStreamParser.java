@@ -0,0 +1,76 @@
+package ch.viascom.groundwork.foxhttp.parser;
+
+import ch.viascom.groundwork.foxhttp.exception.FoxHttpException;
+import ch.viascom.groundwork.foxhttp.type.ContentType;
+import com.thoughtworks.xstream.XStream;
+import java.io.Reader;
+import java.io.Serializable;
+import java.io.Writer;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+
+/**
+ * Parser for xml based on XStream. <p> The XStream instance is created once per parser and shared by all calls, a configured XStream is thread-safe.
+ *
+ * @author patrick.boesch@viascom.ch
+ */
+@NoArgsConstructor
+public class XStreamParser implements FoxHttpStreamParser {
+
+    @Getter
+    private ContentType parserOutputContentType = ContentType.APPLICATION_XML;
+    @Getter
+    private ContentType parserInputContentType = ContentType.APPLICATION_XML;
+
+    //Created on first use, XStream is an optional dependency and expensive to set up
+    private volatile XStream xStream;
+
+    /**
+     * Create a new XStreamParser with a configured XStream instance
+     *
+     * @param xStream configured XStream instance, it must not be changed after it is used by the parser
+     */
+    public XStreamParser(XStream xStream) {
+        this.xStream = xStream;
+    }
+
+    /**
+     * Get the XStream instance of this parser
+     *
+     * @return XStream instance
+     */
+    public XStream getXStream() {
+        XStream current = xStream;
+        if (current == null) {
+            synchronized (this) {
+                current = xStream;
+                if (current == null) {
+                    current = new XStream();
+                    xStream = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    @Override
+    public Serializable serializedToObject(String input, Class<Serializable> type, ContentType contentType) throws FoxHttpException {
+        return (Serializable) getXStream().fromXML(input);
+    }
+
+    @Override
+    public String objectToSerialized(Serializable o, ContentType contentType) throws FoxHttpException {
+        return getXStream().toXML(o);
+    }
+
+    @Override
+    public Serializable serializedToObject(Reader input, Class<Serializable> type, ContentType contentType) throws FoxHttpException {
+        return (Serializable) getXStream().fromXML(input);
+    }
+
+    @Override
+    public void objectToSerialized(Serializable o, ContentType contentType, Writer output) throws FoxHttpException {
+        getXStream().toXML(o, output);
+    }
+}
@@ -0,0 +1,164 @@
+package ch.viascom.groundwork.foxhttp.query;
+
+import ch.viascom.groundwork.foxhttp.exception.FoxHttpException;
+import ch.viascom.groundwork.foxhttp.exception.FoxHttpRequestException;
+import ch.viascom.groundwork.foxhttp.query.QueryObjectBinding.QueryField;
+import ch.viascom.groundwork.foxhttp.util.QueryBuilder;
+import java.io.UnsupportedEncodingException;
+import java.net.URLDecoder;
+import java.util.HashMap;
+import java.util.List;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+/**
+ * FoxHttpRequestQuery stores query entries for a request
+ *
+ * @author patrick.boesch@viascom.ch
+ */
+@NoArgsConstructor
+@ToString
+public class FoxHttpRequestQuery {
+
+    private static final String ENCODING = "UTF-8";
+
+    private HashMap<String, String> queryMap = new HashMap<>();
+
+    //Encoded entries of a query object, moved into the query map as soon as single entries are changed
+    private String objectQuery = "";
+
+    public FoxHttpRequestQuery(HashMap<String, String> queryMap) {
+        this.queryMap = queryMap;
+    }
+
+    /**
+     * Add a new query entry
+     *
+     * @param name name of the query entry
+     * @param value value of the query entry
+     */
+    public void addQueryEntry(String name, String value) {
+        if (value != null) {
+            decodeObjectQuery();
+            queryMap.put(name, value);
+        }
+    }
+
+    /**
+     * Add a map of new query entries
+     *
+     * @param queryMap map of query entries
+     */
+    public void addQueryMap(HashMap<String, String> queryMap) {
+        decodeObjectQuery();
+        this.queryMap.putAll(queryMap);
+    }
+
+    /**
+     * Remove a query entry
+     *
+     * @param name name of the query entry
+     */
+    public void removeQueryEntry(String name) {
+        decodeObjectQuery();
+        queryMap.remove(name);
+    }
+
+    /**
+     * Check if there are query entries stored
+     *
+     * @return true if more than 0 entries stored
+     */
+    public boolean hasQueryEntries() {
+        return queryMap.size() > 0 || !objectQuery.isEmpty();
+    }
+
+    /**
+     * Get all stored queries as string
+     *
+     * @return string with all query entries
+     * @throws FoxHttpRequestException can throw an exception if the "UTF-8" encoding is not found
+     */
+    public String getQueryString() throws FoxHttpRequestException {
+        if (!objectQuery.isEmpty()) {
+            return "?" + objectQuery;
+        }
+        return "?" + QueryBuilder.buildQuery(queryMap, ENCODING);
+    }
+
+    /**
+     * Parse an object as query map
+     *
+     * @param params list of attribute names which will be included
+     * @param o object with the attributes
+     * @throws FoxHttpRequestException can throw an exception if a field does not exist
+     */
+    public void parseObjectAsQueryMap(List<String> params, Object o, boolean parseSerializedName, boolean allowOptional, boolean recursiveOptional) throws FoxHttpRequestException {
+
+        if (!allowOptional && o == null) {
+            throw new FoxHttpRequestException("The query object parameter is not optional and can't be null because of this.");
+        }
+
+        if (o != null) {
+            Class<?> clazz = o.getClass();
+            //The values are encoded directly, the entries are replaced only if every field could be bound
+            StringBuilder query = new StringBuilder();
+
+            try {
+                //The fields and their names are resolved once per class
+                QueryObjectBinding binding = QueryObjectBinding.of(clazz);
+                if (!params.get(0).isEmpty()) {
+                    for (String param : params) {
+                        QueryField field = binding.getField(param);
+                        if (field == null) {
+                            throw new FoxHttpRequestException("The query parameter attribute " + param + " does not exist in " + clazz.getSimpleName() + ".");
+                        }
+                        processQueryField(o, parseSerializedName, recursiveOptional, clazz, query, field);
+                    }
+                } else {
+                    for (QueryField field : binding.getFields()) {
+                        processQueryField(o, parseSerializedName, recursiveOptional, clazz, query, field);
+                    }
+                }
+            } catch (FoxHttpException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new FoxHttpRequestException(e);
+            }
+            queryMap = new HashMap<>();
+            objectQuery = query.toString();
+        }
+    }
+
+    private void processQueryField(Object o, boolean parseSerializedName, boolean recursiveOptional, Class<?> clazz, StringBuilder query, QueryField field)
+        throws IllegalAccessException, FoxHttpRequestException {
+        Object value = field.read(o);
+
+        if (value == null) {
+            if (!field.isOptional(recursiveOptional)) {
+                throw new FoxHttpRequestException(
+                    "The query parameter attribute " + field.getName() + " in " + clazz.getSimpleName() + " is not optional and can't be null because of this.");
+            }
+            return;
+        }
+
+        QueryBuilder.appendQueryEntry(query, field.getParamName(parseSerializedName), String.valueOf(value), ENCODING);
+    }
+
+    private void decodeObjectQuery() {
+        if (objectQuery.isEmpty()) {
+            return;
+        }
+        try {
+            for (String entry : objectQuery.split("&")) {
+                int separator = entry.indexOf('=');
+                queryMap.put(URLDecoder.decode(entry.substring(0, separator), ENCODING), URLDecoder.decode(entry.substring(separator + 1), ENCODING));
+            }
+        } catch (UnsupportedEncodingException e) {
+            //Every Java platform supports UTF-8
+            throw new IllegalStateException(e);
+        }
+        objectQuery = "";
+    }
+
+}
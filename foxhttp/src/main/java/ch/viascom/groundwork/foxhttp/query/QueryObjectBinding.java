@@ -0,0 +1,101 @@
+package ch.viascom.groundwork.foxhttp.query;
+
+import ch.viascom.groundwork.foxhttp.annotation.types.QueryName;
+import com.google.gson.annotations.SerializedName;
+import java.lang.reflect.Field;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Fields of a query object class with their resolved names. <p> The fields are collected once per class, made accessible and their @QueryName and
+ * @SerializedName annotations are read up front, so binding an object only reads the field values. <p> The bindings are kept in a ClassValue, which is read
+ * without locking and does not keep the class or its class loader from being unloaded.
+ *
+ * @author patrick.boesch@viascom.ch
+ */
+final class QueryObjectBinding {
+
+    private static final ClassValue<QueryObjectBinding> BINDINGS = new ClassValue<QueryObjectBinding>() {
+        @Override
+        protected QueryObjectBinding computeValue(Class<?> type) {
+            return new QueryObjectBinding(type);
+        }
+    };
+
+    private final Map<String, QueryField> fields;
+
+    private QueryObjectBinding(Class<?> type) {
+        Map<String, QueryField> allFields = new HashMap<>();
+        //Fields of a super class replace fields with the same name of the sub class
+        for (Class<?> current = type; current != null; current = current.getSuperclass()) {
+            for (Field field : current.getDeclaredFields()) {
+                allFields.put(field.getName(), new QueryField(field));
+            }
+        }
+        this.fields = allFields;
+    }
+
+    /**
+     * Get the binding of a class
+     *
+     * @param type class of the query object
+     * @return cached binding
+     */
+    static QueryObjectBinding of(Class<?> type) {
+        return BINDINGS.get(type);
+    }
+
+    QueryField getField(String name) {
+        return fields.get(name);
+    }
+
+    Collection<QueryField> getFields() {
+        return fields.values();
+    }
+
+    /**
+     * Field of a query object
+     */
+    static final class QueryField {
+
+        private final Field field;
+        private final String serializedName;
+        private final String queryName;
+        private final Boolean queryNameAllowOptional;
+
+        private QueryField(Field field) {
+            field.setAccessible(true);
+            this.field = field;
+
+            SerializedName serializedNameAnnotation = field.getAnnotation(SerializedName.class);
+            this.serializedName = serializedNameAnnotation == null ? null : serializedNameAnnotation.value();
+
+            QueryName queryNameAnnotation = field.getAnnotation(QueryName.class);
+            this.queryName = queryNameAnnotation == null || queryNameAnnotation.value().isEmpty() ? null : queryNameAnnotation.value();
+            this.queryNameAllowOptional = queryNameAnnotation == null ? null : queryNameAnnotation.allowOptional();
+        }
+
+        String getName() {
+            return field.getName();
+        }
+
+        String getParamName(boolean parseSerializedName) {
+            if (queryName != null) {
+                return queryName;
+            }
+            if (parseSerializedName && serializedName != null) {
+                return serializedName;
+            }
+            return field.getName();
+        }
+
+        boolean isOptional(boolean recursiveOptional) {
+            return queryNameAllowOptional != null ? queryNameAllowOptional : recursiveOptional;
+        }
+
+        Object read(Object o) throws IllegalAccessException {
+            return field.get(o);
+        }
+    }
+}
@@ -0,0 +1,256 @@
+package ch.viascom.groundwork.foxhttp.ratelimit;
+
+import ch.viascom.groundwork.foxhttp.deadline.FoxHttpDeadline;
+import ch.viascom.groundwork.foxhttp.exception.FoxHttpRequestException;
+import ch.viascom.groundwork.foxhttp.type.HeaderTypes;
+import ch.viascom.groundwork.foxhttp.util.RetryAfterUtil;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.net.URLConnection;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Limits the requests per second to a host, or to all urls matching a scope pattern added with addScope. <p> Every limit is a token bucket implemented as
+ * generic cell rate algorithm: a single compare-and-set of the next allowed time reserves a permit, no lock is shared between threads. A request without
+ * permit waits up to maxWait milliseconds or is rejected with a RateLimitExceededException. If adaptive is set, the X-RateLimit-Remaining,
+ * X-RateLimit-Reset and Retry-After headers of the responses slow the requests down to the quota of the server.
+ *
+ * @author patrick.boesch@viascom.ch
+ */
+public class FoxHttpRateLimiter {
+
+    private static final int HTTP_TOO_MANY_REQUESTS = 429;
+    //Larger reset values are epoch seconds instead of a number of seconds
+    private static final long EPOCH_SECONDS = 1_000_000_000L;
+
+    @Getter
+    @Setter
+    //Milliseconds a request waits for a permit, 0 rejects it at once
+    private long maxWait = 0;
+
+    @Getter
+    @Setter
+    //Follow the rate limit headers of the server
+    private boolean adaptive = true;
+
+    @Getter
+    //Permits per second of every host without scope, 0 only applies the headers of the server
+    private final double permitsPerSecond;
+
+    @Getter
+    //Number of permits which can be used at once after a pause
+    private final int burst;
+
+    private final List<Scope> scopes = new CopyOnWriteArrayList<>();
+    private final ConcurrentMap<String, Bucket> buckets = new ConcurrentHashMap<>();
+
+    /**
+     * Create a new rate limiter
+     *
+     * @param permitsPerSecond permits per second of every host, 0 only applies the headers of the server
+     * @param burst number of permits which can be used at once after a pause
+     */
+    public FoxHttpRateLimiter(double permitsPerSecond, int burst) {
+        this.permitsPerSecond = permitsPerSecond;
+        this.burst = Math.max(1, burst);
+    }
+
+    /**
+     * Share one limit between all urls matching a pattern, e.g. the scope of an authorization
+     *
+     * @param pattern regular expression matched against the url of a request
+     * @param permitsPerSecond permits per second of the scope
+     * @param burst number of permits which can be used at once after a pause
+     */
+    public void addScope(String pattern, double permitsPerSecond, int burst) {
+        scopes.add(new Scope(Pattern.compile(pattern), permitsPerSecond, Math.max(1, burst)));
+    }
+
+    /**
+     * Take a permit for a request to an url, waits if allowed by maxWait and the deadline of the request
+     *
+     * @param url url of the request
+     * @throws RateLimitExceededException if no permit is available in time
+     * @throws FoxHttpRequestException if the thread got interrupted while waiting
+     */
+    public void acquire(URL url) throws FoxHttpRequestException {
+        Bucket bucket = getBucket(url);
+        long maxWaitMillis = maxWait;
+        long remaining = FoxHttpDeadline.getRemainingMillis();
+        if (remaining >= 0) {
+            maxWaitMillis = Math.min(maxWaitMillis, remaining);
+        }
+
+        long wait = bucket.reserve(TimeUnit.MILLISECONDS.toNanos(maxWaitMillis));
+        if (wait < 0) {
+            throw new RateLimitExceededException(bucket.key);
+        }
+        if (wait > 0) {
+            try {
+                TimeUnit.NANOSECONDS.sleep(wait);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new FoxHttpRequestException(e);
+            }
+        }
+    }
+
+    /**
+     * Adapt the limit of an url to the rate limit headers of its response
+     *
+     * @param url url of the request
+     * @param responseCode response code of the request
+     * @param connection connection with the response headers
+     */
+    public void update(URL url, int responseCode, URLConnection connection) {
+        if (!adaptive) {
+            return;
+        }
+        Bucket bucket = getBucket(url);
+        long now = System.nanoTime();
+
+        if (responseCode == HTTP_TOO_MANY_REQUESTS || responseCode == HttpURLConnection.HTTP_UNAVAILABLE) {
+            long retryAfter = RetryAfterUtil.parseRetryAfter(connection.getHeaderField(HeaderTypes.RETRY_AFTER.toString()));
+            if (retryAfter > 0) {
+                bucket.blockUntil(now + TimeUnit.MILLISECONDS.toNanos(retryAfter));
+            }
+        }
+
+        long remaining = parseLong(connection.getHeaderField(HeaderTypes.X_RATELIMIT_REMAINING.toString()));
+        long reset = parseLong(connection.getHeaderField(HeaderTypes.X_RATELIMIT_RESET.toString()));
+        if (remaining < 0 || reset < 0) {
+            return;
+        }
+        long resetMillis = reset >= EPOCH_SECONDS ? Math.max(0, reset * 1000 - System.currentTimeMillis()) : reset * 1000;
+        if (remaining == 0) {
+            bucket.blockUntil(now + TimeUnit.MILLISECONDS.toNanos(resetMillis));
+        } else {
+            //Spread the remaining quota over the time until it resets
+            bucket.adaptInterval(TimeUnit.MILLISECONDS.toNanos(resetMillis) / remaining);
+        }
+    }
+
+    /**
+     * Get the key of the limit of an url
+     *
+     * @param url url of a request
+     * @return first matching scope pattern or protocol and authority of the url
+     */
+    public String getKey(URL url) {
+        Scope scope = getScope(url);
+        return scope != null ? scope.pattern.pattern() : url.getProtocol() + "://" + url.getAuthority();
+    }
+
+    private Scope getScope(URL url) {
+        if (scopes.isEmpty()) {
+            return null;
+        }
+        String requestUrl = url.toString();
+        for (Scope scope : scopes) {
+            if (scope.pattern.matcher(requestUrl).matches()) {
+                return scope;
+            }
+        }
+        return null;
+    }
+
+    private Bucket getBucket(URL url) {
+        Scope scope = getScope(url);
+        if (scope != null) {
+            return buckets.computeIfAbsent(scope.pattern.pattern(), key -> new Bucket(key, scope.permitsPerSecond, scope.burst));
+        }
+        return buckets.computeIfAbsent(url.getProtocol() + "://" + url.getAuthority(), key -> new Bucket(key, permitsPerSecond, burst));
+    }
+
+    private static long parseLong(String value) {
+        if (value == null) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private static class Scope {
+
+        private final Pattern pattern;
+        private final double permitsPerSecond;
+        private final int burst;
+
+        private Scope(Pattern pattern, double permitsPerSecond, int burst) {
+            this.pattern = pattern;
+            this.permitsPerSecond = permitsPerSecond;
+            this.burst = burst;
+        }
+    }
+
+    /**
+     * Token bucket of one host or scope as generic cell rate algorithm
+     */
+    private static class Bucket {
+
+        private final String key;
+        private final int burst;
+        //Nanoseconds between two permits of the configured rate, 0 is unlimited
+        private final long interval;
+        //Interval asked for by the server, never shorter than the configured one
+        private volatile long adaptedInterval;
+        //Theoretical arrival time of the next request in System.nanoTime
+        private final AtomicLong nextArrival = new AtomicLong(System.nanoTime());
+
+        private Bucket(String key, double permitsPerSecond, int burst) {
+            this.key = key;
+            this.burst = burst;
+            this.interval = permitsPerSecond > 0 ? (long) (TimeUnit.SECONDS.toNanos(1) / permitsPerSecond) : 0;
+            this.adaptedInterval = interval;
+        }
+
+        /**
+         * Reserve a permit
+         *
+         * @param maxWait maximal waiting time in nanoseconds
+         * @return nanoseconds to wait before the request is sent, -1 if it would be longer than maxWait
+         */
+        private long reserve(long maxWait) {
+            while (true) {
+                long now = System.nanoTime();
+                long current = nextArrival.get();
+                long currentInterval = adaptedInterval;
+                long base = current - now > 0 ? current : now;
+                long wait = Math.max(0, base - currentInterval * (burst - 1) - now);
+                if (wait > maxWait) {
+                    return -1;
+                }
+                if (nextArrival.compareAndSet(current, base + currentInterval)) {
+                    return wait;
+                }
+            }
+        }
+
+        private void blockUntil(long until) {
+            //The first permit is available at the given time
+            long target = until + adaptedInterval * (burst - 1);
+            long current;
+            do {
+                current = nextArrival.get();
+                if (current - target >= 0) {
+                    return;
+                }
+            } while (!nextArrival.compareAndSet(current, target));
+        }
+
+        private void adaptInterval(long serverInterval) {
+            adaptedInterval = Math.max(interval, serverInterval);
+        }
+    }
+}
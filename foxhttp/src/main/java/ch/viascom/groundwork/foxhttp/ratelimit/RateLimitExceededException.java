@@ -0,0 +1,20 @@
+package ch.viascom.groundwork.foxhttp.ratelimit;
+
+import ch.viascom.groundwork.foxhttp.exception.FoxHttpRequestException;
+import lombok.Getter;
+
+/**
+ * Thrown instead of sending a request if no permit of its rate limit is available in time
+ *
+ * @author patrick.boesch@viascom.ch
+ */
+public class RateLimitExceededException extends FoxHttpRequestException {
+
+    @Getter
+    private final String key;
+
+    public RateLimitExceededException(String key) {
+        super("The rate limit of " + key + " is exceeded, the request was not sent");
+        this.key = key;
+    }
+}
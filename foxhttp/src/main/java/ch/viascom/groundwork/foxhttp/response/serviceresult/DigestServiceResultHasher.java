@@ -0,0 +1,18 @@
+package ch.viascom.groundwork.foxhttp.response.serviceresult;
+
+import ch.viascom.groundwork.foxhttp.body.response.ResponseDigest;
+
+/**
+ * Hasher which accepts a result if the body matched a Digest, Content-Digest or Content-MD5 header while it was received. <p> The check needs no second
+ * serialization of the content. Responses without a checked digest header are hashed like with the DefaultServiceResultHasher. The client has to check the
+ * digests ({@link ch.viascom.groundwork.foxhttp.builder.FoxHttpClientBuilder#setVerifyResponseDigest(boolean)}).
+ *
+ * @author patrick.boesch@viascom.ch
+ */
+public class DigestServiceResultHasher extends DefaultServiceResultHasher {
+
+    @Override
+    public boolean verifyDigest(Object result, ResponseDigest responseDigest) {
+        return responseDigest != null && responseDigest.isVerified();
+    }
+}
@@ -0,0 +1,24 @@
+package ch.viascom.groundwork.foxhttp.response.serviceresult;
+
+import ch.viascom.groundwork.foxhttp.body.response.ResponseDigest;
+import ch.viascom.groundwork.foxhttp.response.FoxHttpResultHasher;
+
+/**
+ * @author patrick.boesch@viascom.ch
+ */
+@FunctionalInterface
+public interface FoxHttpServiceResultHasher extends FoxHttpResultHasher {
+
+    String hash(Object result, String rawBody);
+
+    /**
+     * Check a result with the digests which were computed while the body was received
+     *
+     * @param result deserialized service result
+     * @param responseDigest digests of the body or null if none were computed
+     * @return true if the digests prove the integrity of the result, false to compare the hash of the result
+     */
+    default boolean verifyDigest(Object result, ResponseDigest responseDigest) {
+        return false;
+    }
+}
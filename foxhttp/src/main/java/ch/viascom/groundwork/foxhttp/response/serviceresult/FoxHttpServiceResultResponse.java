@@ -17,28 +17,43 @@ import ch.viascom.groundwork.serviceresult.exception.ServiceFault;
 import ch.viascom.groundwork.serviceresult.util.Metadata;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
-import com.google.gson.reflect.TypeToken;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
 import java.io.BufferedReader;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.Reader;
 import java.io.Serializable;
 import java.lang.reflect.Type;
 import java.nio.charset.Charset;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
 import lombok.AccessLevel;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
 import org.joda.time.DateTime;
 
 /**
  * @author patrick.boesch@viascom.ch
  */
 @Data
+@ToString(exclude = {"envelopeTree", "contentTree", "results", "checkedTypes"})
+@EqualsAndHashCode(exclude = {"envelopeTree", "contentTree", "results", "checkedTypes"})
 public class FoxHttpServiceResultResponse implements FoxHttpResponseParser {
 
+    //Gson is thread-safe, the default parser is built once instead of per response
+    private static final Gson DEFAULT_PARSER = createParser(new GsonBuilder());
+    private static final String CONTENT = "content";
+
     private ServiceResultStatus status;
     private String type;
     @Getter(AccessLevel.PRIVATE)
@@ -57,6 +72,21 @@ public class FoxHttpServiceResultResponse implements FoxHttpResponseParser {
     private FoxHttpServiceResultHasher objectHasher;
     private Charset charset = Charset.forName("UTF-8");
 
+    //Parsed body without and with only the content
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private JsonObject envelopeTree;
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private JsonElement contentTree;
+    //Results bound per content type and the types with a checked hash
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private Map<Type, ServiceResult<?>> results = new HashMap<>();
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private Set<Type> checkedTypes = new HashSet<>();
+
 
     /**
      * Create a new FoxHttpServiceResultParser
@@ -106,23 +136,29 @@ public class FoxHttpServiceResultResponse implements FoxHttpResponseParser {
             foxHttpClient.getFoxHttpLogger().log(FoxHttpLoggerLevel.INFO, "DefaultServiceResultFaultInterceptor is not registered on this client !");
         }
 
-        if (customParserBuilder == null) {
-            customParserBuilder = new GsonBuilder();
-        }
+        this.parser = customParserBuilder == null ? DEFAULT_PARSER : createParser(customParserBuilder);
 
-        customParserBuilder.registerTypeAdapter(Metadata.class, new MetaDataDeserializer());
-        customParserBuilder.registerTypeAdapter(DateTime.class, new DateTimeTypeAdapter());
-        this.parser = customParserBuilder.create();
+        //The body is parsed once into a tree, the content is bound from the tree when it is requested
+        try (Reader reader = new InputStreamReader(getInputStreamBody(), charset)) {
+            JsonElement tree = parser.fromJson(reader, JsonElement.class);
+            if (tree == null || !tree.isJsonObject()) {
+                throw new FoxHttpResponseException("The body does not contain a service result");
+            }
+            this.contentTree = tree.getAsJsonObject().get(CONTENT);
+            this.envelopeTree = new JsonObject();
+            for (Map.Entry<String, JsonElement> member : tree.getAsJsonObject().entrySet()) {
+                if (!CONTENT.equals(member.getKey())) {
+                    envelopeTree.add(member.getKey(), member.getValue());
+                }
+            }
 
-        try {
-            String body = getStringBody();
-            ServiceResult result = parser.fromJson(body, ServiceResult.class);
+            ServiceResult result = parser.fromJson(envelopeTree, ServiceResult.class);
             this.type = result.getType();
             this.hash = result.getHash();
             this.destination = result.getDestination();
             this.metadata = result.getMetadata();
             this.status = result.getStatus();
-        } catch (IOException e) {
+        } catch (IOException | JsonParseException e) {
             throw new FoxHttpResponseException(e);
         }
 
@@ -138,6 +174,12 @@ public class FoxHttpServiceResultResponse implements FoxHttpResponseParser {
         this.objectHasher = objectHasher;
     }
 
+    private static Gson createParser(GsonBuilder parserBuilder) {
+        parserBuilder.registerTypeAdapter(Metadata.class, new MetaDataDeserializer());
+        parserBuilder.registerTypeAdapter(DateTime.class, new DateTimeTypeAdapter());
+        return parserBuilder.create();
+    }
+
     private boolean isDefaultServiceResultFaultInterceptorPresent() {
         return !this.foxHttpClient.getFoxHttpInterceptorStrategy().getFoxHttpInterceptors().isEmpty() && !this.foxHttpClient.getFoxHttpInterceptorStrategy()
                                                                                                                             .getInterceptorsByClass(FoxHttpInterceptorType.RESPONSE,
@@ -249,33 +291,61 @@ public class FoxHttpServiceResultResponse implements FoxHttpResponseParser {
      */
     @SuppressWarnings("unchecked")
     public <T extends Serializable> T getContent(Class<T> contentClass, boolean checkHash) throws FoxHttpResponseException {
-        try {
-
-            Type parameterizedType = new ServiceResultParameterizedType(contentClass);
-
-            String body = getStringBody();
-
-            ServiceResult<T> result = parser.fromJson(body, parameterizedType);
-            foxHttpClient.getFoxHttpLogger().log(FoxHttpLoggerLevel.DEBUG, "processServiceResult(" + result + ")");
-            this.content = result.getContent();
+        ServiceResult<T> result = getResult(contentClass, checkHash);
+        foxHttpClient.getFoxHttpLogger().log(FoxHttpLoggerLevel.DEBUG, "processServiceResult(" + result + ")");
+        this.content = result.getContent();
+        return (T) this.content;
+    }
 
-            checkHash(checkHash, body, result);
+    /**
+     * Get the service result with the content bound to a type <i>every type is bound and checked only once</i>
+     */
+    @SuppressWarnings("unchecked")
+    private <T extends Serializable> ServiceResult<T> getResult(Type contentType, boolean checkHash) throws FoxHttpResponseException {
+        if (envelopeTree == null) {
+            throw new FoxHttpResponseException("The service result has not been parsed from a response");
+        }
+        try {
+            ServiceResult<T> result = (ServiceResult<T>) results.get(contentType);
+            if (result == null) {
+                //ServiceResult.setContent would overwrite the received hash, the content is bound together with the envelope instead
+                JsonObject resultTree = new JsonObject();
+                for (Map.Entry<String, JsonElement> member : envelopeTree.entrySet()) {
+                    resultTree.add(member.getKey(), member.getValue());
+                }
+                if (contentTree != null) {
+                    resultTree.add(CONTENT, contentTree);
+                }
+                result = parser.fromJson(resultTree, new ServiceResultParameterizedType(contentType));
+                results.put(contentType, result);
+            }
 
-            return (T) this.content;
-        } catch (IOException e) {
+            if (checkHash && objectHasher != null && !checkedTypes.contains(contentType)) {
+                checkHash(result);
+                checkedTypes.add(contentType);
+            }
+            return result;
+        } catch (JsonParseException e) {
             throw new FoxHttpResponseException(e);
         }
-
     }
 
-    private void checkHash(boolean checkHash, String body, ServiceResult<?> result) throws FoxHttpResponseException {
-        if (checkHash && objectHasher != null) {
-            foxHttpClient.getFoxHttpLogger().log(FoxHttpLoggerLevel.INFO, "checkHash(" + result.getHash() + ")");
-            if (!objectHasher.hash(result, body).equals(result.getHash())) {
-                throw new FoxHttpResponseException("Hash not Equal!");
-            }
-            foxHttpClient.getFoxHttpLogger().log(FoxHttpLoggerLevel.INFO, "-> successful");
+    private void checkHash(ServiceResult<?> result) throws FoxHttpResponseException {
+        foxHttpClient.getFoxHttpLogger().log(FoxHttpLoggerLevel.INFO, "checkHash(" + result.getHash() + ")");
+        if (objectHasher.verifyDigest(result, responseBody.getDigest())) {
+            foxHttpClient.getFoxHttpLogger().log(FoxHttpLoggerLevel.INFO, "-> successful (body digest)");
+            return;
+        }
+        String body;
+        try {
+            body = getStringBody();
+        } catch (IOException e) {
+            throw new FoxHttpResponseException(e);
+        }
+        if (!objectHasher.hash(result, body).equals(result.getHash())) {
+            throw new FoxHttpResponseException("Hash not Equal!");
         }
+        foxHttpClient.getFoxHttpLogger().log(FoxHttpLoggerLevel.INFO, "-> successful");
     }
 
     /**
@@ -296,20 +366,8 @@ public class FoxHttpServiceResultResponse implements FoxHttpResponseParser {
      * @throws FoxHttpResponseException Exception during the deserialization
      */
     public ServiceFault getFault(boolean checkHash) throws FoxHttpResponseException {
-        try {
-
-            String body = getStringBody();
-
-            ServiceResult<ServiceFault> result = parser.fromJson(body, new TypeToken<ServiceResult<ServiceFault>>() {
-            }.getType());
-            foxHttpClient.getFoxHttpLogger().log(FoxHttpLoggerLevel.INFO, "processFault(" + result + ")");
-
-            checkHash(checkHash, body, result);
-
-            return result.getContent();
-        } catch (IOException e) {
-            throw new FoxHttpResponseException(e);
-        }
-
+        ServiceResult<ServiceFault> result = getResult(ServiceFault.class, checkHash);
+        foxHttpClient.getFoxHttpLogger().log(FoxHttpLoggerLevel.INFO, "processFault(" + result + ")");
+        return result.getContent();
     }
 }
@@ -0,0 +1,84 @@
+package ch.viascom.groundwork.foxhttp.response.stream;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * Line reader with a maximal line length. <p> Accepts \n, \r and \r\n as line terminator and fails instead of buffering a line without end.
+ *
+ * @author patrick.boesch@viascom.ch
+ */
+public class BoundedLineReader implements Closeable {
+
+    private static final int BUFFER_SIZE = 8192;
+
+    private final Reader reader;
+    private final int maxLineLength;
+    private final char[] buffer = new char[BUFFER_SIZE];
+    private int position = 0;
+    private int limit = 0;
+    private boolean skipLineFeed = false;
+
+    public BoundedLineReader(Reader reader, int maxLineLength) {
+        this.reader = reader;
+        this.maxLineLength = maxLineLength;
+    }
+
+    /**
+     * Read the next line without line terminator
+     *
+     * @return next line or null at the end of the stream
+     * @throws IOException if the stream could not be read
+     * @throws EventTooLargeException if the line is longer than the maximal line length
+     */
+    public String readLine() throws IOException {
+        StringBuilder line = null;
+        while (true) {
+            if (position >= limit && !fill()) {
+                return line == null ? null : line.toString();
+            }
+            if (skipLineFeed) {
+                skipLineFeed = false;
+                if (buffer[position] == '\n') {
+                    position++;
+                    continue;
+                }
+            }
+
+            int start = position;
+            while (position < limit && buffer[position] != '\n' && buffer[position] != '\r') {
+                position++;
+            }
+
+            if (line == null) {
+                line = new StringBuilder();
+            }
+            if (line.length() + position - start > maxLineLength) {
+                throw new EventTooLargeException("Line exceeds the maximal length of " + maxLineLength + " characters");
+            }
+            line.append(buffer, start, position - start);
+
+            if (position < limit) {
+                skipLineFeed = buffer[position] == '\r';
+                position++;
+                return line.toString();
+            }
+        }
+    }
+
+    private boolean fill() throws IOException {
+        int read = reader.read(buffer, 0, buffer.length);
+        if (read <= 0) {
+            return false;
+        }
+        position = 0;
+        limit = read;
+        return true;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
@@ -0,0 +1,16 @@
+package ch.viascom.groundwork.foxhttp.response.stream;
+
+import java.io.IOException;
+
+/**
+ * Thrown by an event decoder if a line or an event exceeds the maximal event size <p> A reconnect would receive the same event again, so the event source
+ * stops instead.
+ *
+ * @author patrick.boesch@viascom.ch
+ */
+public class EventTooLargeException extends IOException {
+
+    public EventTooLargeException(String message) {
+        super(message);
+    }
+}
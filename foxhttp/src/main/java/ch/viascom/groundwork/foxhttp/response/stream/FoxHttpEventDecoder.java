@@ -0,0 +1,34 @@
+package ch.viascom.groundwork.foxhttp.response.stream;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Decodes events from a streamed response body
+ *
+ * @author patrick.boesch@viascom.ch
+ */
+public interface FoxHttpEventDecoder<T> extends Closeable {
+
+    /**
+     * Read the next event <i>blocks until a complete event is received</i>
+     *
+     * @return next event or null at the end of the stream
+     * @throws IOException if the stream could not be read or contains an invalid event
+     */
+    T read() throws IOException;
+
+    /**
+     * @return id of the last received event, used to resume the stream after a reconnect
+     */
+    default String getLastEventId() {
+        return null;
+    }
+
+    /**
+     * @return reconnection time in milliseconds requested by the server or -1
+     */
+    default long getRetry() {
+        return -1;
+    }
+}
@@ -0,0 +1,14 @@
+package ch.viascom.groundwork.foxhttp.response.stream;
+
+import ch.viascom.groundwork.foxhttp.exception.FoxHttpException;
+
+/**
+ * Receives the events of a streamed response in the order they arrive
+ *
+ * @author patrick.boesch@viascom.ch
+ */
+@FunctionalInterface
+public interface FoxHttpEventListener<T> {
+
+    void onEvent(T event) throws FoxHttpException;
+}
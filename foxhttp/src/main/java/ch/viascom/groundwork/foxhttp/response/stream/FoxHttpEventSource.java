@@ -0,0 +1,187 @@
+package ch.viascom.groundwork.foxhttp.response.stream;
+
+import ch.viascom.groundwork.foxhttp.FoxHttpRequest;
+import ch.viascom.groundwork.foxhttp.FoxHttpResponse;
+import ch.viascom.groundwork.foxhttp.exception.FoxHttpException;
+import ch.viascom.groundwork.foxhttp.exception.FoxHttpResponseException;
+import ch.viascom.groundwork.foxhttp.parser.GsonParser;
+import ch.viascom.groundwork.foxhttp.type.HeaderTypes;
+import java.io.Closeable;
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.net.HttpURLConnection;
+import java.nio.charset.StandardCharsets;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Consumes a streamed response event by event and reconnects if the connection gets lost. <p> The request is executed with the configuration of its client
+ * (authorization, placeholders, interceptors). On a reconnect the id of the last received event is sent in the Last-Event-ID header.
+ *
+ * @author patrick.boesch@viascom.ch
+ */
+public class FoxHttpEventSource<T> implements Closeable {
+
+    public static final long DEFAULT_RECONNECT_DELAY = 3000;
+    public static final int DEFAULT_MAX_EVENT_SIZE = 1024 * 1024;
+
+    private final FoxHttpRequest foxHttpRequest;
+    private final EventDecoderFactory<T> decoderFactory;
+
+    @Getter
+    @Setter
+    //Delay between two connections in milliseconds, a retry field of the server overrides it
+    private long reconnectDelay = DEFAULT_RECONNECT_DELAY;
+
+    @Getter
+    @Setter
+    //Maximal number of reconnects without receiving an event, -1 for unlimited
+    private int maxReconnects;
+
+    @Getter
+    @Setter
+    //Maximal number of characters of one line or event
+    private int maxEventSize = DEFAULT_MAX_EVENT_SIZE;
+
+    @Getter
+    @Setter
+    private String lastEventId;
+
+    private volatile boolean closed = false;
+
+    public FoxHttpEventSource(FoxHttpRequest foxHttpRequest, EventDecoderFactory<T> decoderFactory, int maxReconnects) {
+        this.foxHttpRequest = foxHttpRequest;
+        this.decoderFactory = decoderFactory;
+        this.maxReconnects = maxReconnects;
+        this.foxHttpRequest.setStreamResponseBody(true);
+    }
+
+    /**
+     * Create an event source for a text/event-stream response <i>reconnects without limit</i>
+     *
+     * @param foxHttpRequest request of the event stream
+     * @return event source of server-sent events
+     */
+    public static FoxHttpEventSource<ServerSentEvent> serverSentEvents(FoxHttpRequest foxHttpRequest) {
+        setAcceptIfNotExist(foxHttpRequest, "text/event-stream");
+        return new FoxHttpEventSource<>(foxHttpRequest, (response, lastEventId, maxEventSize) -> new ServerSentEventDecoder(response.getInputStreamBody(), lastEventId, maxEventSize), -1);
+    }
+
+    /**
+     * Create an event source for an application/x-ndjson response <i>does not reconnect</i>
+     *
+     * @param foxHttpRequest request of the json stream
+     * @param type type of the json values
+     * @param <T> type of the json values
+     * @return event source of the parsed lines
+     */
+    public static <T> FoxHttpEventSource<T> ndJson(FoxHttpRequest foxHttpRequest, Type type) {
+        setAcceptIfNotExist(foxHttpRequest, "application/x-ndjson");
+        return new FoxHttpEventSource<>(foxHttpRequest,
+            (response, lastEventId, maxEventSize) -> new NdJsonDecoder<>(response.getInputStreamBody(), StandardCharsets.UTF_8,
+                GsonParser.getGson(response.getFoxHttpClient().getFoxHttpResponseParser()), type, maxEventSize), 0);
+    }
+
+    /**
+     * Execute the request and pass every event to the listener <i>blocks until the stream ends, the source gets closed or a listener fails</i>
+     *
+     * @param listener listener of the events
+     * @throws FoxHttpException if the request failed and no reconnect is left, the server responds with an error, an event exceeds the maximal event size or
+     * the listener fails
+     */
+    public void consume(FoxHttpEventListener<T> listener) throws FoxHttpException {
+        int reconnects = 0;
+        while (!closed) {
+            if (lastEventId != null) {
+                foxHttpRequest.getRequestHeader().removeHeader(HeaderTypes.LAST_EVENT_ID.toString());
+                foxHttpRequest.getRequestHeader().addHeader(HeaderTypes.LAST_EVENT_ID, lastEventId);
+            }
+
+            FoxHttpEventDecoder<T> decoder = null;
+            FoxHttpException listenerFailure = null;
+            try (FoxHttpResponse response = foxHttpRequest.execute()) {
+                if (response.getResponseCode() == HttpURLConnection.HTTP_NO_CONTENT) {
+                    //The server asks to stop reconnecting
+                    return;
+                }
+                if (response.getResponseCode() < HttpURLConnection.HTTP_OK || response.getResponseCode() >= HttpURLConnection.HTTP_MULT_CHOICE) {
+                    throw new FoxHttpResponseException("Event stream responded with " + response.getResponseCode());
+                }
+
+                decoder = decoderFactory.create(response, lastEventId, maxEventSize);
+                T event;
+                while (!closed && (event = decoder.read()) != null) {
+                    lastEventId = decoder.getLastEventId();
+                    reconnects = 0;
+                    try {
+                        listener.onEvent(event);
+                    } catch (FoxHttpException e) {
+                        //A failing listener is not a lost connection and must not trigger a reconnect
+                        listenerFailure = e;
+                        break;
+                    }
+                }
+            } catch (FoxHttpResponseException e) {
+                throw e;
+            } catch (EventTooLargeException e) {
+                //The server would send the same event again after a reconnect
+                close();
+                throw new FoxHttpResponseException(e);
+            } catch (FoxHttpException | IOException e) {
+                if (listenerFailure == null && !closed && maxReconnects != -1 && reconnects >= maxReconnects) {
+                    throw e instanceof FoxHttpException ? (FoxHttpException) e : new FoxHttpResponseException(e);
+                }
+            }
+
+            if (listenerFailure != null) {
+                throw listenerFailure;
+            }
+            //The retry field also applies if the connection got lost
+            if (decoder != null && decoder.getRetry() >= 0) {
+                reconnectDelay = decoder.getRetry();
+            }
+            if (closed || (maxReconnects != -1 && reconnects >= maxReconnects)) {
+                return;
+            }
+            reconnects++;
+            waitForReconnect();
+        }
+    }
+
+    /**
+     * Stop consuming <i>aborts the open connection</i>
+     */
+    @Override
+    public void close() {
+        closed = true;
+        foxHttpRequest.abort();
+    }
+
+    public boolean isClosed() {
+        return closed;
+    }
+
+    private void waitForReconnect() {
+        try {
+            Thread.sleep(reconnectDelay);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            closed = true;
+        }
+    }
+
+    private static void setAcceptIfNotExist(FoxHttpRequest foxHttpRequest, String accept) {
+        if (foxHttpRequest.getRequestHeader().getHeader(HeaderTypes.ACCEPT.toString()) == null) {
+            foxHttpRequest.getRequestHeader().addHeader(HeaderTypes.ACCEPT, accept);
+        }
+    }
+
+    /**
+     * Creates the decoder for the body of each connection
+     */
+    @FunctionalInterface
+    public interface EventDecoderFactory<T> {
+
+        FoxHttpEventDecoder<T> create(FoxHttpResponse response, String lastEventId, int maxEventSize) throws IOException;
+    }
+}
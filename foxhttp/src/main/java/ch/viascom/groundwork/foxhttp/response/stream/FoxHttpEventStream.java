@@ -0,0 +1,151 @@
+package ch.viascom.groundwork.foxhttp.response.stream;
+
+import ch.viascom.groundwork.foxhttp.async.FoxHttpAsync;
+import java.io.Closeable;
+import java.io.UncheckedIOException;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Iterator over the events of a {@link FoxHttpEventSource}. <p> The source is consumed on an executor into a bounded buffer, by default on the shared
+ * executor of FoxHttpAsync. If the buffer is full the consumer stops reading from the connection until the caller takes the next event.
+ *
+ * @author patrick.boesch@viascom.ch
+ */
+public class FoxHttpEventStream<T> implements Iterator<T>, Closeable {
+
+    private static final Object END = new Object();
+    private static final long POLL_TIMEOUT = 100;
+
+    private final FoxHttpEventSource<T> eventSource;
+    private final BlockingQueue<Object> buffer;
+
+    private Object next;
+    private volatile boolean closed = false;
+
+    /**
+     * Create a new FoxHttpEventStream and start consuming the source on the shared executor of FoxHttpAsync
+     *
+     * @param eventSource source of the events
+     * @param bufferSize maximal number of buffered events
+     */
+    public FoxHttpEventStream(FoxHttpEventSource<T> eventSource, int bufferSize) {
+        this(eventSource, bufferSize, FoxHttpAsync.getDefaultExecutor());
+    }
+
+    /**
+     * Create a new FoxHttpEventStream and start consuming the source
+     *
+     * @param eventSource source of the events
+     * @param bufferSize maximal number of buffered events
+     * @param executor executor of the consumer, it occupies one thread until the stream ends or gets closed
+     */
+    public FoxHttpEventStream(FoxHttpEventSource<T> eventSource, int bufferSize, Executor executor) {
+        this.eventSource = eventSource;
+        this.buffer = new ArrayBlockingQueue<>(bufferSize);
+        try {
+            executor.execute(this::consume);
+        } catch (RejectedExecutionException e) {
+            buffer.add(new Failure(e));
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        try {
+            while (next == null && !closed) {
+                next = buffer.poll(POLL_TIMEOUT, TimeUnit.MILLISECONDS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            close();
+            return false;
+        }
+        if (next == null || next == END) {
+            close();
+            return false;
+        }
+        if (next instanceof Failure) {
+            Throwable cause = ((Failure) next).cause;
+            next = END;
+            close();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new UncheckedIOException(new IOException("Event stream failed: " + cause.getMessage(), cause));
+        }
+        return true;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public T next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        T event = (T) next;
+        next = null;
+        return event;
+    }
+
+    /**
+     * Get a sequential stream over the remaining events <i>closing the stream closes this iterator</i>
+     *
+     * @return stream of the remaining events
+     */
+    public Stream<T> stream() {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(this, Spliterator.ORDERED), false).onClose(this::close);
+    }
+
+    /**
+     * Stop consuming and discard the buffered events
+     */
+    @Override
+    public void close() {
+        if (!closed) {
+            closed = true;
+            eventSource.close();
+            buffer.clear();
+        }
+    }
+
+    private void consume() {
+        try {
+            eventSource.consume(this::enqueue);
+            enqueue(END);
+        } catch (Exception e) {
+            enqueue(new Failure(e));
+        }
+    }
+
+    private void enqueue(Object element) {
+        try {
+            while (!closed) {
+                if (buffer.offer(element, POLL_TIMEOUT, TimeUnit.MILLISECONDS)) {
+                    return;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static final class Failure {
+
+        private final Throwable cause;
+
+        private Failure(Throwable cause) {
+            this.cause = cause;
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package ch.viascom.groundwork.foxhttp.response.stream;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import com.google.gson.TypeAdapter;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Type;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Iterator which parses the elements of a json array one by one from a reader. <p> Only the current element is held in memory. The reader gets closed after the
+ * last element or when the iterator is closed.
+ *
+ * @author patrick.boesch@viascom.ch
+ */
+public class JsonArrayIterator<T> implements Iterator<T>, Closeable {
+
+    private final JsonReader jsonReader;
+    private final TypeAdapter<T> typeAdapter;
+    private boolean closed = false;
+
+    /**
+     * Create a new JsonArrayIterator and move the reader to the beginning of the array
+     *
+     * @param reader reader of the json document
+     * @param gson gson instance used to parse the elements
+     * @param elementType type of the array elements
+     * @param jsonPointer JSON pointer (RFC 6901) to the array, empty for a top-level array
+     * @throws IOException if the document could not be read or the pointer does not point to an array
+     */
+    @SuppressWarnings("unchecked")
+    public JsonArrayIterator(Reader reader, Gson gson, Type elementType, String jsonPointer) throws IOException {
+        this.jsonReader = gson.newJsonReader(reader);
+        this.typeAdapter = (TypeAdapter<T>) gson.getAdapter(TypeToken.get(elementType));
+
+        moveToPointer(jsonPointer);
+        if (jsonReader.peek() != JsonToken.BEGIN_ARRAY) {
+            throw new IOException("Expected a json array at '" + jsonPointer + "' but found " + jsonReader.peek());
+        }
+        jsonReader.beginArray();
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (closed) {
+            return false;
+        }
+        try {
+            if (jsonReader.hasNext()) {
+                return true;
+            }
+            close();
+            return false;
+        } catch (IOException e) {
+            closeQuietly();
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public T next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        try {
+            return typeAdapter.read(jsonReader);
+        } catch (IOException e) {
+            closeQuietly();
+            throw new UncheckedIOException(e);
+        } catch (JsonParseException e) {
+            closeQuietly();
+            throw e;
+        }
+    }
+
+    /**
+     * Get a sequential stream over the remaining elements <i>closing the stream closes this iterator</i>
+     *
+     * @return stream of the remaining elements
+     */
+    public Stream<T> stream() {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(this, Spliterator.ORDERED), false).onClose(this::closeQuietly);
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (!closed) {
+            closed = true;
+            jsonReader.close();
+        }
+    }
+
+    private void closeQuietly() {
+        try {
+            close();
+        } catch (IOException e) {
+            //Nothing to do if the stream is already broken
+        }
+    }
+
+    private void moveToPointer(String jsonPointer) throws IOException {
+        if (jsonPointer == null || jsonPointer.isEmpty()) {
+            return;
+        }
+        if (!jsonPointer.startsWith("/")) {
+            throw new IOException("JSON pointer has to start with '/': " + jsonPointer);
+        }
+
+        for (String escapedToken : jsonPointer.substring(1).split("/", -1)) {
+            String token = escapedToken.replace("~1", "/").replace("~0", "~");
+            JsonToken jsonToken = jsonReader.peek();
+            if (jsonToken == JsonToken.BEGIN_OBJECT) {
+                moveToMember(token, jsonPointer);
+            } else if (jsonToken == JsonToken.BEGIN_ARRAY) {
+                moveToIndex(token, jsonPointer);
+            } else {
+                throw new IOException("JSON pointer '" + jsonPointer + "' can not be resolved at '" + token + "'");
+            }
+        }
+    }
+
+    private void moveToMember(String name, String jsonPointer) throws IOException {
+        jsonReader.beginObject();
+        while (jsonReader.hasNext()) {
+            if (jsonReader.nextName().equals(name)) {
+                return;
+            }
+            jsonReader.skipValue();
+        }
+        throw new IOException("JSON pointer '" + jsonPointer + "' can not be resolved, member '" + name + "' not found");
+    }
+
+    private void moveToIndex(String token, String jsonPointer) throws IOException {
+        int index;
+        try {
+            index = Integer.parseInt(token);
+        } catch (NumberFormatException e) {
+            throw new IOException("JSON pointer '" + jsonPointer + "' can not be resolved, '" + token + "' is not an array index");
+        }
+        jsonReader.beginArray();
+        for (int i = 0; i < index; i++) {
+            if (!jsonReader.hasNext()) {
+                throw new IOException("JSON pointer '" + jsonPointer + "' can not be resolved, index " + index + " out of bounds");
+            }
+            jsonReader.skipValue();
+        }
+        if (!jsonReader.hasNext()) {
+            throw new IOException("JSON pointer '" + jsonPointer + "' can not be resolved, index " + index + " out of bounds");
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package ch.viascom.groundwork.foxhttp.response.stream;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import com.google.gson.TypeAdapter;
+import com.google.gson.reflect.TypeToken;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.lang.reflect.Type;
+import java.nio.charset.Charset;
+
+/**
+ * Decoder for newline delimited json (application/x-ndjson) bodies <i>empty lines are skipped</i>
+ *
+ * @author patrick.boesch@viascom.ch
+ */
+public class NdJsonDecoder<T> implements FoxHttpEventDecoder<T> {
+
+    private final BoundedLineReader lineReader;
+    private final TypeAdapter<T> typeAdapter;
+
+    /**
+     * Create a new NdJsonDecoder
+     *
+     * @param inputStream ndjson body
+     * @param charset charset of the body
+     * @param gson gson instance used to parse the lines
+     * @param type type of the json values
+     * @param maxLineLength maximal number of characters of one line
+     */
+    @SuppressWarnings("unchecked")
+    public NdJsonDecoder(InputStream inputStream, Charset charset, Gson gson, Type type, int maxLineLength) {
+        this.lineReader = new BoundedLineReader(new InputStreamReader(inputStream, charset), maxLineLength);
+        this.typeAdapter = (TypeAdapter<T>) gson.getAdapter(TypeToken.get(type));
+    }
+
+    @Override
+    public T read() throws IOException {
+        String line;
+        while ((line = lineReader.readLine()) != null) {
+            if (!line.trim().isEmpty()) {
+                try {
+                    return typeAdapter.fromJson(line);
+                } catch (JsonParseException e) {
+                    throw new IOException("Invalid ndjson line: " + e.getMessage(), e);
+                }
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public void close() throws IOException {
+        lineReader.close();
+    }
+}
@@ -0,0 +1,22 @@
+package ch.viascom.groundwork.foxhttp.response.stream;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Event of a text/event-stream response
+ *
+ * @author patrick.boesch@viascom.ch
+ */
+@Data
+@AllArgsConstructor
+public class ServerSentEvent {
+
+    //Last event id of the stream at the time of this event
+    private String id;
+    //Event type, "message" if the server did not define one
+    private String event;
+    private String data;
+    //Reconnection time in milliseconds or -1 if the server did not define one
+    private long retry;
+}
@@ -0,0 +1,115 @@
+package ch.viascom.groundwork.foxhttp.response.stream;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Decoder for text/event-stream bodies as defined by the HTML server-sent events specification
+ *
+ * @author patrick.boesch@viascom.ch
+ */
+public class ServerSentEventDecoder implements FoxHttpEventDecoder<ServerSentEvent> {
+
+    private static final String DEFAULT_EVENT = "message";
+
+    private final BoundedLineReader lineReader;
+    private final int maxEventSize;
+
+    private String lastEventId;
+    private long retry = -1;
+
+    /**
+     * Create a new ServerSentEventDecoder
+     *
+     * @param inputStream event stream body
+     * @param lastEventId last event id of a previous connection or null
+     * @param maxEventSize maximal number of characters of a line and of the data of one event
+     */
+    public ServerSentEventDecoder(InputStream inputStream, String lastEventId, int maxEventSize) {
+        this.lineReader = new BoundedLineReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8), maxEventSize);
+        this.lastEventId = lastEventId;
+        this.maxEventSize = maxEventSize;
+    }
+
+    @Override
+    public ServerSentEvent read() throws IOException {
+        String eventType = null;
+        StringBuilder data = null;
+
+        String line;
+        while ((line = lineReader.readLine()) != null) {
+            if (line.isEmpty()) {
+                //Dispatch the event
+                if (data != null) {
+                    return new ServerSentEvent(lastEventId, eventType == null ? DEFAULT_EVENT : eventType, data.toString(), retry);
+                }
+                eventType = null;
+                continue;
+            }
+            if (line.charAt(0) == ':') {
+                //Comment
+                continue;
+            }
+
+            String field = line;
+            String value = "";
+            int colon = line.indexOf(':');
+            if (colon != -1) {
+                field = line.substring(0, colon);
+                value = line.substring(colon + 1);
+                if (value.startsWith(" ")) {
+                    value = value.substring(1);
+                }
+            }
+
+            switch (field) {
+                case "event":
+                    eventType = value;
+                    break;
+                case "data":
+                    if (data == null) {
+                        data = new StringBuilder(value);
+                    } else {
+                        if (data.length() + value.length() + 1 > maxEventSize) {
+                            throw new EventTooLargeException("Event data exceeds the maximal size of " + maxEventSize + " characters");
+                        }
+                        data.append('\n').append(value);
+                    }
+                    break;
+                case "id":
+                    if (value.indexOf('\u0000') == -1) {
+                        lastEventId = value;
+                    }
+                    break;
+                case "retry":
+                    if (!value.isEmpty() && value.chars().allMatch(Character::isDigit)) {
+                        retry = Long.parseLong(value);
+                    }
+                    break;
+                default:
+                    //Unknown fields are ignored
+                    break;
+            }
+        }
+
+        //An incomplete event at the end of the stream is discarded
+        return null;
+    }
+
+    @Override
+    public String getLastEventId() {
+        return lastEventId;
+    }
+
+    @Override
+    public long getRetry() {
+        return retry;
+    }
+
+    @Override
+    public void close() throws IOException {
+        lineReader.close();
+    }
+}
@@ -0,0 +1,23 @@
+package ch.viascom.groundwork.foxhttp.retry;
+
+import ch.viascom.groundwork.foxhttp.FoxHttpRequest;
+import lombok.ToString;
+
+/**
+ * Never sends a request again
+ *
+ * @author patrick.boesch@viascom.ch
+ */
+@ToString
+public class DefaultRetryStrategy implements FoxHttpRetryStrategy {
+
+    @Override
+    public boolean isRetryable(FoxHttpRequest request) {
+        return false;
+    }
+
+    @Override
+    public long getRetryDelay(FoxHttpRetryContext context) {
+        return -1;
+    }
+}
@@ -0,0 +1,25 @@
+package ch.viascom.groundwork.foxhttp.retry;
+
+import ch.viascom.groundwork.foxhttp.FoxHttpRequest;
+import ch.viascom.groundwork.foxhttp.FoxHttpResponse;
+import ch.viascom.groundwork.foxhttp.exception.FoxHttpException;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Result of one attempt of a request
+ *
+ * @author patrick.boesch@viascom.ch
+ */
+@Getter
+@AllArgsConstructor
+public class FoxHttpRetryContext {
+
+    private FoxHttpRequest request;
+    //Number of the attempt, starting with 1
+    private int attempt;
+    //Response of the attempt, null if it failed with an exception
+    private FoxHttpResponse response;
+    //Exception of the attempt, null if a response was received
+    private FoxHttpException exception;
+}
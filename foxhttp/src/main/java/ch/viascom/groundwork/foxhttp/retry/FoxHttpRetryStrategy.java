@@ -0,0 +1,25 @@
+package ch.viascom.groundwork.foxhttp.retry;
+
+import ch.viascom.groundwork.foxhttp.FoxHttpRequest;
+
+/**
+ * @author patrick.boesch@viascom.ch
+ */
+public interface FoxHttpRetryStrategy {
+
+    /**
+     * Checks if the request may be sent again at all, e.g. by its method and body
+     *
+     * @param request request which gets executed
+     * @return true if getRetryDelay is asked after every attempt
+     */
+    boolean isRetryable(FoxHttpRequest request);
+
+    /**
+     * Decide if a request is sent again <i>called after every attempt of a retryable request, also the successful ones</i>
+     *
+     * @param context result of the attempt
+     * @return delay in milliseconds before the next attempt, a negative value ends the execution with the result of this attempt
+     */
+    long getRetryDelay(FoxHttpRetryContext context);
+}
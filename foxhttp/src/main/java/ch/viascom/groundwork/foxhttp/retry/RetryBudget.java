@@ -0,0 +1,68 @@
+package ch.viascom.groundwork.foxhttp.retry;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket which stops retries while most requests fail. <p> Every failed attempt takes one token, every successful one returns a fraction of
+ * a token. Retries are only allowed while more than half of the tokens are left, so an unavailable server does not get several times its normal load.
+ *
+ * @author patrick.boesch@viascom.ch
+ */
+public class RetryBudget {
+
+    //Tokens are counted in thousandths
+    private static final long TOKEN = 1000;
+
+    private final long maxTokens;
+    private final long tokenRatio;
+    private final AtomicLong tokens;
+
+    /**
+     * Create a new full budget
+     *
+     * @param maxTokens number of tokens, a retry is allowed while more than half of them are left
+     * @param tokenRatio tokens returned by a successful attempt, e.g. 0.1
+     */
+    public RetryBudget(int maxTokens, double tokenRatio) {
+        this.maxTokens = maxTokens * TOKEN;
+        this.tokenRatio = Math.round(tokenRatio * TOKEN);
+        this.tokens = new AtomicLong(this.maxTokens);
+    }
+
+    /**
+     * Return a fraction of a token for a successful attempt
+     */
+    public void onSuccess() {
+        long current;
+        do {
+            current = tokens.get();
+            if (current >= maxTokens) {
+                return;
+            }
+        } while (!tokens.compareAndSet(current, Math.min(maxTokens, current + tokenRatio)));
+    }
+
+    /**
+     * Take a token for a failed attempt
+     *
+     * @return true if a retry is allowed
+     */
+    public boolean onFailure() {
+        long current;
+        long next;
+        do {
+            current = tokens.get();
+            next = Math.max(0, current - TOKEN);
+        } while (!tokens.compareAndSet(current, next));
+        return next > maxTokens / 2;
+    }
+
+    /**
+     * Get the remaining tokens
+     *
+     * @return number of tokens
+     */
+    public double getTokens() {
+        return (double) tokens.get() / TOKEN;
+    }
+}
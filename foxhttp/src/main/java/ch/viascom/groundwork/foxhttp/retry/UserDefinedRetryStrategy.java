@@ -0,0 +1,137 @@
+package ch.viascom.groundwork.foxhttp.retry;
+
+import ch.viascom.groundwork.foxhttp.FoxHttpRequest;
+import ch.viascom.groundwork.foxhttp.FoxHttpResponse;
+import ch.viascom.groundwork.foxhttp.body.request.FoxHttpRequestBody;
+import ch.viascom.groundwork.foxhttp.header.HeaderEntry;
+import ch.viascom.groundwork.foxhttp.type.HeaderTypes;
+import ch.viascom.groundwork.foxhttp.type.RequestType;
+import ch.viascom.groundwork.foxhttp.util.RetryAfterUtil;
+import java.net.ConnectException;
+import java.net.NoRouteToHostException;
+import java.net.SocketException;
+import java.net.SocketTimeoutException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+
+/**
+ * Sends failed idempotent requests again with an exponential backoff. <p> An attempt fails if it throws one of the retry exceptions, e.g. a reset
+ * connection, or responds with one of the retry status codes. The delay doubles with every attempt up to the maximal delay and is randomized between 0 and
+ * this value (full jitter). A Retry-After header of the server is honoured. The retry budget stops retries while most requests fail.
+ *
+ * @author patrick.boesch@viascom.ch
+ */
+@Getter
+@Setter
+@ToString
+public class UserDefinedRetryStrategy implements FoxHttpRetryStrategy {
+
+    //Maximal number of retries after the first attempt
+    private int maxRetries = 3;
+    //Delay in milliseconds before the first retry
+    private long baseDelay = 100;
+    //Maximal delay in milliseconds between two attempts
+    private long maxDelay = 10_000;
+    //Randomize the delay between 0 and the backoff
+    private boolean jitter = true;
+    //Wait as long as the Retry-After header of the server asks
+    private boolean honourRetryAfter = true;
+    //Longer Retry-After delays in milliseconds end the execution instead
+    private long maxRetryAfter = 60_000;
+    //Response codes of failed attempts
+    private Set<Integer> retryStatusCodes = new HashSet<>(Arrays.asList(429, 502, 503, 504));
+    //Causes of exceptions of failed attempts, including subclasses
+    private List<Class<? extends Throwable>> retryExceptions = new ArrayList<>(
+        Arrays.asList(ConnectException.class, NoRouteToHostException.class, SocketException.class, SocketTimeoutException.class));
+    //Methods which can be sent again without side effects
+    private Set<RequestType> retryRequestTypes = EnumSet.of(RequestType.GET, RequestType.HEAD, RequestType.OPTIONS, RequestType.PUT, RequestType.DELETE,
+        RequestType.TRACE);
+    //Shared by all requests of this strategy, null allows every retry
+    private RetryBudget retryBudget = new RetryBudget(10, 0.1);
+
+    /**
+     * Create a new strategy with three retries
+     */
+    public UserDefinedRetryStrategy() {
+    }
+
+    /**
+     * Create a new strategy
+     *
+     * @param maxRetries maximal number of retries after the first attempt
+     * @param baseDelay delay in milliseconds before the first retry
+     * @param maxDelay maximal delay in milliseconds between two attempts
+     */
+    public UserDefinedRetryStrategy(int maxRetries, long baseDelay, long maxDelay) {
+        this.maxRetries = maxRetries;
+        this.baseDelay = baseDelay;
+        this.maxDelay = maxDelay;
+    }
+
+    @Override
+    public boolean isRetryable(FoxHttpRequest request) {
+        FoxHttpRequestBody requestBody = request.getRequestBody();
+        return maxRetries > 0 && retryRequestTypes.contains(request.getRequestType()) && (requestBody == null || !requestBody.hasBody() || requestBody
+            .isRepeatable());
+    }
+
+    @Override
+    public long getRetryDelay(FoxHttpRetryContext context) {
+        if (!isFailed(context)) {
+            if (context.getException() == null && retryBudget != null) {
+                retryBudget.onSuccess();
+            }
+            return -1;
+        }
+        if ((retryBudget != null && !retryBudget.onFailure()) || context.getAttempt() > maxRetries) {
+            return -1;
+        }
+
+        long delay = getBackoff(context.getAttempt());
+        if (honourRetryAfter && context.getResponse() != null) {
+            long retryAfter = getRetryAfter(context.getResponse());
+            if (retryAfter > maxRetryAfter) {
+                return -1;
+            }
+            delay = Math.max(delay, retryAfter);
+        }
+        return delay;
+    }
+
+    private boolean isFailed(FoxHttpRetryContext context) {
+        if (context.getResponse() != null) {
+            return retryStatusCodes.contains(context.getResponse().getResponseCode());
+        }
+        for (Throwable cause = context.getException(); cause != null; cause = cause.getCause()) {
+            for (Class<? extends Throwable> retryException : retryExceptions) {
+                if (retryException.isInstance(cause)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private long getBackoff(int attempt) {
+        int shift = attempt - 1;
+        //Shifting further would overflow, the maximal delay is reached long before
+        long backoff = shift < Long.numberOfLeadingZeros(baseDelay) - 1 ? Math.min(maxDelay, baseDelay << shift) : maxDelay;
+        if (jitter && backoff > 0) {
+            return ThreadLocalRandom.current().nextLong(backoff + 1);
+        }
+        return backoff;
+    }
+
+    private static long getRetryAfter(FoxHttpResponse response) {
+        HeaderEntry retryAfter = response.getResponseHeaders().getHeader(HeaderTypes.RETRY_AFTER.toString());
+        return retryAfter == null ? -1 : RetryAfterUtil.parseRetryAfter(retryAfter.getValue());
+    }
+}
@@ -13,7 +13,7 @@ import javax.net.ssl.X509TrustManager;
 /**
  * @author patrick.boesch@viascom.ch
  */
-public class AllowAllSSLCertificateTrustStrategy implements FoxHttpSSLTrustStrategy {
+public class AllowAllSSLCertificateTrustStrategy extends CachedSSLTrustStrategy {
 
     private FoxHttpLogger logger;
 
@@ -39,13 +39,13 @@ public class AllowAllSSLCertificateTrustStrategy implements FoxHttpSSLTrustStrat
     @Override
     public SSLSocketFactory getSSLSocketFactory(HttpsURLConnection httpsURLConnection, FoxHttpLogger logger) throws FoxHttpSSLTrustStrategyException {
         this.logger = logger;
-        SSLContext sc;
-        try {
-            sc = SSLContext.getInstance("SSL");
-            sc.init(null, trustAllCertificates, new SecureRandom());
-            return sc.getSocketFactory();
-        } catch (Exception e) {
-            throw new FoxHttpSSLTrustStrategyException(e);
-        }
+        return super.getSSLSocketFactory(httpsURLConnection, logger);
+    }
+
+    @Override
+    protected SSLContext createSSLContext(FoxHttpLogger logger) throws Exception {
+        SSLContext sc = SSLContext.getInstance("SSL");
+        sc.init(null, trustAllCertificates, new SecureRandom());
+        return sc;
     }
 }
@@ -0,0 +1,110 @@
+package ch.viascom.groundwork.foxhttp.ssl;
+
+import ch.viascom.groundwork.foxhttp.exception.FoxHttpSSLTrustStrategyException;
+import ch.viascom.groundwork.foxhttp.log.FoxHttpLogger;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.net.ssl.HttpsURLConnection;
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLSessionContext;
+import javax.net.ssl.SSLSocketFactory;
+import lombok.Getter;
+
+/**
+ * SSL trust strategy which creates its SSLContext once. <p> All connections share the socket factory, so HttpsURLConnection can reuse kept-alive connections
+ * and TLS sessions are resumed instead of doing a full handshake for every request. The number of full and resumed handshakes is counted for monitoring.
+ *
+ * @author patrick.boesch@viascom.ch
+ */
+public abstract class CachedSSLTrustStrategy implements FoxHttpSSLTrustStrategy {
+
+    //Maximal number of cached client sessions, 0 means no limit
+    @Getter
+    private int sessionCacheSize = 0;
+    //Seconds until a cached session can not be resumed anymore, 0 means no limit
+    @Getter
+    private int sessionTimeout = 86_400;
+
+    private final AtomicLong handshakes = new AtomicLong();
+    private final AtomicLong resumedHandshakes = new AtomicLong();
+
+    private volatile SSLSocketFactory sslSocketFactory;
+
+    /**
+     * Create the SSLContext of this strategy <i>is called once</i>
+     *
+     * @param logger logger of the client
+     * @return initialized SSLContext
+     * @throws Exception if the context could not be created
+     */
+    protected abstract SSLContext createSSLContext(FoxHttpLogger logger) throws Exception;
+
+    @Override
+    public SSLSocketFactory getSSLSocketFactory(HttpsURLConnection httpsURLConnection, FoxHttpLogger logger) throws FoxHttpSSLTrustStrategyException {
+        SSLSocketFactory factory = sslSocketFactory;
+        if (factory == null) {
+            synchronized (this) {
+                factory = sslSocketFactory;
+                if (factory == null) {
+                    try {
+                        SSLContext sslContext = createSSLContext(logger);
+                        SSLSessionContext sessionContext = sslContext.getClientSessionContext();
+                        if (sessionContext != null) {
+                            sessionContext.setSessionCacheSize(sessionCacheSize);
+                            sessionContext.setSessionTimeout(sessionTimeout);
+                        }
+                        factory = new HandshakeCountingSSLSocketFactory(sslContext.getSocketFactory(), handshakes, resumedHandshakes);
+                    } catch (FoxHttpSSLTrustStrategyException e) {
+                        throw e;
+                    } catch (Exception e) {
+                        throw new FoxHttpSSLTrustStrategyException(e);
+                    }
+                    sslSocketFactory = factory;
+                }
+            }
+        }
+        return factory;
+    }
+
+    /**
+     * Set the maximal number of cached client sessions <i>only used before the first connection</i>
+     *
+     * @param sessionCacheSize number of sessions, 0 means no limit
+     */
+    public void setSessionCacheSize(int sessionCacheSize) {
+        this.sessionCacheSize = sessionCacheSize;
+    }
+
+    /**
+     * Set the time until a cached session can not be resumed anymore <i>only used before the first connection</i>
+     *
+     * @param sessionTimeout timeout in seconds, 0 means no limit
+     */
+    public void setSessionTimeout(int sessionTimeout) {
+        this.sessionTimeout = sessionTimeout;
+    }
+
+    /**
+     * Get the number of completed handshakes which created a new session
+     *
+     * @return number of full handshakes
+     */
+    public long getHandshakeCount() {
+        return handshakes.get();
+    }
+
+    /**
+     * Get the number of completed handshakes which resumed a cached session
+     *
+     * @return number of resumed handshakes
+     */
+    public long getResumedHandshakeCount() {
+        return resumedHandshakes.get();
+    }
+
+    /**
+     * Drop the SSLContext and its cached sessions, the next connection creates a new one
+     */
+    public synchronized void reset() {
+        sslSocketFactory = null;
+    }
+}
@@ -0,0 +1,81 @@
+package ch.viascom.groundwork.foxhttp.ssl;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.net.ssl.SSLSocket;
+import javax.net.ssl.SSLSocketFactory;
+
+/**
+ * SSLSocketFactory which counts the full and resumed handshakes of its sockets. <p> A handshake counts as resumed if its session was created before the
+ * socket.
+ *
+ * @author patrick.boesch@viascom.ch
+ */
+class HandshakeCountingSSLSocketFactory extends SSLSocketFactory {
+
+    private final SSLSocketFactory delegate;
+    private final AtomicLong handshakes;
+    private final AtomicLong resumedHandshakes;
+
+    HandshakeCountingSSLSocketFactory(SSLSocketFactory delegate, AtomicLong handshakes, AtomicLong resumedHandshakes) {
+        this.delegate = delegate;
+        this.handshakes = handshakes;
+        this.resumedHandshakes = resumedHandshakes;
+    }
+
+    @Override
+    public String[] getDefaultCipherSuites() {
+        return delegate.getDefaultCipherSuites();
+    }
+
+    @Override
+    public String[] getSupportedCipherSuites() {
+        return delegate.getSupportedCipherSuites();
+    }
+
+    @Override
+    public Socket createSocket(Socket socket, String host, int port, boolean autoClose) throws IOException {
+        return count(delegate.createSocket(socket, host, port, autoClose));
+    }
+
+    @Override
+    public Socket createSocket() throws IOException {
+        return count(delegate.createSocket());
+    }
+
+    @Override
+    public Socket createSocket(String host, int port) throws IOException {
+        return count(delegate.createSocket(host, port));
+    }
+
+    @Override
+    public Socket createSocket(String host, int port, InetAddress localHost, int localPort) throws IOException {
+        return count(delegate.createSocket(host, port, localHost, localPort));
+    }
+
+    @Override
+    public Socket createSocket(InetAddress host, int port) throws IOException {
+        return count(delegate.createSocket(host, port));
+    }
+
+    @Override
+    public Socket createSocket(InetAddress address, int port, InetAddress localAddress, int localPort) throws IOException {
+        return count(delegate.createSocket(address, port, localAddress, localPort));
+    }
+
+    private Socket count(Socket socket) {
+        if (socket instanceof SSLSocket) {
+            long createdAt = System.currentTimeMillis();
+            ((SSLSocket) socket).addHandshakeCompletedListener(event -> {
+                if (event.getSession().getCreationTime() < createdAt) {
+                    resumedHandshakes.incrementAndGet();
+                } else {
+                    handshakes.incrementAndGet();
+                }
+            });
+        }
+        return socket;
+    }
+}
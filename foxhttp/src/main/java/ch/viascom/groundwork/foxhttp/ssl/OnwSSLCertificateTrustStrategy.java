@@ -0,0 +1,55 @@
+package ch.viascom.groundwork.foxhttp.ssl;
+
+import ch.viascom.groundwork.foxhttp.log.FoxHttpLogger;
+import java.io.InputStream;
+import java.security.KeyStore;
+import javax.net.ssl.KeyManagerFactory;
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.TrustManagerFactory;
+
+/**
+ * @author patrick.boesch@viascom.ch
+ */
+public class OnwSSLCertificateTrustStrategy extends CachedSSLTrustStrategy {
+
+    private InputStream keyStoreInputStream;
+    private String jksPassword;
+    private String keyPassword;
+
+    //Loaded on first use, the stream can only be read once but reset creates a new SSLContext
+    private KeyStore keyStore;
+
+    public OnwSSLCertificateTrustStrategy(InputStream keyStoreInputStream, String jksPassword, String keyPassword) {
+        this.keyStoreInputStream = keyStoreInputStream;
+        this.jksPassword = jksPassword;
+        this.keyPassword = keyPassword;
+    }
+
+    @Override
+    protected SSLContext createSSLContext(FoxHttpLogger logger) throws Exception {
+        final char[] jksPasswordCharArray = jksPassword.toCharArray();
+        final char[] keyPasswordCharArray = keyPassword.toCharArray();
+        /* Get the JKS contents, the stream can only be read once */
+        if (keyStore == null) {
+            final KeyStore loadedKeyStore = KeyStore.getInstance("JKS");
+            try (final InputStream is = keyStoreInputStream) {
+                loadedKeyStore.load(is, jksPasswordCharArray);
+            }
+            keyStore = loadedKeyStore;
+            keyStoreInputStream = null;
+        }
+        final KeyManagerFactory kmf = KeyManagerFactory.getInstance(KeyManagerFactory.getDefaultAlgorithm());
+        kmf.init(keyStore, keyPasswordCharArray);
+        final TrustManagerFactory tmf = TrustManagerFactory.getInstance(TrustManagerFactory.getDefaultAlgorithm());
+        tmf.init(keyStore);
+
+        /*
+         * Creates a socket factory for HttpsURLConnection using JKS
+         * contents
+         */
+        logger.log("createSocketFactoryUsingJKS(" + kmf.getProvider().getName() + ")");
+        final SSLContext sc = SSLContext.getInstance("TLS");
+        sc.init(kmf.getKeyManagers(), tmf.getTrustManagers(), new java.security.SecureRandom());
+        return sc;
+    }
+}
@@ -0,0 +1,155 @@
+package ch.viascom.groundwork.foxhttp.timeout;
+
+import ch.viascom.groundwork.foxhttp.FoxHttpRequest;
+import ch.viascom.groundwork.foxhttp.metrics.LatencyHistogram;
+import ch.viascom.groundwork.foxhttp.util.ConcurrentLruCache;
+import java.net.URL;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Sets the read timeout of a request to a multiple of the recent latency percentile of its endpoint. <p> Fast endpoints get short timeouts which cut stuck
+ * calls quickly, slow endpoints get longer ones without false timeouts. The timeout stays between the minimal and maximal read timeout, the maximal one is
+ * used until enough latencies of an endpoint are recorded. Latencies are kept for the last windowSize calls of an endpoint.
+ *
+ * @author patrick.boesch@viascom.ch
+ */
+public class AdaptiveTimeoutStrategy implements FoxHttpTimeoutStrategy {
+
+    @Getter
+    @Setter
+    private int connectionTimeout = 0;
+
+    @Getter
+    @Setter
+    //Lower bound of the read timeout in milliseconds
+    private int minReadTimeout = 1_000;
+
+    @Getter
+    @Setter
+    //Upper bound of the read timeout in milliseconds, used until enough latencies are recorded
+    private int maxReadTimeout = 60_000;
+
+    @Getter
+    @Setter
+    //Percentile of the recent latencies, e.g. 0.99
+    private double percentile = 0.99;
+
+    @Getter
+    @Setter
+    //Factor applied to the percentile
+    private double multiplier = 3.0;
+
+    @Getter
+    @Setter
+    //Number of recorded latencies of an endpoint before its timeout adapts
+    private int minSamples = 50;
+
+    @Getter
+    @Setter
+    //Number of latencies after which an endpoint starts a new window
+    private int windowSize = 1_000;
+
+    //Endpoints with changing paths must not grow the map without limit
+    private final ConcurrentLruCache<String, EndpointLatencies> latencies;
+
+    public AdaptiveTimeoutStrategy() {
+        this(256);
+    }
+
+    /**
+     * Create a new strategy
+     *
+     * @param maxEndpoints maximal number of endpoints whose latencies are kept
+     */
+    public AdaptiveTimeoutStrategy(int maxEndpoints) {
+        this.latencies = new ConcurrentLruCache<>(maxEndpoints);
+    }
+
+    /**
+     * Get the read timeout if the request is unknown
+     *
+     * @return maximal read timeout
+     */
+    @Override
+    public int getReadTimeout() {
+        return maxReadTimeout;
+    }
+
+    @Override
+    public int getReadTimeout(FoxHttpRequest request) {
+        LatencyHistogram histogram = getLatencyHistogram(getEndpoint(request));
+        if (histogram == null) {
+            return maxReadTimeout;
+        }
+        double timeout = TimeUnit.NANOSECONDS.toMillis(histogram.getPercentile(percentile)) * multiplier;
+        return (int) Math.max(minReadTimeout, Math.min(maxReadTimeout, timeout));
+    }
+
+    @Override
+    public void recordLatency(FoxHttpRequest request, long latency) {
+        String endpoint = getEndpoint(request);
+        EndpointLatencies endpointLatencies = latencies.get(endpoint);
+        if (endpointLatencies == null) {
+            endpointLatencies = new EndpointLatencies();
+            latencies.put(endpoint, endpointLatencies);
+        }
+        endpointLatencies.record(latency);
+    }
+
+    /**
+     * Get the recent latencies of an endpoint
+     *
+     * @param endpoint method and url without query, see getEndpoint
+     * @return latencies of the current or the last window or null if not enough latencies are recorded
+     */
+    public LatencyHistogram getLatencyHistogram(String endpoint) {
+        EndpointLatencies endpointLatencies = latencies.get(endpoint);
+        return endpointLatencies == null ? null : endpointLatencies.getHistogram();
+    }
+
+    /**
+     * Get the endpoint of a request which groups its latencies
+     *
+     * @param request request
+     * @return method and url without query
+     */
+    public String getEndpoint(FoxHttpRequest request) {
+        URL url = request.getUrl();
+        return request.getRequestType() + " " + url.getProtocol() + "://" + url.getAuthority() + url.getPath();
+    }
+
+    @Override
+    public String toString() {
+        return "AdaptiveTimeoutStrategy(connectionTimeout=" + connectionTimeout + ", minReadTimeout=" + minReadTimeout + ", maxReadTimeout=" + maxReadTimeout
+            + ", percentile=" + percentile + ", multiplier=" + multiplier + ")";
+    }
+
+    /**
+     * Latencies of the current and the last window of an endpoint
+     */
+    private class EndpointLatencies {
+
+        private final AtomicReference<LatencyHistogram> current = new AtomicReference<>(new LatencyHistogram());
+        private volatile LatencyHistogram previous;
+
+        private void record(long latency) {
+            LatencyHistogram histogram = current.get();
+            histogram.record(latency);
+            if (histogram.getCount() >= windowSize && current.compareAndSet(histogram, new LatencyHistogram())) {
+                previous = histogram;
+            }
+        }
+
+        private LatencyHistogram getHistogram() {
+            LatencyHistogram histogram = current.get();
+            if (histogram.getCount() >= minSamples) {
+                return histogram;
+            }
+            //The new window is not filled enough yet
+            return previous;
+        }
+    }
+}
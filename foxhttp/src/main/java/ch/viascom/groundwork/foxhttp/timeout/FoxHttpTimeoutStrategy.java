@@ -0,0 +1,42 @@
+package ch.viascom.groundwork.foxhttp.timeout;
+
+import ch.viascom.groundwork.foxhttp.FoxHttpRequest;
+
+/**
+ * @author patrick.boesch@viascom.ch
+ */
+public interface FoxHttpTimeoutStrategy {
+
+    int getConnectionTimeout();
+
+    int getReadTimeout();
+
+    /**
+     * Get the connection timeout of a request
+     *
+     * @param request request which opens a connection
+     * @return timeout in milliseconds, 0 waits forever
+     */
+    default int getConnectionTimeout(FoxHttpRequest request) {
+        return getConnectionTimeout();
+    }
+
+    /**
+     * Get the read timeout of a request
+     *
+     * @param request request which opens a connection
+     * @return timeout in milliseconds, 0 waits forever
+     */
+    default int getReadTimeout(FoxHttpRequest request) {
+        return getReadTimeout();
+    }
+
+    /**
+     * Called with the time a request waited for its response header, also if the read timed out
+     *
+     * @param request request which received its response header
+     * @param latency waiting time in nanoseconds
+     */
+    default void recordLatency(FoxHttpRequest request, long latency) {
+    }
+}
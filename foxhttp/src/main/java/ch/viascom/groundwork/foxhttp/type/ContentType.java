@@ -1,7 +1,11 @@
 package ch.viascom.groundwork.foxhttp.type;
 
+import ch.viascom.groundwork.foxhttp.util.ConcurrentLruCache;
 import java.nio.charset.Charset;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.Locale;
+import java.util.Map;
 import lombok.Getter;
 
 /**
@@ -27,10 +31,17 @@ public class ContentType {
     public static final ContentType TEXT_HTML = create("text/html", Charset.forName(UTF8));
     public static final ContentType TEXT_PLAIN = create("text/plain", Charset.forName(UTF8));
     public static final ContentType TEXT_XML = create("text/xml", Charset.forName(UTF8));
+
+    //Servers send only a few different values, so every header value is parsed once
+    private static final ConcurrentLruCache<String, ContentType> PARSED_HEADERS = new ConcurrentLruCache<>(256);
+
     @Getter
     private final String mimeType;
     @Getter
     private final Charset charset;
+    //Parameters of a parsed header without the charset, the names are in lower case
+    @Getter
+    private final Map<String, String> parameters;
 
     /**
      * Given a MIME type and a character set, constructs a ContentType.
@@ -40,8 +51,13 @@ public class ContentType {
      * @throws java.nio.charset.UnsupportedCharsetException If no support for the named charset is available in this Java virtual machine
      */
     ContentType(final String mimeType, final Charset charset) {
+        this(mimeType, charset, Collections.<String, String>emptyMap());
+    }
+
+    private ContentType(final String mimeType, final Charset charset, final Map<String, String> parameters) {
         this.mimeType = mimeType;
         this.charset = charset;
+        this.parameters = parameters;
     }
 
     /**
@@ -65,6 +81,82 @@ public class ContentType {
         return new ContentType(type, charset);
     }
 
+    /**
+     * Parses the value of a Content-Type header like <code>application/problem+json; charset=utf-8</code>. <p> An unknown charset is ignored. The result is
+     * cached per header value.
+     *
+     * @param headerValue value of the Content-Type header
+     * @return content type or WILDCARD if the value is empty
+     */
+    public static ContentType parse(final String headerValue) {
+        if (headerValue == null || headerValue.trim().isEmpty()) {
+            return WILDCARD;
+        }
+        ContentType contentType = PARSED_HEADERS.get(headerValue);
+        if (contentType == null) {
+            contentType = parseHeader(headerValue);
+            PARSED_HEADERS.put(headerValue, contentType);
+        }
+        return contentType;
+    }
+
+    private static ContentType parseHeader(final String headerValue) {
+        String[] elements = headerValue.split(";");
+        String type = elements[0].trim().toLowerCase(Locale.US);
+        if (type.isEmpty() || !valid(type)) {
+            type = WILDCARD.getMimeType();
+        }
+
+        Charset charset = null;
+        Map<String, String> parameters = new HashMap<>();
+        for (int i = 1; i < elements.length; i++) {
+            int separator = elements[i].indexOf('=');
+            if (separator <= 0) {
+                continue;
+            }
+            String name = elements[i].substring(0, separator).trim().toLowerCase(Locale.US);
+            String value = elements[i].substring(separator + 1).trim();
+            if (value.length() >= 2 && value.startsWith("\"") && value.endsWith("\"")) {
+                value = value.substring(1, value.length() - 1);
+            }
+
+            if ("charset".equals(name)) {
+                try {
+                    charset = Charset.forName(value);
+                } catch (IllegalArgumentException e) {
+                    charset = null;
+                }
+            } else {
+                parameters.put(name, value);
+            }
+        }
+        return new ContentType(type, charset, parameters.isEmpty() ? Collections.<String, String>emptyMap() : Collections.unmodifiableMap(parameters));
+    }
+
+    /**
+     * Get the top-level type of the mime type, e.g. <code>application</code> of <code>application/problem+json</code>
+     *
+     * @return type of the mime type
+     */
+    public String getType() {
+        int separator = mimeType.indexOf('/');
+        return separator < 0 ? mimeType : mimeType.substring(0, separator);
+    }
+
+    /**
+     * Get the structured syntax suffix (RFC 6839) of the mime type, e.g. <code>json</code> of <code>application/problem+json</code>
+     *
+     * @return suffix or null if the mime type has none
+     */
+    public String getSuffix() {
+        int separator = mimeType.lastIndexOf('+');
+        int end = mimeType.indexOf(';');
+        if (separator < 0 || separator < mimeType.indexOf('/') || (end >= 0 && separator > end)) {
+            return null;
+        }
+        return (end < 0 ? mimeType.substring(separator + 1) : mimeType.substring(separator + 1, end)).trim();
+    }
+
     private static boolean valid(final String s) {
         for (int i = 0; i < s.length(); i++) {
             char ch = s.charAt(i);
@@ -25,6 +25,19 @@ public class HeaderTypes {
     public static final HeaderTypes IF_MATCH = create("If-Match");
     public static final HeaderTypes IF_MODIFIED_SINCE = create("If-Modified-Since");
     public static final HeaderTypes IF_NONE_MATCH = create("If-None-Match");
+    public static final HeaderTypes IF_RANGE = create("If-Range");
+    public static final HeaderTypes LAST_MODIFIED = create("Last-Modified");
+
+    public static final HeaderTypes RANGE = create("Range");
+    public static final HeaderTypes CONTENT_RANGE = create("Content-Range");
+    public static final HeaderTypes ACCEPT_RANGES = create("Accept-Ranges");
+
+    public static final HeaderTypes LAST_EVENT_ID = create("Last-Event-ID");
+
+    public static final HeaderTypes LOCATION = create("Location");
+    public static final HeaderTypes RETRY_AFTER = create("Retry-After");
+    public static final HeaderTypes X_RATELIMIT_REMAINING = create("X-RateLimit-Remaining");
+    public static final HeaderTypes X_RATELIMIT_RESET = create("X-RateLimit-Reset");
 
     public static final HeaderTypes ACCEPT = create("Accept");
     public static final HeaderTypes ACCEPT_CHARSET = create("Accept-Charset");
@@ -0,0 +1,104 @@
+package ch.viascom.groundwork.foxhttp.util;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Bounded map which drops the least recently used entries. <p> The entries are spread over segments with their own lock, so concurrent readers of different
+ * keys rarely wait for each other. The order of use is tracked per segment, which makes the eviction an approximation of a global LRU.
+ *
+ * @author patrick.boesch@viascom.ch
+ */
+public class ConcurrentLruCache<K, V> {
+
+    private static final int MAX_SEGMENTS = 16;
+
+    private final Segment<K, V>[] segments;
+    private final int segmentMask;
+
+    /**
+     * Create a new cache
+     *
+     * @param maxEntries maximal number of entries
+     */
+    @SuppressWarnings("unchecked")
+    public ConcurrentLruCache(int maxEntries) {
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("maxEntries must be positive: " + maxEntries);
+        }
+        //Every segment holds at least 16 entries, so small caches are not split into tiny segments
+        int segmentCount = 1;
+        while (segmentCount < MAX_SEGMENTS && segmentCount * 2 * 16 <= maxEntries) {
+            segmentCount *= 2;
+        }
+        this.segments = new Segment[segmentCount];
+        this.segmentMask = segmentCount - 1;
+        for (int i = 0; i < segmentCount; i++) {
+            segments[i] = new Segment<>(maxEntries / segmentCount + (i < maxEntries % segmentCount ? 1 : 0));
+        }
+    }
+
+    public V get(K key) {
+        Segment<K, V> segment = segmentFor(key);
+        synchronized (segment) {
+            return segment.get(key);
+        }
+    }
+
+    public void put(K key, V value) {
+        Segment<K, V> segment = segmentFor(key);
+        synchronized (segment) {
+            segment.put(key, value);
+        }
+    }
+
+    public V remove(K key) {
+        Segment<K, V> segment = segmentFor(key);
+        synchronized (segment) {
+            return segment.remove(key);
+        }
+    }
+
+    public int size() {
+        int size = 0;
+        for (Segment<K, V> segment : segments) {
+            synchronized (segment) {
+                size += segment.size();
+            }
+        }
+        return size;
+    }
+
+    public void clear() {
+        for (Segment<K, V> segment : segments) {
+            synchronized (segment) {
+                segment.clear();
+            }
+        }
+    }
+
+    private Segment<K, V> segmentFor(K key) {
+        int hash = key.hashCode();
+        //Spread the high bits, the segment index only uses the lowest ones
+        hash ^= (hash >>> 16);
+        return segments[hash & segmentMask];
+    }
+
+    /**
+     * Map in access order which drops its eldest entry when it is full
+     */
+    private static class Segment<K, V> extends LinkedHashMap<K, V> {
+
+        private final int maxEntries;
+
+        private Segment(int maxEntries) {
+            super(16, 0.75f, true);
+            this.maxEntries = maxEntries;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+            return size() > maxEntries;
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package ch.viascom.groundwork.foxhttp.util;
+
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Timer shared by all clients for delayed actions like hedged requests and deadlines. <p> The tasks run on a single daemon thread and must not block, longer work has to
+ * be handed over to an executor.
+ *
+ * @author patrick.boesch@viascom.ch
+ */
+public final class FoxHttpScheduler {
+
+    private FoxHttpScheduler() {
+    }
+
+    /**
+     * Run a short task after a delay
+     *
+     * @param task task which must not block
+     * @param delay delay before the task runs
+     * @param unit unit of the delay
+     * @return future which cancels the task
+     */
+    public static ScheduledFuture<?> schedule(Runnable task, long delay, TimeUnit unit) {
+        return SchedulerHolder.SCHEDULER.schedule(task, delay, unit);
+    }
+
+    private static class SchedulerHolder {
+
+        private static final ScheduledThreadPoolExecutor SCHEDULER = createScheduler();
+
+        private static ScheduledThreadPoolExecutor createScheduler() {
+            ScheduledThreadPoolExecutor scheduler = new ScheduledThreadPoolExecutor(1, runnable -> {
+                Thread thread = new Thread(runnable, "FoxHttp-scheduler");
+                thread.setDaemon(true);
+                return thread;
+            });
+            //Cancelled timers are removed at once, most of them never fire
+            scheduler.setRemoveOnCancelPolicy(true);
+            return scheduler;
+        }
+    }
+}
@@ -32,22 +32,34 @@ public class QueryBuilder {
     public static String buildQuery(Map<String, String> entries, String encoding) throws FoxHttpRequestException {
         if (entries.size() > 0) {
             StringBuilder sb = new StringBuilder();
-            String dataString;
-            try {
-                for (Map.Entry<String, String> entry : entries.entrySet()) {
-                    sb.append(URLEncoder.encode(entry.getKey(), encoding));
-                    sb.append("=");
-                    sb.append(URLEncoder.encode(entry.getValue(), encoding));
-                    sb.append("&");
-                }
-                sb.deleteCharAt(sb.lastIndexOf("&"));
-                dataString = sb.toString();
-            } catch (UnsupportedEncodingException e) {
-                throw new FoxHttpRequestException(e);
+            for (Map.Entry<String, String> entry : entries.entrySet()) {
+                appendQueryEntry(sb, entry.getKey(), entry.getValue(), encoding);
             }
-            return dataString;
+            return sb.toString();
         } else {
             return "";
         }
     }
+
+    /**
+     * Append an encoded key/value pair to a query string
+     *
+     * @param query query string, a separator is added if it is not empty
+     * @param key key of the entry
+     * @param value value of the entry
+     * @param encoding encoding of the key and the value
+     * @throws FoxHttpRequestException if the encoding is not supported
+     */
+    public static void appendQueryEntry(StringBuilder query, String key, String value, String encoding) throws FoxHttpRequestException {
+        try {
+            if (query.length() > 0) {
+                query.append("&");
+            }
+            query.append(URLEncoder.encode(key, encoding));
+            query.append("=");
+            query.append(URLEncoder.encode(value, encoding));
+        } catch (UnsupportedEncodingException e) {
+            throw new FoxHttpRequestException(e);
+        }
+    }
 }
@@ -0,0 +1,46 @@
+package ch.viascom.groundwork.foxhttp.util;
+
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.Locale;
+import java.util.TimeZone;
+
+/**
+ * RetryAfterUtil for FoxHttp
+ *
+ * @author patrick.boesch@viascom.ch
+ */
+public class RetryAfterUtil {
+
+    /**
+     * Utility classes, which are a collection of static members, are not meant to be instantiated.
+     */
+    private RetryAfterUtil() {
+        throw new IllegalAccessError("Utility class");
+    }
+
+    /**
+     * Parse the value of a Retry-After header, either a delay in seconds or a http date
+     *
+     * @param value value of the header, can be null
+     * @return delay in milliseconds, -1 if the value is missing or invalid
+     */
+    public static long parseRetryAfter(String value) {
+        if (value == null) {
+            return -1;
+        }
+        String retryAfter = value.trim();
+        try {
+            return Math.max(0, Long.parseLong(retryAfter) * 1000);
+        } catch (NumberFormatException e) {
+            //Not a number of seconds
+        }
+        try {
+            SimpleDateFormat dateFormat = new SimpleDateFormat("EEE, dd MMM yyyy HH:mm:ss zzz", Locale.US);
+            dateFormat.setTimeZone(TimeZone.getTimeZone("GMT"));
+            return Math.max(0, dateFormat.parse(retryAfter).getTime() - System.currentTimeMillis());
+        } catch (ParseException e) {
+            return -1;
+        }
+    }
+}
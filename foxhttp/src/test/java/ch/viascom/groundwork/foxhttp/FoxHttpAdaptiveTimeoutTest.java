@@ -0,0 +1,85 @@
+package ch.viascom.groundwork.foxhttp;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+import static org.fest.assertions.api.Assertions.fail;
+
+import ch.viascom.groundwork.foxhttp.builder.FoxHttpClientBuilder;
+import ch.viascom.groundwork.foxhttp.builder.FoxHttpRequestBuilder;
+import ch.viascom.groundwork.foxhttp.exception.FoxHttpException;
+import ch.viascom.groundwork.foxhttp.server.TestServer;
+import ch.viascom.groundwork.foxhttp.timeout.AdaptiveTimeoutStrategy;
+import ch.viascom.groundwork.foxhttp.type.RequestType;
+import java.net.SocketTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * @author patrick.boesch@viascom.ch
+ */
+public class FoxHttpAdaptiveTimeoutTest {
+
+    private TestServer server;
+    private AtomicLong fastDelay = new AtomicLong();
+
+    @Before
+    public void startServer() throws Exception {
+        server = new TestServer();
+        server.handle("/fast", exchange -> {
+            sleep(fastDelay.get());
+            TestServer.respond(exchange, 200, "fox".getBytes(StandardCharsets.UTF_8));
+        });
+        server.handle("/slow", exchange -> {
+            sleep(300);
+            TestServer.respond(exchange, 200, "fox".getBytes(StandardCharsets.UTF_8));
+        });
+    }
+
+    @After
+    public void stopServer() {
+        server.close();
+    }
+
+    @Test
+    public void adaptReadTimeoutPerEndpoint() throws Exception {
+        AdaptiveTimeoutStrategy timeoutStrategy = new AdaptiveTimeoutStrategy();
+        timeoutStrategy.setMinSamples(5);
+        timeoutStrategy.setMultiplier(2);
+        timeoutStrategy.setMinReadTimeout(200);
+        timeoutStrategy.setMaxReadTimeout(10_000);
+        FoxHttpClient foxHttpClient = new FoxHttpClientBuilder().setFoxHttpTimeoutStrategy(timeoutStrategy).build();
+
+        FoxHttpRequest fastRequest = new FoxHttpRequestBuilder(server.getUrl("/fast"), RequestType.GET, foxHttpClient).build();
+        FoxHttpRequest slowRequest = new FoxHttpRequestBuilder(server.getUrl("/slow"), RequestType.GET, foxHttpClient).build();
+        assertThat(timeoutStrategy.getReadTimeout(fastRequest)).isEqualTo(10_000);
+
+        for (int i = 0; i < 5; i++) {
+            fastRequest.execute();
+            slowRequest.execute();
+        }
+        assertThat(timeoutStrategy.getReadTimeout(fastRequest)).isEqualTo(200);
+        assertThat(timeoutStrategy.getReadTimeout(slowRequest)).isGreaterThanOrEqualTo(600).isLessThan(10_000);
+
+        //A stuck call to the fast endpoint is cut after its short timeout
+        fastDelay.set(3_000);
+        long start = System.nanoTime();
+        try {
+            fastRequest.execute();
+            fail("The stuck request has to time out");
+        } catch (FoxHttpException e) {
+            assertThat(e.getCause()).isInstanceOf(SocketTimeoutException.class);
+            assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)).isLessThan(2_000);
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package ch.viascom.groundwork.foxhttp;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+
+import ch.viascom.groundwork.foxhttp.annotation.processor.FoxHttpAnnotationParser;
+import ch.viascom.groundwork.foxhttp.annotation.types.GET;
+import ch.viascom.groundwork.foxhttp.annotation.types.Path;
+import ch.viascom.groundwork.foxhttp.async.FoxHttpCallback;
+import ch.viascom.groundwork.foxhttp.builder.FoxHttpClientBuilder;
+import ch.viascom.groundwork.foxhttp.builder.FoxHttpRequestBuilder;
+import ch.viascom.groundwork.foxhttp.exception.FoxHttpException;
+import ch.viascom.groundwork.foxhttp.exception.FoxHttpRequestException;
+import ch.viascom.groundwork.foxhttp.parser.GsonParser;
+import ch.viascom.groundwork.foxhttp.server.TestServer;
+import ch.viascom.groundwork.foxhttp.type.RequestType;
+import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * @author patrick.boesch@viascom.ch
+ */
+public class FoxHttpAsyncTest {
+
+    private TestServer server;
+    private ExecutorService executor;
+    private FoxHttpClient foxHttpClient;
+
+    @Before
+    public void startServer() throws Exception {
+        server = new TestServer().handle("/", exchange -> TestServer.respond(exchange, 200,
+            ("{\"path\":\"" + exchange.getRequestURI().getPath() + "\"}").getBytes(StandardCharsets.UTF_8)));
+        executor = Executors.newSingleThreadExecutor(runnable -> new Thread(runnable, "test-executor"));
+        foxHttpClient = new FoxHttpClientBuilder(new GsonParser()).addFoxHttpPlaceholderEntry("host", server.getUrl(""))
+                                                                  .setFoxHttpExecutor(executor)
+                                                                  .build();
+    }
+
+    @After
+    public void stopServer() {
+        server.close();
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void returnFuture() throws Exception {
+        AsyncInterface asyncInterface = new FoxHttpAnnotationParser().parseInterface(AsyncInterface.class, foxHttpClient);
+
+        CompletableFuture<String> thread = asyncInterface.getString("a").thenApply(body -> Thread.currentThread().getName());
+        CompletableFuture<Echo> echo = asyncInterface.getEcho("b");
+
+        assertThat(thread.get(5, TimeUnit.SECONDS)).isEqualTo("test-executor");
+        assertThat(echo.get(5, TimeUnit.SECONDS).path).isEqualTo("/b");
+    }
+
+    @Test
+    public void passResultToCallback() throws Exception {
+        AsyncInterface asyncInterface = new FoxHttpAnnotationParser().parseInterface(AsyncInterface.class, foxHttpClient);
+        CountDownLatch latch = new CountDownLatch(1);
+        AtomicReference<Echo> result = new AtomicReference<>();
+
+        asyncInterface.getEcho("c", new FoxHttpCallback<Echo>() {
+            @Override
+            public void onSuccess(Echo echo) {
+                result.set(echo);
+                latch.countDown();
+            }
+
+            @Override
+            public void onFailure(FoxHttpException exception) {
+                latch.countDown();
+            }
+        });
+
+        assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(result.get().path).isEqualTo("/c");
+    }
+
+    @Test
+    public void completeExceptionally() throws Exception {
+        AsyncInterface asyncInterface = new FoxHttpAnnotationParser().parseInterface(AsyncInterface.class, foxHttpClient);
+        server.close();
+
+        try {
+            asyncInterface.getString("d").get(5, TimeUnit.SECONDS);
+            assertThat(false).isEqualTo(true);
+        } catch (ExecutionException e) {
+            assertThat(e.getCause()).isInstanceOf(FoxHttpRequestException.class);
+        }
+    }
+
+    @Test
+    public void executeRequestAsync() throws Exception {
+        FoxHttpRequest request = new FoxHttpRequestBuilder(server.getUrl("/e"), RequestType.GET, foxHttpClient).build();
+
+        assertThat(request.executeAsync().get(5, TimeUnit.SECONDS).getStringBody()).isEqualTo("{\"path\":\"/e\"}");
+    }
+
+    @Path("{host}")
+    interface AsyncInterface {
+
+        @GET("/{path}")
+        CompletableFuture<String> getString(@Path("path") String path) throws FoxHttpException;
+
+        @GET("/{path}")
+        CompletableFuture<Echo> getEcho(@Path("path") String path) throws FoxHttpException;
+
+        @GET("/{path}")
+        void getEcho(@Path("path") String path, FoxHttpCallback<Echo> callback) throws FoxHttpException;
+    }
+
+    static class Echo implements Serializable {
+
+        String path;
+    }
+}
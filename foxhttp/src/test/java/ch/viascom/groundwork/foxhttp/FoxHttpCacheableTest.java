@@ -0,0 +1,122 @@
+package ch.viascom.groundwork.foxhttp;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+
+import ch.viascom.groundwork.foxhttp.annotation.processor.FoxHttpAnnotationParser;
+import ch.viascom.groundwork.foxhttp.annotation.types.Body;
+import ch.viascom.groundwork.foxhttp.annotation.types.Cacheable;
+import ch.viascom.groundwork.foxhttp.annotation.types.GET;
+import ch.viascom.groundwork.foxhttp.annotation.types.HeaderField;
+import ch.viascom.groundwork.foxhttp.annotation.types.POST;
+import ch.viascom.groundwork.foxhttp.annotation.types.Path;
+import ch.viascom.groundwork.foxhttp.builder.FoxHttpClientBuilder;
+import ch.viascom.groundwork.foxhttp.exception.FoxHttpException;
+import ch.viascom.groundwork.foxhttp.exception.FoxHttpRequestException;
+import ch.viascom.groundwork.foxhttp.server.TestServer;
+import ch.viascom.groundwork.foxhttp.util.ConcurrentLruCache;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * @author patrick.boesch@viascom.ch
+ */
+public class FoxHttpCacheableTest {
+
+    private TestServer server;
+    private AtomicInteger requests = new AtomicInteger();
+    private CachedInterface cachedInterface;
+
+    @Before
+    public void startServer() throws Exception {
+        server = new TestServer().handle("/", exchange -> TestServer.respond(exchange, 200,
+            (exchange.getRequestURI().getPath() + " " + exchange.getRequestHeaders().getFirst("Accept-Language") + " " + requests.incrementAndGet())
+                .getBytes(StandardCharsets.UTF_8)));
+        cachedInterface = new FoxHttpAnnotationParser().parseInterface(CachedInterface.class,
+            new FoxHttpClientBuilder().addFoxHttpPlaceholderEntry("host", server.getUrl("")).build());
+    }
+
+    @After
+    public void stopServer() {
+        server.close();
+    }
+
+    @Test
+    public void cacheByUrlAndHeader() throws Exception {
+        assertThat(cachedInterface.get("a", "de")).isEqualTo("/a de 1");
+        assertThat(cachedInterface.get("a", "de")).isEqualTo("/a de 1");
+        assertThat(cachedInterface.get("b", "de")).isEqualTo("/b de 2");
+        assertThat(cachedInterface.get("a", "en")).isEqualTo("/a en 3");
+        assertThat(cachedInterface.get("a", "de")).isEqualTo("/a de 1");
+        assertThat(requests.get()).isEqualTo(3);
+    }
+
+    @Test
+    public void returnStaleWhileRevalidate() throws Exception {
+        assertThat(cachedInterface.getStale("a")).isEqualTo("/a null 1");
+        Thread.sleep(100);
+
+        //Expired but within the stale window, the old value is returned and refreshed in the background
+        assertThat(cachedInterface.getStale("a")).isEqualTo("/a null 1");
+        String refreshed = null;
+        for (int i = 0; i < 100 && !"/a null 2".equals(refreshed); i++) {
+            Thread.sleep(20);
+            refreshed = cachedInterface.getStale("a");
+        }
+
+        assertThat(refreshed).isEqualTo("/a null 2");
+        assertThat(requests.get()).isEqualTo(2);
+    }
+
+    @Test(expected = FoxHttpRequestException.class)
+    public void rejectUncacheableReturnType() throws Exception {
+        new FoxHttpAnnotationParser().parseInterface(UncacheableInterface.class, new FoxHttpClientBuilder().build());
+    }
+
+    @Test(expected = FoxHttpRequestException.class)
+    public void rejectRequestBody() throws Exception {
+        new FoxHttpAnnotationParser().parseInterface(BodyInterface.class, new FoxHttpClientBuilder().build());
+    }
+
+    @Test
+    public void evictLeastRecentlyUsed() {
+        ConcurrentLruCache<String, String> cache = new ConcurrentLruCache<>(2);
+        cache.put("a", "1");
+        cache.put("b", "2");
+        cache.get("a");
+        cache.put("c", "3");
+
+        assertThat(cache.get("a")).isEqualTo("1");
+        assertThat(cache.get("b")).isNull();
+        assertThat(cache.get("c")).isEqualTo("3");
+        assertThat(cache.size()).isEqualTo(2);
+    }
+
+    @Path("{host}")
+    interface CachedInterface {
+
+        @GET("/{path}")
+        @Cacheable(ttl = 60000, headers = "Accept-Language")
+        String get(@Path("path") String path, @HeaderField("Accept-Language") String language) throws FoxHttpException;
+
+        @GET("/{path}")
+        @Cacheable(ttl = 50, staleWhileRevalidate = 60000)
+        String getStale(@Path("path") String path) throws FoxHttpException;
+    }
+
+    interface UncacheableInterface {
+
+        @GET("http://localhost/")
+        @Cacheable(ttl = 1000)
+        FoxHttpResponse get() throws FoxHttpException;
+    }
+
+    interface BodyInterface {
+
+        @POST("http://localhost/search")
+        @Cacheable(ttl = 1000)
+        String search(@Body String criteria) throws FoxHttpException;
+    }
+}
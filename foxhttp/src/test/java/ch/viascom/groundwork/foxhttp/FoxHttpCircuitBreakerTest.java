@@ -0,0 +1,126 @@
+package ch.viascom.groundwork.foxhttp;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+import static org.fest.assertions.api.Assertions.fail;
+
+import ch.viascom.groundwork.foxhttp.builder.FoxHttpClientBuilder;
+import ch.viascom.groundwork.foxhttp.builder.FoxHttpRequestBuilder;
+import ch.viascom.groundwork.foxhttp.circuitbreaker.CircuitBreakerOpenException;
+import ch.viascom.groundwork.foxhttp.circuitbreaker.CircuitBreakerState;
+import ch.viascom.groundwork.foxhttp.circuitbreaker.FoxHttpCircuitBreaker;
+import ch.viascom.groundwork.foxhttp.deadline.DeadlineExceededException;
+import ch.viascom.groundwork.foxhttp.server.TestServer;
+import ch.viascom.groundwork.foxhttp.type.RequestType;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * @author patrick.boesch@viascom.ch
+ */
+public class FoxHttpCircuitBreakerTest {
+
+    private TestServer server;
+    private AtomicInteger serverRequests = new AtomicInteger();
+    private AtomicBoolean available = new AtomicBoolean(false);
+
+    @Before
+    public void startServer() throws Exception {
+        server = new TestServer();
+        server.handle("/service", exchange -> {
+            serverRequests.incrementAndGet();
+            TestServer.respond(exchange, available.get() ? 200 : 503, "fox".getBytes(StandardCharsets.UTF_8));
+        });
+        server.handle("/hang", exchange -> {
+            serverRequests.incrementAndGet();
+            try {
+                Thread.sleep(1000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            TestServer.respond(exchange, 200, "fox".getBytes(StandardCharsets.UTF_8));
+        });
+    }
+
+    @After
+    public void stopServer() {
+        server.close();
+    }
+
+    @Test
+    public void openAndCloseCircuit() throws Exception {
+        FoxHttpCircuitBreaker circuitBreaker = new FoxHttpCircuitBreaker();
+        circuitBreaker.setMinimumCalls(4);
+        circuitBreaker.setWindowSize(10);
+        circuitBreaker.setOpenDuration(100);
+        circuitBreaker.setHalfOpenCalls(2);
+        List<String> stateChanges = new CopyOnWriteArrayList<>();
+        circuitBreaker.addListener((key, from, to) -> stateChanges.add(from + "->" + to));
+        FoxHttpClient foxHttpClient = new FoxHttpClientBuilder().setFoxHttpCircuitBreaker(circuitBreaker).build();
+
+        for (int i = 0; i < 4; i++) {
+            assertThat(new FoxHttpRequestBuilder(server.getUrl("/service"), RequestType.GET, foxHttpClient).buildAndExecute().getResponseCode()).isEqualTo(503);
+        }
+        String key = server.getUrl("");
+        assertThat(circuitBreaker.getState(key)).isEqualTo(CircuitBreakerState.OPEN);
+
+        try {
+            new FoxHttpRequestBuilder(server.getUrl("/service"), RequestType.GET, foxHttpClient).buildAndExecute();
+            fail("The open circuit has to reject the request");
+        } catch (CircuitBreakerOpenException e) {
+            assertThat(e.getKey()).isEqualTo(key);
+        }
+        assertThat(serverRequests.get()).isEqualTo(4);
+
+        available.set(true);
+        Thread.sleep(150);
+        for (int i = 0; i < 2; i++) {
+            assertThat(new FoxHttpRequestBuilder(server.getUrl("/service"), RequestType.GET, foxHttpClient).buildAndExecute().getResponseCode()).isEqualTo(200);
+        }
+        assertThat(circuitBreaker.getState(key)).isEqualTo(CircuitBreakerState.CLOSED);
+        assertThat(stateChanges).containsExactly("CLOSED->OPEN", "OPEN->HALF_OPEN", "HALF_OPEN->CLOSED");
+    }
+
+    @Test
+    public void openCircuitOnExceededDeadline() throws Exception {
+        FoxHttpCircuitBreaker circuitBreaker = new FoxHttpCircuitBreaker();
+        circuitBreaker.setMinimumCalls(2);
+        circuitBreaker.setWindowSize(2);
+        FoxHttpClient foxHttpClient = new FoxHttpClientBuilder().setFoxHttpCircuitBreaker(circuitBreaker).build();
+
+        for (int i = 0; i < 2; i++) {
+            try {
+                FoxHttpRequest request = new FoxHttpRequestBuilder(server.getUrl("/hang"), RequestType.GET, foxHttpClient).build();
+                request.setDeadline(100);
+                request.execute();
+                fail("The request has to exceed its deadline");
+            } catch (DeadlineExceededException e) {
+                assertThat(e.getMessage()).contains("deadline");
+            }
+        }
+        assertThat(circuitBreaker.getState(server.getUrl(""))).isEqualTo(CircuitBreakerState.OPEN);
+
+        try {
+            new FoxHttpRequestBuilder(server.getUrl("/hang"), RequestType.GET, foxHttpClient).buildAndExecute();
+            fail("The open circuit has to reject the request");
+        } catch (CircuitBreakerOpenException e) {
+            assertThat(serverRequests.get()).isEqualTo(2);
+        }
+    }
+
+    @Test
+    public void shareCircuitOfScope() throws Exception {
+        FoxHttpCircuitBreaker circuitBreaker = new FoxHttpCircuitBreaker();
+        circuitBreaker.addScope(".*/service.*");
+        FoxHttpClient foxHttpClient = new FoxHttpClientBuilder().build();
+
+        assertThat(circuitBreaker.getKey(new FoxHttpRequestBuilder(server.getUrl("/service/a"), RequestType.GET, foxHttpClient).build())).isEqualTo(".*/service.*");
+        assertThat(circuitBreaker.getKey(new FoxHttpRequestBuilder(server.getUrl("/other"), RequestType.GET, foxHttpClient).build()))
+            .isEqualTo(server.getUrl(""));
+    }
+}
@@ -0,0 +1,144 @@
+package ch.viascom.groundwork.foxhttp;
+
+import ch.viascom.groundwork.foxhttp.builder.FoxHttpClientBuilder;
+import ch.viascom.groundwork.foxhttp.builder.FoxHttpRequestBuilder;
+import ch.viascom.groundwork.foxhttp.log.DefaultFoxHttpLogger;
+import ch.viascom.groundwork.foxhttp.ssl.AllowAllSSLCertificateTrustStrategy;
+import ch.viascom.groundwork.foxhttp.ssl.CachedSSLTrustStrategy;
+import ch.viascom.groundwork.foxhttp.ssl.OnwSSLCertificateTrustStrategy;
+import ch.viascom.groundwork.foxhttp.type.RequestType;
+import java.io.ByteArrayInputStream;
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.security.KeyStore;
+import javax.net.ssl.KeyManagerFactory;
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLServerSocket;
+import javax.net.ssl.SSLSocketFactory;
+import org.junit.Test;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+
+/**
+ * @author nikola.stankovic@viascom.ch
+ */
+public class FoxHttpClientTest {
+
+    private FoxHttpClient client = new FoxHttpClient();
+
+    @Test
+    public void testSSLDebugLogIsActivated() {
+        client.getFoxHttpSSLTrustStrategy().activateSSLDebugLog();
+        assertThat(System.getProperty("javax.net.debug")).isEqualTo("all");
+    }
+
+    @Test
+    public void testSSLDebugLogIsDisabled() {
+        client.getFoxHttpSSLTrustStrategy().disableSSLDebugLog();
+        assertThat(System.getProperty("javax.net.debug")).isNullOrEmpty();
+    }
+
+    @Test
+    public void testSSLSocketFactoryIsCached() throws Exception {
+        AllowAllSSLCertificateTrustStrategy allowAllStrategy = new AllowAllSSLCertificateTrustStrategy();
+        SSLSocketFactory socketFactory = allowAllStrategy.getSSLSocketFactory(null, new DefaultFoxHttpLogger());
+        assertThat(allowAllStrategy.getSSLSocketFactory(null, new DefaultFoxHttpLogger())).isSameAs(socketFactory);
+        assertThat(allowAllStrategy.getHandshakeCount()).isEqualTo(0);
+        assertThat(allowAllStrategy.getResumedHandshakeCount()).isEqualTo(0);
+
+        allowAllStrategy.reset();
+        assertThat(allowAllStrategy.getSSLSocketFactory(null, new DefaultFoxHttpLogger())).isNotSameAs(socketFactory);
+
+        //The key store stream can only be read once
+        KeyStore keyStore = KeyStore.getInstance("JKS");
+        keyStore.load(null, null);
+        ByteArrayOutputStream keyStoreOutputStream = new ByteArrayOutputStream();
+        keyStore.store(keyStoreOutputStream, "changeit".toCharArray());
+        OnwSSLCertificateTrustStrategy ownStrategy = new OnwSSLCertificateTrustStrategy(new ByteArrayInputStream(keyStoreOutputStream.toByteArray()),
+            "changeit", "changeit");
+        ownStrategy.setSessionCacheSize(16);
+        SSLSocketFactory ownSocketFactory = ownStrategy.getSSLSocketFactory(null, new DefaultFoxHttpLogger());
+        assertThat(ownStrategy.getSSLSocketFactory(null, new DefaultFoxHttpLogger())).isSameAs(ownSocketFactory);
+
+        ownStrategy.reset();
+        assertThat(ownStrategy.getSSLSocketFactory(null, new DefaultFoxHttpLogger())).isNotSameAs(ownSocketFactory);
+    }
+
+    @Test
+    public void testSSLSessionsAreResumed() throws Exception {
+        KeyStore keyStore = KeyStore.getInstance("JKS");
+        try (InputStream inputStream = getClass().getResourceAsStream("/ssl/localhost.jks")) {
+            keyStore.load(inputStream, "changeit".toCharArray());
+        }
+        KeyManagerFactory keyManagerFactory = KeyManagerFactory.getInstance(KeyManagerFactory.getDefaultAlgorithm());
+        keyManagerFactory.init(keyStore, "changeit".toCharArray());
+        SSLContext serverContext = SSLContext.getInstance("TLS");
+        serverContext.init(keyManagerFactory.getKeyManagers(), null, null);
+
+        try (SSLServerSocket serverSocket = (SSLServerSocket) serverContext.getServerSocketFactory().createServerSocket(0, 0, InetAddress.getLoopbackAddress())) {
+            Thread serverThread = new Thread(() -> serveAndClose(serverSocket), "ssl-test-server");
+            serverThread.setDaemon(true);
+            serverThread.start();
+
+            OnwSSLCertificateTrustStrategy sslTrustStrategy = new OnwSSLCertificateTrustStrategy(getClass().getResourceAsStream("/ssl/localhost.jks"), "changeit",
+                "changeit");
+            FoxHttpClient foxHttpClient = new FoxHttpClientBuilder().setFoxHttpSSLTrustStrategy(sslTrustStrategy).build();
+            String url = "https://127.0.0.1:" + serverSocket.getLocalPort() + "/";
+
+            //Every request needs a new connection because the server closes it
+            for (int i = 0; i < 3; i++) {
+                FoxHttpResponse response = new FoxHttpRequestBuilder(url, RequestType.GET, foxHttpClient).buildAndExecute();
+                assertThat(response.getStringBody()).isEqualTo("fox");
+                awaitHandshakes(sslTrustStrategy, i + 1);
+            }
+            assertThat(sslTrustStrategy.getHandshakeCount()).isEqualTo(1);
+            assertThat(sslTrustStrategy.getResumedHandshakeCount()).isEqualTo(2);
+
+            //A new SSLContext has no cached session and needs the key store again
+            sslTrustStrategy.reset();
+            FoxHttpResponse response = new FoxHttpRequestBuilder(url, RequestType.GET, foxHttpClient).buildAndExecute();
+            assertThat(response.getStringBody()).isEqualTo("fox");
+            awaitHandshakes(sslTrustStrategy, 4);
+            assertThat(sslTrustStrategy.getHandshakeCount()).isEqualTo(2);
+            assertThat(sslTrustStrategy.getResumedHandshakeCount()).isEqualTo(2);
+        }
+    }
+
+    private static void serveAndClose(SSLServerSocket serverSocket) {
+        while (!serverSocket.isClosed()) {
+            try (Socket socket = serverSocket.accept()) {
+                BufferedReader reader = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII));
+                String line;
+                while ((line = reader.readLine()) != null && !line.isEmpty()) {
+                    //Skip the request head
+                }
+                OutputStream outputStream = socket.getOutputStream();
+                outputStream.write("HTTP/1.1 200 OK\r\nContent-Length: 3\r\nConnection: close\r\n\r\nfox".getBytes(StandardCharsets.US_ASCII));
+                outputStream.flush();
+                //Wait for the close_notify of the client, an unclean close would invalidate the session
+                while (reader.readLine() != null) {
+                    //Discard
+                }
+            } catch (IOException e) {
+                //The server socket got closed or the client failed
+            }
+        }
+    }
+
+    private static void awaitHandshakes(CachedSSLTrustStrategy sslTrustStrategy, long count) throws InterruptedException {
+        long waitUntil = System.currentTimeMillis() + 5_000;
+        while (sslTrustStrategy.getHandshakeCount() + sslTrustStrategy.getResumedHandshakeCount() < count && System.currentTimeMillis() < waitUntil) {
+            Thread.sleep(10);
+        }
+        //Handshake listeners are notified on another thread and the creation time of a session has a resolution of milliseconds
+        Thread.sleep(10);
+    }
+
+}
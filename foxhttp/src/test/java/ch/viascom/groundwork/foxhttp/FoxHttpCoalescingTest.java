@@ -0,0 +1,162 @@
+package ch.viascom.groundwork.foxhttp;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+import static org.fest.assertions.api.Assertions.fail;
+
+import ch.viascom.groundwork.foxhttp.body.request.RequestStringBody;
+import ch.viascom.groundwork.foxhttp.builder.FoxHttpClientBuilder;
+import ch.viascom.groundwork.foxhttp.builder.FoxHttpRequestBuilder;
+import ch.viascom.groundwork.foxhttp.coalescing.FoxHttpRequestCoalescer;
+import ch.viascom.groundwork.foxhttp.deadline.DeadlineExceededException;
+import ch.viascom.groundwork.foxhttp.exception.FoxHttpRequestException;
+import ch.viascom.groundwork.foxhttp.server.TestServer;
+import ch.viascom.groundwork.foxhttp.type.RequestType;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * @author patrick.boesch@viascom.ch
+ */
+public class FoxHttpCoalescingTest {
+
+    private TestServer server;
+    private FoxHttpRequestCoalescer coalescer;
+    private FoxHttpClient foxHttpClient;
+    private AtomicInteger serverRequests = new AtomicInteger();
+    private CountDownLatch release = new CountDownLatch(1);
+
+    @Before
+    public void startServer() throws Exception {
+        server = new TestServer();
+        server.handle("/popular", exchange -> {
+            serverRequests.incrementAndGet();
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            exchange.getResponseHeaders().add("X-Fox", "popular");
+            TestServer.respond(exchange, 200, "shared".getBytes(StandardCharsets.UTF_8));
+        });
+        coalescer = new FoxHttpRequestCoalescer();
+        foxHttpClient = new FoxHttpClientBuilder().setFoxHttpRequestCoalescer(coalescer).build();
+    }
+
+    @After
+    public void stopServer() {
+        release.countDown();
+        server.close();
+    }
+
+    @Test
+    public void coalesceIdenticalRequests() throws Exception {
+        List<CompletableFuture<FoxHttpResponse>> responses = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            responses.add(new FoxHttpRequestBuilder(server.getUrl("/popular"), RequestType.GET, foxHttpClient).build().executeAsync());
+        }
+
+        long waitUntil = System.currentTimeMillis() + 10_000;
+        while (coalescer.getCoalescedRequests() < 5 && System.currentTimeMillis() < waitUntil) {
+            Thread.sleep(10);
+        }
+        release.countDown();
+
+        for (CompletableFuture<FoxHttpResponse> response : responses) {
+            FoxHttpResponse foxHttpResponse = response.get(10, TimeUnit.SECONDS);
+            assertThat(foxHttpResponse.getResponseCode()).isEqualTo(200);
+            assertThat(foxHttpResponse.getStringBody()).isEqualTo("shared");
+            assertThat(foxHttpResponse.getResponseHeaders().getHeader("X-Fox").getValue()).isEqualTo("popular");
+        }
+        //Every request gets its own response
+        responses.get(0).get().getByteArrayOutputStreamBody().reset();
+        assertThat(responses.get(1).get().getStringBody()).isEqualTo("shared");
+
+        assertThat(serverRequests.get()).isEqualTo(1);
+        assertThat(coalescer.getExecutedRequests()).isEqualTo(1);
+        assertThat(coalescer.getCoalescedRequests()).isEqualTo(5);
+        assertThat(coalescer.getInFlightRequests()).isEqualTo(0);
+    }
+
+    @Test
+    public void waitEndsWithDeadlineAndAbort() throws Exception {
+        CompletableFuture<FoxHttpResponse> leader = new FoxHttpRequestBuilder(server.getUrl("/popular"), RequestType.GET, foxHttpClient).build().executeAsync();
+        long waitUntil = System.currentTimeMillis() + 10_000;
+        while (coalescer.getInFlightRequests() < 1 && System.currentTimeMillis() < waitUntil) {
+            Thread.sleep(10);
+        }
+
+        long start = System.nanoTime();
+        try {
+            new FoxHttpRequestBuilder(server.getUrl("/popular"), RequestType.GET, foxHttpClient).setDeadline(200).buildAndExecute();
+            fail("The waiting request has to end with its deadline");
+        } catch (DeadlineExceededException e) {
+            assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)).isLessThan(5_000);
+        }
+
+        FoxHttpRequest abortedRequest = new FoxHttpRequestBuilder(server.getUrl("/popular"), RequestType.GET, foxHttpClient).build();
+        CompletableFuture<FoxHttpResponse> aborted = abortedRequest.executeAsync();
+        while (coalescer.getCoalescedRequests() < 2 && System.currentTimeMillis() < waitUntil) {
+            Thread.sleep(10);
+        }
+        abortedRequest.abort();
+        try {
+            aborted.get(5, TimeUnit.SECONDS);
+            fail("The aborted request has to stop waiting");
+        } catch (ExecutionException e) {
+            assertThat(e.getCause()).isInstanceOf(FoxHttpRequestException.class);
+        }
+
+        release.countDown();
+        assertThat(leader.get(10, TimeUnit.SECONDS).getStringBody()).isEqualTo("shared");
+        assertThat(serverRequests.get()).isEqualTo(1);
+    }
+
+    @Test
+    public void takeOverCallOfExceededLeader() throws Exception {
+        CompletableFuture<FoxHttpResponse> leader = new FoxHttpRequestBuilder(server.getUrl("/popular"), RequestType.GET, foxHttpClient).setDeadline(300)
+                                                                                                                                       .build().executeAsync();
+        long waitUntil = System.currentTimeMillis() + 10_000;
+        while (coalescer.getInFlightRequests() < 1 && System.currentTimeMillis() < waitUntil) {
+            Thread.sleep(10);
+        }
+        CompletableFuture<FoxHttpResponse> follower = new FoxHttpRequestBuilder(server.getUrl("/popular"), RequestType.GET, foxHttpClient).build().executeAsync();
+
+        try {
+            leader.get(5, TimeUnit.SECONDS);
+            fail("The leader has to exceed its deadline");
+        } catch (ExecutionException e) {
+            assertThat(e.getCause()).isInstanceOf(DeadlineExceededException.class);
+        }
+
+        //The follower sends the request itself instead of failing with the leader
+        while (serverRequests.get() < 2 && System.currentTimeMillis() < waitUntil) {
+            Thread.sleep(10);
+        }
+        release.countDown();
+        assertThat(follower.get(10, TimeUnit.SECONDS).getStringBody()).isEqualTo("shared");
+        assertThat(serverRequests.get()).isEqualTo(2);
+        assertThat(coalescer.getExecutedRequests()).isEqualTo(2);
+    }
+
+    @Test
+    public void distinguishRequests() throws Exception {
+        FoxHttpRequest request = new FoxHttpRequestBuilder(server.getUrl("/popular"), RequestType.GET, foxHttpClient).build();
+        FoxHttpRequest otherUserRequest = new FoxHttpRequestBuilder(server.getUrl("/popular"), RequestType.GET, foxHttpClient)
+            .addRequestHeader("Authorization", "Bearer fox").build();
+        assertThat(coalescer.createKey(request)).isNotEqualTo(coalescer.createKey(otherUserRequest));
+
+        FoxHttpRequest postRequest = new FoxHttpRequestBuilder(server.getUrl("/popular"), RequestType.POST, foxHttpClient)
+            .setRequestBody(new RequestStringBody("fox")).build();
+        assertThat(coalescer.isCoalescable(request)).isTrue();
+        assertThat(coalescer.isCoalescable(postRequest)).isFalse();
+    }
+}
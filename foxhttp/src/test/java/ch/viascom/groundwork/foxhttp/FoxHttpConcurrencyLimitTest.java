@@ -0,0 +1,138 @@
+package ch.viascom.groundwork.foxhttp;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+import static org.fest.assertions.api.Assertions.fail;
+
+import ch.viascom.groundwork.foxhttp.builder.FoxHttpClientBuilder;
+import ch.viascom.groundwork.foxhttp.builder.FoxHttpRequestBuilder;
+import ch.viascom.groundwork.foxhttp.concurrency.AimdLimitAlgorithm;
+import ch.viascom.groundwork.foxhttp.concurrency.ConcurrencyLimitExceededException;
+import ch.viascom.groundwork.foxhttp.concurrency.FoxHttpConcurrencyLimiter;
+import ch.viascom.groundwork.foxhttp.concurrency.GradientLimitAlgorithm;
+import ch.viascom.groundwork.foxhttp.server.TestServer;
+import ch.viascom.groundwork.foxhttp.type.RequestType;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntSupplier;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * @author patrick.boesch@viascom.ch
+ */
+public class FoxHttpConcurrencyLimitTest {
+
+    private TestServer server;
+    private CountDownLatch release = new CountDownLatch(1);
+
+    @Before
+    public void startServer() throws Exception {
+        server = new TestServer();
+        server.handle("/busy", exchange -> {
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            TestServer.respond(exchange, 200, "fox".getBytes(StandardCharsets.UTF_8));
+        });
+    }
+
+    @After
+    public void stopServer() {
+        release.countDown();
+        server.close();
+    }
+
+    @Test
+    public void shedExcessRequests() throws Exception {
+        FoxHttpConcurrencyLimiter concurrencyLimiter = new FoxHttpConcurrencyLimiter(() -> {
+            AimdLimitAlgorithm algorithm = new AimdLimitAlgorithm();
+            algorithm.setInitialLimit(2);
+            return algorithm;
+        });
+        concurrencyLimiter.setMaxQueueSize(0);
+        FoxHttpClient foxHttpClient = new FoxHttpClientBuilder().setFoxHttpConcurrencyLimiter(concurrencyLimiter).build();
+        String key = server.getUrl("");
+
+        List<CompletableFuture<FoxHttpResponse>> responses = new ArrayList<>();
+        for (int i = 0; i < 2; i++) {
+            responses.add(new FoxHttpRequestBuilder(server.getUrl("/busy"), RequestType.GET, foxHttpClient).build().executeAsync());
+        }
+        awaitValue(() -> concurrencyLimiter.getInFlight(key), 2);
+
+        try {
+            new FoxHttpRequestBuilder(server.getUrl("/busy"), RequestType.GET, foxHttpClient).buildAndExecute();
+            fail("The request over the limit has to be shed");
+        } catch (ConcurrencyLimitExceededException e) {
+            assertThat(e.getKey()).isEqualTo(key);
+        }
+
+        release.countDown();
+        for (CompletableFuture<FoxHttpResponse> response : responses) {
+            assertThat(response.get(10, TimeUnit.SECONDS).getResponseCode()).isEqualTo(200);
+        }
+        assertThat(concurrencyLimiter.getInFlight(key)).isEqualTo(0);
+        //The first completed request used the whole limit
+        assertThat(concurrencyLimiter.getLimit(key)).isGreaterThanOrEqualTo(3);
+    }
+
+    @Test
+    public void queueExcessRequests() throws Exception {
+        FoxHttpConcurrencyLimiter concurrencyLimiter = new FoxHttpConcurrencyLimiter(() -> {
+            AimdLimitAlgorithm algorithm = new AimdLimitAlgorithm();
+            algorithm.setInitialLimit(1);
+            algorithm.setMaxLimit(1);
+            return algorithm;
+        });
+        FoxHttpClient foxHttpClient = new FoxHttpClientBuilder().setFoxHttpConcurrencyLimiter(concurrencyLimiter).build();
+        String key = server.getUrl("");
+
+        List<CompletableFuture<FoxHttpResponse>> responses = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            responses.add(new FoxHttpRequestBuilder(server.getUrl("/busy"), RequestType.GET, foxHttpClient).build().executeAsync());
+        }
+        awaitValue(() -> concurrencyLimiter.getQueueDepth(key), 2);
+        assertThat(concurrencyLimiter.getInFlight(key)).isEqualTo(1);
+
+        release.countDown();
+        for (CompletableFuture<FoxHttpResponse> response : responses) {
+            assertThat(response.get(10, TimeUnit.SECONDS).getStringBody()).isEqualTo("fox");
+        }
+        assertThat(concurrencyLimiter.getQueueDepth(key)).isEqualTo(0);
+    }
+
+    @Test
+    public void adaptLimit() {
+        AimdLimitAlgorithm aimd = new AimdLimitAlgorithm();
+        assertThat(aimd.update(10, 10, 1_000, false)).isEqualTo(11);
+        assertThat(aimd.update(10, 2, 1_000, false)).isEqualTo(10);
+        assertThat(aimd.update(10, 10, 1_000, true)).isEqualTo(9);
+
+        GradientLimitAlgorithm gradient = new GradientLimitAlgorithm();
+        int limit = 20;
+        for (int i = 0; i < 10; i++) {
+            limit = gradient.update(limit, limit, TimeUnit.MILLISECONDS.toNanos(10), false);
+        }
+        int stableLimit = limit;
+        assertThat(stableLimit).isGreaterThan(20);
+        //Requests start to queue on the host
+        for (int i = 0; i < 10; i++) {
+            limit = gradient.update(limit, limit, TimeUnit.MILLISECONDS.toNanos(100), false);
+        }
+        assertThat(limit).isLessThan(stableLimit);
+    }
+
+    private static void awaitValue(IntSupplier value, int expected) throws InterruptedException {
+        long waitUntil = System.currentTimeMillis() + 10_000;
+        while (value.getAsInt() < expected && System.currentTimeMillis() < waitUntil) {
+            Thread.sleep(10);
+        }
+        assertThat(value.getAsInt()).isEqualTo(expected);
+    }
+}
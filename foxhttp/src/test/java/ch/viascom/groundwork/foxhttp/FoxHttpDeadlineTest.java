@@ -0,0 +1,198 @@
+package ch.viascom.groundwork.foxhttp;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+import static org.fest.assertions.api.Assertions.fail;
+
+import ch.viascom.groundwork.foxhttp.annotation.processor.FoxHttpAnnotationParser;
+import ch.viascom.groundwork.foxhttp.annotation.types.GET;
+import ch.viascom.groundwork.foxhttp.annotation.types.Path;
+import ch.viascom.groundwork.foxhttp.async.FoxHttpCallback;
+import ch.viascom.groundwork.foxhttp.builder.FoxHttpClientBuilder;
+import ch.viascom.groundwork.foxhttp.builder.FoxHttpRequestBuilder;
+import ch.viascom.groundwork.foxhttp.deadline.DeadlineExceededException;
+import ch.viascom.groundwork.foxhttp.deadline.FoxHttpDeadline;
+import ch.viascom.groundwork.foxhttp.exception.FoxHttpException;
+import ch.viascom.groundwork.foxhttp.server.TestServer;
+import ch.viascom.groundwork.foxhttp.type.RequestType;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * @author patrick.boesch@viascom.ch
+ */
+public class FoxHttpDeadlineTest {
+
+    private TestServer server;
+    private AtomicInteger serverRequests = new AtomicInteger();
+
+    @Before
+    public void startServer() throws Exception {
+        server = new TestServer();
+        server.handle("/drip", exchange -> {
+            serverRequests.incrementAndGet();
+            //Every read gets a byte before the read timeout, only the deadline ends the request
+            exchange.sendResponseHeaders(200, 0);
+            try (OutputStream outputStream = exchange.getResponseBody()) {
+                for (int i = 0; i < 100; i++) {
+                    outputStream.write('x');
+                    outputStream.flush();
+                    Thread.sleep(100);
+                }
+            } catch (IOException e) {
+                //The client closed the connection
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        server.handle("/trickle", exchange -> {
+            //Sends the body within about 1.2 seconds
+            exchange.sendResponseHeaders(200, 0);
+            try (OutputStream outputStream = exchange.getResponseBody()) {
+                for (int i = 0; i < 12; i++) {
+                    Thread.sleep(100);
+                    outputStream.write('x');
+                    outputStream.flush();
+                }
+            } catch (IOException e) {
+                //The client closed the connection
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        server.handle("/fast", exchange -> TestServer.respond(exchange, 200, "fox".getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @After
+    public void stopServer() {
+        server.close();
+    }
+
+    @Test
+    public void abortSlowDrippingResponse() throws Exception {
+        FoxHttpClient foxHttpClient = new FoxHttpClientBuilder().setDeadline(500).build();
+
+        long start = System.nanoTime();
+        try {
+            new FoxHttpRequestBuilder(server.getUrl("/drip"), RequestType.GET, foxHttpClient).buildAndExecute();
+            fail("The request has to exceed its deadline");
+        } catch (DeadlineExceededException e) {
+            assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)).isLessThan(5_000);
+        }
+
+        FoxHttpResponse response = new FoxHttpRequestBuilder(server.getUrl("/fast"), RequestType.GET, foxHttpClient).buildAndExecute();
+        assertThat(response.getStringBody()).isEqualTo("fox");
+    }
+
+    @Test
+    public void nestedRequestUsesRemainingTime() throws Exception {
+        FoxHttpClient foxHttpClient = new FoxHttpClientBuilder().build();
+
+        //Like the token request of the OAuth2 interceptor while the outer request is running
+        long outerDeadline = FoxHttpDeadline.enter(System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(300));
+        try {
+            new FoxHttpRequestBuilder(server.getUrl("/drip"), RequestType.GET, foxHttpClient).setDeadline(60_000).buildAndExecute();
+            fail("The nested request has to end with the outer deadline");
+        } catch (DeadlineExceededException e) {
+            assertThat(serverRequests.get()).isEqualTo(1);
+        } finally {
+            FoxHttpDeadline.restore(outerDeadline);
+        }
+
+        outerDeadline = FoxHttpDeadline.enter(System.nanoTime() - 1);
+        try {
+            new FoxHttpRequestBuilder(server.getUrl("/fast"), RequestType.GET, foxHttpClient).buildAndExecute();
+            fail("An exceeded deadline must not send the request");
+        } catch (DeadlineExceededException e) {
+            assertThat(serverRequests.get()).isEqualTo(1);
+        } finally {
+            FoxHttpDeadline.restore(outerDeadline);
+        }
+        assertThat(FoxHttpDeadline.getDeadline()).isEqualTo(0);
+    }
+
+    @Test
+    public void executeStreamedRequestAgain() throws Exception {
+        FoxHttpRequest request = new FoxHttpRequestBuilder(server.getUrl("/trickle"), RequestType.GET, new FoxHttpClientBuilder().build())
+            .setStreamResponseBody(true)
+            .setDeadline(1_500)
+            .build();
+
+        //The first response stays open, its deadline is at 1.5 seconds
+        FoxHttpResponse firstResponse = request.execute();
+        Thread.sleep(500);
+        try (FoxHttpResponse secondResponse = request.execute()) {
+            //The body is read until about 1.7 seconds, only the deadline of the second execution applies
+            assertThat(secondResponse.getStringBody()).isEqualTo("xxxxxxxxxxxx");
+        } finally {
+            firstResponse.close();
+        }
+        assertThat(request.isAborted()).isFalse();
+    }
+
+    @Test
+    public void closingStreamedBodyCancelsDeadline() throws Exception {
+        FoxHttpRequest request = new FoxHttpRequestBuilder(server.getUrl("/fast"), RequestType.GET, new FoxHttpClientBuilder().build())
+            .setStreamResponseBody(true)
+            .setDeadline(200)
+            .build();
+
+        try (FoxHttpResponse response = request.execute()) {
+            assertThat(response.getResponseBody().isStreamed()).isTrue();
+        }
+        Thread.sleep(400);
+
+        assertThat(request.isAborted()).isFalse();
+    }
+
+    @Test
+    public void asyncAnnotatedMethodInheritsDeadline() throws Exception {
+        FoxHttpClient foxHttpClient = new FoxHttpClientBuilder().addFoxHttpPlaceholderEntry("host", server.getUrl("")).build();
+        DripInterface dripInterface = new FoxHttpAnnotationParser().parseInterface(DripInterface.class, foxHttpClient);
+
+        CompletableFuture<String> future;
+        CompletableFuture<FoxHttpException> callbackFailure = new CompletableFuture<>();
+        long outerDeadline = FoxHttpDeadline.enter(System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(300));
+        try {
+            future = dripInterface.drip();
+            dripInterface.drip(new FoxHttpCallback<String>() {
+                @Override
+                public void onSuccess(String body) {
+                    callbackFailure.complete(null);
+                }
+
+                @Override
+                public void onFailure(FoxHttpException exception) {
+                    callbackFailure.complete(exception);
+                }
+            });
+        } finally {
+            FoxHttpDeadline.restore(outerDeadline);
+        }
+
+        try {
+            future.get(5, TimeUnit.SECONDS);
+            fail("The asynchronous request has to end with the deadline of the caller");
+        } catch (ExecutionException e) {
+            assertThat(e.getCause()).isInstanceOf(DeadlineExceededException.class);
+        }
+        assertThat(callbackFailure.get(5, TimeUnit.SECONDS)).isInstanceOf(DeadlineExceededException.class);
+    }
+
+    @Path("{host}")
+    interface DripInterface {
+
+        @GET("/drip")
+        CompletableFuture<String> drip() throws FoxHttpException;
+
+        @GET("/drip")
+        void drip(FoxHttpCallback<String> callback) throws FoxHttpException;
+    }
+}
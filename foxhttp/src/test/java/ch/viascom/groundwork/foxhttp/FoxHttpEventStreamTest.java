@@ -0,0 +1,247 @@
+package ch.viascom.groundwork.foxhttp;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+import static org.fest.assertions.api.Assertions.fail;
+
+import ch.viascom.groundwork.foxhttp.builder.FoxHttpClientBuilder;
+import ch.viascom.groundwork.foxhttp.builder.FoxHttpRequestBuilder;
+import ch.viascom.groundwork.foxhttp.exception.FoxHttpRequestException;
+import ch.viascom.groundwork.foxhttp.exception.FoxHttpResponseException;
+import ch.viascom.groundwork.foxhttp.models.User;
+import ch.viascom.groundwork.foxhttp.response.stream.EventTooLargeException;
+import ch.viascom.groundwork.foxhttp.response.stream.FoxHttpEventSource;
+import ch.viascom.groundwork.foxhttp.response.stream.FoxHttpEventStream;
+import ch.viascom.groundwork.foxhttp.response.stream.ServerSentEvent;
+import ch.viascom.groundwork.foxhttp.server.TestServer;
+import ch.viascom.groundwork.foxhttp.type.RequestType;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * @author patrick.boesch@viascom.ch
+ */
+public class FoxHttpEventStreamTest {
+
+    private static final int USER_COUNT = 1_000;
+
+    private TestServer server;
+    private final AtomicInteger connections = new AtomicInteger();
+    private final AtomicInteger droppedConnections = new AtomicInteger();
+    private final AtomicInteger largeConnections = new AtomicInteger();
+    private final List<String> lastEventIds = Collections.synchronizedList(new ArrayList<>());
+
+    @Before
+    public void startServer() throws Exception {
+        server = new TestServer().handle("/events", exchange -> {
+            int connection = connections.incrementAndGet();
+            lastEventIds.add(exchange.getRequestHeaders().getFirst("Last-Event-ID"));
+            if (connection > 2) {
+                //Stop the client from reconnecting
+                exchange.sendResponseHeaders(204, -1);
+                exchange.close();
+                return;
+            }
+            exchange.getResponseHeaders().add("Content-Type", "text/event-stream");
+            exchange.sendResponseHeaders(200, 0);
+            try (Writer writer = new OutputStreamWriter(exchange.getResponseBody(), StandardCharsets.UTF_8)) {
+                if (connection == 1) {
+                    writer.write("retry: 10\n: comment\n\n");
+                    writer.write("id: 1\ndata: first\n\n");
+                    writer.write("id: 2\nevent: update\ndata: second\ndata: line\n\n");
+                    writer.write("id: 3\ndata: incomplete");
+                } else {
+                    writer.write("id: 3\r\ndata: third\r\n\r\n");
+                }
+            }
+        }).handle("/dropped", exchange -> {
+            if (droppedConnections.incrementAndGet() > 1) {
+                exchange.sendResponseHeaders(204, -1);
+                exchange.close();
+                return;
+            }
+            exchange.getResponseHeaders().add("Content-Type", "text/event-stream");
+            exchange.sendResponseHeaders(200, 0);
+            exchange.getResponseBody().write("retry: 10\nid: 1\ndata: first\n\n".getBytes(StandardCharsets.UTF_8));
+            exchange.getResponseBody().flush();
+            //Close the connection without the last chunk
+            throw new IllegalStateException("Connection dropped");
+        }).handle("/large", exchange -> {
+            if (largeConnections.incrementAndGet() > 1) {
+                exchange.sendResponseHeaders(204, -1);
+                exchange.close();
+                return;
+            }
+            exchange.getResponseHeaders().add("Content-Type", "text/event-stream");
+            exchange.sendResponseHeaders(200, 0);
+            try (Writer writer = new OutputStreamWriter(exchange.getResponseBody(), StandardCharsets.UTF_8)) {
+                writer.write("retry: 10\nid: 1\ndata: small\n\n");
+                writer.write("id: 2\ndata: an event which exceeds the maximal size\n\n");
+            }
+        }).handle("/users", exchange -> {
+            exchange.getResponseHeaders().add("Content-Type", "application/x-ndjson");
+            exchange.sendResponseHeaders(200, 0);
+            try (Writer writer = new OutputStreamWriter(exchange.getResponseBody(), StandardCharsets.UTF_8)) {
+                for (int i = 0; i < USER_COUNT; i++) {
+                    writer.write("{\"username\":\"user" + i + "\"}\n");
+                    if (i % 100 == 0) {
+                        writer.write("\n");
+                    }
+                }
+            }
+        });
+    }
+
+    @After
+    public void stopServer() {
+        server.close();
+    }
+
+    @Test
+    public void serverSentEventsWithReconnect() throws Exception {
+        FoxHttpRequest request = new FoxHttpRequestBuilder(server.getUrl("/events"), RequestType.GET, new FoxHttpClientBuilder().build()).build();
+
+        List<ServerSentEvent> events = new ArrayList<>();
+        request.executeEventStream(events::add);
+
+        assertThat(events).hasSize(3);
+        assertThat(events.get(0).getId()).isEqualTo("1");
+        assertThat(events.get(0).getEvent()).isEqualTo("message");
+        assertThat(events.get(0).getData()).isEqualTo("first");
+        assertThat(events.get(0).getRetry()).isEqualTo(10);
+        assertThat(events.get(1).getEvent()).isEqualTo("update");
+        assertThat(events.get(1).getData()).isEqualTo("second\nline");
+        assertThat(events.get(2).getId()).isEqualTo("3");
+        assertThat(events.get(2).getData()).isEqualTo("third");
+
+        assertThat(connections.get()).isEqualTo(3);
+        assertThat(lastEventIds.get(0)).isNull();
+        assertThat(lastEventIds.get(1)).isEqualTo("2");
+        assertThat(lastEventIds.get(2)).isEqualTo("3");
+    }
+
+    @Test
+    public void failingListenerStopsEventStream() throws Exception {
+        FoxHttpRequest request = new FoxHttpRequestBuilder(server.getUrl("/events"), RequestType.GET, new FoxHttpClientBuilder().build()).build();
+
+        List<ServerSentEvent> events = new ArrayList<>();
+        try {
+            request.executeEventStream(event -> {
+                events.add(event);
+                throw new FoxHttpRequestException("Listener failed");
+            });
+            fail("Listener exception expected");
+        } catch (FoxHttpRequestException e) {
+            assertThat(e.getMessage()).isEqualTo("Listener failed");
+        }
+
+        assertThat(events).hasSize(1);
+        assertThat(connections.get()).isEqualTo(1);
+    }
+
+    @Test
+    public void retryAppliesAfterDroppedConnection() throws Exception {
+        FoxHttpRequest request = new FoxHttpRequestBuilder(server.getUrl("/dropped"), RequestType.GET, new FoxHttpClientBuilder().build()).build();
+
+        FoxHttpEventSource<ServerSentEvent> eventSource = FoxHttpEventSource.serverSentEvents(request);
+        List<ServerSentEvent> events = new ArrayList<>();
+        eventSource.consume(events::add);
+
+        assertThat(events).hasSize(1);
+        assertThat(droppedConnections.get()).isEqualTo(2);
+        assertThat(eventSource.getReconnectDelay()).isEqualTo(10);
+    }
+
+    @Test
+    public void oversizedEventClosesEventStream() throws Exception {
+        FoxHttpRequest request = new FoxHttpRequestBuilder(server.getUrl("/large"), RequestType.GET, new FoxHttpClientBuilder().build()).build();
+
+        FoxHttpEventSource<ServerSentEvent> eventSource = FoxHttpEventSource.serverSentEvents(request);
+        eventSource.setMaxEventSize(16);
+        List<ServerSentEvent> events = new ArrayList<>();
+        try {
+            eventSource.consume(events::add);
+            fail("Oversized event must not be skipped by a reconnect");
+        } catch (FoxHttpResponseException e) {
+            assertThat(e.getCause()).isInstanceOf(EventTooLargeException.class);
+        }
+
+        assertThat(events).hasSize(1);
+        assertThat(largeConnections.get()).isEqualTo(1);
+        assertThat(eventSource.isClosed()).isTrue();
+    }
+
+    @Test
+    public void ndJsonListener() throws Exception {
+        FoxHttpRequest request = new FoxHttpRequestBuilder(server.getUrl("/users"), RequestType.GET, new FoxHttpClientBuilder().build()).build();
+
+        List<User> users = new ArrayList<>();
+        request.<User>executeNdJsonStream(User.class, users::add);
+
+        assertThat(users).hasSize(USER_COUNT);
+        assertThat(users.get(USER_COUNT - 1).getUsername()).isEqualTo("user" + (USER_COUNT - 1));
+    }
+
+    @Test
+    public void ndJsonIteratorWithSmallBuffer() throws Exception {
+        FoxHttpRequest request = new FoxHttpRequestBuilder(server.getUrl("/users"), RequestType.GET, new FoxHttpClientBuilder().build()).build();
+
+        int count = 0;
+        try (FoxHttpEventStream<User> stream = request.openNdJsonStream(User.class, 4)) {
+            while (stream.hasNext()) {
+                assertThat(stream.next().getUsername()).isEqualTo("user" + count);
+                count++;
+            }
+        }
+        assertThat(count).isEqualTo(USER_COUNT);
+    }
+
+    @Test
+    public void ndJsonIteratorOnExecutor() throws Exception {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            FoxHttpRequest request = new FoxHttpRequestBuilder(server.getUrl("/users"), RequestType.GET, new FoxHttpClientBuilder().build()).build();
+
+            int count = 0;
+            try (FoxHttpEventStream<User> stream = new FoxHttpEventStream<>(FoxHttpEventSource.<User>ndJson(request, User.class), 4, executor)) {
+                while (stream.hasNext()) {
+                    assertThat(stream.next().getUsername()).isEqualTo("user" + count);
+                    count++;
+                }
+            }
+            assertThat(count).isEqualTo(USER_COUNT);
+
+            //The consumer has returned its thread to the executor
+            assertThat(executor.submit(() -> true).get(5, TimeUnit.SECONDS)).isTrue();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void closeStopsEventStream() throws Exception {
+        FoxHttpRequest request = new FoxHttpRequestBuilder(server.getUrl("/users"), RequestType.GET, new FoxHttpClientBuilder().build()).build();
+
+        FoxHttpEventSource<User> eventSource = FoxHttpEventSource.ndJson(request, User.class);
+        List<User> users = new ArrayList<>();
+        eventSource.consume(user -> {
+            users.add(user);
+            if (users.size() == 10) {
+                eventSource.close();
+            }
+        });
+
+        assertThat(users).hasSize(10);
+        assertThat(eventSource.isClosed()).isTrue();
+    }
+}
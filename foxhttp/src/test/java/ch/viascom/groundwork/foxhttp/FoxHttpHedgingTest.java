@@ -0,0 +1,148 @@
+package ch.viascom.groundwork.foxhttp;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+
+import ch.viascom.groundwork.foxhttp.builder.FoxHttpClientBuilder;
+import ch.viascom.groundwork.foxhttp.builder.FoxHttpRequestBuilder;
+import ch.viascom.groundwork.foxhttp.hedging.FoxHttpHedgingPolicy;
+import ch.viascom.groundwork.foxhttp.interceptor.FoxHttpInterceptorType;
+import ch.viascom.groundwork.foxhttp.interceptor.request.FoxHttpRequestInterceptor;
+import ch.viascom.groundwork.foxhttp.interceptor.request.context.FoxHttpRequestInterceptorContext;
+import ch.viascom.groundwork.foxhttp.metrics.LatencyHistogram;
+import ch.viascom.groundwork.foxhttp.server.TestServer;
+import ch.viascom.groundwork.foxhttp.type.RequestType;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * @author patrick.boesch@viascom.ch
+ */
+public class FoxHttpHedgingTest {
+
+    private TestServer server;
+    private AtomicInteger slowRequests = new AtomicInteger();
+    private CountDownLatch release = new CountDownLatch(1);
+
+    @Before
+    public void startServer() throws Exception {
+        server = new TestServer();
+        server.handle("/slow", exchange -> {
+            //Only the first request hangs, like a slow replica
+            if (slowRequests.incrementAndGet() == 1) {
+                try {
+                    release.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            TestServer.respond(exchange, 200, "fox".getBytes(StandardCharsets.UTF_8));
+        });
+        server.handle("/fast", exchange -> TestServer.respond(exchange, 200, "fox".getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @After
+    public void stopServer() {
+        release.countDown();
+        server.close();
+    }
+
+    @Test
+    public void hedgeSlowRequest() throws Exception {
+        FoxHttpHedgingPolicy hedgingPolicy = new FoxHttpHedgingPolicy(50);
+        FoxHttpClient foxHttpClient = new FoxHttpClientBuilder().setFoxHttpHedgingPolicy(hedgingPolicy).build();
+
+        long start = System.nanoTime();
+        FoxHttpResponse response = new FoxHttpRequestBuilder(server.getUrl("/slow"), RequestType.GET, foxHttpClient).buildAndExecute();
+        long duration = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        assertThat(response.getStringBody()).isEqualTo("fox");
+        assertThat(duration).isLessThan(5_000);
+        assertThat(slowRequests.get()).isEqualTo(2);
+        assertThat(hedgingPolicy.getHedgesSent()).isEqualTo(1);
+        assertThat(hedgingPolicy.getHedgesWon()).isEqualTo(1);
+    }
+
+    @Test
+    public void hedgeAsyncRequestOnSingleThreadExecutor() throws Exception {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            FoxHttpHedgingPolicy hedgingPolicy = new FoxHttpHedgingPolicy(50);
+            FoxHttpClient foxHttpClient = new FoxHttpClientBuilder().setFoxHttpHedgingPolicy(hedgingPolicy).setFoxHttpExecutor(executor).build();
+
+            //The copy must not be queued behind the original request which occupies the only thread
+            CompletableFuture<FoxHttpResponse> response = new FoxHttpRequestBuilder(server.getUrl("/slow"), RequestType.GET, foxHttpClient).build().executeAsync();
+
+            assertThat(response.get(5, TimeUnit.SECONDS).getStringBody()).isEqualTo("fox");
+            assertThat(hedgingPolicy.getHedgesWon()).isEqualTo(1);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void hedgeRequestBlockedBeforeConnect() throws Exception {
+        FoxHttpHedgingPolicy hedgingPolicy = new FoxHttpHedgingPolicy(50);
+        AtomicInteger interceptedRequests = new AtomicInteger();
+        //The first request blocks where an abort can not wake it, like a queue of a limiter
+        FoxHttpClient foxHttpClient = new FoxHttpClientBuilder().setFoxHttpHedgingPolicy(hedgingPolicy).addFoxHttpInterceptor(FoxHttpInterceptorType.REQUEST,
+            new FoxHttpRequestInterceptor() {
+                @Override
+                public void onIntercept(FoxHttpRequestInterceptorContext context) {
+                    if (interceptedRequests.incrementAndGet() == 1) {
+                        try {
+                            release.await(10, TimeUnit.SECONDS);
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        }
+                    }
+                }
+
+                @Override
+                public int getWeight() {
+                    return 0;
+                }
+            }).build();
+
+        long start = System.nanoTime();
+        FoxHttpResponse response = new FoxHttpRequestBuilder(server.getUrl("/fast"), RequestType.GET, foxHttpClient).buildAndExecute();
+        long duration = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        assertThat(response.getStringBody()).isEqualTo("fox");
+        assertThat(duration).isLessThan(5_000);
+        assertThat(hedgingPolicy.getHedgesWon()).isEqualTo(1);
+    }
+
+    @Test
+    public void doNotHedgeFastRequest() throws Exception {
+        FoxHttpHedgingPolicy hedgingPolicy = new FoxHttpHedgingPolicy(1_000, 0.95);
+        FoxHttpClient foxHttpClient = new FoxHttpClientBuilder().build();
+
+        for (int i = 0; i < 5; i++) {
+            FoxHttpResponse response = new FoxHttpRequestBuilder(server.getUrl("/fast"), RequestType.GET, foxHttpClient).setFoxHttpHedgingPolicy(hedgingPolicy)
+                                                                                                                        .buildAndExecute();
+            assertThat(response.getStringBody()).isEqualTo("fox");
+        }
+        assertThat(hedgingPolicy.getHedgesSent()).isEqualTo(0);
+        assertThat(hedgingPolicy.getLatencyHistogram("GET " + server.getUrl("/fast")).getCount()).isEqualTo(5);
+    }
+
+    @Test
+    public void latencyPercentile() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 1; i <= 100; i++) {
+            histogram.record(TimeUnit.MILLISECONDS.toNanos(i));
+        }
+        assertThat(histogram.getCount()).isEqualTo(100);
+        //Buckets are accurate to a quarter of a power of two
+        assertThat(TimeUnit.NANOSECONDS.toMillis(histogram.getPercentile(0.5))).isGreaterThanOrEqualTo(50).isLessThan(64);
+        assertThat(TimeUnit.NANOSECONDS.toMillis(histogram.getPercentile(0.95))).isGreaterThanOrEqualTo(95).isLessThan(120);
+    }
+}
@@ -0,0 +1,151 @@
+package ch.viascom.groundwork.foxhttp;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+
+import ch.viascom.groundwork.foxhttp.annotation.processor.FoxHttpAnnotationParser;
+import ch.viascom.groundwork.foxhttp.annotation.types.GET;
+import ch.viascom.groundwork.foxhttp.annotation.types.JsonPointer;
+import ch.viascom.groundwork.foxhttp.annotation.types.Path;
+import ch.viascom.groundwork.foxhttp.builder.FoxHttpClientBuilder;
+import ch.viascom.groundwork.foxhttp.builder.FoxHttpRequestBuilder;
+import ch.viascom.groundwork.foxhttp.models.User;
+import ch.viascom.groundwork.foxhttp.response.stream.JsonArrayIterator;
+import ch.viascom.groundwork.foxhttp.server.TestServer;
+import ch.viascom.groundwork.foxhttp.type.RequestType;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * @author patrick.boesch@viascom.ch
+ */
+public class FoxHttpJsonStreamTest {
+
+    private static final int USER_COUNT = 50_000;
+
+    private TestServer server;
+
+    @Before
+    public void startServer() throws Exception {
+        server = new TestServer().handle("/users", exchange -> {
+            exchange.getResponseHeaders().add("Content-Type", "application/json; charset=UTF-8");
+            exchange.sendResponseHeaders(200, 0);
+            try (Writer writer = new OutputStreamWriter(exchange.getResponseBody(), StandardCharsets.UTF_8)) {
+                writeUsers(writer);
+            }
+        }).handle("/wrapped", exchange -> {
+            exchange.sendResponseHeaders(200, 0);
+            try (Writer writer = new OutputStreamWriter(exchange.getResponseBody(), StandardCharsets.UTF_8)) {
+                writer.write("{\"meta\":{\"skip\":[1,2,3]},\"data\":{\"items\":");
+                writeUsers(writer);
+                writer.write("}}");
+            }
+        });
+    }
+
+    @After
+    public void stopServer() {
+        server.close();
+    }
+
+    @Test
+    public void iterateTopLevelArray() throws Exception {
+        FoxHttpResponse response = new FoxHttpRequestBuilder(server.getUrl("/users"), RequestType.GET, new FoxHttpClientBuilder().build())
+            .setStreamResponseBody(true)
+            .buildAndExecute();
+
+        assertThat(response.getResponseBody().isStreamed()).isTrue();
+
+        int count = 0;
+        JsonArrayIterator<User> iterator = response.getJsonArrayIterator(User.class);
+        while (iterator.hasNext()) {
+            User user = iterator.next();
+            assertThat(user.getUsername()).isEqualTo("user" + count);
+            count++;
+        }
+        assertThat(count).isEqualTo(USER_COUNT);
+    }
+
+    @Test
+    public void logStreamedResponse() throws Exception {
+        FoxHttpResponse response = new FoxHttpRequestBuilder(server.getUrl("/users"), RequestType.GET, new FoxHttpClientBuilder().build())
+            .setStreamResponseBody(true)
+            .buildAndExecute();
+
+        //Neither logging nor comparing the response must read the stream
+        assertThat(response.toString()).contains("responseCode=200");
+        assertThat(response).isEqualTo(response);
+        assertThat(response.hashCode()).isEqualTo(response.hashCode());
+        assertThat(response.getResponseBody().isStreamed()).isTrue();
+
+        try (Stream<User> users = response.getJsonArrayStream(User.class)) {
+            assertThat(users.count()).isEqualTo(USER_COUNT);
+        }
+    }
+
+    @Test
+    public void streamArrayWithPointer() throws Exception {
+        FoxHttpResponse response = new FoxHttpRequestBuilder(server.getUrl("/wrapped"), RequestType.GET, new FoxHttpClientBuilder().build())
+            .setStreamResponseBody(true)
+            .buildAndExecute();
+
+        try (Stream<User> users = response.getJsonArrayStream(User.class, "/data/items")) {
+            List<String> names = users.limit(3).map(User::getUsername).collect(Collectors.toList());
+            assertThat(names).containsExactly("user0", "user1", "user2");
+        }
+    }
+
+    @Test
+    public void iterateBufferedArray() throws Exception {
+        FoxHttpResponse response = new FoxHttpRequestBuilder(server.getUrl("/users"), RequestType.GET, new FoxHttpClientBuilder().build())
+            .buildAndExecute();
+
+        try (Stream<User> users = response.getJsonArrayStream(User.class)) {
+            assertThat(users.count()).isEqualTo(USER_COUNT);
+        }
+    }
+
+    @Test
+    public void annotatedStreamAndIterator() throws Exception {
+        FoxHttpClient client = new FoxHttpClientBuilder().addFoxHttpPlaceholderEntry("host", server.getUrl("")).build();
+        UserInterface userInterface = new FoxHttpAnnotationParser().parseInterface(UserInterface.class, client);
+
+        try (Stream<User> users = userInterface.getUsers()) {
+            assertThat(users.filter(user -> user.getUsername().endsWith("7")).count()).isEqualTo(USER_COUNT / 10);
+        }
+
+        Iterator<User> wrappedUsers = userInterface.getWrappedUsers();
+        assertThat(wrappedUsers.next().getUsername()).isEqualTo("user0");
+        ((JsonArrayIterator<User>) wrappedUsers).close();
+    }
+
+    @Path("{host}")
+    interface UserInterface {
+
+        @GET("/users")
+        Stream<User> getUsers();
+
+        @GET("/wrapped")
+        @JsonPointer("/data/items")
+        Iterator<User> getWrappedUsers();
+    }
+
+    private static void writeUsers(Writer writer) throws IOException {
+        writer.write('[');
+        for (int i = 0; i < USER_COUNT; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writer.write("{\"username\":\"user" + i + "\",\"firstname\":\"Fox\",\"lastname\":\"Http\"}");
+        }
+        writer.write(']');
+    }
+}
@@ -0,0 +1,103 @@
+package ch.viascom.groundwork.foxhttp;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+
+import ch.viascom.groundwork.foxhttp.annotation.processor.FoxHttpAnnotationParser;
+import ch.viascom.groundwork.foxhttp.annotation.types.Body;
+import ch.viascom.groundwork.foxhttp.annotation.types.Field;
+import ch.viascom.groundwork.foxhttp.annotation.types.FormUrlEncodedBody;
+import ch.viascom.groundwork.foxhttp.annotation.types.GET;
+import ch.viascom.groundwork.foxhttp.annotation.types.Header;
+import ch.viascom.groundwork.foxhttp.annotation.types.HeaderField;
+import ch.viascom.groundwork.foxhttp.annotation.types.POST;
+import ch.viascom.groundwork.foxhttp.annotation.types.Path;
+import ch.viascom.groundwork.foxhttp.annotation.types.Query;
+import ch.viascom.groundwork.foxhttp.builder.FoxHttpClientBuilder;
+import ch.viascom.groundwork.foxhttp.exception.FoxHttpException;
+import ch.viascom.groundwork.foxhttp.exception.FoxHttpRequestException;
+import ch.viascom.groundwork.foxhttp.server.TestServer;
+import java.nio.charset.StandardCharsets;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * @author patrick.boesch@viascom.ch
+ */
+public class FoxHttpMethodInvokerTest {
+
+    private TestServer server;
+    private EchoInterface echoInterface;
+
+    @Before
+    public void startServer() throws Exception {
+        server = new TestServer().handle("/", exchange -> {
+            String product = exchange.getRequestHeaders().getFirst("Product");
+            String echo = exchange.getRequestMethod() + " " + exchange.getRequestURI()
+                          + " foo=" + exchange.getRequestHeaders().getFirst("foo")
+                          + " product=" + product
+                          + " body=" + new String(TestServer.readBody(exchange), StandardCharsets.UTF_8);
+            TestServer.respond(exchange, 200, echo.getBytes(StandardCharsets.UTF_8));
+        });
+        echoInterface = new FoxHttpAnnotationParser().parseInterface(EchoInterface.class,
+            new FoxHttpClientBuilder().addFoxHttpPlaceholderEntry("host", server.getUrl("")).build());
+    }
+
+    @After
+    public void stopServer() {
+        server.close();
+    }
+
+    @Test
+    public void bindPathQueryAndHeader() throws Exception {
+        assertThat(echoInterface.get("users", "1", "fox")).isEqualTo("GET /users?id=1 foo=bar product=fox body=");
+    }
+
+    @Test
+    public void parametersDoNotLeakIntoNextCall() throws Exception {
+        echoInterface.get("users", "1", "fox");
+
+        assertThat(echoInterface.get("items", null, null)).isEqualTo("GET /items foo=bar product=null body=");
+    }
+
+    @Test(expected = FoxHttpRequestException.class)
+    public void rejectMissingHeader() throws Exception {
+        echoInterface.getStrict(null);
+    }
+
+    @Test
+    public void bindBodies() throws Exception {
+        assertThat(echoInterface.postString("hello")).isEqualTo("POST /string foo=bar product=null body=hello");
+        assertThat(echoInterface.postForm("fox", "http")).isEqualTo("POST /form foo=bar product=null body=name=fox&type=http");
+    }
+
+    @Test
+    public void returnRequest() throws Exception {
+        FoxHttpRequest request = echoInterface.getRequest("users");
+
+        assertThat(request.getFoxHttpPlaceholderStrategy().getPlaceholderMap().get("path")).isEqualTo("users");
+        assertThat(request.execute().getStringBody()).isEqualTo("GET /users foo=bar product=null body=");
+    }
+
+    @Path("{host}")
+    @Header(name = "foo", value = "bar")
+    interface EchoInterface {
+
+        @GET("/{path}")
+        String get(@Path("path") String path, @Query(value = "id", allowOptional = true) String id,
+            @HeaderField(value = "Product", allowOptional = true) String product) throws FoxHttpException;
+
+        @GET("/strict")
+        String getStrict(@HeaderField("Product") String product) throws FoxHttpException;
+
+        @GET("/{path}")
+        FoxHttpRequest getRequest(@Path("path") String path) throws FoxHttpException;
+
+        @POST("/string")
+        String postString(@Body String body) throws FoxHttpException;
+
+        @POST("/form")
+        @FormUrlEncodedBody
+        String postForm(@Field("name") String name, @Field("type") String type) throws FoxHttpException;
+    }
+}
@@ -0,0 +1,212 @@
+package ch.viascom.groundwork.foxhttp;
+
+import ch.viascom.groundwork.foxhttp.body.request.RequestObjectBody;
+import ch.viascom.groundwork.foxhttp.body.request.RequestStringBody;
+import ch.viascom.groundwork.foxhttp.builder.FoxHttpRequestBuilder;
+import ch.viascom.groundwork.foxhttp.exception.FoxHttpRequestException;
+import ch.viascom.groundwork.foxhttp.models.User;
+import ch.viascom.groundwork.foxhttp.parser.FoxHttpParser;
+import ch.viascom.groundwork.foxhttp.parser.GenericParser;
+import ch.viascom.groundwork.foxhttp.parser.GsonParser;
+import ch.viascom.groundwork.foxhttp.parser.XStreamParser;
+import ch.viascom.groundwork.foxhttp.server.TestServer;
+import ch.viascom.groundwork.foxhttp.type.ContentType;
+import ch.viascom.groundwork.foxhttp.type.RequestType;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Serializable;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+
+/**
+ * @author patrick.boesch@viascom.ch
+ */
+public class FoxHttpParserTest {
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void gsonTest() throws Exception {
+        User user = new User();
+
+        String json = new GsonParser().objectToSerialized(user, ContentType.APPLICATION_JSON);
+        User deUser = (User) new GsonParser().serializedToObject(json, (Class<Serializable>) Class.forName("ch.viascom.groundwork.foxhttp.models.User"), ContentType.APPLICATION_JSON);
+
+        assertThat(user).isEqualTo(deUser);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void xstreamTest() throws Exception {
+        User user = new User();
+
+        String json = new XStreamParser().objectToSerialized(user, ContentType.APPLICATION_JSON);
+        User deUser = (User) new XStreamParser().serializedToObject(json, (Class<Serializable>) Class.forName("ch.viascom.groundwork.foxhttp.models.User"), ContentType.APPLICATION_JSON);
+
+        assertThat(user).isEqualTo(deUser);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void gsonStreamTest() throws Exception {
+        User user = new User();
+
+        StringWriter writer = new StringWriter();
+        new GsonParser().objectToSerialized(user, ContentType.APPLICATION_JSON, writer);
+        User deUser = (User) new GsonParser().serializedToObject(new StringReader(writer.toString()), (Class<Serializable>) (Class<?>) User.class,
+            ContentType.APPLICATION_JSON);
+
+        assertThat(user).isEqualTo(deUser);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void genericStreamTest() throws Exception {
+        User user = new User();
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        new GenericParser().objectToSerialized(user, ContentType.APPLICATION_XML, outputStream);
+        User deUser = (User) new GenericParser().serializedToObject(new ByteArrayInputStream(outputStream.toByteArray()), (Class<Serializable>) (Class<?>) User.class,
+            ContentType.APPLICATION_XML);
+
+        assertThat(user).isEqualTo(deUser);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void sharedGenericParserTest() throws Exception {
+        GenericParser parser = new GenericParser();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<User>> results = new ArrayList<>();
+            for (int i = 0; i < 200; i++) {
+                ContentType contentType = i % 2 == 0 ? ContentType.APPLICATION_JSON : ContentType.APPLICATION_XML;
+                results.add(executor.submit(() -> (User) parser.serializedToObject(parser.objectToSerialized(new User(), contentType),
+                    (Class<Serializable>) (Class<?>) User.class, contentType)));
+            }
+            for (Future<User> result : results) {
+                assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo(new User());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        XStreamParser xStreamParser = (XStreamParser) parser.getFoxHttpParsers().get(ContentType.APPLICATION_XML.getMimeType());
+        assertThat(xStreamParser.getXStream()).isSameAs(xStreamParser.getXStream());
+        assertThat(parser.getParserInputContentType()).isEqualTo(ContentType.WILDCARD);
+        assertThat(parser.getParserOutputContentType()).isEqualTo(ContentType.WILDCARD);
+    }
+
+    @Test
+    public void parseContentTypeTest() throws Exception {
+        ContentType contentType = ContentType.parse("Application/Problem+JSON;charset=\"ISO-8859-1\"; profile=x");
+
+        assertThat(contentType.getMimeType()).isEqualTo("application/problem+json");
+        assertThat(contentType.getType()).isEqualTo("application");
+        assertThat(contentType.getSuffix()).isEqualTo("json");
+        assertThat(contentType.getCharset()).isEqualTo(StandardCharsets.ISO_8859_1);
+        assertThat(contentType.getParameters().get("profile")).isEqualTo("x");
+        assertThat(ContentType.parse("Application/Problem+JSON;charset=\"ISO-8859-1\"; profile=x")).isSameAs(contentType);
+
+        assertThat(ContentType.parse("text/plain; charset=unknown").getCharset()).isNull();
+        assertThat(ContentType.parse(null)).isSameAs(ContentType.WILDCARD);
+        assertThat(ContentType.APPLICATION_XML.getSuffix()).isNull();
+    }
+
+    @Test
+    public void resolveParserTest() throws Exception {
+        GenericParser parser = new GenericParser();
+        FoxHttpParser jsonParser = parser.getFoxHttpParsers().get(ContentType.APPLICATION_JSON.getMimeType());
+        FoxHttpParser xmlParser = parser.getFoxHttpParsers().get(ContentType.APPLICATION_XML.getMimeType());
+
+        assertThat(parser.getFoxHttpParser(ContentType.parse("application/problem+json"))).isSameAs(jsonParser);
+        assertThat(parser.getFoxHttpParser(ContentType.APPLICATION_HAL_JSON)).isSameAs(jsonParser);
+        assertThat(parser.getFoxHttpParser(ContentType.APPLICATION_ATOM_XML)).isSameAs(xmlParser);
+        assertThat(parser.getFoxHttpParser(ContentType.TEXT_XML)).isSameAs(xmlParser);
+        assertThat(parser.getFoxHttpParser(ContentType.parse("text/csv"))).isNull();
+
+        parser.addFoxHttpParser("text/*", jsonParser);
+        assertThat(parser.getFoxHttpParser(ContentType.parse("text/csv"))).isSameAs(jsonParser);
+        parser.removeFoxHttpParser("text/*");
+        assertThat(parser.getFoxHttpParser(ContentType.parse("text/csv"))).isNull();
+
+        //Changes bypassing the register methods would keep outdated resolved mime types
+        try {
+            parser.getFoxHttpParsers().put("text/*", jsonParser);
+            assertThat(false).isEqualTo(true);
+        } catch (UnsupportedOperationException e) {
+            assertThat(parser.getFoxHttpParser(ContentType.parse("text/csv"))).isNull();
+        }
+
+        try {
+            parser.serializedToObject("", null, ContentType.parse("image/png"));
+            assertThat(false).isEqualTo(true);
+        } catch (FoxHttpRequestException e) {
+            assertThat(e.getMessage()).isEqualTo("No matching response parser for content type 'image/png' found");
+        }
+    }
+
+    @Test
+    public void parseSuffixResponseTest() throws Exception {
+        byte[] body = new GsonParser().objectToSerialized(new User(), ContentType.APPLICATION_JSON).getBytes(StandardCharsets.UTF_8);
+        try (TestServer server = new TestServer().handle("/problem", exchange -> {
+            exchange.getResponseHeaders().add("Content-Type", "application/problem+json;charset=utf-8");
+            TestServer.respond(exchange, 200, body);
+        })) {
+            FoxHttpResponse response = new FoxHttpRequestBuilder(server.getUrl("/problem"), RequestType.GET).buildAndExecute();
+
+            assertThat(response.getContentType().getMimeType()).isEqualTo("application/problem+json");
+            assertThat(response.getContentType().getCharset()).isEqualTo(StandardCharsets.UTF_8);
+            assertThat(response.getParsedBody(User.class)).isEqualTo(new User());
+        }
+    }
+
+    @Test
+    public void streamRequestAndResponseTest() throws Exception {
+        try (TestServer server = new TestServer().handle("/echo", exchange -> {
+            TestServer.respond(exchange, 200, TestServer.readBody(exchange));
+        })) {
+            FoxHttpResponse response = new FoxHttpRequestBuilder(server.getUrl("/echo"), RequestType.POST)
+                .setRequestBody(new RequestObjectBody(new User()))
+                .buildAndExecute();
+
+            assertThat(response.getParsedBody(User.class, ContentType.APPLICATION_JSON)).isEqualTo(new User());
+        }
+    }
+
+    @Test
+    public void streamRequestBodyModeTest() throws Exception {
+        //Echo how the body was framed by the client
+        try (TestServer server = new TestServer().handle("/framing", exchange -> {
+            String framing = exchange.getRequestHeaders().getFirst("Transfer-Encoding") + ":" + exchange.getRequestHeaders().getFirst("Content-Length");
+            TestServer.readBody(exchange);
+            TestServer.respond(exchange, 200, framing.getBytes(StandardCharsets.UTF_8));
+        })) {
+            FoxHttpResponse response = new FoxHttpRequestBuilder(server.getUrl("/framing"), RequestType.POST)
+                .setRequestBody(new RequestObjectBody(new User()))
+                .buildAndExecute();
+            assertThat(response.getStringBody()).isEqualTo("chunked:null");
+
+            response = new FoxHttpRequestBuilder(server.getUrl("/framing"), RequestType.POST)
+                .setRequestBody(new RequestStringBody("FoxHttp"))
+                .buildAndExecute();
+            assertThat(response.getStringBody()).isEqualTo("chunked:null");
+
+            //Without a charset the length is known before the body is written
+            response = new FoxHttpRequestBuilder(server.getUrl("/framing"), RequestType.POST)
+                .setRequestBody(new RequestStringBody("FoxHttp", ContentType.create("text/plain", null)))
+                .buildAndExecute();
+            assertThat(response.getStringBody()).isEqualTo("null:7");
+        }
+    }
+}
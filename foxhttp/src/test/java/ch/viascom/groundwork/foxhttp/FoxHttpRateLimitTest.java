@@ -0,0 +1,96 @@
+package ch.viascom.groundwork.foxhttp;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+import static org.fest.assertions.api.Assertions.fail;
+
+import ch.viascom.groundwork.foxhttp.builder.FoxHttpClientBuilder;
+import ch.viascom.groundwork.foxhttp.builder.FoxHttpRequestBuilder;
+import ch.viascom.groundwork.foxhttp.ratelimit.FoxHttpRateLimiter;
+import ch.viascom.groundwork.foxhttp.ratelimit.RateLimitExceededException;
+import ch.viascom.groundwork.foxhttp.server.TestServer;
+import ch.viascom.groundwork.foxhttp.type.RequestType;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * @author patrick.boesch@viascom.ch
+ */
+public class FoxHttpRateLimitTest {
+
+    private TestServer server;
+    private AtomicInteger serverRequests = new AtomicInteger();
+
+    @Before
+    public void startServer() throws Exception {
+        server = new TestServer();
+        server.handle("/api", exchange -> {
+            serverRequests.incrementAndGet();
+            TestServer.respond(exchange, 200, "fox".getBytes(StandardCharsets.UTF_8));
+        });
+        server.handle("/quota", exchange -> {
+            serverRequests.incrementAndGet();
+            exchange.getResponseHeaders().add("X-RateLimit-Remaining", "0");
+            exchange.getResponseHeaders().add("X-RateLimit-Reset", "60");
+            TestServer.respond(exchange, 200, "fox".getBytes(StandardCharsets.UTF_8));
+        });
+    }
+
+    @After
+    public void stopServer() {
+        server.close();
+    }
+
+    @Test
+    public void rejectWithoutPermit() throws Exception {
+        FoxHttpClient foxHttpClient = new FoxHttpClientBuilder().setFoxHttpRateLimiter(new FoxHttpRateLimiter(1, 2)).build();
+
+        for (int i = 0; i < 2; i++) {
+            assertThat(new FoxHttpRequestBuilder(server.getUrl("/api"), RequestType.GET, foxHttpClient).buildAndExecute().getResponseCode()).isEqualTo(200);
+        }
+        try {
+            new FoxHttpRequestBuilder(server.getUrl("/api"), RequestType.GET, foxHttpClient).buildAndExecute();
+            fail("The burst is used up");
+        } catch (RateLimitExceededException e) {
+            assertThat(e.getKey()).isEqualTo(server.getUrl(""));
+        }
+        assertThat(serverRequests.get()).isEqualTo(2);
+    }
+
+    @Test
+    public void waitForPermit() throws Exception {
+        FoxHttpRateLimiter rateLimiter = new FoxHttpRateLimiter(20, 1);
+        rateLimiter.setMaxWait(1_000);
+        FoxHttpClient foxHttpClient = new FoxHttpClientBuilder().setFoxHttpRateLimiter(rateLimiter).build();
+
+        long start = System.nanoTime();
+        for (int i = 0; i < 3; i++) {
+            new FoxHttpRequestBuilder(server.getUrl("/api"), RequestType.GET, foxHttpClient).buildAndExecute();
+        }
+        //Two intervals of 50ms
+        assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)).isGreaterThanOrEqualTo(90);
+        assertThat(serverRequests.get()).isEqualTo(3);
+    }
+
+    @Test
+    public void followQuotaOfServer() throws Exception {
+        FoxHttpRateLimiter rateLimiter = new FoxHttpRateLimiter(0, 1);
+        rateLimiter.addScope(".*/quota", 100, 10);
+        FoxHttpClient foxHttpClient = new FoxHttpClientBuilder().setFoxHttpRateLimiter(rateLimiter).build();
+
+        new FoxHttpRequestBuilder(server.getUrl("/quota"), RequestType.GET, foxHttpClient).buildAndExecute();
+        try {
+            new FoxHttpRequestBuilder(server.getUrl("/quota"), RequestType.GET, foxHttpClient).buildAndExecute();
+            fail("The quota of the server is used up");
+        } catch (RateLimitExceededException e) {
+            assertThat(e.getKey()).isEqualTo(".*/quota");
+        }
+        //Other urls of the host are not limited
+        assertThat(new FoxHttpRequestBuilder(server.getUrl("/api"), RequestType.GET, foxHttpClient).buildAndExecute().getResponseCode()).isEqualTo(200);
+        assertThat(rateLimiter.getKey(new URL(server.getUrl("/api")))).isEqualTo(server.getUrl(""));
+    }
+}
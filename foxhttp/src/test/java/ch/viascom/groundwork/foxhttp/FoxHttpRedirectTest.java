@@ -0,0 +1,110 @@
+package ch.viascom.groundwork.foxhttp;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+
+import ch.viascom.groundwork.foxhttp.body.request.RequestStringBody;
+import ch.viascom.groundwork.foxhttp.builder.FoxHttpClientBuilder;
+import ch.viascom.groundwork.foxhttp.builder.FoxHttpRequestBuilder;
+import ch.viascom.groundwork.foxhttp.exception.FoxHttpRequestException;
+import ch.viascom.groundwork.foxhttp.server.TestServer;
+import ch.viascom.groundwork.foxhttp.type.RequestType;
+import com.sun.net.httpserver.HttpExchange;
+import java.io.IOException;
+import java.net.HttpURLConnection;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * @author patrick.boesch@viascom.ch
+ */
+public class FoxHttpRedirectTest {
+
+    private TestServer server;
+    private FoxHttpClient foxHttpClient;
+    private AtomicInteger movedRequests = new AtomicInteger();
+
+    @Before
+    public void startServer() throws Exception {
+        server = new TestServer();
+        server.handle("/found", exchange -> redirect(exchange, 302, "/echo"));
+        server.handle("/temporary", exchange -> redirect(exchange, 307, "/echo"));
+        server.handle("/moved", exchange -> {
+            movedRequests.incrementAndGet();
+            redirect(exchange, 301, "/echo");
+        });
+        server.handle("/loop", exchange -> redirect(exchange, 302, "/loop"));
+        server.handle("/foreign", exchange -> redirect(exchange, 302, server.getUrl("/echo").replace("127.0.0.1", "localhost")));
+        server.handle("/echo", exchange -> {
+            String body = new String(TestServer.readBody(exchange), StandardCharsets.UTF_8);
+            String authorization = exchange.getRequestHeaders().getFirst("Authorization");
+            TestServer.respond(exchange, 200, (exchange.getRequestMethod() + ":" + body + ":" + authorization).getBytes(StandardCharsets.UTF_8));
+        });
+        foxHttpClient = new FoxHttpClientBuilder().setMaxRedirects(5).build();
+    }
+
+    @After
+    public void stopServer() {
+        server.close();
+    }
+
+    @Test
+    public void followRedirectsPerStatus() throws Exception {
+        FoxHttpResponse foundResponse = new FoxHttpRequestBuilder(server.getUrl("/found"), RequestType.POST, foxHttpClient)
+            .setRequestBody(new RequestStringBody("fox")).buildAndExecute();
+        assertThat(foundResponse.getResponseCode()).isEqualTo(200);
+        assertThat(foundResponse.getStringBody()).isEqualTo("GET::null");
+        assertThat(foundResponse.getFoxHttpRequest().getUrl().toString()).isEqualTo(server.getUrl("/echo"));
+
+        FoxHttpResponse temporaryResponse = new FoxHttpRequestBuilder(server.getUrl("/temporary"), RequestType.POST, foxHttpClient)
+            .setRequestBody(new RequestStringBody("fox")).buildAndExecute();
+        assertThat(temporaryResponse.getStringBody()).isEqualTo("POST:fox:null");
+    }
+
+    @Test
+    public void rememberPermanentRedirects() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            FoxHttpResponse response = new FoxHttpRequestBuilder(server.getUrl("/moved"), RequestType.GET, foxHttpClient).buildAndExecute();
+            assertThat(response.getStringBody()).isEqualTo("GET::null");
+        }
+        assertThat(movedRequests.get()).isEqualTo(1);
+    }
+
+    @Test
+    public void stopAtRedirectLimit() throws Exception {
+        try {
+            new FoxHttpRequestBuilder(server.getUrl("/loop"), RequestType.GET, foxHttpClient).buildAndExecute();
+            assertThat(false).isEqualTo(true);
+        } catch (FoxHttpRequestException e) {
+            assertThat(e.getMessage()).startsWith("Too many redirects, the limit of 5 redirects was reached");
+        }
+    }
+
+    @Test
+    public void returnRedirectWithoutFollowing() throws Exception {
+        FoxHttpResponse response = new FoxHttpRequestBuilder(server.getUrl("/found"), RequestType.GET, foxHttpClient).setFollowRedirect(false)
+                                                                                                                      .buildAndExecute();
+        assertThat(response.getResponseCode()).isEqualTo(302);
+        //The global setting of HttpURLConnection is left untouched
+        assertThat(HttpURLConnection.getFollowRedirects()).isTrue();
+    }
+
+    @Test
+    public void dropCredentialsOnForeignRedirect() throws Exception {
+        FoxHttpResponse sameOriginResponse = new FoxHttpRequestBuilder(server.getUrl("/found"), RequestType.GET, foxHttpClient)
+            .addRequestHeader("Authorization", "Bearer fox").buildAndExecute();
+        assertThat(sameOriginResponse.getStringBody()).isEqualTo("GET::Bearer fox");
+
+        FoxHttpResponse foreignResponse = new FoxHttpRequestBuilder(server.getUrl("/foreign"), RequestType.GET, foxHttpClient)
+            .addRequestHeader("Authorization", "Bearer fox").buildAndExecute();
+        assertThat(foreignResponse.getStringBody()).isEqualTo("GET::null");
+    }
+
+    private static void redirect(HttpExchange exchange, int responseCode, String location) throws IOException {
+        TestServer.readBody(exchange);
+        exchange.getResponseHeaders().add("Location", location);
+        TestServer.respond(exchange, responseCode, new byte[0]);
+    }
+}
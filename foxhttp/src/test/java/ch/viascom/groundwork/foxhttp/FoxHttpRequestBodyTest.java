@@ -8,6 +8,7 @@ import ch.viascom.groundwork.foxhttp.models.PostResponse;
 import ch.viascom.groundwork.foxhttp.models.User;
 import ch.viascom.groundwork.foxhttp.parser.GenericParser;
 import ch.viascom.groundwork.foxhttp.parser.GsonParser;
+import ch.viascom.groundwork.foxhttp.server.TestServer;
 import ch.viascom.groundwork.foxhttp.type.ContentType;
 import ch.viascom.groundwork.foxhttp.type.RequestType;
 import ch.viascom.groundwork.serviceresult.ServiceResult;
@@ -97,6 +98,27 @@ public class FoxHttpRequestBodyTest {
         assertThat(postResponse.getForm().get("filename")).isEqualTo("test.data");
     }
 
+    @Test
+    public void streamMultiPartRequest() throws Exception {
+        //Echo the framing and the received body
+        try (TestServer server = new TestServer().handle("/multipart", exchange -> {
+            String received = exchange.getRequestHeaders().getFirst("Transfer-Encoding") + ":" + new String(TestServer.readBody(exchange), "UTF-8");
+            TestServer.respond(exchange, 200, received.getBytes("UTF-8"));
+        })) {
+            RequestMultipartBody requestBody = new RequestMultipartBody(Charset.forName("UTF-8"));
+            requestBody.addFormField("filename", "test.data");
+            requestBody.addInputStreamPart("file", "file.json", new ByteArrayInputStream("{\"name\":\"FoxHttp\"}".getBytes()), "binary", ContentType.APPLICATION_JSON.getMimeType());
+
+            FoxHttpResponse foxHttpResponse = new FoxHttpRequestBuilder(server.getUrl("/multipart"), RequestType.POST).setRequestBody(requestBody).buildAndExecute();
+
+            assertThat(foxHttpResponse.getStringBody()).startsWith("chunked:")
+                                                        .contains("name=\"filename\"\n")
+                                                        .contains("filename=\"file.json\"\n")
+                                                        .contains("{\"name\":\"FoxHttp\"}")
+                                                        .endsWith("--");
+        }
+    }
+
     @Test
     public void postServiceResultRequest() throws Exception {
         FoxHttpClientBuilder clientBuilder = new FoxHttpClientBuilder(new GsonParser());
@@ -0,0 +1,145 @@
+package ch.viascom.groundwork.foxhttp;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+
+import ch.viascom.groundwork.foxhttp.annotation.processor.FoxHttpAnnotationParser;
+import ch.viascom.groundwork.foxhttp.annotation.types.Body;
+import ch.viascom.groundwork.foxhttp.annotation.types.CompressRequest;
+import ch.viascom.groundwork.foxhttp.annotation.types.POST;
+import ch.viascom.groundwork.foxhttp.annotation.types.Path;
+import ch.viascom.groundwork.foxhttp.body.request.RequestStringBody;
+import ch.viascom.groundwork.foxhttp.builder.FoxHttpClientBuilder;
+import ch.viascom.groundwork.foxhttp.builder.FoxHttpRequestBuilder;
+import ch.viascom.groundwork.foxhttp.compression.CompressionType;
+import ch.viascom.groundwork.foxhttp.interceptor.FoxHttpInterceptorType;
+import ch.viascom.groundwork.foxhttp.interceptors.RequestBodyInterceptor;
+import ch.viascom.groundwork.foxhttp.server.TestServer;
+import ch.viascom.groundwork.foxhttp.type.ContentType;
+import ch.viascom.groundwork.foxhttp.type.RequestType;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * @author patrick.boesch@viascom.ch
+ */
+public class FoxHttpRequestCompressionTest {
+
+    private TestServer server;
+
+    @Before
+    public void startServer() throws Exception {
+        //Echo the decoded body and the used Content-Encoding
+        server = new TestServer().handle("/echo", exchange -> {
+            String encoding = exchange.getRequestHeaders().getFirst("Content-Encoding");
+            InputStream body = new ByteArrayInputStream(TestServer.readBody(exchange));
+            if ("gzip".equals(encoding)) {
+                body = new GZIPInputStream(body);
+            } else if ("deflate".equals(encoding)) {
+                body = new InflaterInputStream(body);
+            }
+            String received = (encoding == null ? "identity" : encoding) + ":" + new String(readFully(body), "UTF-8");
+            TestServer.respond(exchange, 200, received.getBytes("UTF-8"));
+        });
+    }
+
+    @After
+    public void stopServer() {
+        server.close();
+    }
+
+    @Test
+    public void compressLargeBody() throws Exception {
+        String content = repeat("FoxHttp", 1000);
+        FoxHttpClientBuilder clientBuilder = new FoxHttpClientBuilder().activateRequestCompression(CompressionType.GZIP, 1024);
+
+        FoxHttpResponse response = new FoxHttpRequestBuilder(server.getUrl("/echo"), RequestType.POST, clientBuilder.build())
+            .setRequestBody(new RequestStringBody(content))
+            .buildAndExecute();
+
+        assertThat(response.getStringBody()).isEqualTo("gzip:" + content);
+    }
+
+    @Test
+    public void skipSmallBody() throws Exception {
+        FoxHttpClientBuilder clientBuilder = new FoxHttpClientBuilder().activateRequestCompression(CompressionType.GZIP, 1024);
+
+        FoxHttpResponse response = new FoxHttpRequestBuilder(server.getUrl("/echo"), RequestType.POST, clientBuilder.build())
+            .setRequestBody(new RequestStringBody("FoxHttp"))
+            .buildAndExecute();
+
+        assertThat(response.getStringBody()).isEqualTo("identity:FoxHttp");
+    }
+
+    @Test
+    public void skipNotAllowedContentType() throws Exception {
+        String content = repeat("FoxHttp", 1000);
+        FoxHttpClientBuilder clientBuilder = new FoxHttpClientBuilder().activateRequestCompression(CompressionType.GZIP, 0, "application/json");
+
+        FoxHttpResponse response = new FoxHttpRequestBuilder(server.getUrl("/echo"), RequestType.POST, clientBuilder.build())
+            .setRequestBody(new RequestStringBody(content, ContentType.TEXT_PLAIN))
+            .buildAndExecute();
+
+        assertThat(response.getStringBody()).isEqualTo("identity:" + content);
+    }
+
+    @Test
+    public void compressAfterRequestBodyInterceptor() throws Exception {
+        FoxHttpClientBuilder clientBuilder = new FoxHttpClientBuilder().activateRequestCompression(CompressionType.DEFLATE, 0)
+                                                                       .addFoxHttpInterceptor(FoxHttpInterceptorType.REQUEST_BODY, new RequestBodyInterceptor());
+
+        FoxHttpResponse response = new FoxHttpRequestBuilder(server.getUrl("/echo"), RequestType.POST, clientBuilder.build())
+            .setRequestBody(new RequestStringBody("Old Body"))
+            .buildAndExecute();
+
+        assertThat(response.getStringBody()).isEqualTo("deflate:New Body");
+    }
+
+    @Test
+    public void compressAnnotatedMethod() throws Exception {
+        FoxHttpClient client = new FoxHttpClientBuilder().addFoxHttpPlaceholderEntry("host", server.getUrl("")).build();
+        CompressionInterface compressionInterface = new FoxHttpAnnotationParser().parseInterface(CompressionInterface.class, client);
+
+        String content = repeat("FoxHttp", 1000);
+        FoxHttpResponse response = compressionInterface.postCompressed(new RequestStringBody(content));
+        assertThat(response.getStringBody()).isEqualTo("gzip:" + content);
+
+        response = compressionInterface.postUncompressed(new RequestStringBody(content));
+        assertThat(response.getStringBody()).isEqualTo("identity:" + content);
+    }
+
+    @Path("{host}")
+    interface CompressionInterface {
+
+        @POST("/echo")
+        @CompressRequest(minimumSize = 512)
+        FoxHttpResponse postCompressed(@Body RequestStringBody body);
+
+        @POST("/echo")
+        FoxHttpResponse postUncompressed(@Body RequestStringBody body);
+    }
+
+    private static String repeat(String value, int times) {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < times; i++) {
+            builder.append(value);
+        }
+        return builder.toString();
+    }
+
+    private static byte[] readFully(InputStream inputStream) throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        byte[] data = new byte[4096];
+        int read;
+        while ((read = inputStream.read(data)) != -1) {
+            buffer.write(data, 0, read);
+        }
+        return buffer.toByteArray();
+    }
+}
@@ -22,6 +22,7 @@ import ch.viascom.groundwork.foxhttp.models.CookieResponse;
 import ch.viascom.groundwork.foxhttp.models.GetResponse;
 import ch.viascom.groundwork.foxhttp.models.PostResponse;
 import ch.viascom.groundwork.foxhttp.models.QueryDataHolder;
+import ch.viascom.groundwork.foxhttp.models.QueryObjectModelUseParentOfParent;
 import ch.viascom.groundwork.foxhttp.objects.RemoveMeAuthorization;
 import ch.viascom.groundwork.foxhttp.parser.GsonParser;
 import ch.viascom.groundwork.foxhttp.placeholder.DefaultPlaceholderStrategy;
@@ -202,6 +203,39 @@ public class FoxHttpRequestTest {
         assertThat(getResponse.getArgs().get("key")).isEqualTo("java");
     }
 
+    @Test
+    public void parseObjectAsQueryMap() throws Exception {
+        QueryObjectModelUseParentOfParent model = new QueryObjectModelUseParentOfParent("Fox", "Http");
+        model.setUserId("42");
+
+        //Parsed twice to use the cached binding of the class
+        for (int i = 0; i < 2; i++) {
+            FoxHttpRequestQuery requestQuery = new FoxHttpRequestQuery();
+            requestQuery.parseObjectAsQueryMap(Arrays.asList(""), model, false, false, true);
+
+            String queryString = requestQuery.getQueryString();
+            assertThat(queryString).contains("user-id=42").contains("firstName=Fox").contains("lastName=Http");
+            assertThat(queryString).doesNotContain("password").doesNotContain("avatar");
+        }
+
+        //Single entries can still be changed after the object is bound
+        FoxHttpRequestQuery requestQuery = new FoxHttpRequestQuery();
+        requestQuery.addQueryEntry("replaced", "true");
+        model.setUserId("4 2&");
+        requestQuery.parseObjectAsQueryMap(Arrays.asList("userId", "firstName"), model, false, false, false);
+        assertThat(requestQuery.getQueryString()).isEqualTo("?user-id=4+2%26&firstName=Fox");
+        requestQuery.removeQueryEntry("firstName");
+        requestQuery.addQueryEntry("page", "2");
+        assertThat(requestQuery.getQueryString()).contains("user-id=4+2%26").contains("page=2").doesNotContain("firstName").doesNotContain("replaced");
+
+        try {
+            new FoxHttpRequestQuery().parseObjectAsQueryMap(Arrays.asList("userId", "unknown"), model, false, false, false);
+            assertThat(false).isEqualTo(true);
+        } catch (FoxHttpRequestException e) {
+            assertThat(e.getMessage()).isEqualTo("The query parameter attribute unknown does not exist in QueryObjectModelUseParentOfParent.");
+        }
+    }
+
     @Test
     public void getObjectAsOptionalQueryMapRequest() throws Exception {
 
@@ -0,0 +1,113 @@
+package ch.viascom.groundwork.foxhttp;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+
+import ch.viascom.groundwork.foxhttp.body.response.ResponseDigestException;
+import ch.viascom.groundwork.foxhttp.builder.FoxHttpClientBuilder;
+import ch.viascom.groundwork.foxhttp.builder.FoxHttpRequestBuilder;
+import ch.viascom.groundwork.foxhttp.exception.FoxHttpResponseException;
+import ch.viascom.groundwork.foxhttp.models.User;
+import ch.viascom.groundwork.foxhttp.response.serviceresult.DigestServiceResultHasher;
+import ch.viascom.groundwork.foxhttp.response.serviceresult.FoxHttpServiceResultResponse;
+import ch.viascom.groundwork.foxhttp.server.TestServer;
+import ch.viascom.groundwork.foxhttp.type.RequestType;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.Base64;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * @author patrick.boesch@viascom.ch
+ */
+public class FoxHttpResponseDigestTest {
+
+    private static final byte[] BODY = ("{\"status\":\"successful\",\"type\":\"ch.viascom.groundwork.foxhttp.models.User\",\"content\":{\"username\":\"fox\"},"
+        + "\"hash\":\"WRONGHASH\",\"destination\":\"\",\"metadata\":{}}").getBytes(StandardCharsets.UTF_8);
+
+    private TestServer server;
+    private FoxHttpClient foxHttpClient;
+
+    @Before
+    public void startServer() throws Exception {
+        server = new TestServer();
+        server.handle("/md5", exchange -> {
+            exchange.getResponseHeaders().add("Content-MD5", digest("MD5", BODY));
+            TestServer.respond(exchange, 200, BODY);
+        });
+        server.handle("/digest", exchange -> {
+            exchange.getResponseHeaders().add("Digest", "UNIXsum=30637, SHA-256=" + digest("SHA-256", BODY));
+            exchange.getResponseHeaders().add("Content-Digest", "sha-512=:" + digest("SHA-512", BODY) + ":");
+            TestServer.respond(exchange, 200, BODY);
+        });
+        server.handle("/wrong", exchange -> {
+            exchange.getResponseHeaders().add("Digest", "SHA-256=" + digest("SHA-256", "other".getBytes(StandardCharsets.UTF_8)));
+            TestServer.respond(exchange, 200, BODY);
+        });
+        server.handle("/plain", exchange -> TestServer.respond(exchange, 200, BODY));
+        foxHttpClient = new FoxHttpClientBuilder().setVerifyResponseDigest(true).addResponseDigestAlgorithm("SHA-1").build();
+    }
+
+    @After
+    public void stopServer() {
+        server.close();
+    }
+
+    @Test
+    public void verifyDigestHeaders() throws Exception {
+        FoxHttpResponse md5Response = new FoxHttpRequestBuilder(server.getUrl("/md5"), RequestType.GET, foxHttpClient).buildAndExecute();
+        FoxHttpResponse digestResponse = new FoxHttpRequestBuilder(server.getUrl("/digest"), RequestType.GET, foxHttpClient).buildAndExecute();
+
+        assertThat(md5Response.getResponseBody().getDigest().isVerified()).isTrue();
+        assertThat(digestResponse.getResponseBody().getDigest().isVerified()).isTrue();
+        assertThat(digestResponse.getBodyDigest("SHA-256")).isEqualTo(MessageDigest.getInstance("SHA-256").digest(BODY));
+        assertThat(digestResponse.getBodyDigest("SHA-1")).isEqualTo(MessageDigest.getInstance("SHA-1").digest(BODY));
+    }
+
+    @Test(expected = FoxHttpResponseException.class)
+    public void rejectWrongDigest() throws Exception {
+        new FoxHttpRequestBuilder(server.getUrl("/wrong"), RequestType.GET, foxHttpClient).buildAndExecute();
+    }
+
+    @Test
+    public void rejectWrongDigestOfStream() throws Exception {
+        FoxHttpResponse response = new FoxHttpRequestBuilder(server.getUrl("/wrong"), RequestType.GET, foxHttpClient).setStreamResponseBody(true)
+                                                                                                                    .buildAndExecute();
+        try (InputStream inputStream = response.getInputStreamBody()) {
+            byte[] buffer = new byte[64];
+            while (inputStream.read(buffer) != -1) {
+                //Read the whole body
+            }
+            assertThat(false).isEqualTo(true);
+        } catch (IOException e) {
+            assertThat(e).isInstanceOf(ResponseDigestException.class);
+        }
+    }
+
+    @Test
+    public void checkServiceResultWithDigest() throws Exception {
+        FoxHttpResponse digestResponse = new FoxHttpRequestBuilder(server.getUrl("/digest"), RequestType.GET, foxHttpClient).buildAndExecute();
+        User user = new FoxHttpServiceResultResponse(digestResponse, new DigestServiceResultHasher()).getContent(User.class, true);
+        assertThat(user.getUsername()).isEqualTo("fox");
+
+        //Without a digest header the hash of the service result is checked
+        FoxHttpResponse plainResponse = new FoxHttpRequestBuilder(server.getUrl("/plain"), RequestType.GET, foxHttpClient).buildAndExecute();
+        try {
+            new FoxHttpServiceResultResponse(plainResponse, new DigestServiceResultHasher()).getContent(User.class, true);
+            assertThat(false).isEqualTo(true);
+        } catch (FoxHttpResponseException e) {
+            assertThat(e.getMessage()).isEqualTo("Hash not Equal!");
+        }
+    }
+
+    private static String digest(String algorithm, byte[] body) {
+        try {
+            return Base64.getEncoder().encodeToString(MessageDigest.getInstance(algorithm).digest(body));
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
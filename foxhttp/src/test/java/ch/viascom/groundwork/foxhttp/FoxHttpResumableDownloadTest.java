@@ -0,0 +1,114 @@
+package ch.viascom.groundwork.foxhttp;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+import static org.junit.Assert.fail;
+
+import ch.viascom.groundwork.foxhttp.builder.FoxHttpClientBuilder;
+import ch.viascom.groundwork.foxhttp.download.FoxHttpDownloadResult;
+import ch.viascom.groundwork.foxhttp.download.FoxHttpResumableDownload;
+import ch.viascom.groundwork.foxhttp.exception.FoxHttpException;
+import ch.viascom.groundwork.foxhttp.server.RangeHandler;
+import ch.viascom.groundwork.foxhttp.server.TestServer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * @author patrick.boesch@viascom.ch
+ */
+public class FoxHttpResumableDownloadTest {
+
+    private static final int CONTENT_SIZE = 1024 * 1024 + 3;
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private TestServer server;
+    private RangeHandler rangeHandler;
+    private byte[] content;
+    private Path target;
+
+    @Before
+    public void startServer() throws Exception {
+        content = createContent(1);
+        rangeHandler = new RangeHandler(content, "\"v1\"");
+        server = new TestServer().handle("/file", rangeHandler);
+        target = temporaryFolder.getRoot().toPath().resolve("file.bin");
+    }
+
+    @After
+    public void stopServer() {
+        server.close();
+    }
+
+    @Test
+    public void resumeAfterDroppedConnection() throws Exception {
+        rangeHandler.dropConnections(2, 300_000);
+
+        FoxHttpDownloadResult result = createDownload(3).download(target);
+
+        assertThat(result.getLength()).isEqualTo(CONTENT_SIZE);
+        assertThat(rangeHandler.getFullRequests().get()).isEqualTo(1);
+        assertThat(rangeHandler.getRangeRequests().get()).isEqualTo(2);
+        assertThat(Files.readAllBytes(target)).isEqualTo(content);
+        assertThat(Files.exists(target.resolveSibling("file.bin" + FoxHttpResumableDownload.PART_SUFFIX))).isFalse();
+        assertThat(Files.exists(target.resolveSibling("file.bin" + FoxHttpResumableDownload.PROGRESS_SUFFIX))).isFalse();
+    }
+
+    @Test
+    public void resumeAfterRestart() throws Exception {
+        rangeHandler.dropConnections(1, 300_000);
+        failDownload();
+        assertThat(Files.exists(target.resolveSibling("file.bin" + FoxHttpResumableDownload.PROGRESS_SUFFIX))).isTrue();
+
+        createDownload(0).download(target);
+
+        assertThat(rangeHandler.getFullRequests().get()).isEqualTo(1);
+        assertThat(rangeHandler.getRangeRequests().get()).isEqualTo(1);
+        assertThat(Files.readAllBytes(target)).isEqualTo(content);
+    }
+
+    @Test
+    public void restartIfValidatorChanged() throws Exception {
+        rangeHandler.dropConnections(1, 300_000);
+        failDownload();
+
+        byte[] changedContent = createContent(2);
+        rangeHandler.setContent(changedContent);
+        rangeHandler.setETag("\"v2\"");
+        FoxHttpDownloadResult result = createDownload(0).download(target);
+
+        assertThat(result.getETag()).isEqualTo("\"v2\"");
+        assertThat(rangeHandler.getFullRequests().get()).isEqualTo(2);
+        assertThat(rangeHandler.getRangeRequests().get()).isEqualTo(0);
+        assertThat(Files.readAllBytes(target)).isEqualTo(changedContent);
+    }
+
+    private void failDownload() {
+        try {
+            createDownload(0).download(target);
+            fail("Download should fail");
+        } catch (FoxHttpException e) {
+            //Expected
+        }
+    }
+
+    private FoxHttpResumableDownload createDownload(int maxRetries) {
+        FoxHttpResumableDownload download = new FoxHttpResumableDownload(server.getUrl("/file"), new FoxHttpClientBuilder().build());
+        download.setMaxRetries(maxRetries);
+        download.setRetryDelay(10);
+        download.setProgressInterval(64 * 1024);
+        return download;
+    }
+
+    private static byte[] createContent(long seed) {
+        byte[] data = new byte[CONTENT_SIZE];
+        new Random(seed).nextBytes(data);
+        return data;
+    }
+}
@@ -0,0 +1,116 @@
+package ch.viascom.groundwork.foxhttp;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+
+import ch.viascom.groundwork.foxhttp.body.request.RequestObjectBody;
+import ch.viascom.groundwork.foxhttp.body.request.RequestStringBody;
+import ch.viascom.groundwork.foxhttp.builder.FoxHttpClientBuilder;
+import ch.viascom.groundwork.foxhttp.builder.FoxHttpRequestBuilder;
+import ch.viascom.groundwork.foxhttp.exception.FoxHttpException;
+import ch.viascom.groundwork.foxhttp.models.User;
+import ch.viascom.groundwork.foxhttp.parser.GsonParser;
+import ch.viascom.groundwork.foxhttp.retry.RetryBudget;
+import ch.viascom.groundwork.foxhttp.retry.UserDefinedRetryStrategy;
+import ch.viascom.groundwork.foxhttp.server.TestServer;
+import ch.viascom.groundwork.foxhttp.type.ContentType;
+import ch.viascom.groundwork.foxhttp.type.RequestType;
+import com.google.gson.Gson;
+import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * @author patrick.boesch@viascom.ch
+ */
+public class FoxHttpRetryTest {
+
+    private TestServer server;
+    private AtomicInteger serverRequests = new AtomicInteger();
+    private List<String> receivedBodies = new CopyOnWriteArrayList<>();
+
+    @Before
+    public void startServer() throws Exception {
+        server = new TestServer();
+        server.handle("/flaky", exchange -> {
+            receivedBodies.add(new String(TestServer.readBody(exchange), StandardCharsets.UTF_8));
+            //The first two requests hit an overloaded server
+            if (serverRequests.incrementAndGet() <= 2) {
+                exchange.getResponseHeaders().add("Retry-After", "0");
+                TestServer.respond(exchange, 503, new byte[0]);
+                return;
+            }
+            TestServer.respond(exchange, 200, "fox".getBytes(StandardCharsets.UTF_8));
+        });
+    }
+
+    @After
+    public void stopServer() {
+        server.close();
+    }
+
+    @Test
+    public void retryUnavailableServer() throws Exception {
+        FoxHttpClient foxHttpClient = new FoxHttpClientBuilder().setFoxHttpRetryStrategy(new UserDefinedRetryStrategy(3, 1, 10)).build();
+
+        FoxHttpResponse response = new FoxHttpRequestBuilder(server.getUrl("/flaky"), RequestType.GET, foxHttpClient).buildAndExecute();
+
+        assertThat(response.getResponseCode()).isEqualTo(200);
+        assertThat(response.getStringBody()).isEqualTo("fox");
+        assertThat(serverRequests.get()).isEqualTo(3);
+    }
+
+    @Test
+    public void doNotRetryPost() throws Exception {
+        FoxHttpClient foxHttpClient = new FoxHttpClientBuilder().setFoxHttpRetryStrategy(new UserDefinedRetryStrategy(3, 1, 10)).build();
+
+        FoxHttpResponse response = new FoxHttpRequestBuilder(server.getUrl("/flaky"), RequestType.POST, foxHttpClient)
+            .setRequestBody(new RequestStringBody("fox", ContentType.DEFAULT_TEXT)).buildAndExecute();
+
+        assertThat(response.getResponseCode()).isEqualTo(503);
+        assertThat(serverRequests.get()).isEqualTo(1);
+    }
+
+    @Test
+    public void retryWithoutSerializingAgain() throws Exception {
+        AtomicInteger serializations = new AtomicInteger();
+        GsonParser countingParser = new GsonParser(new Gson()) {
+            @Override
+            public String objectToSerialized(Serializable o, ContentType contentType) throws FoxHttpException {
+                serializations.incrementAndGet();
+                return super.objectToSerialized(o, contentType);
+            }
+        };
+        FoxHttpClient foxHttpClient = new FoxHttpClientBuilder().setFoxHttpRequestParser(countingParser)
+                                                                .setFoxHttpRetryStrategy(new UserDefinedRetryStrategy(3, 1, 10)).build();
+
+        FoxHttpResponse response = new FoxHttpRequestBuilder(server.getUrl("/flaky"), RequestType.PUT, foxHttpClient).setRequestBody(new RequestObjectBody(new User()))
+                                                                                                                      .buildAndExecute();
+
+        assertThat(response.getResponseCode()).isEqualTo(200);
+        assertThat(serializations.get()).isEqualTo(1);
+        assertThat(receivedBodies).hasSize(3);
+        assertThat(receivedBodies.get(2)).isEqualTo(receivedBodies.get(0)).contains("foxhttp@viascom.ch");
+    }
+
+    @Test
+    public void retryBudget() {
+        RetryBudget retryBudget = new RetryBudget(10, 0.1);
+        for (int i = 0; i < 4; i++) {
+            assertThat(retryBudget.onFailure()).isTrue();
+        }
+        //Half of the tokens are used
+        assertThat(retryBudget.onFailure()).isFalse();
+        for (int i = 0; i < 10; i++) {
+            retryBudget.onSuccess();
+        }
+        assertThat(retryBudget.onFailure()).isFalse();
+        retryBudget.onSuccess();
+        retryBudget.onSuccess();
+        assertThat(retryBudget.getTokens()).isEqualTo(5.2);
+    }
+}
@@ -0,0 +1,102 @@
+package ch.viascom.groundwork.foxhttp;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+
+import ch.viascom.groundwork.foxhttp.builder.FoxHttpClientBuilder;
+import ch.viascom.groundwork.foxhttp.download.FoxHttpDownloadResult;
+import ch.viascom.groundwork.foxhttp.download.FoxHttpSegmentedDownload;
+import ch.viascom.groundwork.foxhttp.exception.FoxHttpResponseException;
+import ch.viascom.groundwork.foxhttp.server.RangeHandler;
+import ch.viascom.groundwork.foxhttp.server.TestServer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * @author patrick.boesch@viascom.ch
+ */
+public class FoxHttpSegmentedDownloadTest {
+
+    private static final int CONTENT_SIZE = 3 * 1024 * 1024 + 17;
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private TestServer server;
+    private RangeHandler rangeHandler;
+    private byte[] content;
+
+    @Before
+    public void startServer() throws Exception {
+        content = new byte[CONTENT_SIZE];
+        new Random(42).nextBytes(content);
+        rangeHandler = new RangeHandler(content, "\"v1\"");
+        server = new TestServer().handle("/file", rangeHandler).handle("/changing", exchange -> {
+            boolean head = "HEAD".equals(exchange.getRequestMethod());
+            rangeHandler.handle(exchange);
+            if (head) {
+                rangeHandler.setETag("\"v2\"");
+            }
+        });
+    }
+
+    @After
+    public void stopServer() {
+        server.close();
+    }
+
+    @Test
+    public void segmentedDownload() throws Exception {
+        Path target = temporaryFolder.getRoot().toPath().resolve("file.bin");
+        FoxHttpSegmentedDownload download = createDownload("/file");
+
+        FoxHttpDownloadResult result = download.download(target);
+
+        assertThat(result.getLength()).isEqualTo(CONTENT_SIZE);
+        assertThat(result.getETag()).isEqualTo("\"v1\"");
+        assertThat(rangeHandler.getRangeRequests().get()).isEqualTo(4);
+        assertThat(Files.readAllBytes(target)).isEqualTo(content);
+    }
+
+    @Test
+    public void retryDroppedSegments() throws Exception {
+        rangeHandler.dropConnections(2, 1000);
+        Path target = temporaryFolder.getRoot().toPath().resolve("file.bin");
+        FoxHttpSegmentedDownload download = createDownload("/file");
+
+        download.download(target);
+
+        assertThat(rangeHandler.getRangeRequests().get()).isEqualTo(6);
+        assertThat(Files.readAllBytes(target)).isEqualTo(content);
+    }
+
+    @Test
+    public void singleRequestWithoutRangeSupport() throws Exception {
+        rangeHandler.setAcceptRanges(false);
+        Path target = temporaryFolder.getRoot().toPath().resolve("file.bin");
+
+        createDownload("/file").download(target);
+
+        assertThat(rangeHandler.getRangeRequests().get()).isEqualTo(0);
+        assertThat(rangeHandler.getFullRequests().get()).isEqualTo(1);
+        assertThat(Files.readAllBytes(target)).isEqualTo(content);
+    }
+
+    @Test(expected = FoxHttpResponseException.class)
+    public void failIfResourceChanges() throws Exception {
+        createDownload("/changing").download(temporaryFolder.getRoot().toPath().resolve("file.bin"));
+    }
+
+    private FoxHttpSegmentedDownload createDownload(String path) {
+        FoxHttpSegmentedDownload download = new FoxHttpSegmentedDownload(server.getUrl(path), new FoxHttpClientBuilder().build());
+        download.setSegmentCount(4);
+        download.setMinimumSegmentSize(256 * 1024);
+        download.setRetryDelay(10);
+        return download;
+    }
+}
@@ -12,6 +12,7 @@ import ch.viascom.groundwork.serviceresult.exception.ServiceFault;
 import org.junit.Test;
 
 import java.io.ByteArrayInputStream;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.fest.assertions.api.Assertions.assertThat;
 
@@ -121,6 +122,23 @@ public class FoxHttpServiceResultTest {
         assertThat(resultResponse.getObjectHasher()).isEqualTo(resultHasher);
     }
 
+    @Test
+    public void serviceResultParseOnceTest() throws Exception {
+        FoxHttpResponse foxHttpResponse = new FoxHttpResponse(new ByteArrayInputStream(rawBody.getBytes()), new FoxHttpRequest(), 200, new FoxHttpClient());
+        AtomicInteger hashes = new AtomicInteger();
+        DefaultServiceResultHasher resultHasher = new DefaultServiceResultHasher();
+
+        FoxHttpServiceResultResponse resultResponse = new FoxHttpServiceResultResponse(foxHttpResponse, (result, body) -> {
+            hashes.incrementAndGet();
+            return resultHasher.hash(result, body);
+        });
+
+        User user = resultResponse.getContent(User.class, true);
+        assertThat(resultResponse.getContent(User.class, true)).isSameAs(user);
+        assertThat(resultResponse.<User>getContentFromType(true)).isSameAs(user);
+        assertThat(hashes.get()).isEqualTo(1);
+    }
+
     @Test
     public void serviceResultParseFromTypeTest() throws Exception {
         FoxHttpResponse foxHttpResponse = new FoxHttpResponse(new ByteArrayInputStream(rawBody.getBytes()), new FoxHttpRequest(), 200, new FoxHttpClient());
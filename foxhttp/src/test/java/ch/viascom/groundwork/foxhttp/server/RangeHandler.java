@@ -0,0 +1,97 @@
+package ch.viascom.groundwork.foxhttp.server;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Serves a byte array with HEAD, Range and If-Range support and can drop connections mid-stream
+ *
+ * @author patrick.boesch@viascom.ch
+ */
+public class RangeHandler implements HttpHandler {
+
+    @Getter
+    @Setter
+    private volatile byte[] content;
+
+    @Getter
+    @Setter
+    private volatile String eTag;
+
+    @Setter
+    private volatile boolean acceptRanges = true;
+
+    //Number of GET requests which get dropped after dropAfter bytes
+    private final AtomicInteger drops = new AtomicInteger();
+    @Setter
+    private volatile int dropAfter;
+
+    @Getter
+    private final AtomicInteger rangeRequests = new AtomicInteger();
+    @Getter
+    private final AtomicInteger fullRequests = new AtomicInteger();
+
+    public RangeHandler(byte[] content, String eTag) {
+        this.content = content;
+        this.eTag = eTag;
+    }
+
+    public void dropConnections(int count, int afterBytes) {
+        drops.set(count);
+        dropAfter = afterBytes;
+    }
+
+    @Override
+    public void handle(HttpExchange exchange) throws IOException {
+        byte[] body = content;
+        if (eTag != null) {
+            exchange.getResponseHeaders().add("ETag", eTag);
+        }
+        if (acceptRanges) {
+            exchange.getResponseHeaders().add("Accept-Ranges", "bytes");
+        }
+
+        if ("HEAD".equals(exchange.getRequestMethod())) {
+            exchange.getResponseHeaders().add("Content-Length", String.valueOf(body.length));
+            exchange.sendResponseHeaders(200, -1);
+            exchange.close();
+            return;
+        }
+
+        int start = 0;
+        int end = body.length - 1;
+        int responseCode = 200;
+        String range = exchange.getRequestHeaders().getFirst("Range");
+        String ifRange = exchange.getRequestHeaders().getFirst("If-Range");
+        if (acceptRanges && range != null && range.startsWith("bytes=") && (ifRange == null || ifRange.equals(eTag))) {
+            String[] bounds = range.substring(6).split("-", -1);
+            start = Integer.parseInt(bounds[0]);
+            if (!bounds[1].isEmpty()) {
+                end = Math.min(end, Integer.parseInt(bounds[1]));
+            }
+            responseCode = 206;
+            exchange.getResponseHeaders().add("Content-Range", "bytes " + start + "-" + end + "/" + body.length);
+            rangeRequests.incrementAndGet();
+        } else {
+            fullRequests.incrementAndGet();
+        }
+
+        int length = end - start + 1;
+        exchange.sendResponseHeaders(responseCode, length);
+        OutputStream outputStream = exchange.getResponseBody();
+        if (drops.getAndDecrement() > 0 && dropAfter < length) {
+            outputStream.write(body, start, dropAfter);
+            outputStream.flush();
+            //Close the connection without sending the remaining bytes
+            exchange.close();
+            return;
+        }
+        outputStream.write(body, start, length);
+        outputStream.close();
+    }
+}
@@ -0,0 +1,61 @@
+package ch.viascom.groundwork.foxhttp.server;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.concurrent.Executors;
+
+/**
+ * Local http server for tests which must not depend on an external service
+ *
+ * @author patrick.boesch@viascom.ch
+ */
+public class TestServer implements AutoCloseable {
+
+    private final HttpServer httpServer;
+
+    public TestServer() throws IOException {
+        httpServer = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        httpServer.setExecutor(Executors.newCachedThreadPool());
+        httpServer.start();
+    }
+
+    public TestServer handle(String path, HttpHandler handler) {
+        httpServer.createContext(path, handler);
+        return this;
+    }
+
+    public String getUrl(String path) {
+        return "http://127.0.0.1:" + httpServer.getAddress().getPort() + path;
+    }
+
+    public static byte[] readBody(HttpExchange exchange) throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        try (InputStream inputStream = exchange.getRequestBody()) {
+            byte[] data = new byte[4096];
+            int read;
+            while ((read = inputStream.read(data)) != -1) {
+                buffer.write(data, 0, read);
+            }
+        }
+        return buffer.toByteArray();
+    }
+
+    public static void respond(HttpExchange exchange, int responseCode, byte[] body) throws IOException {
+        exchange.sendResponseHeaders(responseCode, body.length == 0 ? -1 : body.length);
+        try (OutputStream outputStream = exchange.getResponseBody()) {
+            outputStream.write(body);
+        }
+    }
+
+    @Override
+    public void close() {
+        httpServer.stop(0);
+    }
+}